@@ -17,13 +17,10 @@
 
 package com.google.cloud.tools.gradle.appengine.appyaml;
 
-import com.google.cloud.tools.appengine.operations.cloudsdk.CloudSdkNotFoundException;
 import com.google.cloud.tools.gradle.appengine.core.AppEngineCorePluginConfiguration;
-import com.google.cloud.tools.gradle.appengine.core.CloudSdkOperations;
 import com.google.cloud.tools.gradle.appengine.core.DeployAllTask;
 import com.google.cloud.tools.gradle.appengine.core.DeployExtension;
 import com.google.cloud.tools.gradle.appengine.core.DeployTask;
-import com.google.cloud.tools.gradle.appengine.core.ToolsExtension;
 import com.google.cloud.tools.gradle.appengine.util.GradleCompatibility;
 import java.io.File;
 import org.gradle.api.GradleException;
@@ -32,6 +29,7 @@ import org.gradle.api.Project;
 import org.gradle.api.plugins.BasePlugin;
 import org.gradle.api.plugins.JavaPlugin;
 import org.gradle.api.plugins.WarPlugin;
+import org.gradle.api.tasks.TaskProvider;
 import org.gradle.api.tasks.bundling.Jar;
 import org.gradle.api.tasks.bundling.War;
 
@@ -75,18 +73,8 @@ public class AppEngineAppYamlPlugin implements Plugin<Project> {
       stageExtension.setDockerDirectory(dockerOptionalDir);
     }
 
-    // tools extension required to initialize cloudSdkOperations
-    final ToolsExtension tools = appengineExtension.getTools();
     project.afterEvaluate(
         project -> {
-          // create the sdk builder factory after we know the location of the sdk
-          try {
-            new CloudSdkOperations(tools.getCloudSdkHome(), null, tools.getVerbosity());
-          } catch (CloudSdkNotFoundException ex) {
-            // this should be caught in AppEngineCorePluginConfig before it can ever reach here.
-            throw new GradleException("Could not find CloudSDK: ", ex);
-          }
-
           // we can only set the default location of "archive" after project evaluation (callback)
           if (stageExtension.getArtifact() == null) {
             if (project.getPlugins().hasPlugin(WarPlugin.class)) {
@@ -108,27 +96,34 @@ public class AppEngineAppYamlPlugin implements Plugin<Project> {
             deploy.setAppEngineDirectory(stageExtension.getAppEngineDirectory());
           }
 
-          DeployAllTask deployAllTask =
-              (DeployAllTask)
-                  project
-                      .getTasks()
-                      .getByName(AppEngineCorePluginConfiguration.DEPLOY_ALL_TASK_NAME);
-          deployAllTask.setStageDirectory(stageExtension.getStagingDirectory());
-          deployAllTask.setDeployExtension(deploy);
-
-          DeployTask deployTask =
-              (DeployTask)
-                  project.getTasks().getByName(AppEngineCorePluginConfiguration.DEPLOY_TASK_NAME);
-          deployTask.setDeployConfig(deploy);
-          deployTask.setAppYaml(stageExtension.getStagingDirectory().toPath().resolve("app.yaml"));
+          project
+              .getTasks()
+              .withType(DeployAllTask.class)
+              .named(AppEngineCorePluginConfiguration.DEPLOY_ALL_TASK_NAME)
+              .configure(
+                  deployAllTask -> {
+                    deployAllTask.setStageDirectory(stageExtension.getStagingDirectory());
+                    deployAllTask.setDeployExtension(deploy);
+                  });
+
+          project
+              .getTasks()
+              .withType(DeployTask.class)
+              .named(AppEngineCorePluginConfiguration.DEPLOY_TASK_NAME)
+              .configure(
+                  deployTask -> {
+                    deployTask.setDeployConfig(deploy);
+                    deployTask.setAppYaml(
+                        stageExtension.getStagingDirectory().toPath().resolve("app.yaml"));
+                  });
         });
   }
 
   private void createStageTask() {
-    StageAppYamlTask stageTask =
+    TaskProvider<StageAppYamlTask> stageTask =
         project
             .getTasks()
-            .create(
+            .register(
                 STAGE_TASK_NAME,
                 StageAppYamlTask.class,
                 stageTask1 -> {
@@ -136,16 +131,15 @@ public class AppEngineAppYamlPlugin implements Plugin<Project> {
                   stageTask1.setDescription(
                       "Stage an App Engine app.yaml based project for deployment");
                   stageTask1.dependsOn(BasePlugin.ASSEMBLE_TASK_NAME);
-
-                  project.afterEvaluate(project -> stageTask1.setStagingConfig(stageExtension));
+                  stageTask1.setStagingConfig(stageExtension);
                 });
     project
         .getTasks()
-        .getByName(AppEngineCorePluginConfiguration.DEPLOY_TASK_NAME)
-        .dependsOn(stageTask);
+        .named(AppEngineCorePluginConfiguration.DEPLOY_TASK_NAME)
+        .configure(task -> task.dependsOn(stageTask));
     project
         .getTasks()
-        .getByName(AppEngineCorePluginConfiguration.DEPLOY_ALL_TASK_NAME)
-        .dependsOn(stageTask);
+        .named(AppEngineCorePluginConfiguration.DEPLOY_ALL_TASK_NAME)
+        .configure(task -> task.dependsOn(stageTask));
   }
 }
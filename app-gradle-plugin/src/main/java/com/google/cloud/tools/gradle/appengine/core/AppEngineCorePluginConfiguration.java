@@ -17,19 +17,22 @@
 
 package com.google.cloud.tools.gradle.appengine.core;
 
-import com.google.cloud.tools.appengine.operations.cloudsdk.CloudSdkNotFoundException;
 import com.google.cloud.tools.gradle.appengine.util.GradleCompatibility;
-import com.google.cloud.tools.managedcloudsdk.BadCloudSdkVersionException;
-import com.google.cloud.tools.managedcloudsdk.ManagedCloudSdk;
-import com.google.cloud.tools.managedcloudsdk.UnsupportedOsException;
 import com.google.cloud.tools.managedcloudsdk.components.SdkComponent;
+import java.util.concurrent.Callable;
 import org.gradle.api.GradleException;
 import org.gradle.api.Project;
+import org.gradle.api.Task;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.TaskProvider;
 import org.gradle.util.GradleVersion;
 
 /**
  * Core plugin for App Engine, contains common tasks like deploy and show configuration Also
  * instantiates the "tools" extension to specify the cloud sdk path.
+ *
+ * <p>Tasks are registered lazily, and the Cloud SDK is only resolved through the shared {@link
+ * CloudSdkBuildService} when a task that needs it runs.
  */
 public class AppEngineCorePluginConfiguration {
 
@@ -50,8 +53,8 @@ public class AppEngineCorePluginConfiguration {
   private Project project;
   private DeployExtension deployExtension;
   private ToolsExtension toolsExtension;
-  private CloudSdkOperations cloudSdkOperations;
-  private ManagedCloudSdk managedCloudSdk;
+  private Provider<CloudSdkBuildService> cloudSdkService;
+  private Provider<CloudSdkOperations> cloudSdkOperations;
   private boolean requiresAppEngineJava;
   private String taskGroup;
 
@@ -83,94 +86,147 @@ public class AppEngineCorePluginConfiguration {
     createShowConfigurationTask();
   }
 
+  /** Returns the Cloud SDK operations configured by the tools extension, resolved on demand. */
+  public Provider<CloudSdkOperations> getCloudSdkOperations() {
+    return cloudSdkOperations;
+  }
+
+  /**
+   * Returns the build service the Cloud SDK operations are resolved through. Tasks resolving {@link
+   * #getCloudSdkOperations()} must declare that they use it.
+   */
+  public Provider<CloudSdkBuildService> getCloudSdkService() {
+    return cloudSdkService;
+  }
+
   private void configureFactories() {
     project.afterEvaluate(
         projectAfterEvaluated -> {
-          try {
-            if (toolsExtension.getCloudSdkHome() == null) {
-              managedCloudSdk =
-                  new ManagedCloudSdkFactory(toolsExtension.getCloudSdkVersion()).newManagedSdk();
-              toolsExtension.setCloudSdkHome(managedCloudSdk.getSdkHome().toFile());
-            }
-          } catch (UnsupportedOsException ex) {
-            throw new RuntimeException(ex.getMessage(), ex);
-          } catch (BadCloudSdkVersionException ex) {
-            throw new RuntimeException(
-                "Failed to auto-configure Cloud Sdk at cloudSdkVersion = '"
-                    + toolsExtension.getCloudSdkVersion()
-                    + "': "
-                    + ex.getMessage(),
-                ex);
+          if (Boolean.TRUE.equals(toolsExtension.getProcessMetrics())) {
+            Provider<ProcessMetricsReporter> processMetricsReporter =
+                ProcessMetricsReporter.register(project, toolsExtension.getProcessMetricsFile());
+            project
+                .getTasks()
+                .configureEach(
+                    task -> {
+                      if (startsProcesses(task)) {
+                        task.usesService(processMetricsReporter);
+                        task.doFirst(ignored -> processMetricsReporter.get());
+                      }
+                    });
           }
+        });
 
-          try {
-            cloudSdkOperations =
-                new CloudSdkOperations(
-                    toolsExtension.getCloudSdkHome(),
-                    toolsExtension.getServiceAccountKeyFile(),
-                    toolsExtension.getVerbosity());
-          } catch (CloudSdkNotFoundException ex) {
-            // this should never happen, not found exception only occurs when auto-discovery fails,
-            // but we don't use that mechanism anymore.
-            throw new AssertionError("Failed when attempting to discover SDK: ", ex);
-          }
+    cloudSdkService = CloudSdkBuildService.register(project);
+    cloudSdkOperations =
+        project.provider(
+            () ->
+                cloudSdkService
+                    .get()
+                    .getCloudSdkOperations(
+                        cloudSdkService.get().getCloudSdkHome(toolsExtension),
+                        toolsExtension.getServiceAccountKeyFile(),
+                        toolsExtension.getVerbosity()));
+
+    deployExtension.setDeployTargetResolver(new DeployTargetResolver(cloudSdkOperations::get));
+  }
 
-          deployExtension.setDeployTargetResolver(new DeployTargetResolver(cloudSdkOperations));
-        });
+  private static boolean startsProcesses(Task task) {
+    return task.getName().startsWith("appengine")
+        || task instanceof DownloadCloudSdkTask
+        || task instanceof CheckCloudSdkTask;
   }
 
-  private void createDownloadCloudSdkTask() {
-    project
-        .getTasks()
-        .create(
-            DOWNLOAD_CLOUD_SDK_TASK_NAME,
-            DownloadCloudSdkTask.class,
-            downloadCloudSdkTask -> {
-              downloadCloudSdkTask.setGroup(taskGroup);
-              downloadCloudSdkTask.setDescription("Download the Cloud SDK");
-
-              // make sure we download our required components
-              if (requiresAppEngineJava) {
-                downloadCloudSdkTask.requiresComponent(SdkComponent.APP_ENGINE_JAVA);
-              }
+  // the managed Cloud SDK is used when no Cloud SDK home is configured
+  private boolean isManagedCloudSdk() {
+    return toolsExtension.getCloudSdkHome() == null;
+  }
 
-              project.afterEvaluate(
-                  p -> {
-                    if (managedCloudSdk != null) {
-                      downloadCloudSdkTask.setManagedCloudSdk(managedCloudSdk);
-                      if (p.getGradle().getStartParameter().isOffline()) {
-                        p.getLogger().debug("Skipping DownloadCloudSdk in --offline mode.");
-                        return;
-                      }
-                      p.getTasks()
-                          .matching(task -> task.getName().startsWith("appengine"))
-                          .forEach(task -> task.dependsOn(downloadCloudSdkTask));
-                    }
-                  });
-            });
+  private void createDownloadCloudSdkTask() {
+    TaskProvider<DownloadCloudSdkTask> downloadCloudSdkTask =
+        project
+            .getTasks()
+            .register(
+                DOWNLOAD_CLOUD_SDK_TASK_NAME,
+                DownloadCloudSdkTask.class,
+                task -> {
+                  task.setGroup(taskGroup);
+                  task.setDescription("Download the Cloud SDK");
+                  task.setCloudSdkService(cloudSdkService);
+                  task.usesService(cloudSdkService);
+
+                  // make sure we download our required components
+                  if (requiresAppEngineJava) {
+                    task.requiresComponent(SdkComponent.APP_ENGINE_JAVA);
+                  }
+
+                  task.doFirst(
+                      ignored -> {
+                        if (isManagedCloudSdk()) {
+                          task.setManagedCloudSdk(
+                              cloudSdkService
+                                  .get()
+                                  .getManagedCloudSdk(toolsExtension.getCloudSdkVersion()));
+                          task.setUpToDateCheckTtl(toolsExtension.getCloudSdkUpToDateCheckTtl());
+                          task.setArchiveSha256(toolsExtension.getCloudSdkArchiveSha256());
+                        }
+                      });
+                });
+
+    dependOnFromAppEngineTasks(
+        () -> {
+          if (!isManagedCloudSdk()) {
+            return null;
+          }
+          if (project.getGradle().getStartParameter().isOffline()) {
+            project.getLogger().debug("Skipping DownloadCloudSdk in --offline mode.");
+            return null;
+          }
+          return downloadCloudSdkTask;
+        });
   }
 
   private void createCheckCloudSdkTask() {
+    TaskProvider<CheckCloudSdkTask> checkCloudSdkTask =
+        project
+            .getTasks()
+            .register(
+                CHECK_CLOUD_SDK_TASK_NAME,
+                CheckCloudSdkTask.class,
+                task -> {
+                  task.setGroup(taskGroup);
+                  task.setDescription("Validates the Cloud SDK");
+                  task.usesService(cloudSdkService);
+
+                  task.doFirst(
+                      ignored -> {
+                        if (!isManagedCloudSdk() && toolsExtension.getCloudSdkVersion() != null) {
+                          task.setVersion(toolsExtension.getCloudSdkVersion());
+                          task.setCloudSdk(cloudSdkOperations.get().getCloudSdk());
+                          task.requiresAppEngineJava(requiresAppEngineJava);
+                        }
+                      });
+                });
+
+    dependOnFromAppEngineTasks(
+        () ->
+            !isManagedCloudSdk() && toolsExtension.getCloudSdkVersion() != null
+                ? checkCloudSdkTask
+                : null);
+  }
+
+  /**
+   * Makes every "appengine*" task depend on what {@code dependency} returns once the task graph is
+   * built, without realizing tasks that are not part of the build.
+   */
+  private void dependOnFromAppEngineTasks(Callable<Object> dependency) {
     project
         .getTasks()
-        .create(
-            CHECK_CLOUD_SDK_TASK_NAME,
-            CheckCloudSdkTask.class,
-            checkCloudSdkTask -> {
-              checkCloudSdkTask.setGroup(taskGroup);
-              checkCloudSdkTask.setDescription("Validates the Cloud SDK");
-
-              project.afterEvaluate(
-                  p -> {
-                    if (managedCloudSdk == null && toolsExtension.getCloudSdkVersion() != null) {
-                      checkCloudSdkTask.setVersion(toolsExtension.getCloudSdkVersion());
-                      checkCloudSdkTask.setCloudSdk(cloudSdkOperations.getCloudSdk());
-                      checkCloudSdkTask.requiresAppEngineJava(requiresAppEngineJava);
-                      p.getTasks()
-                          .matching(task -> task.getName().startsWith("appengine"))
-                          .forEach(task -> task.dependsOn(checkCloudSdkTask));
-                    }
-                  });
+        .configureEach(
+            task -> {
+              if (task.getName().startsWith("appengine")) {
+                task.dependsOn(dependency);
+              }
             });
   }
 
@@ -178,23 +234,20 @@ public class AppEngineCorePluginConfiguration {
     injectGcloud(CloudSdkLoginTask.class);
     project
         .getTasks()
-        .create(
+        .register(
             LOGIN_TASK_NAME,
             CloudSdkLoginTask.class,
             loginTask -> {
               loginTask.setGroup(taskGroup);
               loginTask.setDescription("Login and set the Cloud SDK common configuration user");
 
-              project.afterEvaluate(
-                  project -> {
+              loginTask.doLast(
+                  task -> {
                     if (toolsExtension.getServiceAccountKeyFile() != null) {
-                      loginTask.doLast(
-                          task ->
-                              project
-                                  .getLogger()
-                                  .warn(
-                                      "WARNING: ServiceAccountKeyFile is configured and will be"
-                                          + " used instead of Cloud SDK auth state"));
+                      task.getLogger()
+                          .warn(
+                              "WARNING: ServiceAccountKeyFile is configured and will be"
+                                  + " used instead of Cloud SDK auth state");
                     }
                   });
             });
@@ -204,7 +257,7 @@ public class AppEngineCorePluginConfiguration {
     injectGcloud(DeployTask.class);
     project
         .getTasks()
-        .create(
+        .register(
             DEPLOY_TASK_NAME,
             DeployTask.class,
             deployTask -> {
@@ -218,17 +271,13 @@ public class AppEngineCorePluginConfiguration {
     injectGcloud(DeployCronTask.class);
     project
         .getTasks()
-        .create(
+        .register(
             DEPLOY_CRON_TASK_NAME,
             DeployCronTask.class,
             deployTask -> {
               deployTask.setGroup(taskGroup);
               deployTask.setDescription("Deploy Cron configuration");
-
-              project.afterEvaluate(
-                  project -> {
-                    deployTask.setDeployExtension(deployExtension);
-                  });
+              deployTask.setDeployExtension(deployExtension);
             });
   }
 
@@ -236,17 +285,13 @@ public class AppEngineCorePluginConfiguration {
     injectGcloud(DeployDispatchTask.class);
     project
         .getTasks()
-        .create(
+        .register(
             DEPLOY_DISPATCH_TASK_NAME,
             DeployDispatchTask.class,
             deployTask -> {
               deployTask.setGroup(taskGroup);
               deployTask.setDescription("Deploy Dispatch configuration");
-
-              project.afterEvaluate(
-                  project -> {
-                    deployTask.setDeployExtension(deployExtension);
-                  });
+              deployTask.setDeployExtension(deployExtension);
             });
   }
 
@@ -254,17 +299,13 @@ public class AppEngineCorePluginConfiguration {
     injectGcloud(DeployDosTask.class);
     project
         .getTasks()
-        .create(
+        .register(
             DEPLOY_DOS_TASK_NAME,
             DeployDosTask.class,
             deployTask -> {
               deployTask.setGroup(taskGroup);
               deployTask.setDescription("Deploy Dos configuration");
-
-              project.afterEvaluate(
-                  project -> {
-                    deployTask.setDeployExtension(deployExtension);
-                  });
+              deployTask.setDeployExtension(deployExtension);
             });
   }
 
@@ -272,17 +313,13 @@ public class AppEngineCorePluginConfiguration {
     injectGcloud(DeployIndexTask.class);
     project
         .getTasks()
-        .create(
+        .register(
             DEPLOY_INDEX_TASK_NAME,
             DeployIndexTask.class,
             deployTask -> {
               deployTask.setGroup(taskGroup);
               deployTask.setDescription("Deploy Index configuration");
-
-              project.afterEvaluate(
-                  project -> {
-                    deployTask.setDeployExtension(deployExtension);
-                  });
+              deployTask.setDeployExtension(deployExtension);
             });
   }
 
@@ -290,17 +327,13 @@ public class AppEngineCorePluginConfiguration {
     injectGcloud(DeployQueueTask.class);
     project
         .getTasks()
-        .create(
+        .register(
             DEPLOY_QUEUE_TASK_NAME,
             DeployQueueTask.class,
             deployTask -> {
               deployTask.setGroup(taskGroup);
               deployTask.setDescription("Deploy Queue configuration");
-
-              project.afterEvaluate(
-                  project -> {
-                    deployTask.setDeployExtension(deployExtension);
-                  });
+              deployTask.setDeployExtension(deployExtension);
             });
   }
 
@@ -308,7 +341,7 @@ public class AppEngineCorePluginConfiguration {
     injectGcloud(DeployAllTask.class);
     project
         .getTasks()
-        .create(
+        .register(
             DEPLOY_ALL_TASK_NAME,
             DeployAllTask.class,
             deployAllTask -> {
@@ -323,7 +356,7 @@ public class AppEngineCorePluginConfiguration {
   private void createShowConfigurationTask() {
     project
         .getTasks()
-        .create(
+        .register(
             SHOW_CONFIG_TASK_NAME,
             ShowConfigurationTask.class,
             showConfigurationTask -> {
@@ -345,12 +378,15 @@ public class AppEngineCorePluginConfiguration {
     }
   }
 
+  // gcloud is only resolved when the task runs
   private void injectGcloud(Class<? extends GcloudTask> gcloudTask) {
     project
         .getTasks()
         .withType(gcloudTask)
-        .whenTaskAdded(
-            task ->
-                project.afterEvaluate(project -> task.setGcloud(cloudSdkOperations.getGcloud())));
+        .configureEach(
+            task -> {
+              task.usesService(cloudSdkService);
+              task.doFirst(ignored -> task.setGcloud(cloudSdkOperations.get().getGcloud()));
+            });
   }
 }
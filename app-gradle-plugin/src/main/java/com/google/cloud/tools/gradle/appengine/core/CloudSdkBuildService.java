@@ -0,0 +1,217 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import com.google.cloud.tools.appengine.operations.cloudsdk.CloudSdkNotFoundException;
+import com.google.cloud.tools.managedcloudsdk.BadCloudSdkVersionException;
+import com.google.cloud.tools.managedcloudsdk.ConsoleListener;
+import com.google.cloud.tools.managedcloudsdk.ManagedCloudSdk;
+import com.google.cloud.tools.managedcloudsdk.ManagedSdkVerificationException;
+import com.google.cloud.tools.managedcloudsdk.ManagedSdkVersionMismatchException;
+import com.google.cloud.tools.managedcloudsdk.ProgressListener;
+import com.google.cloud.tools.managedcloudsdk.UnsupportedOsException;
+import com.google.cloud.tools.managedcloudsdk.command.CommandExecutionException;
+import com.google.cloud.tools.managedcloudsdk.command.CommandExitException;
+import com.google.cloud.tools.managedcloudsdk.components.SdkComponent;
+import com.google.cloud.tools.managedcloudsdk.install.InstallLock;
+import com.google.cloud.tools.managedcloudsdk.install.SdkInstaller;
+import com.google.cloud.tools.managedcloudsdk.install.SdkInstallerException;
+import com.google.common.base.Strings;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.gradle.api.Project;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+
+/**
+ * Build service resolving the Cloud SDK for all projects of a build. Nothing is resolved until a
+ * task asks for it, and every project configured with the same tools settings shares the same
+ * instances.
+ *
+ * <p>The service also owns the installation of managed Cloud SDKs: installs are serialized across
+ * projects, builds and processes with the install lock of the Cloud SDK, and each verification is
+ * only done once per build.
+ */
+public abstract class CloudSdkBuildService implements BuildService<BuildServiceParameters.None> {
+
+  private static final String NAME = "appengineCloudSdk";
+
+  private final Map<String, ManagedCloudSdk> managedCloudSdks = new ConcurrentHashMap<>();
+  private final Map<List<Object>, CloudSdkOperations> cloudSdkOperations =
+      new ConcurrentHashMap<>();
+  private final Map<Path, Verification> verifications = new ConcurrentHashMap<>();
+
+  /** Registers the service with the build of {@code project}, or returns the registered one. */
+  public static Provider<CloudSdkBuildService> register(Project project) {
+    // projects loading the plugin from different buildscript classpaths get different classes
+    // of the service, so each class loader gets its own registration
+    String name =
+        NAME + "_" + Integer.toHexString(System.identityHashCode(CloudSdkBuildService.class));
+    return project
+        .getGradle()
+        .getSharedServices()
+        .registerIfAbsent(name, CloudSdkBuildService.class, spec -> {});
+  }
+
+  /**
+   * Returns the managed Cloud SDK of a version.
+   *
+   * @param version the version, or null or empty for the latest version
+   */
+  public ManagedCloudSdk getManagedCloudSdk(String version) {
+    return managedCloudSdks.computeIfAbsent(
+        Strings.nullToEmpty(version),
+        key -> {
+          try {
+            return new ManagedCloudSdkFactory(version).newManagedSdk();
+          } catch (UnsupportedOsException ex) {
+            throw new RuntimeException(ex.getMessage(), ex);
+          } catch (BadCloudSdkVersionException ex) {
+            throw new RuntimeException(
+                "Failed to auto-configure Cloud Sdk at cloudSdkVersion = '"
+                    + version
+                    + "': "
+                    + ex.getMessage(),
+                ex);
+          }
+        });
+  }
+
+  /**
+   * Returns the Cloud SDK home configured in {@code tools}, or the home of the managed Cloud SDK
+   * when none is configured.
+   */
+  public File getCloudSdkHome(ToolsExtension tools) {
+    if (tools.getCloudSdkHome() != null) {
+      return tools.getCloudSdkHome();
+    }
+    return getManagedCloudSdk(tools.getCloudSdkVersion()).getSdkHome().toFile();
+  }
+
+  /**
+   * Returns the operations for a Cloud SDK.
+   *
+   * @param cloudSdkHome path to cloud sdk
+   * @param credentialFile optional path to a credential file
+   * @param verbosity logging verbosity level for gcloud commands
+   */
+  public CloudSdkOperations getCloudSdkOperations(
+      File cloudSdkHome, File credentialFile, String verbosity) {
+    return cloudSdkOperations.computeIfAbsent(
+        Arrays.asList(cloudSdkHome, credentialFile, verbosity),
+        key -> {
+          try {
+            return new CloudSdkOperations(cloudSdkHome, credentialFile, verbosity);
+          } catch (CloudSdkNotFoundException ex) {
+            // this should never happen, not found exception only occurs when auto-discovery
+            // fails, but we don't use that mechanism anymore.
+            throw new AssertionError("Failed when attempting to discover SDK: ", ex);
+          }
+        });
+  }
+
+  /**
+   * Installs a managed Cloud SDK, the required components and updates, if they are missing. Only
+   * one project of the build verifies the SDK at a time, and what was verified is not checked again
+   * for the rest of the build.
+   *
+   * @param managedCloudSdk the managed Cloud SDK
+   * @param components the components the calling project requires
+   * @param upToDateCheckTtl how long an up to date check is trusted, or null for the default
+   * @param archiveSha256 the checksum the downloaded archive must have, or null to not verify it
+   */
+  public void installManagedCloudSdk(
+      ManagedCloudSdk managedCloudSdk,
+      List<SdkComponent> components,
+      Duration upToDateCheckTtl,
+      String archiveSha256,
+      ProgressListener progressListener,
+      ConsoleListener consoleListener)
+      throws ManagedSdkVerificationException, ManagedSdkVersionMismatchException,
+          InterruptedException, CommandExecutionException, SdkInstallerException,
+          CommandExitException, IOException {
+    Path sdkHome = managedCloudSdk.getSdkHome();
+    Verification verification = verifications.computeIfAbsent(sdkHome, key -> new Verification());
+    // serializes the projects of this build, the install lock serializes builds and processes
+    synchronized (verification) {
+      if (verification.covers(components)) {
+        return;
+      }
+      try (InstallLock ignored = managedCloudSdk.lockInstallation()) {
+        // Install sdk if not installed
+        if (!verification.installed) {
+          if (!managedCloudSdk.isInstalled()) {
+            SdkInstaller installer = managedCloudSdk.newInstaller();
+            if (archiveSha256 != null) {
+              installer = installer.withArchiveSha256(archiveSha256);
+            }
+            installer.installAtomically(progressListener, consoleListener);
+          }
+          verification.installed = true;
+        }
+
+        // install components, checking and installing the ones not yet verified in one batch
+        List<SdkComponent> unverified = new ArrayList<>();
+        for (SdkComponent component : components) {
+          if (!verification.components.contains(component)) {
+            unverified.add(component);
+          }
+        }
+        List<SdkComponent> missing = managedCloudSdk.getMissingComponents(unverified);
+        if (!missing.isEmpty()) {
+          managedCloudSdk
+              .newComponentInstaller()
+              .installComponents(missing, progressListener, consoleListener);
+        }
+        verification.components.addAll(unverified);
+
+        // If version is set to LATEST, update Cloud SDK
+        if (!verification.upToDate) {
+          if (upToDateCheckTtl != null) {
+            managedCloudSdk.setUpToDateCheckTtl(upToDateCheckTtl);
+          }
+          if (!managedCloudSdk.isUpToDate()) {
+            managedCloudSdk.newUpdater().update(progressListener, consoleListener);
+          }
+          verification.upToDate = true;
+        }
+      }
+    }
+  }
+
+  /** What was verified about one managed Cloud SDK during this build. */
+  private static class Verification {
+    private boolean installed;
+    private boolean upToDate;
+    private final Set<SdkComponent> components = EnumSet.noneOf(SdkComponent.class);
+
+    private boolean covers(List<SdkComponent> required) {
+      return installed && upToDate && components.containsAll(required);
+    }
+  }
+}
@@ -75,9 +75,11 @@ public class CloudSdkOperations {
   /**
    * AppCfg isn't initialized at construction time, because we optionally download the appengine
    * component for appengine-web.xml based applications
+   *
+   * @param classDataSharing launch appcfg with a class data sharing archive
    */
-  public AppCfg getAppcfg() {
-    return AppCfg.builder(cloudSdk).build();
+  public AppCfg getAppcfg(boolean classDataSharing) {
+    return AppCfg.builder(cloudSdk).classDataSharing(classDataSharing).build();
   }
 
   /** Create a return a new default configured process handler. */
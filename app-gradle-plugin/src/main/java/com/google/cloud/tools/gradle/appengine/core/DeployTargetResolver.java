@@ -21,6 +21,7 @@ import com.google.cloud.tools.appengine.operations.cloudsdk.CloudSdkOutOfDateExc
 import com.google.cloud.tools.appengine.operations.cloudsdk.CloudSdkVersionFileException;
 import com.google.cloud.tools.appengine.operations.cloudsdk.process.ProcessHandlerException;
 import java.io.IOException;
+import java.util.function.Supplier;
 import org.gradle.api.GradleException;
 
 /** Used for processing user configured project/version when generating config objects. */
@@ -48,9 +49,14 @@ public class DeployTargetResolver {
           + APPENGINE_CONFIG
           + "' has been deprecated";
 
-  private final CloudSdkOperations cloudSdkOperations;
+  private final Supplier<CloudSdkOperations> cloudSdkOperations;
 
   public DeployTargetResolver(CloudSdkOperations cloudSdkOperations) {
+    this(() -> cloudSdkOperations);
+  }
+
+  /** Resolver that only obtains the Cloud SDK when gcloud's configuration has to be read. */
+  public DeployTargetResolver(Supplier<CloudSdkOperations> cloudSdkOperations) {
     this.cloudSdkOperations = cloudSdkOperations;
   }
 
@@ -66,7 +72,7 @@ public class DeployTargetResolver {
     }
     if (configString.equals(GCLOUD_CONFIG)) {
       try {
-        String gcloudProject = cloudSdkOperations.getGcloud().getConfig().getProject();
+        String gcloudProject = cloudSdkOperations.get().getGcloud().getConfig().getProject();
         if (gcloudProject == null || gcloudProject.trim().isEmpty()) {
           throw new GradleException("Project was not found in gcloud config");
         }
@@ -25,28 +25,49 @@ import com.google.cloud.tools.managedcloudsdk.ProgressListener;
 import com.google.cloud.tools.managedcloudsdk.command.CommandExecutionException;
 import com.google.cloud.tools.managedcloudsdk.command.CommandExitException;
 import com.google.cloud.tools.managedcloudsdk.components.SdkComponent;
-import com.google.cloud.tools.managedcloudsdk.components.SdkUpdater;
-import com.google.cloud.tools.managedcloudsdk.install.SdkInstaller;
 import com.google.cloud.tools.managedcloudsdk.install.SdkInstallerException;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.GradleException;
+import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.TaskAction;
 
 public class DownloadCloudSdkTask extends DefaultTask {
 
   private ManagedCloudSdk managedCloudSdk;
+  private Provider<CloudSdkBuildService> cloudSdkService;
+  private Integer upToDateCheckTtl;
+  private String archiveSha256;
   private final List<SdkComponent> components = new ArrayList<>();
 
   public void setManagedCloudSdk(ManagedCloudSdk managedCloudSdk) {
     this.managedCloudSdk = managedCloudSdk;
   }
 
+  /** Sets the service that installs the Cloud SDK once for all projects of the build. */
+  public void setCloudSdkService(Provider<CloudSdkBuildService> cloudSdkService) {
+    this.cloudSdkService = cloudSdkService;
+  }
+
+  /**
+   * Sets how long, in minutes, an up to date Cloud SDK is trusted before gcloud is asked again, or
+   * null for the default.
+   */
+  public void setUpToDateCheckTtl(Integer upToDateCheckTtl) {
+    this.upToDateCheckTtl = upToDateCheckTtl;
+  }
+
+  /** Sets the checksum the downloaded Cloud SDK archive must have, or null to not verify it. */
+  public void setArchiveSha256(String archiveSha256) {
+    this.archiveSha256 = archiveSha256;
+  }
+
   public void requiresComponent(SdkComponent component) {
     components.add(component);
   }
@@ -71,27 +92,17 @@ public class DownloadCloudSdkTask extends DefaultTask {
     ProgressListener progressListener = new NoOpProgressListener();
     ConsoleListener consoleListener = new DownloadCloudSdkTaskConsoleListener(getProject());
 
-    // Install sdk if not installed
-    if (!managedCloudSdk.isInstalled()) {
-      SdkInstaller installer = managedCloudSdk.newInstaller();
-      installer.install(progressListener, consoleListener);
-    }
-
-    // install components
-    if (components != null) {
-      for (SdkComponent component : components) {
-        if (!managedCloudSdk.hasComponent(component)) {
-          managedCloudSdk
-              .newComponentInstaller()
-              .installComponent(component, progressListener, consoleListener);
-        }
-      }
-    }
-
-    // If version is set to LATEST, update Cloud SDK
-    if (!managedCloudSdk.isUpToDate()) {
-      SdkUpdater updater = managedCloudSdk.newUpdater();
-      updater.update(progressListener, consoleListener);
+    if (cloudSdkService == null) {
+      cloudSdkService = CloudSdkBuildService.register(getProject());
     }
+    cloudSdkService
+        .get()
+        .installManagedCloudSdk(
+            managedCloudSdk,
+            components,
+            upToDateCheckTtl == null ? null : Duration.ofMinutes(upToDateCheckTtl),
+            archiveSha256,
+            progressListener,
+            consoleListener);
   }
 }
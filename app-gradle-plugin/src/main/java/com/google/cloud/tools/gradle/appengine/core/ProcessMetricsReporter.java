@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.google.cloud.tools.gradle.appengine.core;
+
+import com.google.cloud.tools.process.JsonLinesProcessMetricsListener;
+import com.google.cloud.tools.process.ProcessMetrics;
+import com.google.cloud.tools.process.ProcessMetricsSummary;
+import java.io.File;
+import javax.inject.Inject;
+import org.gradle.api.Project;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+import org.gradle.api.services.BuildServiceRegistry;
+import org.gradle.build.event.BuildEventsListenerRegistry;
+import org.gradle.tooling.events.FinishEvent;
+import org.gradle.tooling.events.OperationCompletionListener;
+
+/**
+ * Build service collecting measurements of the child processes started during the build, the
+ * summary is logged when the service is closed at the end of the build. Tasks that start processes
+ * use the service, which starts collecting before the first of them runs.
+ */
+public abstract class ProcessMetricsReporter
+    implements BuildService<ProcessMetricsReporter.Parameters>,
+        OperationCompletionListener,
+        AutoCloseable {
+
+  private static final Logger logger = Logging.getLogger(ProcessMetricsReporter.class);
+
+  private static final String NAME = "appengineProcessMetrics";
+
+  private final ProcessMetricsSummary summary = new ProcessMetricsSummary();
+  private final JsonLinesProcessMetricsListener jsonLines;
+
+  /** Parameters of the service. */
+  public interface Parameters extends BuildServiceParameters {
+    /** Optional file to append a JSON line to for every process. */
+    RegularFileProperty getMetricsFile();
+  }
+
+  /** Gives access to the build events registry, which Gradle only injects. */
+  public abstract static class ListenerRegistration {
+    @Inject
+    public abstract BuildEventsListenerRegistry getListenerRegistry();
+  }
+
+  /** Starts collecting when Gradle creates the service. */
+  public ProcessMetricsReporter() {
+    File metricsFile = getParameters().getMetricsFile().getAsFile().getOrNull();
+    jsonLines =
+        metricsFile == null ? null : new JsonLinesProcessMetricsListener(metricsFile.toPath());
+    ProcessMetrics.addListener(summary);
+    if (jsonLines != null) {
+      ProcessMetrics.addListener(jsonLines);
+    }
+  }
+
+  /**
+   * Registers the service with the build of {@code project}, or returns the registered one. Tasks
+   * that start processes must use the returned service and get it before they start them.
+   *
+   * @param metricsFile optional file to append a JSON line to for every process
+   */
+  static Provider<ProcessMetricsReporter> register(Project project, File metricsFile) {
+    // projects loading the plugin from different buildscript classpaths get different classes
+    // of the service, so each class loader gets its own registration
+    String name =
+        NAME + "_" + Integer.toHexString(System.identityHashCode(ProcessMetricsReporter.class));
+    BuildServiceRegistry sharedServices = project.getGradle().getSharedServices();
+    boolean registered = sharedServices.getRegistrations().findByName(name) != null;
+    Provider<ProcessMetricsReporter> reporter =
+        sharedServices.registerIfAbsent(
+            name,
+            ProcessMetricsReporter.class,
+            spec -> {
+              if (metricsFile != null) {
+                spec.getParameters().getMetricsFile().set(metricsFile);
+              }
+            });
+    if (!registered) {
+      // keeps the service, and the summary, until the end of the build
+      project
+          .getObjects()
+          .newInstance(ListenerRegistration.class)
+          .getListenerRegistry()
+          .onTaskCompletion(reporter);
+    }
+    return reporter;
+  }
+
+  @Override
+  public void onFinish(FinishEvent event) {
+    // only registered so that the service is closed when the build finishes
+  }
+
+  @Override
+  public void close() {
+    ProcessMetrics.removeListener(summary);
+    if (jsonLines != null) {
+      ProcessMetrics.removeListener(jsonLines);
+    }
+    for (String line : summary.format()) {
+      logger.lifecycle(line);
+    }
+  }
+}
@@ -27,8 +27,12 @@ public class ToolsExtension {
 
   private File cloudSdkHome;
   private String cloudSdkVersion;
+  private Integer cloudSdkUpToDateCheckTtl;
+  private String cloudSdkArchiveSha256;
   private File cloudSdkServiceAccountFile;
   private String verbosity;
+  private Boolean processMetrics;
+  private File processMetricsFile;
 
   public ToolsExtension(Project project) {
     this.project = project;
@@ -42,6 +46,30 @@ public class ToolsExtension {
     this.cloudSdkVersion = cloudSdkVersion;
   }
 
+  /**
+   * Returns how long, in minutes, a managed Cloud SDK that was found up to date is trusted before
+   * gcloud is asked again, or null for the default.
+   */
+  public Integer getCloudSdkUpToDateCheckTtl() {
+    return cloudSdkUpToDateCheckTtl;
+  }
+
+  public void setCloudSdkUpToDateCheckTtl(Integer cloudSdkUpToDateCheckTtl) {
+    this.cloudSdkUpToDateCheckTtl = cloudSdkUpToDateCheckTtl;
+  }
+
+  /**
+   * Returns the hex encoded SHA-256 checksum the downloaded managed Cloud SDK archive must have, or
+   * null to install it unverified.
+   */
+  public String getCloudSdkArchiveSha256() {
+    return cloudSdkArchiveSha256;
+  }
+
+  public void setCloudSdkArchiveSha256(String cloudSdkArchiveSha256) {
+    this.cloudSdkArchiveSha256 = cloudSdkArchiveSha256;
+  }
+
   public File getCloudSdkHome() {
     return cloudSdkHome;
   }
@@ -65,4 +93,20 @@ public class ToolsExtension {
   public void setVerbosity(String verbosity) {
     this.verbosity = verbosity;
   }
+
+  public Boolean getProcessMetrics() {
+    return processMetrics;
+  }
+
+  public void setProcessMetrics(Boolean processMetrics) {
+    this.processMetrics = processMetrics;
+  }
+
+  public File getProcessMetricsFile() {
+    return processMetricsFile;
+  }
+
+  public void setProcessMetricsFile(Object processMetricsFile) {
+    this.processMetricsFile = project.file(processMetricsFile);
+  }
 }
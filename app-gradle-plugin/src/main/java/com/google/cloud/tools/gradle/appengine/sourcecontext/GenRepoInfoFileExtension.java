@@ -21,7 +21,7 @@ import com.google.cloud.tools.appengine.configuration.GenRepoInfoFileConfigurati
 import com.google.cloud.tools.gradle.appengine.util.NullSafe;
 import java.io.File;
 import org.gradle.api.Project;
-import org.gradle.api.tasks.InputDirectory;
+import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.OutputDirectory;
 
 /** Extension element to define Source Context configurations. */
@@ -47,7 +47,8 @@ public class GenRepoInfoFileExtension {
     this.outputDirectory = outputDirectory;
   }
 
-  @InputDirectory
+  // tracked through GenRepoInfoFileTask#getRepositoryStateFiles
+  @Internal
   public File getSourceDirectory() {
     return sourceDirectory;
   }
@@ -59,7 +60,7 @@ public class GenRepoInfoFileExtension {
   GenRepoInfoFileConfiguration toGenRepoInfoFileConfiguration() {
     return GenRepoInfoFileConfiguration.builder()
         .outputDirectory(NullSafe.convert(outputDirectory, File::toPath))
-        .sourceDirectory(NullSafe.convert(outputDirectory, File::toPath))
+        .sourceDirectory(NullSafe.convert(sourceDirectory, File::toPath))
         .build();
   }
 }
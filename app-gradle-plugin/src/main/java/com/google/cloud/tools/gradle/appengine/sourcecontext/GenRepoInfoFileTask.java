@@ -19,9 +19,19 @@ package com.google.cloud.tools.gradle.appengine.sourcecontext;
 
 import com.google.cloud.tools.appengine.AppEngineException;
 import com.google.cloud.tools.appengine.operations.Gcloud;
+import com.google.cloud.tools.appengine.operations.GitRepository;
 import com.google.cloud.tools.gradle.appengine.core.CloudSdkOperations;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
 import org.gradle.api.DefaultTask;
+import org.gradle.api.tasks.InputFiles;
 import org.gradle.api.tasks.Nested;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.TaskAction;
 
 /** Generate source context information. */
@@ -39,6 +49,25 @@ public class GenRepoInfoFileTask extends DefaultTask {
     this.configuration = configuration;
   }
 
+  /**
+   * The files holding the checked out commit and the remotes of the git repository of the source
+   * directory, so the task is up-to-date as long as HEAD does not move. When the source directory
+   * is not in a git repository the whole directory is tracked, as gcloud generates the file then.
+   */
+  @InputFiles
+  @PathSensitive(PathSensitivity.ABSOLUTE)
+  public List<File> getRepositoryStateFiles() throws IOException {
+    File sourceDirectory = configuration.getSourceDirectory();
+    if (sourceDirectory == null) {
+      return Collections.emptyList();
+    }
+    GitRepository repository = GitRepository.find(sourceDirectory.toPath());
+    if (repository == null) {
+      return Collections.singletonList(sourceDirectory);
+    }
+    return repository.getStateFiles().stream().map(Path::toFile).collect(Collectors.toList());
+  }
+
   public void setGcloud(Gcloud gcloud) {
     this.gcloud = gcloud;
   }
@@ -17,30 +17,29 @@
 
 package com.google.cloud.tools.gradle.appengine.sourcecontext;
 
-import com.google.cloud.tools.appengine.operations.cloudsdk.CloudSdkNotFoundException;
 import com.google.cloud.tools.gradle.appengine.core.AppEngineCoreExtensionProperties;
-import com.google.cloud.tools.gradle.appengine.core.CloudSdkOperations;
+import com.google.cloud.tools.gradle.appengine.core.CloudSdkBuildService;
 import com.google.cloud.tools.gradle.appengine.core.ToolsExtension;
 import com.google.cloud.tools.gradle.appengine.util.ExtensionUtil;
 import java.io.File;
-import org.gradle.api.GradleException;
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
 import org.gradle.api.plugins.ExtensionAware;
 import org.gradle.api.plugins.JavaPlugin;
 import org.gradle.api.plugins.WarPlugin;
+import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.bundling.AbstractArchiveTask;
 import org.gradle.api.tasks.bundling.Jar;
-import org.gradle.api.tasks.bundling.War;
 
 /** Plugin for adding source context into App Engine project. */
 public class SourceContextPlugin implements Plugin<Project> {
 
   private Project project;
   private GenRepoInfoFileExtension extension;
-  private CloudSdkOperations cloudSdkOperations;
+  private ToolsExtension tools;
 
   public static final String SOURCE_CONTEXT_EXTENSION = "sourceContext";
+  private static final String SOURCE_CONTEXT_TASK_NAME = "_createSourceContext";
 
   @Override
   public void apply(Project project) {
@@ -53,7 +52,7 @@ public class SourceContextPlugin implements Plugin<Project> {
   private void createExtension() {
     // obtain extensions defined by core plugin.
     ExtensionAware appengine = new ExtensionUtil(project).get("appengine");
-    final ToolsExtension tools = ((AppEngineCoreExtensionProperties) appengine).getTools();
+    tools = ((AppEngineCoreExtensionProperties) appengine).getTools();
 
     // create source context extension and set defaults
     extension =
@@ -62,47 +61,46 @@ public class SourceContextPlugin implements Plugin<Project> {
             .create(SOURCE_CONTEXT_EXTENSION, GenRepoInfoFileExtension.class, project);
     extension.setOutputDirectory(new File(project.getBuildDir(), "sourceContext"));
     extension.setSourceDirectory(new File(project.getProjectDir(), "src"));
-
-    // wait to read the cloudSdkHome till after project evaluation
-    project.afterEvaluate(
-        project -> {
-          try {
-            cloudSdkOperations =
-                new CloudSdkOperations(tools.getCloudSdkHome(), null, tools.getVerbosity());
-          } catch (CloudSdkNotFoundException ex) {
-            // this should be caught in AppEngineCorePluginConfig before it can ever reach here.
-            throw new GradleException("Could not find CloudSDK: ", ex);
-          }
-        });
   }
 
   private void createSourceContextTask() {
+    Provider<CloudSdkBuildService> cloudSdkService = CloudSdkBuildService.register(project);
     project
         .getTasks()
-        .create(
-            "_createSourceContext",
+        .register(
+            SOURCE_CONTEXT_TASK_NAME,
             GenRepoInfoFileTask.class,
             genRepoInfoFile -> {
               genRepoInfoFile.setDescription("_internal");
+              genRepoInfoFile.setConfiguration(extension);
+              genRepoInfoFile.usesService(cloudSdkService);
 
-              project.afterEvaluate(
-                  project -> {
-                    genRepoInfoFile.setConfiguration(extension);
-                    genRepoInfoFile.setGcloud(cloudSdkOperations.getGcloud());
+              // the cloudSdkHome is only read when the task runs
+              genRepoInfoFile.doFirst(
+                  ignored -> {
+                    CloudSdkBuildService service = cloudSdkService.get();
+                    genRepoInfoFile.setGcloud(
+                        service
+                            .getCloudSdkOperations(
+                                service.getCloudSdkHome(tools), null, tools.getVerbosity())
+                            .getGcloud());
                   });
             });
-    configureArchiveTask(
-        project.getTasks().withType(War.class).findByName(WarPlugin.WAR_TASK_NAME));
-    configureArchiveTask(
-        project.getTasks().withType(Jar.class).findByName(JavaPlugin.JAR_TASK_NAME));
+    project
+        .getTasks()
+        .withType(Jar.class)
+        .configureEach(
+            archiveTask -> {
+              if (archiveTask.getName().equals(WarPlugin.WAR_TASK_NAME)
+                  || archiveTask.getName().equals(JavaPlugin.JAR_TASK_NAME)) {
+                configureArchiveTask(archiveTask);
+              }
+            });
   }
 
   // inject source-context into the META-INF directory of a jar or war
   private void configureArchiveTask(AbstractArchiveTask archiveTask) {
-    if (archiveTask == null) {
-      return;
-    }
-    archiveTask.dependsOn("_createSourceContext");
+    archiveTask.dependsOn(SOURCE_CONTEXT_TASK_NAME);
     archiveTask.from(extension.getOutputDirectory(), copySpec -> copySpec.into("WEB-INF/classes"));
   }
 }
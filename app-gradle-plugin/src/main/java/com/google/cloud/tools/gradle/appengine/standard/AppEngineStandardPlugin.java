@@ -17,22 +17,27 @@
 
 package com.google.cloud.tools.gradle.appengine.standard;
 
-import com.google.cloud.tools.appengine.operations.cloudsdk.CloudSdkNotFoundException;
 import com.google.cloud.tools.gradle.appengine.core.AppEngineCorePluginConfiguration;
+import com.google.cloud.tools.gradle.appengine.core.CloudSdkBuildService;
 import com.google.cloud.tools.gradle.appengine.core.CloudSdkOperations;
 import com.google.cloud.tools.gradle.appengine.core.DeployAllTask;
 import com.google.cloud.tools.gradle.appengine.core.DeployExtension;
 import com.google.cloud.tools.gradle.appengine.core.DeployTargetResolver;
 import com.google.cloud.tools.gradle.appengine.core.DeployTask;
-import com.google.cloud.tools.gradle.appengine.core.ToolsExtension;
 import com.google.cloud.tools.gradle.appengine.util.GradleCompatibility;
 import com.google.common.base.Strings;
 import java.io.File;
-import org.gradle.api.GradleException;
+import java.util.HashMap;
+import java.util.Map;
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
 import org.gradle.api.plugins.BasePlugin;
 import org.gradle.api.plugins.WarPlugin;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.SourceSet;
+import org.gradle.api.tasks.SourceSetContainer;
+import org.gradle.api.tasks.SourceSetOutput;
+import org.gradle.api.tasks.TaskProvider;
 import org.gradle.api.tasks.bundling.War;
 
 /** Plugin definition for App Engine standard environments. */
@@ -52,7 +57,8 @@ public class AppEngineStandardPlugin implements Plugin<Project> {
   public static final String RUN_EXTENSION = "run";
 
   private Project project;
-  private CloudSdkOperations cloudSdkOperations;
+  private Provider<CloudSdkOperations> cloudSdkOperations;
+  private Provider<CloudSdkBuildService> cloudSdkService;
   private AppEngineStandardExtension appengineExtension;
   private AppEngineCorePluginConfiguration appEngineCorePluginConfiguration;
   private RunExtension runExtension;
@@ -70,6 +76,8 @@ public class AppEngineStandardPlugin implements Plugin<Project> {
     appEngineCorePluginConfiguration = new AppEngineCorePluginConfiguration();
     appEngineCorePluginConfiguration.configureCoreProperties(
         project, appengineExtension, APP_ENGINE_STANDARD_TASK_GROUP, true);
+    cloudSdkOperations = appEngineCorePluginConfiguration.getCloudSdkOperations();
+    cloudSdkService = appEngineCorePluginConfiguration.getCloudSdkService();
 
     explodedWarDir = new File(project.getBuildDir(), "exploded-" + project.getName());
 
@@ -87,6 +95,7 @@ public class AppEngineStandardPlugin implements Plugin<Project> {
     runExtension.setStartSuccessTimeout(20);
     runExtension.setServices(explodedWarDir);
     runExtension.setServerVersion("1");
+    runExtension.setDeployTargetResolver(new DeployTargetResolver(cloudSdkOperations::get));
 
     // create the stage extension and set defaults.
     stageExtension = appengineExtension.getStage();
@@ -96,79 +105,91 @@ public class AppEngineStandardPlugin implements Plugin<Project> {
 
     project.afterEvaluate(
         project -> {
-          // tools extension required to initialize cloudSdkOperations
-          ToolsExtension tools = appengineExtension.getTools();
-          try {
-            cloudSdkOperations =
-                new CloudSdkOperations(tools.getCloudSdkHome(), null, tools.getVerbosity());
-          } catch (CloudSdkNotFoundException ex) {
-            // this should be caught in AppEngineCorePluginConfig before it can ever reach here.
-            throw new GradleException("Could not find CloudSDK: ", ex);
-          }
-
           DeployExtension deploy = appengineExtension.getDeploy();
           if (deploy.getAppEngineDirectory() == null) {
             deploy.setAppEngineDirectory(
                 new File(stageExtension.getStagingDirectory(), "WEB-INF/appengine-generated"));
           }
 
-          DeployAllTask deployAllTask =
-              (DeployAllTask)
-                  project
-                      .getTasks()
-                      .getByName(AppEngineCorePluginConfiguration.DEPLOY_ALL_TASK_NAME);
-          deployAllTask.setStageDirectory(stageExtension.getStagingDirectory());
-          deployAllTask.setDeployExtension(deploy);
+          project
+              .getTasks()
+              .withType(DeployAllTask.class)
+              .named(AppEngineCorePluginConfiguration.DEPLOY_ALL_TASK_NAME)
+              .configure(
+                  deployAllTask -> {
+                    deployAllTask.setStageDirectory(stageExtension.getStagingDirectory());
+                    deployAllTask.setDeployExtension(deploy);
+                  });
 
-          DeployTask deployTask =
-              (DeployTask)
-                  project.getTasks().getByName(AppEngineCorePluginConfiguration.DEPLOY_TASK_NAME);
-          deployTask.setDeployConfig(deploy);
-          deployTask.setAppYaml(stageExtension.getStagingDirectory().toPath().resolve("app.yaml"));
+          project
+              .getTasks()
+              .withType(DeployTask.class)
+              .named(AppEngineCorePluginConfiguration.DEPLOY_TASK_NAME)
+              .configure(
+                  deployTask -> {
+                    deployTask.setDeployConfig(deploy);
+                    deployTask.setAppYaml(
+                        stageExtension.getStagingDirectory().toPath().resolve("app.yaml"));
+                  });
 
           // configure the runExtension's project parameter
           // assign the run projectId to the deploy projectId if none is specified
           if (Strings.isNullOrEmpty(runExtension.getProjectId())) {
             runExtension.setProjectId(deploy.getProjectId());
           }
-          runExtension.setDeployTargetResolver(new DeployTargetResolver(cloudSdkOperations));
         });
   }
 
   private void createExplodedWarTask() {
+    TaskProvider<ExplodeWarTask> explodeWarTask =
+        project
+            .getTasks()
+            .register(
+                EXPLODE_WAR_TASK_NAME,
+                ExplodeWarTask.class,
+                explodeWar -> {
+                  explodeWar.setExplodedAppDirectory(explodedWarDir);
+                  explodeWar.dependsOn(WarPlugin.WAR_TASK_NAME);
+                  explodeWar.setGroup(APP_ENGINE_STANDARD_TASK_GROUP);
+                  explodeWar.setDescription("Explode a war into a directory");
+                });
+    project.afterEvaluate(
+        project ->
+            explodeWarTask.configure(
+                explodeWar -> {
+                  War war =
+                      project.getTasks().withType(War.class).getByName(WarPlugin.WAR_TASK_NAME);
+                  explodeWar.setWarFile(GradleCompatibility.getArchiveFile(war));
+                }));
     project
         .getTasks()
-        .create(
-            EXPLODE_WAR_TASK_NAME,
-            ExplodeWarTask.class,
-            explodeWar -> {
-              explodeWar.setExplodedAppDirectory(explodedWarDir);
-              explodeWar.dependsOn(WarPlugin.WAR_TASK_NAME);
-              explodeWar.setGroup(APP_ENGINE_STANDARD_TASK_GROUP);
-              explodeWar.setDescription("Explode a war into a directory");
-
-              project.afterEvaluate(
-                  project -> {
-                    War war = (War) project.getTasks().getByPath(WarPlugin.WAR_TASK_NAME);
-                    explodeWar.setWarFile(GradleCompatibility.getArchiveFile(war));
-                  });
-            });
-    project.getTasks().getByName(BasePlugin.ASSEMBLE_TASK_NAME).dependsOn(EXPLODE_WAR_TASK_NAME);
+        .named(BasePlugin.ASSEMBLE_TASK_NAME)
+        .configure(assemble -> assemble.dependsOn(explodeWarTask));
   }
 
   private void createStageTask() {
     project
         .getTasks()
         .withType(StageStandardTask.class)
-        .whenTaskAdded(
-            stageStandardTask ->
-                project.afterEvaluate(
-                    ignored -> stageStandardTask.setAppCfg(cloudSdkOperations.getAppcfg())));
+        .configureEach(
+            stageStandardTask -> {
+              stageStandardTask.usesService(cloudSdkService);
+              stageStandardTask.doFirst(
+                  ignored ->
+                      stageStandardTask.setAppCfg(
+                          cloudSdkOperations
+                              .get()
+                              .getAppcfg(
+                                  Boolean.TRUE.equals(
+                                      stageStandardTask
+                                          .getStageStandardExtension()
+                                          .getClassDataSharing()))));
+            });
 
-    StageStandardTask stageTask =
+    TaskProvider<StageStandardTask> stageTask =
         project
             .getTasks()
-            .create(
+            .register(
                 STAGE_TASK_NAME,
                 StageStandardTask.class,
                 stageTask1 -> {
@@ -176,97 +197,101 @@ public class AppEngineStandardPlugin implements Plugin<Project> {
                   stageTask1.setDescription(
                       "Stage an App Engine standard environment application for deployment");
                   stageTask1.dependsOn(BasePlugin.ASSEMBLE_TASK_NAME);
-
-                  project.afterEvaluate(
-                      project -> {
-                        stageTask1.setStageStandardExtension(stageExtension);
-                      });
+                  stageTask1.setStageStandardExtension(stageExtension);
                 });
 
     // All deployment tasks depend on the stage task.
-    project
-        .getTasks()
-        .getByName(AppEngineCorePluginConfiguration.DEPLOY_TASK_NAME)
-        .dependsOn(stageTask);
-    project
-        .getTasks()
-        .getByName(AppEngineCorePluginConfiguration.DEPLOY_CRON_TASK_NAME)
-        .dependsOn(stageTask);
-    project
-        .getTasks()
-        .getByName(AppEngineCorePluginConfiguration.DEPLOY_DISPATCH_TASK_NAME)
-        .dependsOn(stageTask);
-    project
-        .getTasks()
-        .getByName(AppEngineCorePluginConfiguration.DEPLOY_DOS_TASK_NAME)
-        .dependsOn(stageTask);
-    project
-        .getTasks()
-        .getByName(AppEngineCorePluginConfiguration.DEPLOY_INDEX_TASK_NAME)
-        .dependsOn(stageTask);
-    project
-        .getTasks()
-        .getByName(AppEngineCorePluginConfiguration.DEPLOY_QUEUE_TASK_NAME)
-        .dependsOn(stageTask);
-    project
-        .getTasks()
-        .getByName(AppEngineCorePluginConfiguration.DEPLOY_ALL_TASK_NAME)
-        .dependsOn(stageTask);
+    for (String deployTaskName :
+        new String[] {
+          AppEngineCorePluginConfiguration.DEPLOY_TASK_NAME,
+          AppEngineCorePluginConfiguration.DEPLOY_CRON_TASK_NAME,
+          AppEngineCorePluginConfiguration.DEPLOY_DISPATCH_TASK_NAME,
+          AppEngineCorePluginConfiguration.DEPLOY_DOS_TASK_NAME,
+          AppEngineCorePluginConfiguration.DEPLOY_INDEX_TASK_NAME,
+          AppEngineCorePluginConfiguration.DEPLOY_QUEUE_TASK_NAME,
+          AppEngineCorePluginConfiguration.DEPLOY_ALL_TASK_NAME
+        }) {
+      project.getTasks().named(deployTaskName).configure(task -> task.dependsOn(stageTask));
+    }
+  }
+
+  /**
+   * Returns the class and resource output directories of the main source set, mapped to the classes
+   * directory of the exploded war they end up in.
+   */
+  private Map<File, File> getMainOutputDirectories() {
+    File explodedClassesDir = new File(explodedWarDir, "WEB-INF/classes");
+    SourceSetOutput output =
+        project
+            .getExtensions()
+            .getByType(SourceSetContainer.class)
+            .getByName(SourceSet.MAIN_SOURCE_SET_NAME)
+            .getOutput();
+    Map<File, File> directories = new HashMap<>();
+    for (File classesDir : output.getClassesDirs()) {
+      directories.put(classesDir, explodedClassesDir);
+    }
+    if (output.getResourcesDir() != null) {
+      directories.put(output.getResourcesDir(), explodedClassesDir);
+    }
+    return directories;
   }
 
   private void createRunTasks() {
     project
         .getTasks()
-        .create(
+        .register(
             RUN_TASK_NAME,
             DevAppServerRunTask.class,
             runTask -> {
               runTask.setGroup(APP_ENGINE_STANDARD_TASK_GROUP);
               runTask.setDescription("Run an App Engine standard environment application locally");
-              runTask.dependsOn(project.getTasks().findByName(BasePlugin.ASSEMBLE_TASK_NAME));
-
-              project.afterEvaluate(
-                  project -> {
-                    runTask.setRunConfig(runExtension);
-                    runTask.setDevServers(cloudSdkOperations.getDevServers());
+              runTask.dependsOn(BasePlugin.ASSEMBLE_TASK_NAME);
+              runTask.setRunConfig(runExtension);
+              runTask.usesService(cloudSdkService);
+
+              runTask.doFirst(
+                  ignored -> {
+                    runTask.setDevServers(cloudSdkOperations.get().getDevServers());
+                    runTask.setSyncedDirectories(getMainOutputDirectories());
                   });
             });
 
     project
         .getTasks()
-        .create(
+        .register(
             START_TASK_NAME,
             DevAppServerStartTask.class,
             startTask -> {
               startTask.setGroup(APP_ENGINE_STANDARD_TASK_GROUP);
               startTask.setDescription(
                   "Run an App Engine standard environment application locally in the background");
-              startTask.dependsOn(project.getTasks().findByName(BasePlugin.ASSEMBLE_TASK_NAME));
-
-              project.afterEvaluate(
-                  project -> {
-                    startTask.setRunConfig(runExtension);
-                    startTask.setDevServers(cloudSdkOperations.getDevServers());
-                    startTask.setDevAppServerLoggingDir(
-                        new File(project.getBuildDir(), DEV_APP_SERVER_OUTPUT_DIR_NAME));
-                  });
+              startTask.dependsOn(BasePlugin.ASSEMBLE_TASK_NAME);
+              startTask.setRunConfig(runExtension);
+              startTask.usesService(cloudSdkService);
+              startTask.setDevAppServerLoggingDir(
+                  new File(project.getBuildDir(), DEV_APP_SERVER_OUTPUT_DIR_NAME));
+
+              startTask.doFirst(
+                  ignored -> startTask.setDevServers(cloudSdkOperations.get().getDevServers()));
             });
 
     project
         .getTasks()
-        .create(
+        .register(
             STOP_TASK_NAME,
             DevAppServerStopTask.class,
             stopTask -> {
               stopTask.setGroup(APP_ENGINE_STANDARD_TASK_GROUP);
               stopTask.setDescription(
                   "Stop a locally running App Engine standard environment application");
+              stopTask.setRunConfig(runExtension);
+              stopTask.usesService(cloudSdkService);
+              stopTask.setDevAppServerLoggingDir(
+                  new File(project.getBuildDir(), DEV_APP_SERVER_OUTPUT_DIR_NAME));
 
-              project.afterEvaluate(
-                  project -> {
-                    stopTask.setRunConfig(runExtension);
-                    stopTask.setDevServers(cloudSdkOperations.getDevServers());
-                  });
+              stopTask.doFirst(
+                  ignored -> stopTask.setDevServers(cloudSdkOperations.get().getDevServers()));
             });
   }
 }
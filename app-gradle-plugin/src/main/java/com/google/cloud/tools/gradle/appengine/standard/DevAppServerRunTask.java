@@ -18,9 +18,20 @@
 package com.google.cloud.tools.gradle.appengine.standard;
 
 import com.google.cloud.tools.appengine.AppEngineException;
+import com.google.cloud.tools.appengine.configuration.RunConfiguration;
 import com.google.cloud.tools.appengine.operations.DevServers;
+import com.google.cloud.tools.appengine.operations.HotReloader;
 import com.google.cloud.tools.gradle.appengine.core.CloudSdkOperations;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
 import org.gradle.api.ProjectConfigurationException;
 import org.gradle.api.tasks.TaskAction;
 
@@ -29,6 +40,7 @@ public class DevAppServerRunTask extends DefaultTask {
 
   private RunExtension runConfig;
   private DevServers devServers;
+  private Map<File, File> syncedDirectories = Collections.emptyMap();
 
   public void setRunConfig(RunExtension runConfig) {
     this.runConfig = runConfig;
@@ -38,11 +50,51 @@ public class DevAppServerRunTask extends DefaultTask {
     this.devServers = devServers;
   }
 
+  /**
+   * Sets the build output directories that are copied into a service while hot reloading, mapped to
+   * the directory of the service they are copied to.
+   */
+  public void setSyncedDirectories(Map<File, File> syncedDirectories) {
+    this.syncedDirectories = syncedDirectories;
+  }
+
   /** Task entrypoint : run the devappserver (blocking). */
   @TaskAction
   public void runAction() throws AppEngineException, ProjectConfigurationException {
-    devServers
-        .newDevAppServer(CloudSdkOperations.getDefaultHandler(getLogger()))
-        .run(runConfig.toRunConfiguration());
+    boolean hotReload = Boolean.TRUE.equals(runConfig.getHotReload());
+    List<HotReloader> hotReloaders = hotReload ? startHotReloaders() : Collections.emptyList();
+    try {
+      RunConfiguration config = runConfig.toRunConfiguration();
+      if (hotReload) {
+        // the hot reloaders replace the dev server's own scanning of the app
+        config = config.toBuilder().automaticRestart(false).build();
+      }
+      devServers.newDevAppServer(CloudSdkOperations.getDefaultHandler(getLogger())).run(config);
+    } finally {
+      hotReloaders.forEach(HotReloader::close);
+    }
+  }
+
+  private List<HotReloader> startHotReloaders() {
+    List<HotReloader> hotReloaders = new ArrayList<>();
+    for (File service : runConfig.getServices()) {
+      Map<Path, Path> serviceDirectories = new HashMap<>();
+      syncedDirectories.forEach(
+          (source, target) -> {
+            if (target.toPath().startsWith(service.toPath())) {
+              serviceDirectories.put(source.toPath(), target.toPath());
+            }
+          });
+      HotReloader hotReloader = new HotReloader(service.toPath(), serviceDirectories);
+      try {
+        hotReloader.start();
+      } catch (IOException ex) {
+        hotReloaders.forEach(HotReloader::close);
+        throw new GradleException("Failed to watch " + service + " for changes", ex);
+      }
+      hotReloaders.add(hotReloader);
+      getLogger().lifecycle("Hot reloading " + service);
+    }
+    return hotReloaders;
   }
 }
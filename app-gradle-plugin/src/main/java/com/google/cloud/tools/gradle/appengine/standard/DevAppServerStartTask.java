@@ -18,14 +18,20 @@
 package com.google.cloud.tools.gradle.appengine.standard;
 
 import com.google.cloud.tools.appengine.AppEngineException;
+import com.google.cloud.tools.appengine.operations.DevServer;
 import com.google.cloud.tools.appengine.operations.DevServers;
+import com.google.cloud.tools.appengine.operations.cloudsdk.process.HttpReadinessProbe;
 import com.google.cloud.tools.appengine.operations.cloudsdk.process.LegacyProcessHandler;
 import com.google.cloud.tools.appengine.operations.cloudsdk.process.NonZeroExceptionExitListener;
 import com.google.cloud.tools.appengine.operations.cloudsdk.process.ProcessHandler;
-import com.google.cloud.tools.gradle.appengine.util.io.FileOutputLineListener;
+import com.google.cloud.tools.appengine.operations.cloudsdk.process.RollingFileOutputLineListener;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.tasks.OutputDirectory;
 import org.gradle.api.tasks.TaskAction;
@@ -33,6 +39,8 @@ import org.gradle.api.tasks.TaskAction;
 /** Start the App Engine development server asynchronously. */
 public class DevAppServerStartTask extends DefaultTask {
 
+  static final String PROCESS_ID_FILE_NAME = "dev_appserver.pid";
+
   private RunExtension runConfig;
   private DevServers devServers;
   private File devAppServerLoggingDir;
@@ -66,20 +74,48 @@ public class DevAppServerStartTask extends DefaultTask {
     // Add a listener to write to a file for non-blocking starts, this really only works
     // when the gradle daemon is running (which is default for newer versions of gradle)
     File logFile = new File(devAppServerLoggingDir, "dev_appserver.out");
-    FileOutputLineListener logFileWriter = new FileOutputLineListener(logFile);
+    RollingFileOutputLineListener logFileWriter =
+        new RollingFileOutputLineListener(logFile.toPath());
 
     Logger taskLogger = getLogger();
-    ProcessHandler processHandler =
+    LegacyProcessHandler.Builder processHandlerBuilder =
         LegacyProcessHandler.builder()
             .addStdOutLineListener(taskLogger::lifecycle)
             .addStdOutLineListener(logFileWriter)
             .addStdErrLineListener(taskLogger::lifecycle)
             .addStdErrLineListener(logFileWriter)
             .setExitListener(new NonZeroExceptionExitListener())
-            .buildDevAppServerAsync(runConfig.getStartSuccessTimeout());
+            .addExitListener(logFileWriter);
+
+    ProcessHandler processHandler;
+    String readinessCheck = runConfig.getReadinessCheck();
+    if ("http".equals(readinessCheck)) {
+      processHandler =
+          processHandlerBuilder.buildDevAppServerAsync(
+              new HttpReadinessProbe(
+                  runConfig.getHost(),
+                  runConfig.getPort(),
+                  runConfig.getHealthCheckPath(),
+                  runConfig.getStartSuccessTimeout()));
+    } else if (readinessCheck == null || "log".equals(readinessCheck)) {
+      processHandler =
+          processHandlerBuilder.buildDevAppServerAsync(runConfig.getStartSuccessTimeout());
+    } else {
+      throw new GradleException(
+          "Invalid readinessCheck '" + readinessCheck + "', expected 'log' or 'http'.");
+    }
 
     devServers.newDevAppServer(processHandler).run(runConfig.toRunConfiguration());
 
+    // record the server's process id, so that appengineStop can kill it from another build
+    Path processIdFile = new File(devAppServerLoggingDir, PROCESS_ID_FILE_NAME).toPath();
+    Long processId = DevServer.getProcessId(runConfig.getPort());
+    if (processId == null) {
+      Files.deleteIfExists(processIdFile);
+    } else {
+      Files.write(processIdFile, Long.toString(processId).getBytes(StandardCharsets.UTF_8));
+    }
+
     getLogger().lifecycle("Dev App Server output written to : " + logFile.getAbsolutePath());
   }
 }
@@ -21,7 +21,14 @@ import com.google.cloud.tools.appengine.AppEngineException;
 import com.google.cloud.tools.appengine.operations.DevServer;
 import com.google.cloud.tools.appengine.operations.DevServers;
 import com.google.cloud.tools.gradle.appengine.core.CloudSdkOperations;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
 import org.gradle.api.tasks.TaskAction;
 
 /** Stop the App Engine development server. */
@@ -29,6 +36,7 @@ public class DevAppServerStopTask extends DefaultTask {
 
   private RunExtension runConfig;
   private DevServers devServers;
+  private File devAppServerLoggingDir;
 
   public void setRunConfig(RunExtension runConfig) {
     this.runConfig = runConfig;
@@ -38,15 +46,39 @@ public class DevAppServerStopTask extends DefaultTask {
     this.devServers = devServers;
   }
 
+  public void setDevAppServerLoggingDir(File devAppServerLoggingDir) {
+    this.devAppServerLoggingDir = devAppServerLoggingDir;
+  }
+
   /** Task entrypoint : Stop the dev appserver (get StopConfiguration from helper). */
   @TaskAction
-  public void stopAction() {
+  public void stopAction() throws IOException {
     DevServer server =
         devServers.newDevAppServer(CloudSdkOperations.getDefaultHandler(getLogger()));
     try {
-      server.stop(runConfig.toStopConfiguration());
+      Duration elapsed = server.stopAndMeasure(runConfig.toStopConfiguration(removeProcessId()));
+      getLogger().lifecycle("Dev App Server stopped in " + elapsed.toMillis() + "ms");
     } catch (AppEngineException ex) {
       getLogger().error("Failed to stop server: " + ex.getMessage());
     }
   }
+
+  /** Returns the process id recorded by appengineStart, if any, and deletes its file. */
+  private Long removeProcessId() throws IOException {
+    if (devAppServerLoggingDir == null) {
+      return null;
+    }
+    Path processIdFile =
+        new File(devAppServerLoggingDir, DevAppServerStartTask.PROCESS_ID_FILE_NAME).toPath();
+    if (!Files.exists(processIdFile)) {
+      return null;
+    }
+    String processId = new String(Files.readAllBytes(processIdFile), StandardCharsets.UTF_8);
+    Files.delete(processIdFile);
+    try {
+      return Long.parseLong(processId.trim());
+    } catch (NumberFormatException ex) {
+      throw new GradleException("Invalid process id in " + processIdFile, ex);
+    }
+  }
 }
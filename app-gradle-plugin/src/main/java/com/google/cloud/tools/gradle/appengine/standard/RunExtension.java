@@ -38,6 +38,9 @@ public class RunExtension {
 
   private final Project project;
   private int startSuccessTimeout;
+  private Integer stopTimeout;
+  private String readinessCheck;
+  private String healthCheckPath;
   private String serverVersion;
 
   private List<File> services;
@@ -45,6 +48,8 @@ public class RunExtension {
   private Integer port;
   private List<String> jvmFlags;
   private Boolean automaticRestart;
+  private Boolean fastStart;
+  private Boolean hotReload;
   private String defaultGcsBucketName;
   private Map<String, String> environment;
   private List<String> additionalArguments;
@@ -71,6 +76,30 @@ public class RunExtension {
     this.startSuccessTimeout = startSuccessTimeout;
   }
 
+  public Integer getStopTimeout() {
+    return stopTimeout;
+  }
+
+  public void setStopTimeout(Integer stopTimeout) {
+    this.stopTimeout = stopTimeout;
+  }
+
+  public String getReadinessCheck() {
+    return readinessCheck;
+  }
+
+  public void setReadinessCheck(String readinessCheck) {
+    this.readinessCheck = readinessCheck;
+  }
+
+  public String getHealthCheckPath() {
+    return healthCheckPath;
+  }
+
+  public void setHealthCheckPath(String healthCheckPath) {
+    this.healthCheckPath = healthCheckPath;
+  }
+
   public String getServerVersion() {
     return serverVersion;
   }
@@ -111,6 +140,22 @@ public class RunExtension {
     this.automaticRestart = automaticRestart;
   }
 
+  public Boolean getFastStart() {
+    return fastStart;
+  }
+
+  public void setFastStart(Boolean fastStart) {
+    this.fastStart = fastStart;
+  }
+
+  public Boolean getHotReload() {
+    return hotReload;
+  }
+
+  public void setHotReload(Boolean hotReload) {
+    this.hotReload = hotReload;
+  }
+
   public String getDefaultGcsBucketName() {
     return defaultGcsBucketName;
   }
@@ -143,14 +188,15 @@ public class RunExtension {
     if (!serviceProject.equals(project)) {
       project.evaluationDependsOn(serviceProject.getPath());
     }
+    String serviceAssemble = serviceProject.absoluteProjectPath(BasePlugin.ASSEMBLE_TASK_NAME);
     project
         .getTasks()
-        .findByName(AppEngineStandardPlugin.RUN_TASK_NAME)
-        .dependsOn(serviceProject.getTasks().findByPath(BasePlugin.ASSEMBLE_TASK_NAME));
+        .named(AppEngineStandardPlugin.RUN_TASK_NAME)
+        .configure(task -> task.dependsOn(serviceAssemble));
     project
         .getTasks()
-        .findByName(AppEngineStandardPlugin.START_TASK_NAME)
-        .dependsOn(serviceProject.getTasks().findByPath(BasePlugin.ASSEMBLE_TASK_NAME));
+        .named(AppEngineStandardPlugin.START_TASK_NAME)
+        .configure(task -> task.dependsOn(serviceAssemble));
     return serviceProject
         .getTasks()
         .findByName(AppEngineStandardPlugin.EXPLODE_WAR_TASK_NAME)
@@ -190,6 +236,7 @@ public class RunExtension {
             services.stream().map(File::toPath).collect(Collectors.toList()))
         .additionalArguments(additionalArguments)
         .automaticRestart(automaticRestart)
+        .fastStart(fastStart)
         .defaultGcsBucketName(defaultGcsBucketName)
         .environment(environment)
         .host(host)
@@ -199,7 +246,12 @@ public class RunExtension {
         .build();
   }
 
-  StopConfiguration toStopConfiguration() {
-    return StopConfiguration.builder().host(host).port(port).build();
+  StopConfiguration toStopConfiguration(Long processId) {
+    return StopConfiguration.builder()
+        .host(host)
+        .port(port)
+        .timeout(stopTimeout)
+        .processId(processId)
+        .build();
   }
 }
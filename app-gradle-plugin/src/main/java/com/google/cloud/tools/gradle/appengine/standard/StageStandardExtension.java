@@ -24,6 +24,7 @@ import org.gradle.api.Project;
 import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.InputDirectory;
 import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.Optional;
 import org.gradle.api.tasks.OutputDirectory;
 
@@ -44,6 +45,8 @@ public class StageStandardExtension {
   private Boolean enableJarClasses;
   private Boolean disableJarJsps;
   private String runtime;
+  private Boolean nativeStaging;
+  private Boolean classDataSharing;
 
   /** Constuctor. */
   public StageStandardExtension(Project project) {
@@ -168,6 +171,26 @@ public class StageStandardExtension {
     this.runtime = runtime;
   }
 
+  @Input
+  @Optional
+  public Boolean getNativeStaging() {
+    return nativeStaging;
+  }
+
+  public void setNativeStaging(Boolean nativeStaging) {
+    this.nativeStaging = nativeStaging;
+  }
+
+  /** Launch appcfg with a class data sharing archive, does not change the staged application. */
+  @Internal
+  public Boolean getClassDataSharing() {
+    return classDataSharing;
+  }
+
+  public void setClassDataSharing(Boolean classDataSharing) {
+    this.classDataSharing = classDataSharing;
+  }
+
   AppEngineWebXmlProjectStageConfiguration toStageStandardConfiguration() {
     return AppEngineWebXmlProjectStageConfiguration.builder()
         .sourceDirectory(sourceDirectory.toPath())
@@ -182,6 +205,7 @@ public class StageStandardExtension {
         .enableQuickstart(enableQuickstart)
         .jarSplittingExcludes(jarSplittingExcludes)
         .runtime(runtime)
+        .nativeStaging(nativeStaging)
         .build();
   }
 }
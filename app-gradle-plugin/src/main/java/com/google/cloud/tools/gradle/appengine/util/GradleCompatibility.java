@@ -18,7 +18,7 @@ public class GradleCompatibility {
    * @return the minimum compatible {@link GradleVersion}.
    */
   public static GradleVersion getMinimumGradleVersion() {
-    return GradleVersion.version("4.0");
+    return GradleVersion.version("6.1");
   }
 
   /**
@@ -1,37 +0,0 @@
-/*
- * Copyright 2016 Google LLC. All Rights Reserved.
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *         http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- *
- */
-
-package com.google.cloud.tools.gradle.appengine.util.io;
-
-import com.google.cloud.tools.appengine.operations.cloudsdk.process.ProcessOutputLineListener;
-import java.io.File;
-import java.io.IOException;
-import java.io.PrintStream;
-
-/** A listener that redirects process output to a file. */
-public class FileOutputLineListener implements ProcessOutputLineListener {
-  private final PrintStream logFilePrinter;
-
-  public FileOutputLineListener(File logFile) throws IOException {
-    logFilePrinter = new PrintStream(logFile);
-  }
-
-  @Override
-  public void onOutputLine(String line) {
-    logFilePrinter.println(line);
-  }
-}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import com.google.cloud.tools.managedcloudsdk.BadCloudSdkVersionException;
+import com.google.cloud.tools.managedcloudsdk.ManagedCloudSdk;
+import com.google.cloud.tools.managedcloudsdk.UnsupportedOsException;
+import com.google.cloud.tools.managedcloudsdk.Version;
+import java.io.File;
+import org.gradle.api.Project;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CloudSdkBuildServiceTest {
+
+  @Rule public final TemporaryFolder testProjectDir = new TemporaryFolder();
+
+  private Project rootProject;
+  private Project subProject;
+
+  @Before
+  public void setUp() {
+    rootProject = ProjectBuilder.builder().withProjectDir(testProjectDir.getRoot()).build();
+    subProject = ProjectBuilder.builder().withName("sub").withParent(rootProject).build();
+  }
+
+  @Test
+  public void testRegister_sharedByProjects() {
+    Assert.assertSame(
+        CloudSdkBuildService.register(rootProject).get(),
+        CloudSdkBuildService.register(subProject).get());
+  }
+
+  @Test
+  public void testGetManagedCloudSdk_cached()
+      throws UnsupportedOsException, BadCloudSdkVersionException {
+    CloudSdkBuildService service = CloudSdkBuildService.register(rootProject).get();
+    ManagedCloudSdk sdk = service.getManagedCloudSdk("191.0.0");
+    Assert.assertSame(sdk, service.getManagedCloudSdk("191.0.0"));
+    Assert.assertEquals(
+        ManagedCloudSdk.newManagedSdk(new Version("191.0.0")).getSdkHome(), sdk.getSdkHome());
+  }
+
+  @Test
+  public void testGetCloudSdkHome_configured() {
+    ToolsExtension tools = new ToolsExtension(rootProject);
+    tools.setCloudSdkHome("sdk");
+    Assert.assertEquals(
+        new File(testProjectDir.getRoot(), "sdk"),
+        CloudSdkBuildService.register(rootProject).get().getCloudSdkHome(tools));
+  }
+
+  @Test
+  public void testGetCloudSdkHome_managed()
+      throws UnsupportedOsException, BadCloudSdkVersionException {
+    ToolsExtension tools = new ToolsExtension(rootProject);
+    tools.setCloudSdkVersion("191.0.0");
+    Assert.assertEquals(
+        ManagedCloudSdk.newManagedSdk(new Version("191.0.0")).getSdkHome().toFile(),
+        CloudSdkBuildService.register(rootProject).get().getCloudSdkHome(tools));
+  }
+
+  @Test
+  public void testGetCloudSdkOperations_cached() {
+    CloudSdkBuildService service = CloudSdkBuildService.register(rootProject).get();
+    File home = testProjectDir.getRoot();
+    CloudSdkOperations operations = service.getCloudSdkOperations(home, null, "info");
+    Assert.assertSame(operations, service.getCloudSdkOperations(home, null, "info"));
+    Assert.assertNotSame(operations, service.getCloudSdkOperations(home, null, "debug"));
+  }
+}
@@ -34,20 +34,30 @@ import com.google.cloud.tools.managedcloudsdk.components.SdkComponentInstaller;
 import com.google.cloud.tools.managedcloudsdk.components.SdkUpdater;
 import com.google.cloud.tools.managedcloudsdk.install.SdkInstaller;
 import com.google.cloud.tools.managedcloudsdk.install.SdkInstallerException;
+import com.google.common.collect.ImmutableList;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
 import org.gradle.api.GradleException;
 import org.gradle.api.Project;
 import org.gradle.testfixtures.ProjectBuilder;
 import org.junit.Assert;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
 
 @RunWith(MockitoJUnitRunner.class)
 public class DownloadCloudSdkTaskTest {
 
+  @Rule public final TemporaryFolder testProjectDir = new TemporaryFolder();
+
   @Mock private ManagedCloudSdk managedCloudSdk;
 
   @Mock private SdkInstaller installer;
@@ -88,26 +98,44 @@ public class DownloadCloudSdkTaskTest {
       throws ManagedSdkVerificationException, ManagedSdkVersionMismatchException,
           InterruptedException, CommandExecutionException, SdkInstallerException, IOException,
           CommandExitException {
-    downloadCloudSdkTask.setManagedCloudSdk(managedCloudSdk);
+    useManagedCloudSdk();
     when(managedCloudSdk.isInstalled()).thenReturn(false);
     downloadCloudSdkTask.downloadCloudSdkAction();
     verify(managedCloudSdk).newInstaller();
     verify(managedCloudSdk, never()).newComponentInstaller();
   }
 
+  @Test
+  public void testDownloadCloudSdkAction_installWithArchiveSha256()
+      throws ManagedSdkVerificationException, ManagedSdkVersionMismatchException,
+          InterruptedException, CommandExecutionException, SdkInstallerException, IOException,
+          CommandExitException {
+    String sha256 = "9834876dcfb05cb167a5c24953eba58c4ac89b1adf57f28f2f9d09af107ee8f0";
+    SdkInstaller verifyingInstaller = Mockito.mock(SdkInstaller.class);
+    when(installer.withArchiveSha256(sha256)).thenReturn(verifyingInstaller);
+    useManagedCloudSdk();
+    downloadCloudSdkTask.setArchiveSha256(sha256);
+    when(managedCloudSdk.isInstalled()).thenReturn(false);
+    downloadCloudSdkTask.downloadCloudSdkAction();
+    verify(verifyingInstaller).installAtomically(any(), any());
+    verify(installer, never()).installAtomically(any(), any());
+  }
+
   @Test
   public void testDownloadCloudSdkAction_installComponent()
       throws ManagedSdkVerificationException, ManagedSdkVersionMismatchException,
           InterruptedException, CommandExecutionException, SdkInstallerException, IOException,
           CommandExitException {
-    downloadCloudSdkTask.setManagedCloudSdk(managedCloudSdk);
+    useManagedCloudSdk();
     downloadCloudSdkTask.requiresComponent(SdkComponent.APP_ENGINE_JAVA);
     when(managedCloudSdk.isInstalled()).thenReturn(true);
-    when(managedCloudSdk.hasComponent(SdkComponent.APP_ENGINE_JAVA)).thenReturn(false);
+    when(managedCloudSdk.getMissingComponents(ImmutableList.of(SdkComponent.APP_ENGINE_JAVA)))
+        .thenReturn(ImmutableList.of(SdkComponent.APP_ENGINE_JAVA));
     downloadCloudSdkTask.downloadCloudSdkAction();
     verify(managedCloudSdk, never()).newInstaller();
     verify(managedCloudSdk).newComponentInstaller();
-    verify(componentInstaller).installComponent(eq(SdkComponent.APP_ENGINE_JAVA), any(), any());
+    verify(componentInstaller)
+        .installComponents(eq(ImmutableList.of(SdkComponent.APP_ENGINE_JAVA)), any(), any());
   }
 
   @Test
@@ -115,17 +143,17 @@ public class DownloadCloudSdkTaskTest {
       throws ManagedSdkVerificationException, ManagedSdkVersionMismatchException,
           InterruptedException, CommandExecutionException, SdkInstallerException, IOException,
           CommandExitException {
-    downloadCloudSdkTask.setManagedCloudSdk(managedCloudSdk);
+    useManagedCloudSdk();
     downloadCloudSdkTask.requiresComponent(SdkComponent.APP_ENGINE_JAVA);
     downloadCloudSdkTask.requiresComponent(SdkComponent.BETA);
     when(managedCloudSdk.isInstalled()).thenReturn(true);
-    when(managedCloudSdk.hasComponent(SdkComponent.APP_ENGINE_JAVA)).thenReturn(false);
-    when(managedCloudSdk.hasComponent(SdkComponent.BETA)).thenReturn(false);
+    List<SdkComponent> components =
+        ImmutableList.of(SdkComponent.APP_ENGINE_JAVA, SdkComponent.BETA);
+    when(managedCloudSdk.getMissingComponents(components)).thenReturn(components);
     downloadCloudSdkTask.downloadCloudSdkAction();
     verify(managedCloudSdk, never()).newInstaller();
-    verify(managedCloudSdk, times(2)).newComponentInstaller();
-    verify(componentInstaller).installComponent(eq(SdkComponent.APP_ENGINE_JAVA), any(), any());
-    verify(componentInstaller).installComponent(eq(SdkComponent.BETA), any(), any());
+    verify(managedCloudSdk).newComponentInstaller();
+    verify(componentInstaller).installComponents(eq(components), any(), any());
   }
 
   @Test
@@ -133,16 +161,18 @@ public class DownloadCloudSdkTaskTest {
       throws ManagedSdkVerificationException, ManagedSdkVersionMismatchException,
           InterruptedException, CommandExecutionException, SdkInstallerException, IOException,
           CommandExitException {
-    downloadCloudSdkTask.setManagedCloudSdk(managedCloudSdk);
+    useManagedCloudSdk();
     downloadCloudSdkTask.requiresComponent(SdkComponent.APP_ENGINE_JAVA);
     downloadCloudSdkTask.requiresComponent(SdkComponent.BETA);
     when(managedCloudSdk.isInstalled()).thenReturn(true);
-    when(managedCloudSdk.hasComponent(SdkComponent.APP_ENGINE_JAVA)).thenReturn(false);
-    when(managedCloudSdk.hasComponent(SdkComponent.BETA)).thenReturn(true);
+    when(managedCloudSdk.getMissingComponents(
+            ImmutableList.of(SdkComponent.APP_ENGINE_JAVA, SdkComponent.BETA)))
+        .thenReturn(ImmutableList.of(SdkComponent.APP_ENGINE_JAVA));
     downloadCloudSdkTask.downloadCloudSdkAction();
     verify(managedCloudSdk, never()).newInstaller();
     verify(managedCloudSdk).newComponentInstaller();
-    verify(componentInstaller).installComponent(eq(SdkComponent.APP_ENGINE_JAVA), any(), any());
+    verify(componentInstaller)
+        .installComponents(eq(ImmutableList.of(SdkComponent.APP_ENGINE_JAVA)), any(), any());
   }
 
   @Test
@@ -150,10 +180,11 @@ public class DownloadCloudSdkTaskTest {
       throws ManagedSdkVerificationException, ManagedSdkVersionMismatchException,
           InterruptedException, CommandExecutionException, SdkInstallerException, IOException,
           CommandExitException {
-    downloadCloudSdkTask.setManagedCloudSdk(managedCloudSdk);
+    useManagedCloudSdk();
     downloadCloudSdkTask.requiresComponent(SdkComponent.APP_ENGINE_JAVA);
     when(managedCloudSdk.isInstalled()).thenReturn(true);
-    when(managedCloudSdk.hasComponent(SdkComponent.APP_ENGINE_JAVA)).thenReturn(true);
+    when(managedCloudSdk.getMissingComponents(ImmutableList.of(SdkComponent.APP_ENGINE_JAVA)))
+        .thenReturn(Collections.emptyList());
     downloadCloudSdkTask.downloadCloudSdkAction();
     verify(managedCloudSdk, never()).newInstaller();
     verify(managedCloudSdk, never()).newComponentInstaller();
@@ -164,7 +195,7 @@ public class DownloadCloudSdkTaskTest {
       throws ManagedSdkVerificationException, ManagedSdkVersionMismatchException,
           InterruptedException, CommandExecutionException, SdkInstallerException, IOException,
           CommandExitException {
-    downloadCloudSdkTask.setManagedCloudSdk(managedCloudSdk);
+    useManagedCloudSdk();
     when(managedCloudSdk.isInstalled()).thenReturn(true);
     when(managedCloudSdk.isUpToDate()).thenReturn(false);
     downloadCloudSdkTask.downloadCloudSdkAction();
@@ -172,4 +203,50 @@ public class DownloadCloudSdkTaskTest {
     verify(managedCloudSdk, never()).newComponentInstaller();
     verify(managedCloudSdk).newUpdater();
   }
+
+  @Test
+  public void testDownloadCloudSdkAction_upToDateCheckTtl()
+      throws ManagedSdkVerificationException, ManagedSdkVersionMismatchException,
+          InterruptedException, CommandExecutionException, SdkInstallerException, IOException,
+          CommandExitException {
+    useManagedCloudSdk();
+    downloadCloudSdkTask.setUpToDateCheckTtl(0);
+    when(managedCloudSdk.isInstalled()).thenReturn(true);
+    when(managedCloudSdk.isUpToDate()).thenReturn(true);
+    downloadCloudSdkTask.downloadCloudSdkAction();
+    verify(managedCloudSdk).setUpToDateCheckTtl(Duration.ZERO);
+  }
+
+  @Test
+  public void testDownloadCloudSdkAction_verifiedOncePerBuild()
+      throws ManagedSdkVerificationException, ManagedSdkVersionMismatchException,
+          InterruptedException, CommandExecutionException, SdkInstallerException, IOException,
+          CommandExitException {
+    useManagedCloudSdk();
+    downloadCloudSdkTask.requiresComponent(SdkComponent.APP_ENGINE_JAVA);
+    when(managedCloudSdk.isInstalled()).thenReturn(true);
+    when(managedCloudSdk.isUpToDate()).thenReturn(true);
+
+    DownloadCloudSdkTask otherProjectTask =
+        downloadCloudSdkTask.getProject().getTasks().create("other", DownloadCloudSdkTask.class);
+    otherProjectTask.setManagedCloudSdk(managedCloudSdk);
+    otherProjectTask.requiresComponent(SdkComponent.APP_ENGINE_JAVA);
+    otherProjectTask.requiresComponent(SdkComponent.BETA);
+
+    downloadCloudSdkTask.downloadCloudSdkAction();
+    otherProjectTask.downloadCloudSdkAction();
+    downloadCloudSdkTask.downloadCloudSdkAction();
+
+    verify(managedCloudSdk, times(1)).isInstalled();
+    verify(managedCloudSdk, times(1))
+        .getMissingComponents(ImmutableList.of(SdkComponent.APP_ENGINE_JAVA));
+    verify(managedCloudSdk, times(1)).getMissingComponents(ImmutableList.of(SdkComponent.BETA));
+    verify(managedCloudSdk, times(1)).isUpToDate();
+  }
+
+  private void useManagedCloudSdk() {
+    Path sdkHome = testProjectDir.getRoot().toPath().resolve("LATEST/google-cloud-sdk");
+    when(managedCloudSdk.getSdkHome()).thenReturn(sdkHome);
+    downloadCloudSdkTask.setManagedCloudSdk(managedCloudSdk);
+  }
 }
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.cloud.tools.gradle.appengine.standard;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.cloud.tools.appengine.AppEngineException;
+import com.google.cloud.tools.appengine.configuration.RunConfiguration;
+import com.google.cloud.tools.appengine.operations.DevServer;
+import com.google.cloud.tools.appengine.operations.DevServers;
+import com.google.cloud.tools.gradle.appengine.core.DeployTargetResolver;
+import java.io.IOException;
+import org.gradle.api.Project;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DevAppServerStartTaskTest {
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Mock private DevServers devServers;
+  @Mock private DevServer devServer;
+  @Mock private DeployTargetResolver deployTargetResolver;
+
+  private RunExtension runConfig;
+  private DevAppServerStartTask startTask;
+
+  /** Setup DevAppServerStartTaskTest. */
+  @Before
+  public void setUp() throws IOException {
+    Project project = ProjectBuilder.builder().withProjectDir(temporaryFolder.getRoot()).build();
+    runConfig = new RunExtension(project);
+    runConfig.setDeployTargetResolver(deployTargetResolver);
+    runConfig.setServices(temporaryFolder.newFolder("service"));
+    runConfig.setAutomaticRestart(true);
+    startTask = project.getTasks().create("tempStart", DevAppServerStartTask.class);
+    startTask.setRunConfig(runConfig);
+    startTask.setDevServers(devServers);
+    startTask.setDevAppServerLoggingDir(temporaryFolder.newFolder("dev-appserver-out"));
+    when(devServers.newDevAppServer(Mockito.any())).thenReturn(devServer);
+  }
+
+  @Test
+  public void testStartAction_hotReloadKeepsAutomaticRestart()
+      throws AppEngineException, IOException {
+    // appengineStart runs no hot reloaders, so the dev server has to scan the app itself
+    runConfig.setHotReload(true);
+
+    startTask.startAction();
+
+    ArgumentCaptor<RunConfiguration> captor = ArgumentCaptor.forClass(RunConfiguration.class);
+    verify(devServer).run(captor.capture());
+    Assert.assertEquals(Boolean.TRUE, captor.getValue().getAutomaticRestart());
+  }
+}
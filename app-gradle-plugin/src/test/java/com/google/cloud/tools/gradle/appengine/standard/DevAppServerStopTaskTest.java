@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.gradle.appengine.standard;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.cloud.tools.appengine.AppEngineException;
+import com.google.cloud.tools.appengine.configuration.StopConfiguration;
+import com.google.cloud.tools.appengine.operations.DevServer;
+import com.google.cloud.tools.appengine.operations.DevServers;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import org.gradle.api.Project;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DevAppServerStopTaskTest {
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Mock private DevServers devServers;
+  @Mock private DevServer devServer;
+
+  private File loggingDir;
+  private DevAppServerStopTask stopTask;
+
+  /** Setup DevAppServerStopTaskTest. */
+  @Before
+  public void setUp() throws IOException, AppEngineException {
+    Project project = ProjectBuilder.builder().withProjectDir(temporaryFolder.getRoot()).build();
+    loggingDir = temporaryFolder.newFolder("dev-appserver-out");
+    RunExtension runConfig = new RunExtension(project);
+    runConfig.setPort(8081);
+    stopTask = project.getTasks().create("tempStop", DevAppServerStopTask.class);
+    stopTask.setRunConfig(runConfig);
+    stopTask.setDevServers(devServers);
+    stopTask.setDevAppServerLoggingDir(loggingDir);
+    when(devServers.newDevAppServer(Mockito.any())).thenReturn(devServer);
+    when(devServer.stopAndMeasure(Mockito.any())).thenReturn(Duration.ofMillis(42));
+  }
+
+  @Test
+  public void testStopAction_recordedProcessId() throws IOException, AppEngineException {
+    Path processIdFile = loggingDir.toPath().resolve(DevAppServerStartTask.PROCESS_ID_FILE_NAME);
+    Files.write(processIdFile, "4242".getBytes(StandardCharsets.UTF_8));
+
+    stopTask.stopAction();
+
+    ArgumentCaptor<StopConfiguration> captor = ArgumentCaptor.forClass(StopConfiguration.class);
+    verify(devServer).stopAndMeasure(captor.capture());
+    Assert.assertEquals(Integer.valueOf(8081), captor.getValue().getPort());
+    Assert.assertEquals(Long.valueOf(4242), captor.getValue().getProcessId());
+    Assert.assertFalse(Files.exists(processIdFile));
+  }
+
+  @Test
+  public void testStopAction_noProcessId() throws IOException, AppEngineException {
+    stopTask.stopAction();
+
+    ArgumentCaptor<StopConfiguration> captor = ArgumentCaptor.forClass(StopConfiguration.class);
+    verify(devServer).stopAndMeasure(captor.capture());
+    Assert.assertEquals(Integer.valueOf(8081), captor.getValue().getPort());
+    Assert.assertNull(captor.getValue().getProcessId());
+  }
+}
@@ -80,9 +80,8 @@ public class RunExtensionTest {
 
   private Set<String> getAssembleDependencies(Project project, String taskName) {
     Task task = project.getTasks().findByPath(taskName);
-    return task.getDependsOn().stream()
-        .filter(t -> t instanceof Task)
-        .map(t -> (Task) t)
+    // dependencies are declared lazily, resolve them like the task graph does
+    return task.getTaskDependencies().getDependencies(task).stream()
         .filter(t -> t.getName().equals(BasePlugin.ASSEMBLE_TASK_NAME))
         .map(Task::getPath)
         .collect(Collectors.toSet());
@@ -23,6 +23,7 @@ import com.google.cloud.tools.appengine.operations.Auth;
 import com.google.cloud.tools.appengine.operations.CloudSdk;
 import com.google.cloud.tools.appengine.operations.Deployment;
 import com.google.cloud.tools.appengine.operations.DevServer;
+import com.google.cloud.tools.appengine.operations.DevServerOrchestrator;
 import com.google.cloud.tools.appengine.operations.DevServers;
 import com.google.cloud.tools.appengine.operations.Gcloud;
 import com.google.cloud.tools.appengine.operations.GenRepoInfoFile;
@@ -30,16 +31,15 @@ import com.google.cloud.tools.appengine.operations.cloudsdk.AppEngineJavaCompone
 import com.google.cloud.tools.appengine.operations.cloudsdk.CloudSdkNotFoundException;
 import com.google.cloud.tools.appengine.operations.cloudsdk.CloudSdkOutOfDateException;
 import com.google.cloud.tools.appengine.operations.cloudsdk.CloudSdkVersionFileException;
+import com.google.cloud.tools.appengine.operations.cloudsdk.process.HttpReadinessProbe;
 import com.google.cloud.tools.appengine.operations.cloudsdk.process.LegacyProcessHandler;
 import com.google.cloud.tools.appengine.operations.cloudsdk.process.NonZeroExceptionExitListener;
 import com.google.cloud.tools.appengine.operations.cloudsdk.process.ProcessHandler;
 import com.google.cloud.tools.appengine.operations.cloudsdk.process.ProcessOutputLineListener;
+import com.google.cloud.tools.appengine.operations.cloudsdk.process.RollingFileOutputLineListener;
 import com.google.cloud.tools.managedcloudsdk.components.SdkComponent;
 import com.google.common.annotations.VisibleForTesting;
-import java.io.File;
 import java.io.IOException;
-import java.io.PrintStream;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -61,9 +61,13 @@ public class CloudSdkAppEngineFactory {
     return getGcloud().newAuth(newDefaultProcessHandler());
   }
 
-  /** Constructs an object used for appengine-web.xml based staging. */
-  public AppEngineWebXmlProjectStaging appengineWebXmlStaging() {
-    return getAppCfg().newStaging(newDefaultProcessHandler());
+  /**
+   * Constructs an object used for appengine-web.xml based staging.
+   *
+   * @param classDataSharing launch appcfg with a class data sharing archive
+   */
+  public AppEngineWebXmlProjectStaging appengineWebXmlStaging(boolean classDataSharing) {
+    return getAppCfg(classDataSharing).newStaging(newDefaultProcessHandler());
   }
 
   /** Constructs an object used for app.yaml based staging. */
@@ -83,7 +87,55 @@ public class CloudSdkAppEngineFactory {
 
   /** Constructs a dev server in async mode. */
   public DevServer devServerRunAsync(int startSuccessTimeout) {
-    return getDevServers().newDevAppServer(newDevAppServerAsyncHandler(startSuccessTimeout));
+    return getDevServers()
+        .newDevAppServer(
+            newDevAppServerAsyncHandler(null).buildDevAppServerAsync(startSuccessTimeout));
+  }
+
+  /** Constructs a dev server in async mode that waits until the server responds to HTTP. */
+  public DevServer devServerRunAsync(HttpReadinessProbe readinessProbe) {
+    return getDevServers()
+        .newDevAppServer(newDevAppServerAsyncHandler(null).buildDevAppServerAsync(readinessProbe));
+  }
+
+  /** Constructs an orchestrator that runs every service in its own dev server until they exit. */
+  public DevServerOrchestrator devServerOrchestratorSync() {
+    return getDevServers()
+        .newOrchestrator(
+            (service, port) -> {
+              ProcessOutputLineListener lineListener =
+                  new DefaultProcessOutputLineListener(mojo.getLog(), service);
+              return LegacyProcessHandler.builder()
+                  .addStdOutLineListener(lineListener)
+                  .addStdErrLineListener(lineListener)
+                  .setExitListener(new NonZeroExceptionExitListener())
+                  .build();
+            });
+  }
+
+  /**
+   * Constructs an orchestrator that starts every service in its own dev server in async mode,
+   * waiting for the startup message of each.
+   */
+  public DevServerOrchestrator devServerOrchestratorAsync(int startSuccessTimeout) {
+    return getDevServers()
+        .newOrchestrator(
+            (service, port) ->
+                newDevAppServerAsyncHandler(service).buildDevAppServerAsync(startSuccessTimeout));
+  }
+
+  /**
+   * Constructs an orchestrator that starts every service in its own dev server in async mode,
+   * waiting until each responds to HTTP.
+   */
+  public DevServerOrchestrator devServerOrchestratorAsync(
+      String host, String healthCheckPath, int startSuccessTimeout) {
+    return getDevServers()
+        .newOrchestrator(
+            (service, port) ->
+                newDevAppServerAsyncHandler(service)
+                    .buildDevAppServerAsync(
+                        new HttpReadinessProbe(host, port, healthCheckPath, startSuccessTimeout)));
   }
 
   /** Constructs a dev server for the stop goal. */
@@ -97,19 +149,25 @@ public class CloudSdkAppEngineFactory {
   }
 
   private CloudSdk buildCloudSdkMinimal() {
+    ProcessMetricsReporter.install(mojo);
     return buildCloudSdk(
         mojo,
         new CloudSdkChecker(),
-        new CloudSdkDownloader(CloudSdkDownloader.newManagedSdkFactory()),
+        new CloudSdkDownloader(
+            CloudSdkDownloader.newManagedSdkFactory(mojo.getCloudSdkUpToDateCheckTtl()),
+            mojo.getCloudSdkArchiveSha256()),
         false);
   }
 
   @VisibleForTesting
   CloudSdk buildCloudSdkWithAppEngineComponents() {
+    ProcessMetricsReporter.install(mojo);
     return buildCloudSdk(
         mojo,
         new CloudSdkChecker(),
-        new CloudSdkDownloader(CloudSdkDownloader.newManagedSdkFactory()),
+        new CloudSdkDownloader(
+            CloudSdkDownloader.newManagedSdkFactory(mojo.getCloudSdkUpToDateCheckTtl()),
+            mojo.getCloudSdkArchiveSha256()),
         true);
   }
 
@@ -163,8 +221,10 @@ public class CloudSdkAppEngineFactory {
         .build();
   }
 
-  private AppCfg getAppCfg() {
-    return AppCfg.builder(buildCloudSdkWithAppEngineComponents()).build();
+  private AppCfg getAppCfg(boolean classDataSharing) {
+    return AppCfg.builder(buildCloudSdkWithAppEngineComponents())
+        .classDataSharing(classDataSharing)
+        .build();
   }
 
   private DevServers getDevServers() {
@@ -180,7 +240,11 @@ public class CloudSdkAppEngineFactory {
         .build();
   }
 
-  private ProcessHandler newDevAppServerAsyncHandler(int timeout) {
+  /**
+   * Returns a handler that writes the dev server output to the log and to a file, named after
+   * {@code service} if the dev server runs a single service of several.
+   */
+  private LegacyProcessHandler.Builder newDevAppServerAsyncHandler(String service) {
     Path logDir =
         Paths.get(mojo.getMavenProject().getBuild().getDirectory()).resolve("dev-appserver-out");
     if (!Files.exists(logDir)) {
@@ -190,11 +254,20 @@ public class CloudSdkAppEngineFactory {
         throw new RuntimeException("Failed to create dev-appserver logging directory.");
       }
     }
-    File logFile = logDir.resolve("dev_appserver.out").toFile();
-    FileOutputLineListener fileListener = new FileOutputLineListener(logFile);
+    Path logFile =
+        logDir.resolve(service == null ? "dev_appserver.out" : "dev_appserver-" + service + ".out");
+    RollingFileOutputLineListener fileListener;
+    try {
+      fileListener = new RollingFileOutputLineListener(logFile);
+    } catch (IOException ex) {
+      throw new RuntimeException(ex);
+    }
+    // the build usually ends before the server, write what was logged until then
+    Runtime.getRuntime().addShutdownHook(new Thread(fileListener::close));
     mojo.getLog().info("Dev App Server output written to : " + logFile);
 
-    ProcessOutputLineListener lineListener = new DefaultProcessOutputLineListener(mojo.getLog());
+    ProcessOutputLineListener lineListener =
+        new DefaultProcessOutputLineListener(mojo.getLog(), service);
 
     return LegacyProcessHandler.builder()
         .addStdOutLineListener(lineListener)
@@ -202,7 +275,7 @@ public class CloudSdkAppEngineFactory {
         .addStdErrLineListener(lineListener)
         .addStdErrLineListener(fileListener)
         .setExitListener(new NonZeroExceptionExitListener())
-        .buildDevAppServerAsync(timeout);
+        .addExitListener(fileListener);
   }
 
   public ConfigReader newConfigReader() {
@@ -210,45 +283,26 @@ public class CloudSdkAppEngineFactory {
   }
 
   /**
-   * Default output listener that copies output to the Maven Mojo logger with a 'GCLOUD: ' prefix.
+   * Default output listener that copies output to the Maven Mojo logger with a 'GCLOUD: ' prefix,
+   * followed by the service in brackets for the output of a single service of several.
    */
   static class DefaultProcessOutputLineListener implements ProcessOutputLineListener {
 
     private final Log log;
+    private final String prefix;
 
     DefaultProcessOutputLineListener(Log log) {
-      this.log = log;
-    }
-
-    @Override
-    public void onOutputLine(String line) {
-      log.info("GCLOUD: " + line);
+      this(log, null);
     }
-  }
-
-  /** A listener that redirects process output to a file. */
-  static class FileOutputLineListener implements ProcessOutputLineListener {
 
-    private final PrintStream logFilePrinter;
-
-    FileOutputLineListener(final File logFile) {
-      try {
-        logFilePrinter = new PrintStream(logFile, StandardCharsets.UTF_8.name());
-        Runtime.getRuntime()
-            .addShutdownHook(
-                new Thread() {
-                  public void run() {
-                    logFilePrinter.close();
-                  }
-                });
-      } catch (IOException ex) {
-        throw new RuntimeException(ex);
-      }
+    DefaultProcessOutputLineListener(Log log, String service) {
+      this.log = log;
+      this.prefix = service == null ? "GCLOUD: " : "GCLOUD: [" + service + "] ";
     }
 
     @Override
     public void onOutputLine(String line) {
-      logFilePrinter.println(line);
+      log.info(prefix + line);
     }
   }
 }
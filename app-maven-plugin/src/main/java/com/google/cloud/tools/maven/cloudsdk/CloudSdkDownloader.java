@@ -27,10 +27,13 @@ import com.google.cloud.tools.managedcloudsdk.Version;
 import com.google.cloud.tools.managedcloudsdk.command.CommandExecutionException;
 import com.google.cloud.tools.managedcloudsdk.command.CommandExitException;
 import com.google.cloud.tools.managedcloudsdk.components.SdkComponent;
+import com.google.cloud.tools.managedcloudsdk.install.InstallLock;
+import com.google.cloud.tools.managedcloudsdk.install.SdkInstaller;
 import com.google.cloud.tools.managedcloudsdk.install.SdkInstallerException;
 import com.google.common.base.Strings;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 import java.util.function.Function;
 import org.apache.maven.plugin.logging.Log;
@@ -38,9 +41,20 @@ import org.apache.maven.plugin.logging.Log;
 public class CloudSdkDownloader {
 
   private final Function<String, ManagedCloudSdk> managedCloudSdkFactory;
+  private final String archiveSha256;
 
   public CloudSdkDownloader(Function<String, ManagedCloudSdk> managedCloudSdkFactory) {
+    this(managedCloudSdkFactory, null);
+  }
+
+  /**
+   * Creates a downloader that only installs a downloaded Cloud SDK archive with the checksum {@code
+   * archiveSha256}, if not null.
+   */
+  public CloudSdkDownloader(
+      Function<String, ManagedCloudSdk> managedCloudSdkFactory, String archiveSha256) {
     this.managedCloudSdkFactory = managedCloudSdkFactory;
+    this.archiveSha256 = archiveSha256;
   }
 
   /**
@@ -58,23 +72,29 @@ public class CloudSdkDownloader {
       ProgressListener progressListener = new NoOpProgressListener();
       ConsoleListener consoleListener = new CloudSdkDownloaderConsoleListener(log);
 
-      if (!managedCloudSdk.isInstalled()) {
-        managedCloudSdk.newInstaller().install(progressListener, consoleListener);
-      }
+      // serializes installs with other builds and processes using this Cloud SDK
+      try (InstallLock ignored = managedCloudSdk.lockInstallation()) {
+        if (!managedCloudSdk.isInstalled()) {
+          SdkInstaller installer = managedCloudSdk.newInstaller();
+          if (archiveSha256 != null) {
+            installer = installer.withArchiveSha256(archiveSha256);
+          }
+          installer.installAtomically(progressListener, consoleListener);
+        }
 
-      // install requested components
-      if (components != null) {
-        for (SdkComponent component : components) {
-          if (!managedCloudSdk.hasComponent(component)) {
+        // install requested components
+        if (components != null) {
+          List<SdkComponent> missingComponents = managedCloudSdk.getMissingComponents(components);
+          if (!missingComponents.isEmpty()) {
             managedCloudSdk
                 .newComponentInstaller()
-                .installComponent(component, progressListener, consoleListener);
+                .installComponents(missingComponents, progressListener, consoleListener);
           }
         }
-      }
 
-      if (!managedCloudSdk.isUpToDate()) {
-        managedCloudSdk.newUpdater().update(progressListener, consoleListener);
+        if (!managedCloudSdk.isUpToDate()) {
+          managedCloudSdk.newUpdater().update(progressListener, consoleListener);
+        }
       }
 
       return managedCloudSdk.getSdkHome();
@@ -89,15 +109,26 @@ public class CloudSdkDownloader {
     }
   }
 
-  // for delayed instantiation because it can error unnecessarily
-  static Function<String, ManagedCloudSdk> newManagedSdkFactory() {
+  /**
+   * Returns a factory of managed Cloud SDKs by version, for delayed instantiation because it can
+   * error unnecessarily. Creating a managed Cloud SDK does not install it.
+   *
+   * @param upToDateCheckTtlMinutes how long an up to date check is trusted, or null for the default
+   */
+  public static Function<String, ManagedCloudSdk> newManagedSdkFactory(
+      Integer upToDateCheckTtlMinutes) {
     return (version) -> {
       try {
+        ManagedCloudSdk managedCloudSdk;
         if (Strings.isNullOrEmpty(version)) {
-          return ManagedCloudSdk.newManagedSdk();
+          managedCloudSdk = ManagedCloudSdk.newManagedSdk();
         } else {
-          return ManagedCloudSdk.newManagedSdk(new Version(version));
+          managedCloudSdk = ManagedCloudSdk.newManagedSdk(new Version(version));
+        }
+        if (upToDateCheckTtlMinutes != null) {
+          managedCloudSdk.setUpToDateCheckTtl(Duration.ofMinutes(upToDateCheckTtlMinutes));
         }
+        return managedCloudSdk;
       } catch (UnsupportedOsException | BadCloudSdkVersionException ex) {
         throw new RuntimeException(ex);
       }
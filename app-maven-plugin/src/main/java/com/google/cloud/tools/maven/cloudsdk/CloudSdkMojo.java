@@ -38,6 +38,20 @@ public abstract class CloudSdkMojo extends AbstractMojo {
   @Parameter(property = "cloudSdkVersion", required = false)
   private String cloudSdkVersion;
 
+  /**
+   * Optional parameter to configure, in minutes, how long a managed Cloud SDK that was found up to
+   * date is trusted before gcloud is asked again. {@code 0} checks on every build.
+   */
+  @Parameter(property = "cloudSdkUpToDateCheckTtl", required = false)
+  private Integer cloudSdkUpToDateCheckTtl;
+
+  /**
+   * Optional hex encoded SHA-256 checksum the downloaded managed Cloud SDK archive must have. An
+   * archive verified by an earlier build is reused instead of downloaded again.
+   */
+  @Parameter(property = "cloudSdkArchiveSha256", required = false)
+  private String cloudSdkArchiveSha256;
+
   /** Optional parameter to configure the key file used for gcloud authentication. */
   @Parameter(property = "serviceAccountKeyFile", required = false)
   private File serviceAccountKeyFile;
@@ -46,6 +60,14 @@ public abstract class CloudSdkMojo extends AbstractMojo {
   @Parameter(property = "gcloud.verbosity")
   private String verbosity;
 
+  /** Log a summary of the child processes started by the plugin at the end of the build. */
+  @Parameter(property = "app.processMetrics", defaultValue = "false")
+  private boolean processMetrics;
+
+  /** Optional file to append a JSON line to for every child process started by the plugin. */
+  @Parameter(property = "app.processMetricsFile")
+  private File processMetricsFile;
+
   @Parameter(defaultValue = "${plugin}", readonly = true)
   protected PluginDescriptor pluginDescriptor;
 
@@ -76,6 +98,14 @@ public abstract class CloudSdkMojo extends AbstractMojo {
     return cloudSdkVersion;
   }
 
+  public Integer getCloudSdkUpToDateCheckTtl() {
+    return cloudSdkUpToDateCheckTtl;
+  }
+
+  public String getCloudSdkArchiveSha256() {
+    return cloudSdkArchiveSha256;
+  }
+
   public Path getServiceAccountKeyFile() {
     return (serviceAccountKeyFile == null) ? null : serviceAccountKeyFile.toPath();
   }
@@ -84,6 +114,14 @@ public abstract class CloudSdkMojo extends AbstractMojo {
     return verbosity;
   }
 
+  public boolean isProcessMetrics() {
+    return processMetrics;
+  }
+
+  public File getProcessMetricsFile() {
+    return processMetricsFile;
+  }
+
   public CloudSdkAppEngineFactory getAppEngineFactory() {
     return factory;
   }
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.maven.cloudsdk;
+
+import com.google.cloud.tools.process.JsonLinesProcessMetricsListener;
+import com.google.cloud.tools.process.ProcessMetrics;
+import com.google.cloud.tools.process.ProcessMetricsSummary;
+import java.io.File;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.apache.maven.AbstractMavenLifecycleParticipant;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Collects measurements of the child processes started during the build and logs a summary when the
+ * build ends.
+ *
+ * <p>Maven only notifies lifecycle participants of plugins loaded as build extensions, so the
+ * plugin must be declared with {@code <extensions>true</extensions>}; otherwise the mojos log a
+ * warning and run without measurements. The participant lives in the extension class realm while
+ * the mojos run in the plugin realm, so the two only share JDK types: the participant publishes a
+ * queue of actions to run when the session ends in the request data, and each plugin realm adds the
+ * report of its processes to it.
+ */
+@Named("appengine-process-metrics")
+@Singleton
+public class ProcessMetricsReporter extends AbstractMavenLifecycleParticipant {
+
+  private static final String SESSION_END_ACTIONS =
+      ProcessMetricsReporter.class.getName() + ".sessionEndActions";
+  // the plugin may be loaded in several realms, each with its own ProcessMetrics listeners
+  private static final String INSTALLED =
+      ProcessMetricsReporter.class.getName()
+          + ".installed@"
+          + Integer.toHexString(System.identityHashCode(ProcessMetrics.class));
+
+  @Override
+  public void afterProjectsRead(MavenSession session) {
+    session.getRequest().getData().putIfAbsent(SESSION_END_ACTIONS, new ConcurrentLinkedQueue<>());
+  }
+
+  @Override
+  public void afterSessionEnd(MavenSession session) {
+    Queue<?> actions = getSessionEndActions(session.getRequest().getData());
+    if (actions != null) {
+      for (Object action = actions.poll(); action != null; action = actions.poll()) {
+        ((Runnable) action).run();
+      }
+    }
+  }
+
+  /** Starts collecting process metrics if requested by the mojo and not already collecting. */
+  static synchronized void install(CloudSdkMojo mojo) {
+    if (!mojo.isProcessMetrics()) {
+      return;
+    }
+    Map<String, Object> data = mojo.getMavenSession().getRequest().getData();
+    if (data.putIfAbsent(INSTALLED, Boolean.TRUE) != null) {
+      return;
+    }
+    @SuppressWarnings("unchecked")
+    Queue<Runnable> actions = (Queue<Runnable>) getSessionEndActions(data);
+    Log log = mojo.getLog();
+    if (actions == null) {
+      log.warn(
+          "processMetrics requires the plugin to be declared with"
+              + " <extensions>true</extensions>, process metrics are not collected");
+      return;
+    }
+
+    ProcessMetricsSummary summary = new ProcessMetricsSummary();
+    File file = mojo.getProcessMetricsFile();
+    JsonLinesProcessMetricsListener jsonLines =
+        file == null ? null : new JsonLinesProcessMetricsListener(file.toPath());
+    ProcessMetrics.addListener(summary);
+    if (jsonLines != null) {
+      ProcessMetrics.addListener(jsonLines);
+    }
+    actions.add(
+        () -> {
+          ProcessMetrics.removeListener(summary);
+          if (jsonLines != null) {
+            ProcessMetrics.removeListener(jsonLines);
+          }
+          for (String line : summary.format()) {
+            log.info(line);
+          }
+        });
+  }
+
+  private static Queue<?> getSessionEndActions(Map<String, Object> data) {
+    Object actions = data.get(SESSION_END_ACTIONS);
+    return actions instanceof Queue ? (Queue<?>) actions : null;
+  }
+}
@@ -20,36 +20,85 @@ import com.google.cloud.tools.appengine.AppEngineException;
 import com.google.cloud.tools.appengine.configuration.DeployConfiguration;
 import com.google.cloud.tools.appengine.configuration.DeployProjectConfigurationConfiguration;
 import com.google.cloud.tools.maven.stage.Stager;
+import com.google.cloud.tools.maven.stage.StagingStamp;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import org.apache.maven.plugin.MojoExecutionException;
 
 public class AppDeployer implements Deployer {
 
+  static final String DEFAULT_SERVICE = "default";
+  static final String DISPATCH_YAML = "dispatch.yaml";
+
+  private static final ImmutableList<String> CONFIG_YAMLS =
+      ImmutableList.of("cron.yaml", DISPATCH_YAML, "dos.yaml", "index.yaml", "queue.yaml");
+  private static final Pattern SERVICE_PATTERN =
+      Pattern.compile("^(?:service|module)\\s*:\\s*['\"]?([\\w-]+)['\"]?\\s*(?:#.*)?$");
+
   @VisibleForTesting final Stager stager;
   @VisibleForTesting final Path appengineDirectory;
+  @VisibleForTesting final boolean configurationStaged;
   private final AbstractDeployMojo deployMojo;
   private final ConfigBuilder configBuilder;
+  private final StagingStamp stagingStamp;
 
+  /**
+   * Creates a deployer.
+   *
+   * @param appengineDirectory the directory the configuration yamls are deployed from
+   * @param configurationStaged whether {@code appengineDirectory} is created by staging, otherwise
+   *     configuration files are deployed without staging the application
+   */
   @VisibleForTesting
   AppDeployer(
       AbstractDeployMojo deployMojo,
       Stager stager,
       ConfigBuilder configBuilder,
-      Path appengineDirectory) {
+      Path appengineDirectory,
+      boolean configurationStaged,
+      StagingStamp stagingStamp) {
     this.deployMojo = deployMojo;
     this.stager = stager;
     this.configBuilder = configBuilder;
     this.appengineDirectory = appengineDirectory;
+    this.configurationStaged = configurationStaged;
+    this.stagingStamp = stagingStamp;
   }
 
   /** Deploy a single application (and no project configuration). */
   public void deploy() throws MojoExecutionException {
+    stage();
+    deployStaged();
+  }
+
+  /** Stage the application, unless the staging directory is still up to date. */
+  void stage() throws MojoExecutionException {
+    if (stagingStamp.isFresh()) {
+      deployMojo
+          .getLog()
+          .info("Staging directory is up to date: " + deployMojo.getStagingDirectory());
+      return;
+    }
+    stagingStamp.invalidate();
     stager.stage();
+    stagingStamp.save();
+  }
+
+  private void stageConfiguration() throws MojoExecutionException {
+    if (configurationStaged) {
+      stage();
+    }
+  }
 
+  /** Deploy the application staged by {@link #stage()}. */
+  void deployStaged() throws MojoExecutionException {
     DeployConfiguration config =
         configBuilder.buildDeployConfiguration(ImmutableList.of(deployMojo.getStagingDirectory()));
 
@@ -60,9 +109,54 @@ public class AppDeployer implements Deployer {
     }
   }
 
+  /** Deploy a single configuration yaml, such as those returned by {@link #findConfigYamls()}. */
+  void deployConfig(Path yaml) throws MojoExecutionException {
+    DeployConfiguration config = configBuilder.buildDeployConfiguration(ImmutableList.of(yaml));
+
+    try {
+      deployMojo.getAppEngineFactory().deployment().deploy(config);
+    } catch (AppEngineException ex) {
+      throw new MojoExecutionException("Failed to deploy " + yaml.getFileName(), ex);
+    }
+  }
+
+  /** Returns the configuration yamls of the application, after staging. */
+  List<Path> findConfigYamls() {
+    ImmutableList.Builder<Path> configYamls = ImmutableList.builder();
+    for (String yamlName : CONFIG_YAMLS) {
+      Path yaml = appengineDirectory.resolve(yamlName);
+      if (Files.exists(yaml)) {
+        configYamls.add(yaml);
+      }
+    }
+    return configYamls.build();
+  }
+
+  /**
+   * Returns the name of the service the staged application deploys to, as configured by the
+   * top-level "service" (or older "module") element of its app.yaml.
+   */
+  String getStagedService() throws MojoExecutionException {
+    Path appYaml = deployMojo.getStagingDirectory().resolve("app.yaml");
+    if (!Files.exists(appYaml)) {
+      return DEFAULT_SERVICE;
+    }
+    try {
+      for (String line : Files.readAllLines(appYaml, StandardCharsets.UTF_8)) {
+        Matcher matcher = SERVICE_PATTERN.matcher(line);
+        if (matcher.matches()) {
+          return matcher.group(1);
+        }
+      }
+    } catch (IOException ex) {
+      throw new MojoExecutionException("Failed to read " + appYaml, ex);
+    }
+    return DEFAULT_SERVICE;
+  }
+
   /** Deploy a single application and any found yaml configuration files. */
   public void deployAll() throws MojoExecutionException {
-    stager.stage();
+    stage();
     ImmutableList.Builder<Path> computedDeployables = ImmutableList.builder();
 
     // Look for app.yaml
@@ -74,13 +168,9 @@ public class AppDeployer implements Deployer {
     computedDeployables.add(appYaml);
 
     // Look for config yamls
-    String[] configYamls = {"cron.yaml", "dispatch.yaml", "dos.yaml", "index.yaml", "queue.yaml"};
-    for (String yamlName : configYamls) {
-      Path yaml = appengineDirectory.resolve(yamlName);
-      if (Files.exists(yaml)) {
-        deployMojo.getLog().info("deployAll: Preparing to deploy " + yamlName);
-        computedDeployables.add(yaml);
-      }
+    for (Path yaml : findConfigYamls()) {
+      deployMojo.getLog().info("deployAll: Preparing to deploy " + yaml.getFileName());
+      computedDeployables.add(yaml);
     }
 
     DeployConfiguration config =
@@ -95,7 +185,7 @@ public class AppDeployer implements Deployer {
 
   /** Deploy only cron.yaml. */
   public void deployCron() throws MojoExecutionException {
-    stager.stage();
+    stageConfiguration();
     try {
       deployMojo
           .getAppEngineFactory()
@@ -109,7 +199,7 @@ public class AppDeployer implements Deployer {
 
   /** Deploy only dispatch.yaml. */
   public void deployDispatch() throws MojoExecutionException {
-    stager.stage();
+    stageConfiguration();
     try {
       deployMojo
           .getAppEngineFactory()
@@ -123,7 +213,7 @@ public class AppDeployer implements Deployer {
 
   /** Deploy only dos.yaml. */
   public void deployDos() throws MojoExecutionException {
-    stager.stage();
+    stageConfiguration();
     try {
       deployMojo
           .getAppEngineFactory()
@@ -137,7 +227,7 @@ public class AppDeployer implements Deployer {
 
   /** Deploy only index.yaml. */
   public void deployIndex() throws MojoExecutionException {
-    stager.stage();
+    stageConfiguration();
     try {
       deployMojo
           .getAppEngineFactory()
@@ -151,7 +241,7 @@ public class AppDeployer implements Deployer {
 
   /** Deploy only queue.yaml. */
   public void deployQueue() throws MojoExecutionException {
-    stager.stage();
+    stageConfiguration();
     try {
       deployMojo
           .getAppEngineFactory()
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.maven.deploy;
+
+import java.util.List;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Stage and deploy the applications and configs of all modules of a multi-module build to Google
+ * App Engine. Every module only registers its application, or that it has none, with the deployment
+ * of the session. The execution that completes the registration of every module of the reactor
+ * stages and deploys all of them together, whatever order the modules are built in, so the goal
+ * must be configured for every module, for example by configuring it in the parent pom. Nothing is
+ * deployed if a module fails before it registers.
+ */
+@Mojo(name = "deployReactor", defaultPhase = LifecyclePhase.DEPLOY, threadSafe = true)
+public class DeployReactorMojo extends AbstractDeployMojo {
+
+  /** The maximum number of applications staged or deployed at the same time. */
+  @Parameter(alias = "deploy.parallelism", property = "app.deploy.parallelism", defaultValue = "4")
+  private int parallelism = 4;
+
+  private Deployer.Factory deployerFactory = new Deployer.Factory();
+
+  @Override
+  public void execute() throws MojoExecutionException {
+    AppDeployer deployer = null;
+    if (skip) {
+      getLog().info("Skipping appengine:deployReactor");
+    } else if (isAppEngineCompatiblePackaging()) {
+      deployer = deployerFactory.newAppDeployer(this);
+    }
+
+    MavenSession session = getMavenSession();
+    List<MavenProject> reactor = session.getProjects();
+    ReactorDeployment deployment = ReactorDeployment.forSession(session);
+    if (!deployment.register(getMavenProject(), deployer, reactor)) {
+      List<String> missing = deployment.missing(reactor);
+      if (!missing.isEmpty()) {
+        getLog().info("appengine:deployReactor: deploying once " + missing + " are built");
+      }
+      return;
+    }
+    if (deployment.size() == 0) {
+      getLog().info("appengine:deployReactor: no App Engine application to deploy");
+      return;
+    }
+    deployment.deploy(parallelism, getLog());
+  }
+}
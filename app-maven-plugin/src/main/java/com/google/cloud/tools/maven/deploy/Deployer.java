@@ -20,6 +20,7 @@ import com.google.cloud.tools.maven.deploy.AppDeployer.ConfigBuilder;
 import com.google.cloud.tools.maven.stage.AppEngineWebXmlStager;
 import com.google.cloud.tools.maven.stage.AppYamlStager;
 import com.google.cloud.tools.maven.stage.Stager;
+import com.google.cloud.tools.maven.stage.StagingStamp;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import org.apache.maven.plugin.MojoExecutionException;
@@ -31,6 +32,11 @@ public interface Deployer {
       if (!deployMojo.isAppEngineCompatiblePackaging()) {
         return new NoOpDeployer();
       }
+      return newAppDeployer(deployMojo);
+    }
+
+    /** Returns a deployer for a module with App Engine compatible packaging. */
+    AppDeployer newAppDeployer(AbstractDeployMojo deployMojo) throws MojoExecutionException {
       if (deployMojo.getArtifact() == null || !Files.exists(deployMojo.getArtifact())) {
         throw new MojoExecutionException(
             "\nCould not determine appengine environment, did you package your application?"
@@ -40,13 +46,15 @@ public interface Deployer {
       ConfigProcessor configProcessor =
           new ConfigProcessor(deployMojo.getAppEngineFactory().newConfigReader());
       ConfigBuilder configBuilder = new ConfigBuilder(deployMojo, configProcessor);
+      StagingStamp stagingStamp = StagingStamp.newStagingStamp(deployMojo);
 
       if (deployMojo.isAppEngineWebXmlBased()) {
-        // deployments using appengine-web.xml
+        // deployments using appengine-web.xml, the configuration yamls are generated by staging
         Stager stager = AppEngineWebXmlStager.newAppEngineWebXmlStager(deployMojo);
         Path appengineDirectory =
             deployMojo.getStagingDirectory().resolve("WEB-INF").resolve("appengine-generated");
-        return new AppDeployer(deployMojo, stager, configBuilder, appengineDirectory);
+        return new AppDeployer(
+            deployMojo, stager, configBuilder, appengineDirectory, true, stagingStamp);
       } else {
         // deployments using app.yaml
         Stager stager = AppYamlStager.newAppYamlStager(deployMojo);
@@ -60,7 +68,8 @@ public interface Deployer {
                     .resolve("main")
                     .resolve("appengine")
                 : deployMojo.getAppEngineDirectory();
-        return new AppDeployer(deployMojo, stager, configBuilder, appengineDirctory);
+        return new AppDeployer(
+            deployMojo, stager, configBuilder, appengineDirctory, false, stagingStamp);
       }
     }
   }
@@ -0,0 +1,254 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.maven.deploy;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.SessionData;
+
+/**
+ * Deploys the applications of all modules of a reactor build together. The modules are staged
+ * concurrently and then deployed in phases: default services first, since no other service can be
+ * created before the default service exists, then all other services, then the configuration yamls
+ * of all modules, with dispatch.yaml last because it routes to the services. Phases run with
+ * bounded parallelism and a failure skips all later phases. The outcome of every step is logged as
+ * one report at the end.
+ */
+class ReactorDeployment {
+
+  private final List<Module> modules = new ArrayList<>();
+  private final Set<String> registered = new HashSet<>();
+  private boolean complete;
+
+  /**
+   * Returns the deployment collecting the modules of {@code session}. It is kept in the session
+   * data of the repository session, which is shared by all threads of the build.
+   */
+  static ReactorDeployment forSession(MavenSession session) {
+    SessionData data = session.getRepositorySession().getData();
+    // keyed by class, a plugin loaded in another class realm gets its own deployment
+    data.set(ReactorDeployment.class, null, new ReactorDeployment());
+    return (ReactorDeployment) data.get(ReactorDeployment.class);
+  }
+
+  /**
+   * Registers that {@code project} was built.
+   *
+   * @param deployer the application of the project, or null if it has none to deploy
+   * @param reactor all projects of the reactor
+   * @return true if the registration completed the reactor, only one caller is told so
+   */
+  synchronized boolean register(
+      MavenProject project, AppDeployer deployer, List<MavenProject> reactor) {
+    if (registered.add(project.getId()) && deployer != null) {
+      modules.add(new Module(project.getArtifactId(), deployer));
+    }
+    if (complete || !missing(reactor).isEmpty()) {
+      return false;
+    }
+    complete = true;
+    return true;
+  }
+
+  /** Returns the artifact ids of the projects of {@code reactor} that are not registered. */
+  synchronized List<String> missing(List<MavenProject> reactor) {
+    List<String> missing = new ArrayList<>();
+    for (MavenProject project : reactor) {
+      if (!registered.contains(project.getId())) {
+        missing.add(project.getArtifactId());
+      }
+    }
+    return missing;
+  }
+
+  synchronized void add(String moduleName, AppDeployer deployer) {
+    modules.add(new Module(moduleName, deployer));
+  }
+
+  synchronized int size() {
+    return modules.size();
+  }
+
+  /**
+   * Stages and deploys all added modules.
+   *
+   * @param parallelism the maximum number of modules staged or deployed at the same time
+   * @param log where the report is written
+   * @throws MojoExecutionException if any step failed
+   */
+  synchronized void deploy(int parallelism, Log log) throws MojoExecutionException {
+    Preconditions.checkArgument(parallelism > 0, "parallelism must be positive");
+    List<Step> steps = new ArrayList<>();
+    ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+    ExecutorService sequential = Executors.newSingleThreadExecutor();
+    try {
+      List<Step> staging = new ArrayList<>();
+      for (Module module : modules) {
+        staging.add(new Step("stage", module.name, module.deployer::stage));
+      }
+      steps.addAll(staging);
+      if (run(staging, executor, log)) {
+        List<Step> defaultServices = new ArrayList<>();
+        List<Step> services = new ArrayList<>();
+        List<Step> configs = new ArrayList<>();
+        List<Step> dispatch = new ArrayList<>();
+        for (Module module : modules) {
+          String service = module.deployer.getStagedService();
+          Step step = new Step("service " + service, module.name, module.deployer::deployStaged);
+          (AppDeployer.DEFAULT_SERVICE.equals(service) ? defaultServices : services).add(step);
+          for (Path yaml : module.deployer.findConfigYamls()) {
+            String name = yaml.toFile().getName();
+            Step config = new Step(name, module.name, () -> module.deployer.deployConfig(yaml));
+            (AppDeployer.DISPATCH_YAML.equals(name) ? dispatch : configs).add(config);
+          }
+        }
+        steps.addAll(defaultServices);
+        steps.addAll(services);
+        steps.addAll(configs);
+        steps.addAll(dispatch);
+
+        // the default service is deployed alone, the others may depend on it
+        boolean succeeded = run(defaultServices, sequential, log);
+        succeeded = succeeded && run(services, executor, log);
+        succeeded = succeeded && run(configs, executor, log);
+        if (succeeded) {
+          run(dispatch, sequential, log);
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+      sequential.shutdownNow();
+    }
+
+    report(steps, log);
+    long failed = steps.stream().filter(step -> step.status == Status.FAILED).count();
+    if (failed > 0) {
+      throw new MojoExecutionException(
+          "Reactor deployment failed: " + failed + " of " + steps.size() + " steps failed");
+    }
+  }
+
+  /** Runs all {@code steps} and returns true if all of them succeeded. */
+  private static boolean run(List<Step> steps, ExecutorService executor, Log log)
+      throws MojoExecutionException {
+    List<Future<?>> futures = new ArrayList<>();
+    for (Step step : steps) {
+      futures.add(executor.submit(() -> step.run(log)));
+    }
+    try {
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new MojoExecutionException("Interrupted while deploying", ex);
+    } catch (ExecutionException ex) {
+      throw new MojoExecutionException("Reactor deployment failed", ex.getCause());
+    }
+    return steps.stream().allMatch(step -> step.status == Status.SUCCEEDED);
+  }
+
+  private static void report(List<Step> steps, Log log) {
+    log.info("Reactor deployment:");
+    for (Step step : steps) {
+      String line =
+          String.format(
+              Locale.ROOT,
+              "  %-10s %-30s %-20s %s",
+              step.status.name().toLowerCase(Locale.ROOT),
+              step.name,
+              step.module,
+              step.status == Status.SKIPPED ? "" : formatMillis(step.millis));
+      if (step.status == Status.FAILED) {
+        log.error(line + "  " + step.error);
+      } else {
+        log.info(line);
+      }
+    }
+  }
+
+  @VisibleForTesting
+  static String formatMillis(long millis) {
+    return String.format(Locale.ROOT, "%.1fs", millis / 1000.0);
+  }
+
+  private static class Module {
+    private final String name;
+    private final AppDeployer deployer;
+
+    private Module(String name, AppDeployer deployer) {
+      this.name = name;
+      this.deployer = deployer;
+    }
+  }
+
+  private enum Status {
+    SKIPPED,
+    SUCCEEDED,
+    FAILED
+  }
+
+  private interface Action {
+    void run() throws MojoExecutionException;
+  }
+
+  /** One stage or deploy invocation and its outcome. */
+  private static class Step {
+    private final String name;
+    private final String module;
+    private final Action action;
+    private volatile Status status = Status.SKIPPED;
+    private volatile long millis;
+    private volatile String error = "";
+
+    private Step(String name, String module, Action action) {
+      this.name = name;
+      this.module = module;
+      this.action = action;
+    }
+
+    private void run(Log log) {
+      log.info("Reactor deployment: starting " + name + " of " + module);
+      long start = System.nanoTime();
+      try {
+        action.run();
+        status = Status.SUCCEEDED;
+      } catch (MojoExecutionException | RuntimeException ex) {
+        status = Status.FAILED;
+        error = String.valueOf(ex.getMessage());
+        log.error("Reactor deployment: " + name + " of " + module + " failed", ex);
+      } finally {
+        millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+      }
+    }
+  }
+}
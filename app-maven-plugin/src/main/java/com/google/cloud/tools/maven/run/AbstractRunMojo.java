@@ -58,6 +58,40 @@ public abstract class AbstractRunMojo extends CloudSdkMojo {
   @Parameter(alias = "devserver.automaticRestart", property = "app.devserver.automaticRestart")
   private Boolean automaticRestart;
 
+  /**
+   * Launch the dev server with a class data sharing archive, dumped on the first run, and with only
+   * the client JIT compiler for a shorter startup time. Needs Java 13 or later. (default: False)
+   */
+  @Parameter(alias = "devserver.fastStart", property = "app.devserver.fastStart")
+  private Boolean fastStart;
+
+  /**
+   * Watch the services for changes while {@code appengine:run} runs, instead of the dev server
+   * scanning them like {@code automaticRestart}. Changed classes and resources of this project are
+   * copied into its exploded app, and a service is reloaded when its files change. (default: False)
+   */
+  @Parameter(alias = "devserver.hotReload", property = "app.devserver.hotReload")
+  private boolean hotReload;
+
+  /**
+   * Run every service in its own dev server, started at the same time on ports allocated from
+   * {@code port} upwards, instead of all services in one dev server. Every dev server keeps its own
+   * local datastore, stored in its service's {@code WEB-INF/appengine-generated}, so services that
+   * must see each other's data have to share one dev server. (default: False)
+   */
+  @Parameter(alias = "devserver.isolateServices", property = "app.devserver.isolateServices")
+  private boolean isolateServices;
+
+  @Parameter(
+      defaultValue = "${project.build.directory}/dev-appserver-out/services.properties",
+      readonly = true)
+  private File servicesFile;
+
+  @Parameter(
+      defaultValue = "${project.build.directory}/dev-appserver-out/processes.properties",
+      readonly = true)
+  private File processesFile;
+
   /** Default Google Cloud Storage bucket name. (default: None) */
   @Parameter(
       alias = "devserver.defaultGcsBucketName",
@@ -107,6 +141,28 @@ public abstract class AbstractRunMojo extends CloudSdkMojo {
     return automaticRestart;
   }
 
+  public Boolean getFastStart() {
+    return fastStart;
+  }
+
+  public boolean isHotReload() {
+    return hotReload;
+  }
+
+  public boolean isIsolateServices() {
+    return isolateServices;
+  }
+
+  /** Returns the file recording the services started in separate dev servers. */
+  public Path getServicesFile() {
+    return servicesFile.toPath();
+  }
+
+  /** Returns the file recording the process ids of the dev servers started in the background. */
+  public Path getProcessesFile() {
+    return processesFile.toPath();
+  }
+
   public String getDefaultGcsBucketName() {
     return defaultGcsBucketName;
   }
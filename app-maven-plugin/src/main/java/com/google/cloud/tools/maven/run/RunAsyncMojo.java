@@ -33,6 +33,23 @@ public class RunAsyncMojo extends AbstractRunMojo {
       property = "app.devserver.startSuccessTimeout")
   protected int startSuccessTimeout;
 
+  /**
+   * How to detect that the server started: {@code log} watches the server output for its startup
+   * message, {@code http} polls the server port, which does not depend on the output format.
+   */
+  @Parameter(
+      defaultValue = "log",
+      alias = "devserver.readinessCheck",
+      property = "app.devserver.readinessCheck")
+  protected String readinessCheck;
+
+  /**
+   * Path that must respond with a 2xx or 3xx status before the server is considered started, for
+   * example {@code /_ah/admin}. Only used when {@code readinessCheck} is {@code http}.
+   */
+  @Parameter(alias = "devserver.healthCheckPath", property = "app.devserver.healthCheckPath")
+  protected String healthCheckPath;
+
   private Runner.Factory factory = new Factory();
 
   @Override
@@ -41,6 +58,13 @@ public class RunAsyncMojo extends AbstractRunMojo {
       getLog().info("Skipping appengine:start");
       return;
     }
-    factory.newRunner(this).runAsync(startSuccessTimeout);
+    if ("http".equals(readinessCheck)) {
+      factory.newRunner(this).runAsyncWithHttpReadiness(startSuccessTimeout, healthCheckPath);
+    } else if (readinessCheck == null || "log".equals(readinessCheck)) {
+      factory.newRunner(this).runAsync(startSuccessTimeout);
+    } else {
+      throw new MojoExecutionException(
+          "Invalid readinessCheck '" + readinessCheck + "', expected 'log' or 'http'.");
+    }
   }
 }
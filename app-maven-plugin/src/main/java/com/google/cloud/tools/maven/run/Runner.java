@@ -18,12 +18,24 @@ package com.google.cloud.tools.maven.run;
 
 import com.google.cloud.tools.appengine.AppEngineException;
 import com.google.cloud.tools.appengine.configuration.RunConfiguration;
+import com.google.cloud.tools.appengine.operations.DevServer;
+import com.google.cloud.tools.appengine.operations.DevServerOrchestrator;
+import com.google.cloud.tools.appengine.operations.DevServerOrchestrator.ServiceInstance;
+import com.google.cloud.tools.appengine.operations.HotReloader;
+import com.google.cloud.tools.appengine.operations.cloudsdk.process.HttpReadinessProbe;
 import com.google.cloud.tools.maven.cloudsdk.ConfigReader;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.apache.maven.model.Build;
 import org.apache.maven.plugin.MojoExecutionException;
 
 public class Runner {
@@ -53,33 +65,132 @@ public class Runner {
 
   /** Run the dev appserver. */
   public void run() throws MojoExecutionException {
+    List<Path> services = processServices();
+    List<HotReloader> hotReloaders =
+        runMojo.isHotReload() ? startHotReloaders(services) : Collections.emptyList();
     try {
-      runMojo
-          .getAppEngineFactory()
-          .devServerRunSync()
-          .run(configBuilder.buildRunConfiguration(processServices(), processProjectId()));
+      RunConfiguration config = configBuilder.buildRunConfiguration(services, processProjectId());
+      if (runMojo.isHotReload()) {
+        // the hot reloaders replace the dev server's own scanning of the app
+        config = config.toBuilder().automaticRestart(false).build();
+      }
+      if (runMojo.isIsolateServices()) {
+        runMojo.getAppEngineFactory().devServerOrchestratorSync().run(config);
+      } else {
+        runMojo.getAppEngineFactory().devServerRunSync().run(config);
+      }
     } catch (AppEngineException ex) {
       throw new MojoExecutionException("Failed to run devappserver", ex);
+    } finally {
+      hotReloaders.forEach(HotReloader::close);
     }
   }
 
+  /**
+   * Watches every service for changes, and copies the changed classes and resources of this project
+   * into its own exploded app.
+   */
+  private List<HotReloader> startHotReloaders(List<Path> services) throws MojoExecutionException {
+    Build build = runMojo.getMavenProject().getBuild();
+    Path projectService =
+        Paths.get(build.getDirectory()).resolve(build.getFinalName()).toAbsolutePath();
+    List<HotReloader> hotReloaders = new ArrayList<>();
+    for (Path service : services) {
+      Map<Path, Path> syncedDirectories =
+          service.toAbsolutePath().equals(projectService)
+              ? Collections.singletonMap(
+                  Paths.get(build.getOutputDirectory()), service.resolve("WEB-INF/classes"))
+              : Collections.emptyMap();
+      HotReloader hotReloader = new HotReloader(service, syncedDirectories);
+      try {
+        hotReloader.start();
+      } catch (IOException ex) {
+        hotReloaders.forEach(HotReloader::close);
+        throw new MojoExecutionException("Failed to watch " + service + " for changes", ex);
+      }
+      hotReloaders.add(hotReloader);
+      runMojo.getLog().info("Hot reloading " + service);
+    }
+    return hotReloaders;
+  }
+
   /** Run the dev appserver in async mode. */
   public void runAsync(int startSuccessTimeout) throws MojoExecutionException {
     runMojo
         .getLog()
         .info("Waiting " + startSuccessTimeout + " seconds for the Dev App Server to start.");
+    if (runMojo.isIsolateServices()) {
+      startIsolated(runMojo.getAppEngineFactory().devServerOrchestratorAsync(startSuccessTimeout));
+    } else {
+      startAsync(runMojo.getAppEngineFactory().devServerRunAsync(startSuccessTimeout));
+    }
+  }
+
+  /**
+   * Run the dev appserver in async mode, considering it started as soon as it accepts HTTP
+   * connections or, if {@code healthCheckPath} is set, responds successfully on that path.
+   */
+  public void runAsyncWithHttpReadiness(int startSuccessTimeout, String healthCheckPath)
+      throws MojoExecutionException {
+    runMojo
+        .getLog()
+        .info(
+            "Waiting up to "
+                + startSuccessTimeout
+                + " seconds for the Dev App Server to accept connections.");
+    if (runMojo.isIsolateServices()) {
+      startIsolated(
+          runMojo
+              .getAppEngineFactory()
+              .devServerOrchestratorAsync(runMojo.getHost(), healthCheckPath, startSuccessTimeout));
+      return;
+    }
+    HttpReadinessProbe readinessProbe =
+        new HttpReadinessProbe(
+            runMojo.getHost(), runMojo.getPort(), healthCheckPath, startSuccessTimeout);
+    startAsync(runMojo.getAppEngineFactory().devServerRunAsync(readinessProbe));
+  }
+
+  private void startAsync(DevServer devServer) throws MojoExecutionException {
     try {
-      runMojo
-          .getAppEngineFactory()
-          .devServerRunAsync(startSuccessTimeout)
-          .run(configBuilder.buildRunConfiguration(processServices(), processProjectId()));
+      devServer.run(configBuilder.buildRunConfiguration(processServices(), processProjectId()));
     } catch (AppEngineException ex) {
       throw new RuntimeException(ex);
     }
+    RunningProcesses.save(runMojo.getProcessesFile(), Collections.singletonList(runMojo.getPort()));
     runMojo.getLog().info("Dev App Server started.");
     runMojo.getLog().info("Use the 'mvn appengine:stop' command to stop the server.");
   }
 
+  private void startIsolated(DevServerOrchestrator orchestrator) throws MojoExecutionException {
+    List<ServiceInstance> instances;
+    try {
+      instances =
+          orchestrator.run(
+              configBuilder.buildRunConfiguration(processServices(), processProjectId()));
+    } catch (AppEngineException ex) {
+      throw new RuntimeException(ex);
+    }
+    RunningServices.save(runMojo.getServicesFile(), runMojo.getHost(), instances);
+    RunningProcesses.save(
+        runMojo.getProcessesFile(),
+        instances.stream().map(ServiceInstance::getPort).collect(Collectors.toList()));
+    String host = runMojo.getHost() == null ? "localhost" : runMojo.getHost();
+    for (ServiceInstance instance : instances) {
+      runMojo
+          .getLog()
+          .info(
+              "Service "
+                  + instance.getService()
+                  + " started at http://"
+                  + host
+                  + ":"
+                  + instance.getPort());
+    }
+    runMojo.getLog().info("Dev App Servers started.");
+    runMojo.getLog().info("Use the 'mvn appengine:stop' command to stop the servers.");
+  }
+
   static final String NON_STANDARD_APPLICATION_ERROR =
       "\nCould not find appengine-web.xml all services, perhaps you need to run "
           + "'mvn package appengine:run/start'."
@@ -123,6 +234,7 @@ public class Runner {
       return RunConfiguration.builder(services)
           .additionalArguments(runMojo.getAdditionalArguments())
           .automaticRestart(runMojo.getAutomaticRestart())
+          .fastStart(runMojo.getFastStart())
           .defaultGcsBucketName(runMojo.getDefaultGcsBucketName())
           .projectId(projectId)
           .environment(runMojo.getEnvironment())
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.maven.run;
+
+import com.google.cloud.tools.appengine.configuration.StopConfiguration;
+import com.google.cloud.tools.appengine.operations.DevServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import org.apache.maven.plugin.MojoExecutionException;
+
+/**
+ * Records the process ids of the dev servers started by the start goal, by the port they listen on,
+ * so that the stop goal of another build can kill a server that does not stop when asked.
+ */
+class RunningProcesses {
+
+  private static final int DEFAULT_PORT = 8080;
+
+  private RunningProcesses() {}
+
+  /**
+   * Writes the process id of the dev server started by this build on each of {@code ports}, the
+   * default port if null, to {@code file}. The file is deleted if no process id is known, which is
+   * always the case before Java 9.
+   */
+  static void save(Path file, List<Integer> ports) throws MojoExecutionException {
+    Properties processes = new Properties();
+    for (Integer port : ports) {
+      Long processId = DevServer.getProcessId(port);
+      if (processId != null) {
+        processes.setProperty(Integer.toString(portOrDefault(port)), Long.toString(processId));
+      }
+    }
+    try {
+      if (processes.isEmpty()) {
+        Files.deleteIfExists(file);
+        return;
+      }
+      Path parent = file.getParent();
+      if (parent != null) {
+        Files.createDirectories(parent);
+      }
+      try (OutputStream out = Files.newOutputStream(file)) {
+        processes.store(out, null);
+      }
+    } catch (IOException ex) {
+      throw new MojoExecutionException("Unable to write " + file, ex);
+    }
+  }
+
+  /**
+   * Returns the process ids recorded in {@code file} by port, and deletes the file. Returns an
+   * empty map if no process ids were recorded.
+   */
+  static Map<Integer, Long> remove(Path file) throws MojoExecutionException {
+    Map<Integer, Long> processIds = new HashMap<>();
+    if (!Files.exists(file)) {
+      return processIds;
+    }
+    Properties processes = new Properties();
+    try {
+      try (InputStream in = Files.newInputStream(file)) {
+        processes.load(in);
+      }
+      Files.delete(file);
+    } catch (IOException | IllegalArgumentException ex) {
+      throw new MojoExecutionException("Unable to read " + file, ex);
+    }
+    for (String port : processes.stringPropertyNames()) {
+      try {
+        processIds.put(Integer.parseInt(port), Long.parseLong(processes.getProperty(port)));
+      } catch (NumberFormatException ex) {
+        throw new MojoExecutionException("Invalid process id for port " + port + " in " + file, ex);
+      }
+    }
+    return processIds;
+  }
+
+  /** Returns {@code configuration} with the process id recorded for its port, if any. */
+  static StopConfiguration withProcessId(
+      StopConfiguration configuration, Map<Integer, Long> processIds) {
+    Long processId = processIds.get(portOrDefault(configuration.getPort()));
+    if (processId == null) {
+      return configuration;
+    }
+    return StopConfiguration.builder()
+        .host(configuration.getHost())
+        .port(configuration.getPort())
+        .timeout(configuration.getTimeout())
+        .processId(processId)
+        .build();
+  }
+
+  private static int portOrDefault(Integer port) {
+    return port == null ? DEFAULT_PORT : port;
+  }
+}
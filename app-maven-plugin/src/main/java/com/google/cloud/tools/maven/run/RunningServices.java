@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.maven.run;
+
+import com.google.cloud.tools.appengine.configuration.StopConfiguration;
+import com.google.cloud.tools.appengine.operations.DevServerOrchestrator.ServiceInstance;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import org.apache.maven.plugin.MojoExecutionException;
+
+/**
+ * Records the services started in separate dev servers by the start goal, so that the stop goal can
+ * stop all of them.
+ */
+class RunningServices {
+
+  private static final String HOST = "host";
+  private static final String SERVICE_PREFIX = "service.";
+
+  private RunningServices() {}
+
+  /** Writes the host and the port of every service to {@code file}. */
+  static void save(Path file, String host, List<ServiceInstance> instances)
+      throws MojoExecutionException {
+    Properties services = new Properties();
+    if (host != null) {
+      services.setProperty(HOST, host);
+    }
+    for (ServiceInstance instance : instances) {
+      services.setProperty(
+          SERVICE_PREFIX + instance.getService(), Integer.toString(instance.getPort()));
+    }
+    try {
+      Path parent = file.getParent();
+      if (parent != null) {
+        Files.createDirectories(parent);
+      }
+      try (OutputStream out = Files.newOutputStream(file)) {
+        services.store(out, null);
+      }
+    } catch (IOException ex) {
+      throw new MojoExecutionException("Unable to write " + file, ex);
+    }
+  }
+
+  /**
+   * Returns the stop configuration of every service recorded in {@code file}, with the given stop
+   * {@code timeout}, and deletes the file. Returns an empty list if no services were recorded.
+   */
+  static List<StopConfiguration> remove(Path file, Integer timeout) throws MojoExecutionException {
+    List<StopConfiguration> stopConfigurations = new ArrayList<>();
+    if (!Files.exists(file)) {
+      return stopConfigurations;
+    }
+    Properties services = new Properties();
+    try {
+      try (InputStream in = Files.newInputStream(file)) {
+        services.load(in);
+      }
+      Files.delete(file);
+    } catch (IOException | IllegalArgumentException ex) {
+      throw new MojoExecutionException("Unable to read " + file, ex);
+    }
+    String host = services.getProperty(HOST);
+    for (String name : services.stringPropertyNames()) {
+      if (name.startsWith(SERVICE_PREFIX)) {
+        try {
+          stopConfigurations.add(
+              StopConfiguration.builder()
+                  .host(host)
+                  .port(Integer.parseInt(services.getProperty(name)))
+                  .timeout(timeout)
+                  .build());
+        } catch (NumberFormatException ex) {
+          throw new MojoExecutionException("Invalid port for " + name + " in " + file, ex);
+        }
+      }
+    }
+    return stopConfigurations;
+  }
+}
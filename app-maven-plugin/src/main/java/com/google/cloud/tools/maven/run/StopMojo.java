@@ -18,8 +18,14 @@ package com.google.cloud.tools.maven.run;
 
 import com.google.cloud.tools.appengine.AppEngineException;
 import com.google.cloud.tools.appengine.configuration.StopConfiguration;
+import com.google.cloud.tools.appengine.operations.DevServer;
 import com.google.cloud.tools.appengine.operations.cloudsdk.CloudSdkNotFoundException;
 import com.google.cloud.tools.maven.cloudsdk.CloudSdkMojo;
+import java.io.File;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
@@ -36,22 +42,56 @@ public class StopMojo extends CloudSdkMojo {
   @Parameter(alias = "devserver.port", property = "app.devserver.port")
   protected Integer port;
 
+  /**
+   * Seconds to wait for the server to release its port. A server started by the same Maven build,
+   * or by {@code appengine:start} on Java 9 or later, that is still running then is killed.
+   * (default: 10)
+   */
+  @Parameter(alias = "devserver.stopTimeout", property = "app.devserver.stopTimeout")
+  protected Integer stopTimeout;
+
+  @Parameter(
+      defaultValue = "${project.build.directory}/dev-appserver-out/services.properties",
+      readonly = true)
+  protected File servicesFile;
+
+  @Parameter(
+      defaultValue = "${project.build.directory}/dev-appserver-out/processes.properties",
+      readonly = true)
+  protected File processesFile;
+
   @Override
   public void execute() throws MojoExecutionException {
     if (skip) {
       getLog().info("Skipping appengine:stop");
       return;
     }
-    try {
-      getAppEngineFactory().devServerStop().stop(buildStopConfiguration());
-    } catch (CloudSdkNotFoundException ex) {
-      throw new MojoExecutionException("Stop failed", ex);
-    } catch (AppEngineException ex) {
-      getLog().error("Failed to stop server: " + ex.getMessage());
+    List<StopConfiguration> stopConfigurations =
+        servicesFile == null
+            ? Collections.emptyList()
+            : RunningServices.remove(servicesFile.toPath(), stopTimeout);
+    if (stopConfigurations.isEmpty()) {
+      stopConfigurations = Collections.singletonList(buildStopConfiguration());
+    }
+    Map<Integer, Long> processIds =
+        processesFile == null
+            ? Collections.emptyMap()
+            : RunningProcesses.remove(processesFile.toPath());
+    DevServer devServer = getAppEngineFactory().devServerStop();
+    for (StopConfiguration stopConfiguration : stopConfigurations) {
+      try {
+        Duration elapsed =
+            devServer.stopAndMeasure(RunningProcesses.withProcessId(stopConfiguration, processIds));
+        getLog().info("Dev App Server stopped in " + elapsed.toMillis() + "ms");
+      } catch (CloudSdkNotFoundException ex) {
+        throw new MojoExecutionException("Stop failed", ex);
+      } catch (AppEngineException ex) {
+        getLog().error("Failed to stop server: " + ex.getMessage());
+      }
     }
   }
 
   private StopConfiguration buildStopConfiguration() {
-    return StopConfiguration.builder().host(host).port(port).build();
+    return StopConfiguration.builder().host(host).port(port).timeout(stopTimeout).build();
   }
 }
@@ -120,6 +120,25 @@ public abstract class AbstractStageMojo extends CloudSdkMojo {
   @Parameter(alias = "stage.enableJarClasses", property = "app.stage.enableJarClasses")
   private boolean enableJarClasses;
 
+  /**
+   * Stage the application in-process instead of launching appcfg. Applications that need appcfg
+   * features (JSP compilation, quickstart, cron/queue/dispatch xml conversion, etc.) are still
+   * staged with appcfg.
+   *
+   * <p>Applies to App Engine standard environment only.
+   */
+  @Parameter(alias = "stage.nativeStaging", property = "app.stage.nativeStaging")
+  private boolean nativeStaging;
+
+  /**
+   * Launch appcfg with a class data sharing archive of the App Engine tools, dumped into the Cloud
+   * SDK on the first launch. Needs Java 13 or later.
+   *
+   * <p>Applies to App Engine standard environment only.
+   */
+  @Parameter(alias = "stage.classDataSharing", property = "app.stage.classDataSharing")
+  private boolean classDataSharing;
+
   // always disable update check and do not expose this as a parameter
   private boolean disableUpdateCheck = true;
 
@@ -216,6 +235,14 @@ public abstract class AbstractStageMojo extends CloudSdkMojo {
     return enableJarClasses;
   }
 
+  public boolean isNativeStaging() {
+    return nativeStaging;
+  }
+
+  public boolean isClassDataSharing() {
+    return classDataSharing;
+  }
+
   public boolean isDisableUpdateCheck() {
     return disableUpdateCheck;
   }
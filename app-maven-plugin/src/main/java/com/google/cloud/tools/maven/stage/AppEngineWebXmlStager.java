@@ -68,7 +68,10 @@ public class AppEngineWebXmlStager implements Stager {
     }
 
     try {
-      stageMojo.getAppEngineFactory().appengineWebXmlStaging().stageStandard(config);
+      stageMojo
+          .getAppEngineFactory()
+          .appengineWebXmlStaging(stageMojo.isClassDataSharing())
+          .stageStandard(config);
     } catch (AppEngineException ex) {
       throw new RuntimeException(ex);
     }
@@ -94,6 +97,7 @@ public class AppEngineWebXmlStager implements Stager {
           .enableJarSplitting(stageMojo.isEnableJarSplitting())
           .enableQuickstart(stageMojo.isEnableQuickstart())
           .jarSplittingExcludes(stageMojo.getJarSplittingExcludes())
+          .nativeStaging(stageMojo.isNativeStaging())
           .runtime(processRuntime())
           .build();
     }
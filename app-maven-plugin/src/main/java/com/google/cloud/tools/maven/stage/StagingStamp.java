@@ -0,0 +1,194 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.maven.stage;
+
+import com.google.cloud.tools.maven.cloudsdk.CloudSdkDownloader;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.BaseEncoding;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.maven.plugin.MojoExecutionException;
+
+/**
+ * Records the inputs a staging directory was staged from, so that deployments can reuse a staging
+ * directory that is still up to date instead of staging the application again. The record is kept
+ * next to the staging directory, not in it, so it is never deployed.
+ *
+ * <p>Files are compared by path, size and modification time, so this is as precise as Maven's own
+ * incremental build checks. Applications staged with appcfg also record the VERSION file of the
+ * Cloud SDK, so upgrading the Cloud SDK stages them again.
+ */
+public class StagingStamp {
+
+  private static final String INPUTS = "inputs";
+  private static final String STAGING = "staging";
+
+  private final Path stagingDirectory;
+  private final Path stampFile;
+  private final List<Path> inputs;
+  private final String configuration;
+
+  /** Returns the stamp of the staging directory of {@code stageMojo}. */
+  public static StagingStamp newStagingStamp(AbstractStageMojo stageMojo) {
+    List<Path> inputs = new ArrayList<>();
+    List<Object> configuration = new ArrayList<>();
+    if (stageMojo.isAppEngineWebXmlBased()) {
+      inputs.add(stageMojo.getSourceDirectory());
+      inputs.add(stageMojo.getDockerfile());
+      inputs.add(stageMojo.getDockerfilePrimaryDefaultLocation());
+      inputs.add(stageMojo.getDockerfileSecondaryDefaultLocation());
+      // staged by appcfg, which an upgraded Cloud SDK may change
+      inputs.add(getCloudSdkVersionFile(stageMojo));
+      configuration.add(stageMojo.getCompileEncoding());
+      configuration.add(stageMojo.isDeleteJsps());
+      configuration.add(stageMojo.isDisableJarJsps());
+      configuration.add(stageMojo.isEnableJarClasses());
+      configuration.add(stageMojo.isEnableJarSplitting());
+      configuration.add(stageMojo.isEnableQuickstart());
+      configuration.add(stageMojo.getJarSplittingExcludes());
+      configuration.add(stageMojo.isNativeStaging());
+      configuration.add(stageMojo.getCompileTargetVersion());
+    } else {
+      inputs.add(stageMojo.getArtifact());
+      inputs.add(stageMojo.getAppEngineDirectory());
+      inputs.add(stageMojo.getDockerDirectory());
+      if (stageMojo.getExtraFilesDirectories() != null) {
+        inputs.addAll(stageMojo.getExtraFilesDirectories());
+      }
+    }
+    configuration.addAll(inputs);
+    Path stagingDirectory = stageMojo.getStagingDirectory();
+    return new StagingStamp(
+        stagingDirectory,
+        stagingDirectory.resolveSibling(stagingDirectory.getFileName() + ".stamp"),
+        inputs.stream().filter(Objects::nonNull).collect(Collectors.toList()),
+        configuration.toString());
+  }
+
+  // the Cloud SDK is not installed here, the VERSION file of a missing one is fingerprinted missing
+  private static Path getCloudSdkVersionFile(AbstractStageMojo stageMojo) {
+    Path cloudSdkHome = stageMojo.getCloudSdkHome();
+    if (cloudSdkHome == null) {
+      cloudSdkHome =
+          CloudSdkDownloader.newManagedSdkFactory(null)
+              .apply(stageMojo.getCloudSdkVersion())
+              .getSdkHome();
+    }
+    return cloudSdkHome.resolve("VERSION");
+  }
+
+  StagingStamp(Path stagingDirectory, Path stampFile, List<Path> inputs, String configuration) {
+    this.stagingDirectory = stagingDirectory;
+    this.stampFile = stampFile;
+    this.inputs = ImmutableList.copyOf(inputs);
+    this.configuration = configuration;
+  }
+
+  /**
+   * Returns true if the staging directory was staged from the current inputs and configuration and
+   * was not changed since.
+   */
+  public boolean isFresh() throws MojoExecutionException {
+    if (!Files.isDirectory(stagingDirectory) || !Files.exists(stampFile)) {
+      return false;
+    }
+    Properties stamp = new Properties();
+    try (InputStream in = Files.newInputStream(stampFile)) {
+      stamp.load(in);
+    } catch (IOException | IllegalArgumentException ex) {
+      // unreadable stamps are treated like missing ones
+      return false;
+    }
+    return fingerprintInputs().equals(stamp.getProperty(INPUTS))
+        && fingerprint(ImmutableList.of(stagingDirectory), "").equals(stamp.getProperty(STAGING));
+  }
+
+  /** Forgets the recorded state, to be called before the staging directory is modified. */
+  public void invalidate() throws MojoExecutionException {
+    try {
+      Files.deleteIfExists(stampFile);
+    } catch (IOException ex) {
+      throw new MojoExecutionException("Unable to delete " + stampFile, ex);
+    }
+  }
+
+  /** Records the current inputs and staging directory, called after staging completed. */
+  public void save() throws MojoExecutionException {
+    Properties stamp = new Properties();
+    stamp.setProperty(INPUTS, fingerprintInputs());
+    stamp.setProperty(STAGING, fingerprint(ImmutableList.of(stagingDirectory), ""));
+    try (OutputStream out = Files.newOutputStream(stampFile)) {
+      stamp.store(out, null);
+    } catch (IOException ex) {
+      throw new MojoExecutionException("Unable to write " + stampFile, ex);
+    }
+  }
+
+  private String fingerprintInputs() throws MojoExecutionException {
+    return fingerprint(inputs, configuration);
+  }
+
+  @VisibleForTesting
+  static String fingerprint(List<Path> roots, String configuration) throws MojoExecutionException {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException(ex);
+    }
+    update(digest, configuration);
+    for (Path root : roots) {
+      update(digest, root.toString());
+      if (!Files.exists(root)) {
+        update(digest, "missing");
+        continue;
+      }
+      try (Stream<Path> files = Files.walk(root)) {
+        for (Path file : files.sorted().collect(Collectors.toList())) {
+          BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+          if (attributes.isRegularFile()) {
+            update(digest, root.relativize(file).toString());
+            update(digest, Long.toString(attributes.size()));
+            update(digest, Long.toString(attributes.lastModifiedTime().toMillis()));
+          }
+        }
+      } catch (IOException ex) {
+        throw new MojoExecutionException("Unable to read " + root, ex);
+      }
+    }
+    return BaseEncoding.base16().lowerCase().encode(digest.digest());
+  }
+
+  private static void update(MessageDigest digest, String value) {
+    digest.update(value.getBytes(StandardCharsets.UTF_8));
+    digest.update((byte) 0);
+  }
+}
@@ -19,7 +19,6 @@ package com.google.cloud.tools.maven.cloudsdk;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -35,26 +34,43 @@ import com.google.cloud.tools.managedcloudsdk.command.CommandExitException;
 import com.google.cloud.tools.managedcloudsdk.components.SdkComponent;
 import com.google.cloud.tools.managedcloudsdk.components.SdkComponentInstaller;
 import com.google.cloud.tools.managedcloudsdk.components.SdkUpdater;
+import com.google.cloud.tools.managedcloudsdk.install.InstallLock;
 import com.google.cloud.tools.managedcloudsdk.install.SdkInstaller;
+import com.google.cloud.tools.managedcloudsdk.install.SdkInstallerException;
 import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import org.apache.maven.plugin.logging.Log;
 import org.junit.Assert;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
 
 @RunWith(MockitoJUnitRunner.class)
 public class CloudSdkDownloaderTest {
 
+  @Rule public TemporaryFolder tmp = new TemporaryFolder();
+
   @Mock private Log log;
   @Mock private Function<String, ManagedCloudSdk> managedCloudSdkFactory;
   @Mock private ManagedCloudSdk managedCloudSdk;
   private String version = "123.123.123";
+  private static final String SHA256 =
+      "9834876dcfb05cb167a5c24953eba58c4ac89b1adf57f28f2f9d09af107ee8f0";
 
   @Mock private SdkInstaller installer;
   @Mock private SdkComponentInstaller componentInstaller;
@@ -79,11 +95,57 @@ public class CloudSdkDownloaderTest {
     verify(managedCloudSdk).newInstaller();
   }
 
+  @Test
+  public void testDownloadCloudSdk_installWithArchiveSha256()
+      throws ManagedSdkVerificationException, ManagedSdkVersionMismatchException, IOException,
+          InterruptedException, SdkInstallerException, CommandExecutionException,
+          CommandExitException {
+    SdkInstaller verifyingInstaller = Mockito.mock(SdkInstaller.class);
+    when(installer.withArchiveSha256(SHA256)).thenReturn(verifyingInstaller);
+    when(managedCloudSdk.isInstalled()).thenReturn(false);
+    new CloudSdkDownloader(managedCloudSdkFactory, SHA256)
+        .downloadIfNecessary(version, log, Collections.emptyList(), false);
+    verify(verifyingInstaller).installAtomically(any(), any());
+    verify(installer, never()).installAtomically(any(), any());
+  }
+
+  @Test
+  public void testDownloadCloudSdk_holdsInstallLock()
+      throws IOException, InterruptedException, ExecutionException, ManagedSdkVerificationException,
+          ManagedSdkVersionMismatchException {
+    Path installDirectory = tmp.getRoot().toPath().resolve("LATEST");
+    when(managedCloudSdk.lockInstallation())
+        .thenAnswer(ignored -> InstallLock.acquire(installDirectory));
+    when(managedCloudSdk.isInstalled()).thenReturn(true);
+    when(managedCloudSdk.isUpToDate()).thenReturn(true);
+    downloader.downloadIfNecessary(
+        version, log, ImmutableList.of(SdkComponent.APP_ENGINE_JAVA), false);
+
+    InOrder inOrder = Mockito.inOrder(managedCloudSdk);
+    inOrder.verify(managedCloudSdk).lockInstallation();
+    inOrder.verify(managedCloudSdk).isUpToDate();
+    // released, so another thread gets it without waiting
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<Boolean> waited =
+          executor.submit(
+              () -> {
+                try (InstallLock lock = InstallLock.acquire(installDirectory)) {
+                  return lock.waited();
+                }
+              });
+      Assert.assertFalse(waited.get());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
   @Test
   public void testDownloadCloudSdk_installSingeComponent()
       throws ManagedSdkVerificationException, ManagedSdkVersionMismatchException {
     when(managedCloudSdk.isInstalled()).thenReturn(true);
-    when(managedCloudSdk.hasComponent(SdkComponent.APP_ENGINE_JAVA)).thenReturn(false);
+    when(managedCloudSdk.getMissingComponents(ImmutableList.of(SdkComponent.APP_ENGINE_JAVA)))
+        .thenReturn(ImmutableList.of(SdkComponent.APP_ENGINE_JAVA));
     downloader.downloadIfNecessary(
         version, log, ImmutableList.of(SdkComponent.APP_ENGINE_JAVA), false);
     verify(managedCloudSdk, never()).newInstaller();
@@ -95,14 +157,13 @@ public class CloudSdkDownloaderTest {
       throws ManagedSdkVerificationException, ManagedSdkVersionMismatchException,
           InterruptedException, CommandExitException, CommandExecutionException {
     when(managedCloudSdk.isInstalled()).thenReturn(true);
-    when(managedCloudSdk.hasComponent(SdkComponent.APP_ENGINE_JAVA)).thenReturn(false);
-    when(managedCloudSdk.hasComponent(SdkComponent.BETA)).thenReturn(false);
-    downloader.downloadIfNecessary(
-        version, log, ImmutableList.of(SdkComponent.APP_ENGINE_JAVA, SdkComponent.BETA), false);
+    List<SdkComponent> components =
+        ImmutableList.of(SdkComponent.APP_ENGINE_JAVA, SdkComponent.BETA);
+    when(managedCloudSdk.getMissingComponents(components)).thenReturn(components);
+    downloader.downloadIfNecessary(version, log, components, false);
     verify(managedCloudSdk, never()).newInstaller();
-    verify(managedCloudSdk, times(2)).newComponentInstaller();
-    verify(componentInstaller).installComponent(eq(SdkComponent.APP_ENGINE_JAVA), any(), any());
-    verify(componentInstaller).installComponent(eq(SdkComponent.BETA), any(), any());
+    verify(managedCloudSdk).newComponentInstaller();
+    verify(componentInstaller).installComponents(eq(components), any(), any());
   }
 
   @Test
@@ -110,13 +171,15 @@ public class CloudSdkDownloaderTest {
       throws ManagedSdkVerificationException, ManagedSdkVersionMismatchException,
           InterruptedException, CommandExitException, CommandExecutionException {
     when(managedCloudSdk.isInstalled()).thenReturn(true);
-    when(managedCloudSdk.hasComponent(SdkComponent.APP_ENGINE_JAVA)).thenReturn(false);
-    when(managedCloudSdk.hasComponent(SdkComponent.BETA)).thenReturn(true);
-    downloader.downloadIfNecessary(
-        version, log, ImmutableList.of(SdkComponent.APP_ENGINE_JAVA, SdkComponent.BETA), false);
+    List<SdkComponent> components =
+        ImmutableList.of(SdkComponent.APP_ENGINE_JAVA, SdkComponent.BETA);
+    when(managedCloudSdk.getMissingComponents(components))
+        .thenReturn(ImmutableList.of(SdkComponent.APP_ENGINE_JAVA));
+    downloader.downloadIfNecessary(version, log, components, false);
     verify(managedCloudSdk, never()).newInstaller();
     verify(managedCloudSdk).newComponentInstaller();
-    verify(componentInstaller).installComponent(eq(SdkComponent.APP_ENGINE_JAVA), any(), any());
+    verify(componentInstaller)
+        .installComponents(eq(ImmutableList.of(SdkComponent.APP_ENGINE_JAVA)), any(), any());
   }
 
   @Test
@@ -132,7 +195,8 @@ public class CloudSdkDownloaderTest {
   public void testDownloadCloudSdk_update()
       throws ManagedSdkVerificationException, ManagedSdkVersionMismatchException {
     when(managedCloudSdk.isInstalled()).thenReturn(true);
-    when(managedCloudSdk.hasComponent(SdkComponent.APP_ENGINE_JAVA)).thenReturn(true);
+    when(managedCloudSdk.getMissingComponents(ImmutableList.of(SdkComponent.APP_ENGINE_JAVA)))
+        .thenReturn(Collections.emptyList());
     when(managedCloudSdk.isUpToDate()).thenReturn(false);
     downloader.downloadIfNecessary(
         version, log, ImmutableList.of(SdkComponent.APP_ENGINE_JAVA), false);
@@ -152,15 +216,25 @@ public class CloudSdkDownloaderTest {
   @Test
   public void testNewManagedSdk_null() throws UnsupportedOsException {
     // There's no way of testing for direct ManagedCloudSdk equality, so compare home paths
-    ManagedCloudSdk sdk = CloudSdkDownloader.newManagedSdkFactory().apply(null);
+    ManagedCloudSdk sdk = CloudSdkDownloader.newManagedSdkFactory(null).apply(null);
     Assert.assertEquals(ManagedCloudSdk.newManagedSdk().getSdkHome(), sdk.getSdkHome());
   }
 
   @Test
   public void testNewManagedSdk_specific()
       throws UnsupportedOsException, BadCloudSdkVersionException {
-    ManagedCloudSdk sdk = CloudSdkDownloader.newManagedSdkFactory().apply("191.0.0");
+    ManagedCloudSdk sdk = CloudSdkDownloader.newManagedSdkFactory(null).apply("191.0.0");
     Assert.assertEquals(
         ManagedCloudSdk.newManagedSdk(new Version("191.0.0")).getSdkHome(), sdk.getSdkHome());
   }
+
+  @Test
+  public void testNewManagedSdk_negativeUpToDateCheckTtl() {
+    try {
+      CloudSdkDownloader.newManagedSdkFactory(-1).apply("191.0.0");
+      Assert.fail();
+    } catch (IllegalArgumentException ex) {
+      Assert.assertEquals("negative ttl", ex.getMessage());
+    }
+  }
 }
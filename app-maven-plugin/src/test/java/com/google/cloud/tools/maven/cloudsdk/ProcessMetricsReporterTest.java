@@ -0,0 +1,115 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.maven.cloudsdk;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.cloud.tools.process.ProcessCategory;
+import com.google.cloud.tools.process.ProcessMetrics;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Paths;
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.MavenExecutionRequest;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.logging.Log;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ProcessMetricsReporterTest {
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Mock private CloudSdkMojo mojoMock;
+  @Mock private MavenSession mavenSession;
+  @Mock private Log logMock;
+
+  private final MavenExecutionRequest request = new DefaultMavenExecutionRequest();
+  private final ProcessMetricsReporter reporter = new ProcessMetricsReporter();
+  private final ProcessBuilder javaVersion =
+      new ProcessBuilder(
+          Paths.get(System.getProperty("java.home"), "bin", "java").toString(), "-version");
+
+  @Before
+  public void setUp() {
+    when(mojoMock.isProcessMetrics()).thenReturn(true);
+    Mockito.lenient().when(mojoMock.getMavenSession()).thenReturn(mavenSession);
+    Mockito.lenient().when(mavenSession.getRequest()).thenReturn(request);
+  }
+
+  @Test
+  public void testInstall_disabled() throws IOException, InterruptedException {
+    when(mojoMock.isProcessMetrics()).thenReturn(false);
+    reporter.afterProjectsRead(mavenSession);
+
+    ProcessMetricsReporter.install(mojoMock);
+
+    Assert.assertFalse(isInstrumented(ProcessMetrics.start(ProcessCategory.GCLOUD, javaVersion)));
+  }
+
+  @Test
+  public void testInstall_notAnExtension() throws IOException, InterruptedException {
+    when(mojoMock.getLog()).thenReturn(logMock);
+
+    ProcessMetricsReporter.install(mojoMock);
+    ProcessMetricsReporter.install(mojoMock);
+
+    verify(logMock)
+        .warn(
+            "processMetrics requires the plugin to be declared with"
+                + " <extensions>true</extensions>, process metrics are not collected");
+    Assert.assertFalse(isInstrumented(ProcessMetrics.start(ProcessCategory.GCLOUD, javaVersion)));
+    reporter.afterSessionEnd(mavenSession);
+    verify(logMock, never()).info(Mockito.anyString());
+  }
+
+  @Test
+  public void testInstall_reportsAfterSessionEnd() throws IOException, InterruptedException {
+    File metricsFile = new File(temporaryFolder.getRoot(), "processes.jsonl");
+    when(mojoMock.getLog()).thenReturn(logMock);
+    when(mojoMock.getProcessMetricsFile()).thenReturn(metricsFile);
+    reporter.afterProjectsRead(mavenSession);
+
+    ProcessMetricsReporter.install(mojoMock);
+    ProcessMetricsReporter.install(mojoMock);
+    Process process = ProcessMetrics.start(ProcessCategory.GCLOUD, javaVersion);
+    Assert.assertTrue(isInstrumented(process));
+    process.waitFor();
+
+    reporter.afterSessionEnd(mavenSession);
+    verify(logMock).info("Child processes:");
+    Assert.assertTrue(metricsFile.exists());
+
+    // listeners are removed once the build ended
+    Assert.assertFalse(isInstrumented(ProcessMetrics.start(ProcessCategory.GCLOUD, javaVersion)));
+  }
+
+  private static boolean isInstrumented(Process process) throws InterruptedException {
+    process.waitFor();
+    return process.getClass().getSimpleName().equals("InstrumentedProcess");
+  }
+}
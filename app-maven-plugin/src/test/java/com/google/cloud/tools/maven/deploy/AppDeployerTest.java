@@ -25,6 +25,7 @@ import com.google.cloud.tools.appengine.operations.Deployment;
 import com.google.cloud.tools.maven.cloudsdk.CloudSdkAppEngineFactory;
 import com.google.cloud.tools.maven.deploy.AppDeployer.ConfigBuilder;
 import com.google.cloud.tools.maven.stage.Stager;
+import com.google.cloud.tools.maven.stage.StagingStamp;
 import com.google.common.collect.ImmutableList;
 import java.io.IOException;
 import java.nio.file.Files;
@@ -40,6 +41,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
@@ -60,6 +62,7 @@ public class AppDeployerTest {
   @Mock private DeployConfiguration deployConfiguration;
   @Mock private DeployProjectConfigurationConfiguration deployProjectConfigurationConfiguration;
   @Mock private Log mockLog;
+  @Mock private StagingStamp stagingStamp;
 
   private AppDeployer testDeployer;
 
@@ -68,7 +71,8 @@ public class AppDeployerTest {
     stagingDirectory = tempFolder.newFolder("staging").toPath();
     appengineDirectory = tempFolder.newFolder("appengine").toPath();
 
-    testDeployer = new AppDeployer(deployMojo, stager, configBuilder, appengineDirectory);
+    testDeployer =
+        new AppDeployer(deployMojo, stager, configBuilder, appengineDirectory, true, stagingStamp);
 
     Mockito.when(deployMojo.getStagingDirectory()).thenReturn(stagingDirectory);
     Mockito.when(deployMojo.getAppEngineFactory()).thenReturn(appEngineFactory);
@@ -87,6 +91,50 @@ public class AppDeployerTest {
     Mockito.verify(appEngineDeployment).deploy(deployConfiguration);
   }
 
+  @Test
+  public void testDeploy_freshStaging() throws MojoExecutionException, AppEngineException {
+    Mockito.when(stagingStamp.isFresh()).thenReturn(true);
+    Mockito.when(configBuilder.buildDeployConfiguration(ImmutableList.of(stagingDirectory)))
+        .thenReturn(deployConfiguration);
+    testDeployer.deploy();
+    Mockito.verifyZeroInteractions(stager);
+    Mockito.verify(stagingStamp, Mockito.never()).save();
+    Mockito.verify(appEngineDeployment).deploy(deployConfiguration);
+  }
+
+  @Test
+  public void testDeploy_staleStaging() throws MojoExecutionException {
+    Mockito.when(configBuilder.buildDeployConfiguration(ImmutableList.of(stagingDirectory)))
+        .thenReturn(deployConfiguration);
+    testDeployer.deploy();
+    InOrder inOrder = Mockito.inOrder(stagingStamp, stager);
+    inOrder.verify(stagingStamp).invalidate();
+    inOrder.verify(stager).stage();
+    inOrder.verify(stagingStamp).save();
+  }
+
+  @Test
+  public void testDeploy_failedStagingNotRecorded() throws MojoExecutionException {
+    Mockito.doThrow(new MojoExecutionException("failed")).when(stager).stage();
+    try {
+      testDeployer.deploy();
+      fail();
+    } catch (MojoExecutionException ex) {
+      Mockito.verify(stagingStamp).invalidate();
+      Mockito.verify(stagingStamp, Mockito.never()).save();
+    }
+  }
+
+  @Test
+  public void testDeployQueue_configurationNotStaged()
+      throws MojoExecutionException, AppEngineException {
+    testDeployer =
+        new AppDeployer(deployMojo, stager, configBuilder, appengineDirectory, false, stagingStamp);
+    testDeployer.deployQueue();
+    Mockito.verifyZeroInteractions(stager, stagingStamp);
+    Mockito.verify(appEngineDeployment).deployQueue(deployProjectConfigurationConfiguration);
+  }
+
   private List<Path> createStagedYamls(String... names) throws IOException {
     List<Path> createdFiles = new ArrayList<>();
     for (String name : names) {
@@ -221,4 +269,27 @@ public class AppDeployerTest {
     Assert.assertEquals("testServer", deployConfig.getServer());
     Assert.assertEquals("processedTestVersion", deployConfig.getVersion());
   }
+
+  @Test
+  public void testGetStagedService() throws MojoExecutionException, IOException {
+    Files.write(
+        stagingDirectory.resolve("app.yaml"),
+        ImmutableList.of(
+            "runtime: java17", "service: 'api'  # backend", "handlers:", "  service: x"));
+    Assert.assertEquals("api", testDeployer.getStagedService());
+  }
+
+  @Test
+  public void testGetStagedService_default() throws MojoExecutionException, IOException {
+    Assert.assertEquals("default", testDeployer.getStagedService());
+    Files.write(stagingDirectory.resolve("app.yaml"), ImmutableList.of("runtime: java17"));
+    Assert.assertEquals("default", testDeployer.getStagedService());
+  }
+
+  @Test
+  public void testFindConfigYamls() throws IOException {
+    List<Path> files = createStagedYamls("cron", "dispatch");
+    Files.createFile(appengineDirectory.resolve("ignored.yaml"));
+    Assert.assertEquals(files, testDeployer.findConfigYamls());
+  }
 }
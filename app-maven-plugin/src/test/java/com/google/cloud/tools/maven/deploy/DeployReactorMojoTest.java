@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.maven.deploy;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.DefaultSessionData;
+import org.eclipse.aether.RepositorySystemSession;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DeployReactorMojoTest {
+
+  @Mock private Deployer.Factory factory;
+  @Mock private AppDeployer deployer;
+  @Mock private MavenSession mavenSession;
+  @Mock private RepositorySystemSession repositorySession;
+  @Mock private MavenProject mavenProject;
+  @Mock private MavenProject otherProject;
+  @Mock private Log log;
+
+  @InjectMocks private DeployReactorMojo testMojo;
+
+  @Before
+  public void setUp() {
+    testMojo.setLog(log);
+    Mockito.when(mavenSession.getRepositorySession()).thenReturn(repositorySession);
+    Mockito.when(repositorySession.getData()).thenReturn(new DefaultSessionData());
+    Mockito.lenient().when(mavenProject.getPackaging()).thenReturn("war");
+    Mockito.lenient().when(mavenProject.getId()).thenReturn("com.example:frontend:war:1.0");
+    Mockito.lenient().when(mavenProject.getArtifactId()).thenReturn("frontend");
+    Mockito.lenient().when(otherProject.getId()).thenReturn("com.example:backend:war:1.0");
+    Mockito.lenient().when(otherProject.getArtifactId()).thenReturn("backend");
+  }
+
+  @Test
+  public void testExecute_deferredUntilAllModulesRegistered() throws MojoExecutionException {
+    Mockito.when(factory.newAppDeployer(testMojo)).thenReturn(deployer);
+    Mockito.when(mavenSession.getProjects())
+        .thenReturn(ImmutableList.of(mavenProject, otherProject));
+
+    testMojo.execute();
+
+    Mockito.verify(deployer, Mockito.never()).stage();
+    Mockito.verify(log).info("appengine:deployReactor: deploying once [backend] are built");
+  }
+
+  @Test
+  public void testExecute_lastRegisteredModuleDeploys() throws MojoExecutionException {
+    Mockito.when(factory.newAppDeployer(testMojo)).thenReturn(deployer);
+    Mockito.when(deployer.getStagedService()).thenReturn("default");
+    // the other module was built first, for example by another thread of a parallel build
+    Mockito.when(mavenSession.getProjects())
+        .thenReturn(ImmutableList.of(mavenProject, otherProject));
+    ReactorDeployment.forSession(mavenSession)
+        .register(otherProject, null, ImmutableList.of(mavenProject, otherProject));
+
+    testMojo.execute();
+
+    Mockito.verify(deployer).stage();
+    Mockito.verify(deployer).deployStaged();
+  }
+
+  @Test
+  public void testExecute_deploysOnlyOnce() throws MojoExecutionException {
+    Mockito.when(factory.newAppDeployer(testMojo)).thenReturn(deployer);
+    Mockito.when(deployer.getStagedService()).thenReturn("default");
+    Mockito.when(mavenSession.getProjects()).thenReturn(ImmutableList.of(mavenProject));
+
+    testMojo.execute();
+    testMojo.execute();
+
+    Mockito.verify(deployer).stage();
+    Mockito.verify(deployer).deployStaged();
+  }
+
+  @Test
+  public void testExecute_skippedModuleRegisters() throws MojoExecutionException {
+    Mockito.when(mavenSession.getProjects())
+        .thenReturn(ImmutableList.of(mavenProject, otherProject));
+    AppDeployer otherDeployer = Mockito.mock(AppDeployer.class);
+    Mockito.when(otherDeployer.getStagedService()).thenReturn("default");
+    ReactorDeployment.forSession(mavenSession)
+        .register(otherProject, otherDeployer, ImmutableList.of(mavenProject, otherProject));
+    testMojo.setSkip(true);
+
+    testMojo.execute();
+
+    Mockito.verifyZeroInteractions(factory);
+    Mockito.verify(log).info("Skipping appengine:deployReactor");
+    Mockito.verify(otherDeployer).stage();
+    Mockito.verify(otherDeployer).deployStaged();
+  }
+
+  @Test
+  public void testExecute_notAppEnginePackaging() throws MojoExecutionException {
+    Mockito.when(mavenProject.getPackaging()).thenReturn("pom");
+    Mockito.when(mavenSession.getProjects()).thenReturn(ImmutableList.of(mavenProject));
+
+    testMojo.execute();
+
+    Mockito.verifyZeroInteractions(factory);
+    Mockito.verify(log).info("appengine:deployReactor: no App Engine application to deploy");
+  }
+}
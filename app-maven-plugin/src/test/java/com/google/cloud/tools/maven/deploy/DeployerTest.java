@@ -19,7 +19,6 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
@@ -42,8 +41,6 @@ public class DeployerTest {
   @Mock private DeployConfiguration deployConfiguration;
   @Mock private DeployProjectConfigurationConfiguration deployProjectConfigurationConfiguration;
 
-  @InjectMocks private AppDeployer testDeployer;
-
   @Before
   public void setup() throws IOException {
     stagingDirectory = tempFolder.newFolder("staging").toPath();
@@ -63,6 +60,7 @@ public class DeployerTest {
         deployMojo.getStagingDirectory().resolve("WEB-INF").resolve("appengine-generated"),
         deployer.appengineDirectory);
     Assert.assertEquals(AppEngineWebXmlStager.class, deployer.stager.getClass());
+    Assert.assertTrue(deployer.configurationStaged);
   }
 
   @Test
@@ -76,6 +74,7 @@ public class DeployerTest {
     Mockito.verify(deployMojo, times(0)).getAppEngineWebXml();
     Assert.assertEquals(appengineDir, deployer.appengineDirectory);
     Assert.assertEquals(AppYamlStager.class, deployer.stager.getClass());
+    Assert.assertFalse(deployer.configurationStaged);
   }
 
   @Test
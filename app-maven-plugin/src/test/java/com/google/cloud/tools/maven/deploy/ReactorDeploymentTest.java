@@ -0,0 +1,151 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.maven.deploy;
+
+import com.google.common.collect.ImmutableList;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ReactorDeploymentTest {
+
+  @Mock private Log log;
+  @Mock private AppDeployer frontend;
+  @Mock private AppDeployer api;
+  @Mock private AppDeployer worker;
+
+  private final List<String> calls = Collections.synchronizedList(new ArrayList<>());
+  private final Path dispatchYaml = Paths.get("frontend", "dispatch.yaml");
+  private final Path cronYaml = Paths.get("frontend", "cron.yaml");
+  private final ReactorDeployment deployment = new ReactorDeployment();
+
+  @Before
+  public void setUp() throws MojoExecutionException {
+    record(frontend, "frontend", "default", dispatchYaml, cronYaml);
+    record(api, "api", "api");
+    record(worker, "worker", "worker");
+    deployment.add("worker", worker);
+    deployment.add("api", api);
+    deployment.add("frontend", frontend);
+  }
+
+  private void record(AppDeployer deployer, String name, String service, Path... configs)
+      throws MojoExecutionException {
+    Mockito.lenient().doAnswer(invocation -> calls.add("stage " + name)).when(deployer).stage();
+    Mockito.lenient().when(deployer.getStagedService()).thenReturn(service);
+    Mockito.lenient().when(deployer.findConfigYamls()).thenReturn(ImmutableList.copyOf(configs));
+    Mockito.lenient()
+        .doAnswer(invocation -> calls.add("deploy " + name))
+        .when(deployer)
+        .deployStaged();
+    for (Path config : configs) {
+      Mockito.lenient()
+          .doAnswer(invocation -> calls.add("deploy " + config.getFileName()))
+          .when(deployer)
+          .deployConfig(config);
+    }
+  }
+
+  @Test
+  public void testDeploy_order() throws MojoExecutionException {
+    deployment.deploy(2, log);
+
+    Assert.assertEquals(8, calls.size());
+    Assert.assertTrue(
+        calls
+            .subList(0, 3)
+            .containsAll(ImmutableList.of("stage frontend", "stage api", "stage worker")));
+    Assert.assertEquals("deploy frontend", calls.get(3));
+    Assert.assertTrue(
+        calls.subList(4, 6).containsAll(ImmutableList.of("deploy api", "deploy worker")));
+    Assert.assertEquals("deploy cron.yaml", calls.get(6));
+    Assert.assertEquals("deploy dispatch.yaml", calls.get(7));
+    Mockito.verify(log).info("Reactor deployment:");
+    Mockito.verify(log, Mockito.never()).error(Mockito.anyString());
+  }
+
+  @Test
+  public void testDeploy_stagingFailureDeploysNothing() throws MojoExecutionException {
+    Mockito.doThrow(new MojoExecutionException("no artifact")).when(api).stage();
+
+    try {
+      deployment.deploy(2, log);
+      Assert.fail();
+    } catch (MojoExecutionException ex) {
+      Assert.assertEquals("Reactor deployment failed: 1 of 3 steps failed", ex.getMessage());
+    }
+    Assert.assertTrue(calls.stream().allMatch(call -> call.startsWith("stage ")));
+    Mockito.verify(frontend, Mockito.never()).deployStaged();
+    Mockito.verify(log)
+        .error(
+            Mockito.argThat((String line) -> line.contains("api") && line.endsWith("no artifact")));
+  }
+
+  @Test
+  public void testDeploy_defaultServiceFailureSkipsOthers() throws MojoExecutionException {
+    Mockito.doThrow(new MojoExecutionException("quota")).when(frontend).deployStaged();
+
+    try {
+      deployment.deploy(2, log);
+      Assert.fail();
+    } catch (MojoExecutionException ex) {
+      Assert.assertEquals("Reactor deployment failed: 1 of 8 steps failed", ex.getMessage());
+    }
+    Mockito.verify(api, Mockito.never()).deployStaged();
+    Mockito.verify(worker, Mockito.never()).deployStaged();
+    Mockito.verify(frontend, Mockito.never()).deployConfig(Mockito.any());
+  }
+
+  @Test
+  public void testDeploy_servicesDeployedConcurrently()
+      throws MojoExecutionException, InterruptedException {
+    CountDownLatch bothDeploying = new CountDownLatch(2);
+    for (AppDeployer deployer : ImmutableList.of(api, worker)) {
+      Mockito.doAnswer(
+              invocation -> {
+                bothDeploying.countDown();
+                Assert.assertTrue(bothDeploying.await(10, TimeUnit.SECONDS));
+                return null;
+              })
+          .when(deployer)
+          .deployStaged();
+    }
+
+    deployment.deploy(2, log);
+    Assert.assertEquals(0, bothDeploying.getCount());
+  }
+
+  @Test
+  public void testFormatMillis() {
+    Assert.assertEquals("0.0s", ReactorDeployment.formatMillis(12));
+    Assert.assertEquals("12.3s", ReactorDeployment.formatMillis(12345));
+  }
+}
@@ -17,6 +17,7 @@
 package com.google.cloud.tools.maven.run;
 
 import org.apache.maven.plugin.MojoExecutionException;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -45,6 +46,27 @@ public class RunAsyncMojoTest {
     Mockito.verify(runner).runAsync(34);
   }
 
+  @Test
+  public void testExecute_httpReadiness() throws MojoExecutionException {
+    testMojo.startSuccessTimeout = 34;
+    testMojo.readinessCheck = "http";
+    testMojo.healthCheckPath = "/_ah/admin";
+    testMojo.execute();
+    Mockito.verify(runner).runAsyncWithHttpReadiness(34, "/_ah/admin");
+  }
+
+  @Test
+  public void testExecute_invalidReadinessCheck() {
+    testMojo.readinessCheck = "port";
+    try {
+      testMojo.execute();
+      Assert.fail();
+    } catch (MojoExecutionException ex) {
+      Assert.assertEquals(
+          "Invalid readinessCheck 'port', expected 'log' or 'http'.", ex.getMessage());
+    }
+  }
+
   @Test
   public void testExecute_skipTest() throws MojoExecutionException {
     testMojo.setSkip(true);
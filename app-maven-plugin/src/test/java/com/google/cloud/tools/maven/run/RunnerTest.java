@@ -22,24 +22,34 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.cloud.tools.appengine.AppEngineException;
+import com.google.cloud.tools.appengine.configuration.RunConfiguration;
 import com.google.cloud.tools.appengine.operations.DevServer;
+import com.google.cloud.tools.appengine.operations.DevServerOrchestrator;
+import com.google.cloud.tools.appengine.operations.DevServerOrchestrator.ServiceInstance;
+import com.google.cloud.tools.appengine.operations.cloudsdk.process.HttpReadinessProbe;
 import com.google.cloud.tools.maven.cloudsdk.CloudSdkAppEngineFactory;
 import com.google.cloud.tools.maven.cloudsdk.ConfigReader;
 import com.google.cloud.tools.maven.run.Runner.ConfigBuilder;
 import com.google.common.collect.ImmutableList;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
+import java.util.Properties;
+import org.apache.maven.model.Build;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -59,6 +69,7 @@ public class RunnerTest {
 
   @Mock private CloudSdkAppEngineFactory appengineFactory;
   @Mock private DevServer devServer;
+  @Mock private DevServerOrchestrator orchestrator;
   @Mock private Log logMock;
   @Mock private ConfigReader configReader;
   private Path appDir;
@@ -99,12 +110,97 @@ public class RunnerTest {
     when(appengineFactory.devServerRunAsync(START_SUCCESS_TIMEOUT)).thenReturn(devServer);
     setUpAppEngineWebXml();
     when(runMojo.getServices()).thenReturn(ImmutableList.of(appDir));
+    Path processesFile = tempFolder.newFile("processes.properties").toPath();
+    Files.write(processesFile, "8080=12345\n".getBytes(StandardCharsets.UTF_8));
+    when(runMojo.getProcessesFile()).thenReturn(processesFile);
 
     testRunner.runAsync(START_SUCCESS_TIMEOUT);
 
     verify(devServer).run(configBuilder.buildRunConfiguration(ImmutableList.of(appDir), null));
     verify(logMock).info(contains("25 seconds"));
     verify(logMock).info(contains("started"));
+    // the mocked server has no process, so the stale process id is removed
+    Assert.assertFalse(Files.exists(processesFile));
+  }
+
+  @Test
+  public void testRunAsyncWithHttpReadiness()
+      throws MojoExecutionException, IOException, AppEngineException {
+    when(appengineFactory.devServerRunAsync(Mockito.any(HttpReadinessProbe.class)))
+        .thenReturn(devServer);
+    setUpAppEngineWebXml();
+    when(runMojo.getServices()).thenReturn(ImmutableList.of(appDir));
+    when(runMojo.getProcessesFile()).thenReturn(tempFolder.getRoot().toPath().resolve("pids"));
+
+    testRunner.runAsyncWithHttpReadiness(25, "/_ah/admin");
+
+    verify(devServer).run(configBuilder.buildRunConfiguration(ImmutableList.of(appDir), null));
+    verify(logMock).info(contains("25 seconds"));
+    verify(logMock).info(contains("started"));
+  }
+
+  @Test
+  public void testRun_isolateServices()
+      throws MojoExecutionException, IOException, AppEngineException {
+    when(appengineFactory.devServerOrchestratorSync()).thenReturn(orchestrator);
+    when(runMojo.isIsolateServices()).thenReturn(true);
+    setUpAppEngineWebXml();
+    when(runMojo.getServices()).thenReturn(ImmutableList.of(appDir));
+
+    testRunner.run();
+
+    verify(orchestrator).run(configBuilder.buildRunConfiguration(ImmutableList.of(appDir), null));
+  }
+
+  @Test
+  public void testRun_hotReload() throws MojoExecutionException, IOException, AppEngineException {
+    when(appengineFactory.devServerRunSync()).thenReturn(devServer);
+    when(runMojo.isHotReload()).thenReturn(true);
+    MavenProject project = Mockito.mock(MavenProject.class);
+    Build build = new Build();
+    build.setDirectory(appDir.getParent().toString());
+    build.setFinalName(appDir.getFileName().toString());
+    build.setOutputDirectory(tempFolder.newFolder("classes").toString());
+    when(project.getBuild()).thenReturn(build);
+    when(runMojo.getMavenProject()).thenReturn(project);
+    setUpAppEngineWebXml();
+    when(runMojo.getServices()).thenReturn(ImmutableList.of(appDir));
+    when(configBuilder.buildRunConfiguration(ImmutableList.of(appDir), null))
+        .thenReturn(
+            RunConfiguration.builder(ImmutableList.of(appDir)).automaticRestart(true).build());
+
+    testRunner.run();
+
+    ArgumentCaptor<RunConfiguration> captor = ArgumentCaptor.forClass(RunConfiguration.class);
+    verify(devServer).run(captor.capture());
+    RunConfiguration config = captor.getValue();
+    Assert.assertEquals(Boolean.FALSE, config.getAutomaticRestart());
+    verify(logMock).info("Hot reloading " + appDir);
+  }
+
+  @Test
+  public void testRunAsync_isolateServices()
+      throws MojoExecutionException, IOException, AppEngineException {
+    ServiceInstance instance = Mockito.mock(ServiceInstance.class);
+    when(instance.getService()).thenReturn("backend");
+    when(instance.getPort()).thenReturn(8081);
+    when(appengineFactory.devServerOrchestratorAsync(25)).thenReturn(orchestrator);
+    when(orchestrator.run(Mockito.any())).thenReturn(ImmutableList.of(instance));
+    when(runMojo.isIsolateServices()).thenReturn(true);
+    Path servicesFile = tempFolder.getRoot().toPath().resolve("out/services.properties");
+    when(runMojo.getServicesFile()).thenReturn(servicesFile);
+    when(runMojo.getProcessesFile()).thenReturn(tempFolder.getRoot().toPath().resolve("pids"));
+    setUpAppEngineWebXml();
+    when(runMojo.getServices()).thenReturn(ImmutableList.of(appDir));
+
+    testRunner.runAsync(25);
+
+    verify(logMock).info("Service backend started at http://localhost:8081");
+    Properties services = new Properties();
+    try (InputStream in = Files.newInputStream(servicesFile)) {
+      services.load(in);
+    }
+    Assert.assertEquals("8081", services.getProperty("service.backend"));
   }
 
   @Test
@@ -22,10 +22,22 @@ import com.google.cloud.tools.appengine.AppEngineException;
 import com.google.cloud.tools.appengine.configuration.StopConfiguration;
 import com.google.cloud.tools.appengine.operations.DevServer;
 import com.google.cloud.tools.maven.cloudsdk.CloudSdkAppEngineFactory;
+import com.google.common.collect.ImmutableSet;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.junit.Assert;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
@@ -36,14 +48,17 @@ import org.mockito.junit.MockitoJUnitRunner;
 @RunWith(MockitoJUnitRunner.class)
 public class StopMojoTest {
 
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
   @Mock private CloudSdkAppEngineFactory factoryMock;
   @Mock private DevServer devServerMock;
 
   @InjectMocks private StopMojo stopMojo;
 
   @Before
-  public void setUp() {
+  public void setUp() throws AppEngineException {
     Mockito.when(factoryMock.devServerStop()).thenReturn(devServerMock);
+    Mockito.when(devServerMock.stopAndMeasure(Mockito.any())).thenReturn(Duration.ofMillis(42));
   }
 
   @Test
@@ -52,16 +67,81 @@ public class StopMojoTest {
     // wire up
     stopMojo.host = "host";
     stopMojo.port = 124;
+    stopMojo.stopTimeout = 3;
 
     // invoke
     stopMojo.execute();
 
     // verify
     ArgumentCaptor<StopConfiguration> captor = ArgumentCaptor.forClass(StopConfiguration.class);
-    verify(devServerMock).stop(captor.capture());
+    verify(devServerMock).stopAndMeasure(captor.capture());
 
     Assert.assertEquals("host", captor.getValue().getHost());
     Assert.assertEquals(Integer.valueOf(124), captor.getValue().getPort());
+    Assert.assertEquals(Integer.valueOf(3), captor.getValue().getTimeout());
+  }
+
+  @Test
+  public void testStop_isolatedServices()
+      throws MojoExecutionException, AppEngineException, IOException {
+    Path servicesFile = temporaryFolder.newFile("services.properties").toPath();
+    Files.write(
+        servicesFile,
+        "host=host\nservice.default=8080\nservice.backend=8081\n".getBytes(StandardCharsets.UTF_8));
+    stopMojo.servicesFile = servicesFile.toFile();
+    stopMojo.port = 124;
+
+    stopMojo.execute();
+
+    ArgumentCaptor<StopConfiguration> captor = ArgumentCaptor.forClass(StopConfiguration.class);
+    verify(devServerMock, Mockito.times(2)).stopAndMeasure(captor.capture());
+    Set<Integer> ports = new HashSet<>();
+    for (StopConfiguration stopConfiguration : captor.getAllValues()) {
+      Assert.assertEquals("host", stopConfiguration.getHost());
+      ports.add(stopConfiguration.getPort());
+    }
+    Assert.assertEquals(ImmutableSet.of(8080, 8081), ports);
+    Assert.assertFalse(Files.exists(servicesFile));
+  }
+
+  @Test
+  public void testStop_recordedProcessIds()
+      throws MojoExecutionException, AppEngineException, IOException {
+    Path servicesFile = temporaryFolder.newFile("services.properties").toPath();
+    Files.write(
+        servicesFile,
+        "service.default=8080\nservice.backend=8081\n".getBytes(StandardCharsets.UTF_8));
+    Path processesFile = temporaryFolder.newFile("processes.properties").toPath();
+    Files.write(processesFile, "8081=4242\n".getBytes(StandardCharsets.UTF_8));
+    stopMojo.servicesFile = servicesFile.toFile();
+    stopMojo.processesFile = processesFile.toFile();
+
+    stopMojo.execute();
+
+    ArgumentCaptor<StopConfiguration> captor = ArgumentCaptor.forClass(StopConfiguration.class);
+    verify(devServerMock, Mockito.times(2)).stopAndMeasure(captor.capture());
+    Map<Integer, Long> processIds = new HashMap<>();
+    for (StopConfiguration stopConfiguration : captor.getAllValues()) {
+      processIds.put(stopConfiguration.getPort(), stopConfiguration.getProcessId());
+    }
+    Assert.assertNull(processIds.get(8080));
+    Assert.assertEquals(Long.valueOf(4242), processIds.get(8081));
+    Assert.assertFalse(Files.exists(processesFile));
+  }
+
+  @Test
+  public void testStop_defaultPortProcessId()
+      throws MojoExecutionException, AppEngineException, IOException {
+    Path processesFile = temporaryFolder.newFile("processes.properties").toPath();
+    Files.write(processesFile, "8080=4242\n".getBytes(StandardCharsets.UTF_8));
+    stopMojo.processesFile = processesFile.toFile();
+
+    stopMojo.execute();
+
+    ArgumentCaptor<StopConfiguration> captor = ArgumentCaptor.forClass(StopConfiguration.class);
+    verify(devServerMock).stopAndMeasure(captor.capture());
+    Assert.assertNull(captor.getValue().getPort());
+    Assert.assertEquals(Long.valueOf(4242), captor.getValue().getProcessId());
   }
 
   @Test
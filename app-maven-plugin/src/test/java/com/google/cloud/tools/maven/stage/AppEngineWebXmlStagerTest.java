@@ -63,7 +63,7 @@ public class AppEngineWebXmlStagerTest {
     MockitoAnnotations.initMocks(this);
     when(stageMojo.getLog()).thenReturn(logMock);
     when(stageMojo.getAppEngineFactory()).thenReturn(appengineFactory);
-    when(appengineFactory.appengineWebXmlStaging()).thenReturn(staging);
+    when(appengineFactory.appengineWebXmlStaging(false)).thenReturn(staging);
     when(configBuilder.buildConfiguration()).thenReturn(stagingConfiguration);
     when(stagingConfiguration.getStagingDirectory()).thenReturn(tempFolder.getRoot().toPath());
   }
@@ -75,7 +75,7 @@ public class AppEngineWebXmlStagerTest {
     testStager.stage();
 
     // verify
-    verify(appengineFactory).appengineWebXmlStaging();
+    verify(appengineFactory).appengineWebXmlStaging(false);
     verify(staging).stageStandard(stagingConfiguration);
     verify(logMock).info("Detected App Engine appengine-web.xml based application.");
   }
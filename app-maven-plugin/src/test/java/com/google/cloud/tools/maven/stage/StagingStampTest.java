@@ -0,0 +1,129 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.maven.stage;
+
+import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+public class StagingStampTest {
+
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private Path stagingDirectory;
+  private Path stampFile;
+  private Path artifact;
+  private StagingStamp stagingStamp;
+
+  @Before
+  public void setUp() throws IOException {
+    stagingDirectory = tempFolder.newFolder("appengine-staging").toPath();
+    stampFile = tempFolder.getRoot().toPath().resolve("appengine-staging.stamp");
+    artifact = tempFolder.newFile("app.jar").toPath();
+    Files.write(stagingDirectory.resolve("app.yaml"), "runtime: java17".getBytes("UTF-8"));
+    stagingStamp = newStagingStamp("configuration");
+  }
+
+  private StagingStamp newStagingStamp(String configuration) {
+    return new StagingStamp(stagingDirectory, stampFile, ImmutableList.of(artifact), configuration);
+  }
+
+  @Test
+  public void testIsFresh_notRecorded() throws MojoExecutionException {
+    Assert.assertFalse(stagingStamp.isFresh());
+  }
+
+  @Test
+  public void testIsFresh_recorded() throws MojoExecutionException {
+    stagingStamp.save();
+    Assert.assertTrue(Files.exists(stampFile));
+    Assert.assertTrue(stagingStamp.isFresh());
+  }
+
+  @Test
+  public void testIsFresh_invalidated() throws MojoExecutionException {
+    stagingStamp.save();
+    stagingStamp.invalidate();
+    Assert.assertFalse(Files.exists(stampFile));
+    Assert.assertFalse(stagingStamp.isFresh());
+  }
+
+  @Test
+  public void testIsFresh_inputChanged() throws MojoExecutionException, IOException {
+    stagingStamp.save();
+    Files.setLastModifiedTime(artifact, FileTime.fromMillis(1000));
+    Assert.assertFalse(stagingStamp.isFresh());
+  }
+
+  @Test
+  public void testIsFresh_configurationChanged() throws MojoExecutionException {
+    stagingStamp.save();
+    Assert.assertFalse(newStagingStamp("other configuration").isFresh());
+  }
+
+  @Test
+  public void testIsFresh_stagingDirectoryChanged() throws MojoExecutionException, IOException {
+    stagingStamp.save();
+    Files.createFile(stagingDirectory.resolve("extra.txt"));
+    Assert.assertFalse(stagingStamp.isFresh());
+  }
+
+  @Test
+  public void testIsFresh_stagingDirectoryDeleted() throws MojoExecutionException, IOException {
+    stagingStamp.save();
+    Files.delete(stagingDirectory.resolve("app.yaml"));
+    Files.delete(stagingDirectory);
+    Assert.assertFalse(stagingStamp.isFresh());
+  }
+
+  @Test
+  public void testIsFresh_cloudSdkUpgraded() throws MojoExecutionException, IOException {
+    Path cloudSdkHome = tempFolder.newFolder("google-cloud-sdk").toPath();
+    Files.write(cloudSdkHome.resolve("VERSION"), "400.0.0".getBytes("UTF-8"));
+    AbstractStageMojo stageMojo = Mockito.mock(AbstractStageMojo.class);
+    Mockito.when(stageMojo.isAppEngineWebXmlBased()).thenReturn(true);
+    Mockito.when(stageMojo.getSourceDirectory()).thenReturn(artifact);
+    Mockito.when(stageMojo.getCloudSdkHome()).thenReturn(cloudSdkHome);
+    Mockito.when(stageMojo.getStagingDirectory()).thenReturn(stagingDirectory);
+    StagingStamp.newStagingStamp(stageMojo).save();
+    Assert.assertTrue(StagingStamp.newStagingStamp(stageMojo).isFresh());
+
+    Files.write(cloudSdkHome.resolve("VERSION"), "401.0.0".getBytes("UTF-8"));
+    Files.setLastModifiedTime(cloudSdkHome.resolve("VERSION"), FileTime.fromMillis(1000));
+    Assert.assertFalse(StagingStamp.newStagingStamp(stageMojo).isFresh());
+  }
+
+  @Test
+  public void testFingerprint_missingInput() throws MojoExecutionException {
+    Path missing = tempFolder.getRoot().toPath().resolve("missing");
+    Assert.assertNotEquals(
+        StagingStamp.fingerprint(ImmutableList.of(artifact), ""),
+        StagingStamp.fingerprint(ImmutableList.of(missing), ""));
+    Assert.assertEquals(
+        StagingStamp.fingerprint(ImmutableList.of(missing), ""),
+        StagingStamp.fingerprint(ImmutableList.of(missing), ""));
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.appengine;
+
+import com.google.cloud.tools.benchmarks.Fixtures;
+import com.google.cloud.tools.project.AppYaml;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.xml.sax.SAXException;
+
+/** Parses the application descriptors read by staging and deployment. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DescriptorParsingBenchmark {
+
+  @Param({"0", "100"})
+  public int envVariables;
+
+  private byte[] appEngineWebXml;
+  private byte[] appYaml;
+
+  @Setup
+  public void createDescriptors() {
+    appEngineWebXml = Fixtures.appEngineWebXml(envVariables);
+    appYaml = Fixtures.appYaml(envVariables);
+  }
+
+  @Benchmark
+  public Map<String, String> parseAppEngineWebXml()
+      throws IOException, SAXException, AppEngineException {
+    AppEngineDescriptor descriptor =
+        AppEngineDescriptor.parse(new ByteArrayInputStream(appEngineWebXml));
+    descriptor.getRuntime();
+    descriptor.getServiceId();
+    return descriptor.getEnvironment();
+  }
+
+  @Benchmark
+  public Map<String, ?> parseAppYaml() throws AppEngineException {
+    AppYaml parsed = AppYaml.parse(new ByteArrayInputStream(appYaml));
+    parsed.getRuntime();
+    return parsed.getEnvironmentVariables();
+  }
+}
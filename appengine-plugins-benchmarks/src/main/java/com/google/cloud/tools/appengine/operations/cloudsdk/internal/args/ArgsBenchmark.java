@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.appengine.operations.cloudsdk.internal.args;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Builds the command lines of a deployment and a dev appserver run. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArgsBenchmark {
+
+  private final Path appYaml = Paths.get("build", "staged-app", "app.yaml");
+  private final Path credentialFile = Paths.get("credentials", "key.json");
+  private final List<String> jvmFlags = ImmutableList.of("-Xmx1g", "-Dflag=value");
+  private final Map<String, String> environment =
+      ImmutableMap.of("KEY_1", "value 1", "KEY_2", "value 2", "KEY_3", "value 3");
+
+  @Benchmark
+  public List<String> deploymentArgs() {
+    List<String> arguments = new ArrayList<>();
+    arguments.add("app");
+    arguments.add("deploy");
+    arguments.add(appYaml.toString());
+    arguments.addAll(GcloudArgs.get("bucket", "gs://bucket"));
+    arguments.addAll(GcloudArgs.get("image-url", (String) null));
+    arguments.addAll(GcloudArgs.get("promote", Boolean.TRUE));
+    arguments.addAll(GcloudArgs.get("server", (String) null));
+    arguments.addAll(GcloudArgs.get("stop-previous-version", Boolean.FALSE));
+    arguments.addAll(GcloudArgs.get("version", "v1"));
+    arguments.addAll(GcloudArgs.get("project", "benchmark-project"));
+    arguments.addAll(GcloudArgs.get("credential-file-override", credentialFile));
+    arguments.addAll(GcloudArgs.get("format", "json"));
+    return arguments;
+  }
+
+  @Benchmark
+  public List<String> devAppServerArgs() {
+    List<String> arguments = new ArrayList<>();
+    arguments.addAll(Args.stringsWithEq("jvm_flag", jvmFlags));
+    arguments.addAll(Args.stringWithEq("address", "localhost"));
+    arguments.addAll(Args.integerWithEq("port", 8080));
+    arguments.addAll(Args.stringWithEq("default_gcs_bucket", null));
+    arguments.addAll(Args.flaggedKeyValues("env_var", environment));
+    arguments.addAll(Args.keyValueString(environment));
+    arguments.addAll(Args.path("appengine_config", appYaml));
+    return arguments;
+  }
+}
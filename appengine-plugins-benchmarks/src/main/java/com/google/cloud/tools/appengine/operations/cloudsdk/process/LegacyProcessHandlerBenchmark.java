@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.appengine.operations.cloudsdk.process;
+
+import com.google.cloud.tools.benchmarks.Fixtures;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Line throughput of {@link LegacyProcessHandler} for a chatty child process. The child is
+ * synthetic and replays its output from memory, so only the handler's line splitting and
+ * dispatching is measured, not the operating system.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LegacyProcessHandlerBenchmark {
+
+  private static final int LINES = 50_000;
+
+  private final AtomicLong lines = new AtomicLong();
+
+  private byte[] stdout;
+  private byte[] stderr;
+  private ProcessHandler handler;
+
+  @Setup
+  public void createOutput() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    Fixtures.writeChattyOutput(out, LINES);
+    stdout = out.toByteArray();
+    out.reset();
+    Fixtures.writeChattyOutput(out, LINES / 10);
+    stderr = out.toByteArray();
+
+    handler =
+        LegacyProcessHandler.builder()
+            .addStdOutLineListener(line -> lines.incrementAndGet())
+            .addStdErrLineListener(line -> lines.incrementAndGet())
+            .setExitListener(exitCode -> {})
+            .build();
+  }
+
+  /** Returns the number of lines handled, so throughput is reported in lines per second. */
+  @Benchmark
+  @OperationsPerInvocation(LINES + LINES / 10)
+  public long handleProcess() throws ProcessHandlerException {
+    handler.handleProcess(new SyntheticProcess(stdout, stderr));
+    return lines.get();
+  }
+
+  /** A process that has already exited and left its output behind. */
+  private static class SyntheticProcess extends Process {
+    private final InputStream stdout;
+    private final InputStream stderr;
+
+    SyntheticProcess(byte[] stdout, byte[] stderr) {
+      this.stdout = new ByteArrayInputStream(stdout);
+      this.stderr = new ByteArrayInputStream(stderr);
+    }
+
+    @Override
+    public OutputStream getOutputStream() {
+      return new ByteArrayOutputStream();
+    }
+
+    @Override
+    public InputStream getInputStream() {
+      return stdout;
+    }
+
+    @Override
+    public InputStream getErrorStream() {
+      return stderr;
+    }
+
+    @Override
+    public int waitFor() {
+      return 0;
+    }
+
+    @Override
+    public int exitValue() {
+      return 0;
+    }
+
+    @Override
+    public void destroy() {}
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.appengine.operations.cloudsdk.serialization;
+
+import com.google.cloud.tools.benchmarks.Fixtures;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Parses and orders Cloud SDK versions, as done when checking and updating an SDK. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CloudSdkVersionBenchmark {
+
+  @Param({"1000"})
+  public int count;
+
+  private List<String> versionStrings;
+  private List<CloudSdkVersion> versions;
+
+  @Setup
+  public void createVersions() {
+    versionStrings = Fixtures.cloudSdkVersions(count);
+    versions = new ArrayList<>(count);
+    for (String version : versionStrings) {
+      versions.add(new CloudSdkVersion(version));
+    }
+  }
+
+  @Benchmark
+  public List<CloudSdkVersion> parse() {
+    List<CloudSdkVersion> parsed = new ArrayList<>(versionStrings.size());
+    for (String version : versionStrings) {
+      parsed.add(new CloudSdkVersion(version));
+    }
+    return parsed;
+  }
+
+  @Benchmark
+  public List<CloudSdkVersion> sort() {
+    List<CloudSdkVersion> sorted = new ArrayList<>(versions);
+    Collections.sort(sorted);
+    return sorted;
+  }
+}
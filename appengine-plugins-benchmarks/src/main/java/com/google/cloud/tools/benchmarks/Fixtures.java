@@ -0,0 +1,200 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
+
+/**
+ * Synthetic inputs for the benchmarks. Everything is generated from a fixed seed, so every run and
+ * every machine measures the same content.
+ */
+public final class Fixtures {
+
+  private static final long SEED = 0x5eedL;
+  private static final char[] TEXT =
+      "abcdefghijklmnopqrstuvwxyz ABCDEFGHIJKLMNOPQRSTUVWXYZ 0123456789 {}();=.\n".toCharArray();
+
+  private Fixtures() {}
+
+  /**
+   * Creates a tree shaped like an exploded war: {@code directories} directories holding {@code
+   * filesPerDirectory} text files of {@code fileSize} bytes each.
+   */
+  public static Path createSourceTree(
+      Path root, int directories, int filesPerDirectory, int fileSize) throws IOException {
+    Random random = new Random(SEED);
+    byte[] content = new byte[fileSize];
+    for (int directory = 0; directory < directories; directory++) {
+      Path parent =
+          root.resolve("WEB-INF")
+              .resolve("classes")
+              .resolve(String.format(Locale.ROOT, "package%03d", directory));
+      Files.createDirectories(parent);
+      for (int file = 0; file < filesPerDirectory; file++) {
+        for (int i = 0; i < content.length; i++) {
+          content[i] = (byte) TEXT[random.nextInt(TEXT.length)];
+        }
+        Files.write(parent.resolve(String.format(Locale.ROOT, "File%04d.class", file)), content);
+      }
+    }
+    return root;
+  }
+
+  /** Archives {@code tree} into a new tar.gz file, the format of the Cloud SDK on Linux and Mac. */
+  public static Path createTarGz(Path tree, Path archive) throws IOException {
+    try (TarArchiveOutputStream tar =
+        new TarArchiveOutputStream(
+            new GzipCompressorOutputStream(Files.newOutputStream(archive)))) {
+      tar.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
+      for (Path path : sortedTree(tree)) {
+        String name = tree.relativize(path).toString().replace('\\', '/');
+        if (Files.isDirectory(path)) {
+          tar.putArchiveEntry(new TarArchiveEntry(name + "/"));
+        } else {
+          TarArchiveEntry entry = new TarArchiveEntry(name);
+          entry.setSize(Files.size(path));
+          tar.putArchiveEntry(entry);
+          Files.copy(path, tar);
+        }
+        tar.closeArchiveEntry();
+      }
+    }
+    return archive;
+  }
+
+  /** Archives {@code tree} into a new zip file, the format of the Cloud SDK on Windows. */
+  public static Path createZip(Path tree, Path archive) throws IOException {
+    try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(archive))) {
+      for (Path path : sortedTree(tree)) {
+        String name = tree.relativize(path).toString().replace('\\', '/');
+        if (Files.isDirectory(path)) {
+          zip.putNextEntry(new ZipEntry(name + "/"));
+        } else {
+          zip.putNextEntry(new ZipEntry(name));
+          Files.copy(path, zip);
+        }
+        zip.closeEntry();
+      }
+    }
+    return archive;
+  }
+
+  /** Returns an appengine-web.xml with the common elements and {@code envVariables} variables. */
+  public static byte[] appEngineWebXml(int envVariables) {
+    StringBuilder xml = new StringBuilder();
+    xml.append("<?xml version=\"1.0\" encoding=\"utf-8\"?>\n")
+        .append("<appengine-web-app xmlns=\"http://appengine.google.com/ns/1.0\">\n")
+        .append("  <application>benchmark-project</application>\n")
+        .append("  <version>v1</version>\n")
+        .append("  <service>default</service>\n")
+        .append("  <runtime>java8</runtime>\n")
+        .append("  <threadsafe>true</threadsafe>\n")
+        .append("  <instance-class>F2</instance-class>\n")
+        .append("  <sessions-enabled>false</sessions-enabled>\n")
+        .append("  <system-properties>\n")
+        .append("    <property name=\"java.util.logging.config.file\"")
+        .append(" value=\"WEB-INF/logging.properties\"/>\n")
+        .append("  </system-properties>\n")
+        .append("  <env-variables>\n");
+    for (int i = 0; i < envVariables; i++) {
+      xml.append(
+          String.format(Locale.ROOT, "    <env-var name=\"KEY_%d\" value=\"value %d\"/>\n", i, i));
+    }
+    xml.append("  </env-variables>\n").append("</appengine-web-app>\n");
+    return xml.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  /** Returns a flexible environment app.yaml with {@code envVariables} variables. */
+  public static byte[] appYaml(int envVariables) {
+    StringBuilder yaml = new StringBuilder();
+    yaml.append("runtime: java\n")
+        .append("env: flex\n")
+        .append("service: default\n")
+        .append("runtime_config:\n")
+        .append("  jdk: openjdk8\n")
+        .append("  server: jetty9\n")
+        .append("handlers:\n")
+        .append("- url: /.*\n")
+        .append("  script: this field is required, but ignored\n")
+        .append("env_variables:\n");
+    for (int i = 0; i < envVariables; i++) {
+      yaml.append(String.format(Locale.ROOT, "  KEY_%d: 'value %d'\n", i, i));
+    }
+    return yaml.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  /** Returns {@code count} Cloud SDK version strings, a mix of releases and pre-releases. */
+  public static List<String> cloudSdkVersions(int count) {
+    Random random = new Random(SEED);
+    List<String> versions = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      String version =
+          String.format(
+              Locale.ROOT,
+              "%d.%d.%d",
+              150 + random.nextInt(300),
+              random.nextInt(10),
+              random.nextInt(10));
+      switch (random.nextInt(4)) {
+        case 0:
+          version += "-rc." + random.nextInt(5);
+          break;
+        case 1:
+          version += "+build." + random.nextInt(1000);
+          break;
+        default:
+          break;
+      }
+      versions.add(version);
+    }
+    return versions;
+  }
+
+  /** Writes {@code lines} numbered lines of output, like a verbose gcloud or appcfg run. */
+  public static void writeChattyOutput(OutputStream out, int lines) throws IOException {
+    for (int i = 0; i < lines; i++) {
+      out.write(
+          String.format(
+                  Locale.ROOT,
+                  "INFO: [%06d] Copying WEB-INF/lib/dependency-%d.jar to the staging directory\n",
+                  i,
+                  i % 100)
+              .getBytes(StandardCharsets.UTF_8));
+    }
+  }
+
+  private static List<Path> sortedTree(Path tree) throws IOException {
+    try (Stream<Path> paths = Files.walk(tree)) {
+      return paths.filter(path -> !path.equals(tree)).sorted().collect(Collectors.toList());
+    }
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.io;
+
+import com.google.cloud.tools.benchmarks.Fixtures;
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Copies an exploded war sized tree, as done when staging app.yaml based applications. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FileUtilBenchmark {
+
+  @Param({"20"})
+  public int directories;
+
+  @Param({"50"})
+  public int filesPerDirectory;
+
+  @Param({"4096"})
+  public int fileSize;
+
+  private Path workDirectory;
+  private Path source;
+  private Path destination;
+
+  @Setup(Level.Trial)
+  public void createSource() throws IOException {
+    workDirectory = Files.createTempDirectory("file-util-benchmark");
+    source =
+        Fixtures.createSourceTree(
+            workDirectory.resolve("source"), directories, filesPerDirectory, fileSize);
+  }
+
+  @Setup(Level.Invocation)
+  public void createDestination() throws IOException {
+    destination = Files.createTempDirectory(workDirectory, "destination");
+  }
+
+  @TearDown(Level.Invocation)
+  public void deleteDestination() throws IOException {
+    MoreFiles.deleteRecursively(destination, RecursiveDeleteOption.ALLOW_INSECURE);
+  }
+
+  @TearDown(Level.Trial)
+  public void deleteWorkDirectory() throws IOException {
+    MoreFiles.deleteRecursively(workDirectory, RecursiveDeleteOption.ALLOW_INSECURE);
+  }
+
+  @Benchmark
+  public void copyDirectory() throws IOException {
+    FileUtil.copyDirectory(source, destination);
+  }
+}
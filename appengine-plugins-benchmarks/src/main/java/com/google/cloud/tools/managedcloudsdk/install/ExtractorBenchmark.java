@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.managedcloudsdk.install;
+
+import com.google.cloud.tools.benchmarks.Fixtures;
+import com.google.cloud.tools.managedcloudsdk.ProgressListener;
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Extracts a synthetic Cloud SDK archive, the bulk of the work of installing a managed SDK. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ExtractorBenchmark {
+
+  @Param({"tar.gz", "zip"})
+  public String format;
+
+  @Param({"20"})
+  public int directories;
+
+  @Param({"50"})
+  public int filesPerDirectory;
+
+  @Param({"4096"})
+  public int fileSize;
+
+  private final ProgressListener progressListener = new SilentProgressListener();
+
+  private Path workDirectory;
+  private Path archive;
+  private ExtractorProvider extractorProvider;
+  private Path destination;
+
+  @Setup(Level.Trial)
+  public void createArchive() throws IOException {
+    workDirectory = Files.createTempDirectory("extractor-benchmark");
+    Path tree =
+        Fixtures.createSourceTree(
+            workDirectory.resolve("google-cloud-sdk"), directories, filesPerDirectory, fileSize);
+    if ("zip".equals(format)) {
+      archive = Fixtures.createZip(tree, workDirectory.resolve("google-cloud-sdk.zip"));
+      extractorProvider = new ZipExtractorProvider();
+    } else {
+      archive = Fixtures.createTarGz(tree, workDirectory.resolve("google-cloud-sdk.tar.gz"));
+      extractorProvider = new TarGzExtractorProvider();
+    }
+    MoreFiles.deleteRecursively(tree, RecursiveDeleteOption.ALLOW_INSECURE);
+  }
+
+  @Setup(Level.Invocation)
+  public void createDestination() throws IOException {
+    destination = Files.createTempDirectory(workDirectory, "destination");
+  }
+
+  @TearDown(Level.Invocation)
+  public void deleteDestination() throws IOException {
+    MoreFiles.deleteRecursively(destination, RecursiveDeleteOption.ALLOW_INSECURE);
+  }
+
+  @TearDown(Level.Trial)
+  public void deleteWorkDirectory() throws IOException {
+    MoreFiles.deleteRecursively(workDirectory, RecursiveDeleteOption.ALLOW_INSECURE);
+  }
+
+  @Benchmark
+  public void extract() throws IOException {
+    extractorProvider.extract(archive, destination, progressListener);
+  }
+
+  private static class SilentProgressListener implements ProgressListener {
+
+    @Override
+    public void start(String message, long totalWork) {}
+
+    @Override
+    public void update(long workDone) {}
+
+    @Override
+    public void update(String message) {}
+
+    @Override
+    public void done() {}
+
+    @Override
+    public ProgressListener newChild(long allocation) {
+      return this;
+    }
+  }
+}
@@ -20,7 +20,9 @@ import com.google.common.base.Preconditions;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 import javax.annotation.Nullable;
 import javax.xml.XMLConstants;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -123,6 +125,53 @@ public class AppEngineDescriptor {
     return "java7".equals(getRuntime());
   }
 
+  /**
+   * Returns true if the &lt;threadsafe&gt; element of the appengine-web.xml is set to true, false
+   * if it is missing or set to anything else.
+   */
+  public boolean isThreadsafe() throws AppEngineException {
+    String threadsafe = getText(getNode(document, "appengine-web-app", "threadsafe"));
+    return threadsafe != null && "true".equalsIgnoreCase(threadsafe.trim());
+  }
+
+  /**
+   * Returns false if the &lt;warmup-requests-enabled&gt; element of the appengine-web.xml is set to
+   * false, true if it is missing or set to anything else.
+   */
+  public boolean isWarmupRequestsEnabled() throws AppEngineException {
+    String warmup = getText(getNode(document, "appengine-web-app", "warmup-requests-enabled"));
+    return warmup == null || !"false".equalsIgnoreCase(warmup.trim());
+  }
+
+  /**
+   * Returns the instance class from the &lt;instance-class&gt; element of the appengine-web.xml or
+   * null if it is missing.
+   */
+  @Nullable
+  public String getInstanceClass() throws AppEngineException {
+    return getText(getNode(document, "appengine-web-app", "instance-class"));
+  }
+
+  /**
+   * Returns the names of all elements directly contained in the &lt;appengine-web-app&gt; element,
+   * in document order.
+   */
+  public Set<String> getTopLevelElementNames() {
+    Set<String> names = new LinkedHashSet<>();
+    NodeList parentElements =
+        document.getElementsByTagNameNS(APP_ENGINE_NAMESPACE, "appengine-web-app");
+    if (parentElements.getLength() > 0) {
+      NodeList children = parentElements.item(0).getChildNodes();
+      for (int i = 0; i < children.getLength(); i++) {
+        Node child = children.item(i);
+        if (child.getNodeType() == Node.ELEMENT_NODE) {
+          names.add(child.getLocalName());
+        }
+      }
+    }
+    return names;
+  }
+
   /**
    * Given the following structure:
    *
@@ -37,6 +37,7 @@ public class AppEngineWebXmlProjectStageConfiguration {
   @Nullable private final Boolean enableJarClasses;
   @Nullable private final Boolean disableJarJsps;
   @Nullable private final String runtime;
+  @Nullable private final Boolean nativeStaging;
 
   private AppEngineWebXmlProjectStageConfiguration(
       Path sourceDirectory,
@@ -50,7 +51,8 @@ public class AppEngineWebXmlProjectStageConfiguration {
       @Nullable Boolean deleteJsps,
       @Nullable Boolean enableJarClasses,
       @Nullable Boolean disableJarJsps,
-      @Nullable String runtime) {
+      @Nullable String runtime,
+      @Nullable Boolean nativeStaging) {
     this.sourceDirectory = sourceDirectory;
     this.stagingDirectory = stagingDirectory;
     this.dockerfile = dockerfile;
@@ -63,6 +65,7 @@ public class AppEngineWebXmlProjectStageConfiguration {
     this.enableJarClasses = enableJarClasses;
     this.disableJarJsps = disableJarJsps;
     this.runtime = runtime;
+    this.nativeStaging = nativeStaging;
   }
 
   /** The exploded war directory to stage from. */
@@ -127,6 +130,15 @@ public class AppEngineWebXmlProjectStageConfiguration {
     return runtime;
   }
 
+  /**
+   * Stage in-process instead of launching appcfg, when the configuration and application only use
+   * features supported by the in-process stager. Falls back to appcfg otherwise.
+   */
+  @Nullable
+  public Boolean getNativeStaging() {
+    return nativeStaging;
+  }
+
   public static Builder builder() {
     return new Builder();
   }
@@ -155,6 +167,7 @@ public class AppEngineWebXmlProjectStageConfiguration {
     @Nullable private Boolean enableJarClasses;
     @Nullable private Boolean disableJarJsps;
     @Nullable private String runtime;
+    @Nullable private Boolean nativeStaging;
 
     public Builder dockerfile(@Nullable Path dockerfile) {
       this.dockerfile = dockerfile;
@@ -206,6 +219,11 @@ public class AppEngineWebXmlProjectStageConfiguration {
       return this;
     }
 
+    public Builder nativeStaging(@Nullable Boolean nativeStaging) {
+      this.nativeStaging = nativeStaging;
+      return this;
+    }
+
     public Builder sourceDirectory(Path sourceDirectory) {
       this.sourceDirectory = Preconditions.checkNotNull(sourceDirectory);
       return this;
@@ -234,7 +252,8 @@ public class AppEngineWebXmlProjectStageConfiguration {
           this.deleteJsps,
           this.enableJarClasses,
           this.disableJarJsps,
-          this.runtime);
+          this.runtime,
+          this.nativeStaging);
     }
   }
 }
@@ -36,6 +36,7 @@ public class RunConfiguration {
   @Nullable private final String projectId;
   // Allow custom JDK version to be set
   @Nullable private final String projectJdkVersion;
+  @Nullable private final Boolean fastStart;
 
   private RunConfiguration(
       List<Path> services,
@@ -47,7 +48,8 @@ public class RunConfiguration {
       @Nullable Map<String, String> environment,
       @Nullable List<String> additionalArguments,
       @Nullable String projectId,
-      @Nullable String projectJdkVersion) {
+      @Nullable String projectJdkVersion,
+      @Nullable Boolean fastStart) {
     this.services = services;
     this.host = host;
     this.port = port;
@@ -58,6 +60,7 @@ public class RunConfiguration {
     this.additionalArguments = additionalArguments;
     this.projectId = projectId;
     this.projectJdkVersion = projectJdkVersion;
+    this.fastStart = fastStart;
   }
 
   /**
@@ -127,6 +130,15 @@ public class RunConfiguration {
     return projectJdkVersion;
   }
 
+  /**
+   * Returns whether the local development server is launched for a short startup time: with a class
+   * data sharing archive, dumped on the first run, and with only the client JIT compiler.
+   */
+  @Nullable
+  public Boolean getFastStart() {
+    return fastStart;
+  }
+
   public static Builder builder(List<Path> services) {
     return new Builder(services);
   }
@@ -142,12 +154,19 @@ public class RunConfiguration {
     @Nullable private List<String> additionalArguments;
     @Nullable private String projectId;
     @Nullable private String projectJdkVersion;
+    @Nullable private Boolean fastStart;
 
     private Builder(List<Path> services) {
       Preconditions.checkNotNull(services);
       this.services = services;
     }
 
+    /** Replaces the services to run, see {@link RunConfiguration#getServices()}. */
+    public Builder services(List<Path> services) {
+      this.services = Preconditions.checkNotNull(services);
+      return this;
+    }
+
     public Builder host(@Nullable String host) {
       this.host = host;
       return this;
@@ -208,6 +227,17 @@ public class RunConfiguration {
       return this;
     }
 
+    /**
+     * Launches the local development server with a class data sharing archive of the App Engine
+     * tools and {@code -XX:TieredStopAtLevel=1}, unless the JVM flags already configure the JIT
+     * compiler. The archive is dumped next to the first service on the first run and dumped again
+     * whenever the JDK or a jar changes. Needs Java 13 or later, ignored on older JDKs.
+     */
+    public Builder fastStart(@Nullable Boolean fastStart) {
+      this.fastStart = fastStart;
+      return this;
+    }
+
     /** Build a {@link RunConfiguration}. */
     public RunConfiguration build() {
       return new RunConfiguration(
@@ -220,7 +250,8 @@ public class RunConfiguration {
           environment,
           additionalArguments,
           projectId,
-          projectJdkVersion);
+          projectJdkVersion,
+          fastStart);
     }
   }
 
@@ -236,7 +267,8 @@ public class RunConfiguration {
             .jvmFlags(getJvmFlags())
             .port(port)
             .projectId(projectId)
-            .projectJdkVersion(projectJdkVersion);
+            .projectJdkVersion(projectJdkVersion)
+            .fastStart(fastStart);
     return builder;
   }
 }
@@ -22,10 +22,39 @@ public class StopConfiguration {
 
   @Nullable private final String host;
   @Nullable private final Integer port;
+  @Nullable private final Integer timeout;
+  @Nullable private final Long processId;
 
   public StopConfiguration(@Nullable String host, @Nullable Integer port) {
+    this(host, port, null);
+  }
+
+  /**
+   * Creates a stop configuration.
+   *
+   * @param timeout seconds to wait for the server to release its port before it is killed
+   */
+  public StopConfiguration(
+      @Nullable String host, @Nullable Integer port, @Nullable Integer timeout) {
+    this(host, port, timeout, null);
+  }
+
+  /**
+   * Creates a stop configuration.
+   *
+   * @param timeout seconds to wait for the server to release its port before it is killed
+   * @param processId the operating system id of the server, to kill a server that was started by
+   *     another JVM
+   */
+  public StopConfiguration(
+      @Nullable String host,
+      @Nullable Integer port,
+      @Nullable Integer timeout,
+      @Nullable Long processId) {
     this.host = host;
     this.port = port;
+    this.timeout = timeout;
+    this.processId = processId;
   }
 
   @Nullable
@@ -38,6 +67,16 @@ public class StopConfiguration {
     return port;
   }
 
+  @Nullable
+  public Integer getTimeout() {
+    return timeout;
+  }
+
+  @Nullable
+  public Long getProcessId() {
+    return processId;
+  }
+
   public static Builder builder() {
     return new Builder();
   }
@@ -45,6 +84,8 @@ public class StopConfiguration {
   public static final class Builder {
     @Nullable private String host;
     @Nullable private Integer port;
+    @Nullable private Integer timeout;
+    @Nullable private Long processId;
 
     public Builder host(@Nullable String host) {
       this.host = host;
@@ -56,8 +97,18 @@ public class StopConfiguration {
       return this;
     }
 
+    public Builder timeout(@Nullable Integer timeout) {
+      this.timeout = timeout;
+      return this;
+    }
+
+    public Builder processId(@Nullable Long processId) {
+      this.processId = processId;
+      return this;
+    }
+
     public StopConfiguration build() {
-      return new StopConfiguration(host, port);
+      return new StopConfiguration(host, port, timeout, processId);
     }
   }
 }
@@ -18,25 +18,39 @@ package com.google.cloud.tools.appengine.operations;
 
 import com.google.cloud.tools.appengine.operations.cloudsdk.process.ProcessHandler;
 import com.google.common.annotations.VisibleForTesting;
+import java.util.function.Supplier;
 
 /** Operations that use appcfg. */
 public class AppCfg {
   private final CloudSdk sdk;
   private final AppCfgRunner.Factory appCfgRunnerFactory;
+  private final boolean classDataSharing;
 
   @VisibleForTesting
-  AppCfg(CloudSdk sdk, AppCfgRunner.Factory appCfgRunnerFactory) {
+  AppCfg(CloudSdk sdk, AppCfgRunner.Factory appCfgRunnerFactory, boolean classDataSharing) {
     this.appCfgRunnerFactory = appCfgRunnerFactory;
     this.sdk = sdk;
+    this.classDataSharing = classDataSharing;
   }
 
   public AppEngineWebXmlProjectStaging newStaging(ProcessHandler processHandler) {
     return new AppEngineWebXmlProjectStaging(getRunner(processHandler));
   }
 
+  /**
+   * Returns an executor that stages several applications at the same time, each with a new process
+   * handler from {@code processHandlers}.
+   *
+   * @param parallelism the maximum number of applications staged at the same time
+   */
+  public AppEngineWebXmlProjectStagingExecutor newStagingExecutor(
+      Supplier<ProcessHandler> processHandlers, int parallelism) {
+    return new AppEngineWebXmlProjectStagingExecutor(this, processHandlers, parallelism);
+  }
+
   @VisibleForTesting
   AppCfgRunner getRunner(ProcessHandler processHandler) {
-    return appCfgRunnerFactory.newRunner(sdk, processHandler);
+    return appCfgRunnerFactory.newRunner(sdk, processHandler, classDataSharing);
   }
 
   public static Builder builder(CloudSdk sdk) {
@@ -46,6 +60,7 @@ public class AppCfg {
   public static class Builder {
     private final CloudSdk sdk;
     private final AppCfgRunner.Factory runnerFactory;
+    private boolean classDataSharing;
 
     @VisibleForTesting
     Builder(CloudSdk sdk, AppCfgRunner.Factory runnerFactory) {
@@ -53,9 +68,20 @@ public class AppCfg {
       this.runnerFactory = runnerFactory;
     }
 
+    /**
+     * Launches appcfg with a class data sharing archive of the App Engine tools jar, which skips
+     * most of its class loading. The archive is dumped into the App Engine SDK by the first launch
+     * and dumped again when the SDK or the JDK changes. Needs Java 13 or later, ignored on older
+     * JDKs.
+     */
+    public Builder classDataSharing(boolean classDataSharing) {
+      this.classDataSharing = classDataSharing;
+      return this;
+    }
+
     /** Build an immutable AppCfg instance. */
     public AppCfg build() {
-      return new AppCfg(sdk, runnerFactory);
+      return new AppCfg(sdk, runnerFactory, classDataSharing);
     }
   }
 }
@@ -21,6 +21,8 @@ import com.google.cloud.tools.appengine.operations.cloudsdk.InvalidJavaSdkExcept
 import com.google.cloud.tools.appengine.operations.cloudsdk.internal.process.ProcessBuilderFactory;
 import com.google.cloud.tools.appengine.operations.cloudsdk.process.ProcessHandler;
 import com.google.cloud.tools.appengine.operations.cloudsdk.process.ProcessHandlerException;
+import com.google.cloud.tools.process.ProcessCategory;
+import com.google.cloud.tools.process.ProcessMetrics;
 import com.google.common.base.Joiner;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -34,16 +36,22 @@ public class AppCfgRunner {
   private final CloudSdk sdk;
   private final ProcessBuilderFactory processBuilderFactory;
   private final ProcessHandler processHandler;
+  private final boolean classDataSharing;
 
   AppCfgRunner(
-      CloudSdk sdk, ProcessBuilderFactory processBuilderFactory, ProcessHandler processHandler) {
+      CloudSdk sdk,
+      ProcessBuilderFactory processBuilderFactory,
+      ProcessHandler processHandler,
+      boolean classDataSharing) {
     this.sdk = sdk;
     this.processBuilderFactory = processBuilderFactory;
     this.processHandler = processHandler;
+    this.classDataSharing = classDataSharing;
   }
 
   /**
-   * Executes an App Engine SDK CLI command.
+   * Executes an App Engine SDK CLI command. Runners hold no global state, so commands can be run
+   * concurrently.
    *
    * @throws AppEngineJavaComponentsNotInstalledException when the App Engine Java components are
    *     not installed in the Cloud SDK
@@ -55,13 +63,14 @@ public class AppCfgRunner {
     sdk.validateAppEngineJavaComponents();
     sdk.validateJdk();
 
-    // App Engine Java Sdk requires this system property to be set.
-    // TODO: perhaps we should send this in directly to the command instead of changing the global
-    // state here (see DevAppServerRunner)
-    System.setProperty("appengine.sdk.root", sdk.getAppEngineSdkForJavaPath().toString());
-
     List<String> command = new ArrayList<>();
     command.add(sdk.getJavaExecutablePath().toString());
+    if (classDataSharing) {
+      command.addAll(ClassDataSharingArchive.forAppEngineTools(sdk, "appcfg").getJvmFlags());
+    }
+    // App Engine Java Sdk requires this system property to be set. It is only passed to the child
+    // process, so runners for different SDKs can be used concurrently.
+    command.add("-Dappengine.sdk.root=" + sdk.getAppEngineSdkForJavaPath());
     command.add("-cp");
     command.add(sdk.getAppEngineToolsJar().toString());
     command.add("com.google.appengine.tools.admin.AppCfg");
@@ -71,7 +80,7 @@ public class AppCfgRunner {
 
     ProcessBuilder processBuilder = processBuilderFactory.newProcessBuilder();
     processBuilder.command(command);
-    Process process = processBuilder.start();
+    Process process = ProcessMetrics.start(ProcessCategory.APPCFG, processBuilder);
     processHandler.handleProcess(process);
   }
 
@@ -86,8 +95,8 @@ public class AppCfgRunner {
       this.processBuilderFactory = processBuilderFactory;
     }
 
-    AppCfgRunner newRunner(CloudSdk sdk, ProcessHandler processHandler) {
-      return new AppCfgRunner(sdk, processBuilderFactory, processHandler);
+    AppCfgRunner newRunner(CloudSdk sdk, ProcessHandler processHandler, boolean classDataSharing) {
+      return new AppCfgRunner(sdk, processBuilderFactory, processHandler, classDataSharing);
     }
   }
 }
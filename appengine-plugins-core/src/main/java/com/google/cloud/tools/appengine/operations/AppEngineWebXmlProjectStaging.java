@@ -20,6 +20,7 @@ import com.google.cloud.tools.appengine.AppEngineException;
 import com.google.cloud.tools.appengine.configuration.AppEngineWebXmlProjectStageConfiguration;
 import com.google.cloud.tools.appengine.operations.cloudsdk.internal.args.AppCfgArgs;
 import com.google.cloud.tools.appengine.operations.cloudsdk.process.ProcessHandlerException;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
@@ -29,19 +30,30 @@ import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.logging.Logger;
 
 /** Application stager for appengine-web.xml based applications before deployment. */
 public class AppEngineWebXmlProjectStaging {
 
+  private static final Logger log = Logger.getLogger(AppEngineWebXmlProjectStaging.class.getName());
+
   private AppCfgRunner runner;
+  private final NativeStaging nativeStaging;
 
   AppEngineWebXmlProjectStaging(AppCfgRunner runner) {
+    this(runner, new NativeStaging());
+  }
+
+  @VisibleForTesting
+  AppEngineWebXmlProjectStaging(AppCfgRunner runner, NativeStaging nativeStaging) {
     this.runner = runner;
+    this.nativeStaging = nativeStaging;
   }
 
   /**
    * Stages an appengine-web.xml based project for deployment. Calls out to appcfg to execute this
-   * staging.
+   * staging, unless {@link AppEngineWebXmlProjectStageConfiguration#getNativeStaging()} is set and
+   * the application can be staged in-process.
    *
    * @param config Specifies source config and staging destination
    * @throws AppEngineException When staging fails
@@ -52,12 +64,31 @@ public class AppEngineWebXmlProjectStaging {
     Preconditions.checkNotNull(config.getSourceDirectory());
     Preconditions.checkNotNull(config.getStagingDirectory());
 
+    boolean useNativeStaging = Boolean.TRUE.equals(config.getNativeStaging());
+    if (useNativeStaging) {
+      try {
+        String unsupportedFeature = nativeStaging.findUnsupportedFeature(config);
+        if (unsupportedFeature == null) {
+          nativeStaging.stage(config);
+          return;
+        }
+        log.info("Staging with appcfg, in-process staging does not support " + unsupportedFeature);
+      } catch (IOException ex) {
+        throw new AppEngineException(ex);
+      }
+    }
+    // jars are split in-process after appcfg is done, appcfg splits them serially
+    boolean splitJarsNatively =
+        useNativeStaging && Boolean.TRUE.equals(config.getEnableJarSplitting());
+
     List<String> arguments = new ArrayList<>();
 
     arguments.addAll(AppCfgArgs.get("enable_quickstart", config.getEnableQuickstart()));
     arguments.addAll(AppCfgArgs.get("disable_update_check", config.getDisableUpdateCheck()));
-    arguments.addAll(AppCfgArgs.get("enable_jar_splitting", config.getEnableJarSplitting()));
-    arguments.addAll(AppCfgArgs.get("jar_splitting_excludes", config.getJarSplittingExcludes()));
+    if (!splitJarsNatively) {
+      arguments.addAll(AppCfgArgs.get("enable_jar_splitting", config.getEnableJarSplitting()));
+      arguments.addAll(AppCfgArgs.get("jar_splitting_excludes", config.getJarSplittingExcludes()));
+    }
     arguments.addAll(AppCfgArgs.get("compile_encoding", config.getCompileEncoding()));
     arguments.addAll(AppCfgArgs.get("delete_jsps", config.getDeleteJsps()));
     arguments.addAll(AppCfgArgs.get("enable_jar_classes", config.getEnableJarClasses()));
@@ -84,6 +115,10 @@ public class AppEngineWebXmlProjectStaging {
 
       runner.run(arguments);
 
+      if (splitJarsNatively) {
+        nativeStaging.splitStagedJars(config);
+      }
+
       // TODO : Move this fix up the chain (appcfg)
       if (config.getRuntime() != null && config.getRuntime().equals("java")) {
         Path appYaml = config.getStagingDirectory().resolve("app.yaml");
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.appengine.operations;
+
+import com.google.cloud.tools.appengine.AppEngineException;
+import com.google.cloud.tools.appengine.configuration.AppEngineWebXmlProjectStageConfiguration;
+import com.google.cloud.tools.appengine.operations.cloudsdk.process.ProcessHandler;
+import com.google.common.base.Preconditions;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Stages several appengine-web.xml based applications at the same time. Every application is staged
+ * by its own appcfg process with its own process handler, so the output of one application is not
+ * mixed into the handler of another.
+ */
+public class AppEngineWebXmlProjectStagingExecutor {
+
+  private final AppCfg appCfg;
+  private final Supplier<ProcessHandler> processHandlers;
+  private final int parallelism;
+
+  AppEngineWebXmlProjectStagingExecutor(
+      AppCfg appCfg, Supplier<ProcessHandler> processHandlers, int parallelism) {
+    Preconditions.checkArgument(parallelism > 0, "parallelism must be positive");
+    this.appCfg = appCfg;
+    this.processHandlers = processHandlers;
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * Stages all {@code configs}, at most {@code parallelism} at a time. Each application needs its
+   * own source and staging directory, since staging writes to both.
+   *
+   * @throws AppEngineException when any application failed to stage, after all others finished
+   */
+  public void stageAll(List<AppEngineWebXmlProjectStageConfiguration> configs)
+      throws AppEngineException {
+    Set<Path> sourceDirectories = new HashSet<>();
+    Set<Path> stagingDirectories = new HashSet<>();
+    for (AppEngineWebXmlProjectStageConfiguration config : configs) {
+      Preconditions.checkArgument(
+          sourceDirectories.add(config.getSourceDirectory().toAbsolutePath().normalize()),
+          "Source directory %s is staged more than once",
+          config.getSourceDirectory());
+      Preconditions.checkArgument(
+          stagingDirectories.add(config.getStagingDirectory().toAbsolutePath().normalize()),
+          "Staging directory %s is used more than once",
+          config.getStagingDirectory());
+    }
+    if (configs.isEmpty()) {
+      return;
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, configs.size()));
+    try {
+      List<Future<?>> tasks = new ArrayList<>();
+      for (AppEngineWebXmlProjectStageConfiguration config : configs) {
+        tasks.add(
+            executor.submit(
+                () -> {
+                  appCfg.newStaging(processHandlers.get()).stageStandard(config);
+                  return null;
+                }));
+      }
+
+      List<AppEngineException> failures = new ArrayList<>();
+      for (int i = 0; i < tasks.size(); i++) {
+        try {
+          tasks.get(i).get();
+        } catch (ExecutionException ex) {
+          Throwable cause = ex.getCause() == null ? ex : ex.getCause();
+          failures.add(
+              new AppEngineException(
+                  "Failed to stage " + configs.get(i).getSourceDirectory(), cause));
+        }
+      }
+      if (!failures.isEmpty()) {
+        AppEngineException exception =
+            new AppEngineException(
+                "Failed to stage " + failures.size() + " of " + configs.size() + " applications",
+                failures.get(0));
+        for (AppEngineException failure : failures.subList(1, failures.size())) {
+          exception.addSuppressed(failure);
+        }
+        throw exception;
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new AppEngineException("Interrupted while staging", ex);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.appengine.operations;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.Hashing;
+import com.google.common.io.BaseEncoding;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+
+/**
+ * A dynamic class data sharing (AppCDS) archive for a JVM launch. The first launch dumps the
+ * classes it loaded into the archive when it exits, later launches map the archive instead of
+ * loading and verifying those classes again.
+ *
+ * <p>The archive is keyed by the JDK and the jars it was dumped from and is dumped again when any
+ * of them changes. The JVM also checks the archive itself and silently falls back to regular class
+ * loading when it does not match, so a stale archive can slow a launch down but never break it.
+ */
+final class ClassDataSharingArchive {
+
+  private static final Logger logger = Logger.getLogger(ClassDataSharingArchive.class.getName());
+
+  /** Dynamic archives, dumped with {@code -XX:ArchiveClassesAtExit}, were added in Java 13. */
+  @VisibleForTesting static final int MINIMUM_JAVA_VERSION = 13;
+
+  /**
+   * How long a launch that dumps the archive is assumed to be running. Until then, other launches
+   * run without the archive instead of dumping it at the same time.
+   */
+  @VisibleForTesting static final Duration DUMP_TIMEOUT = Duration.ofMinutes(10);
+
+  private static final String FINGERPRINT = "fingerprint";
+
+  // serializes the threads of this class loader, the file lock serializes JVMs and class loaders
+  private static final Object lock = new Object();
+
+  private final Path archive;
+  private final Path stampFile;
+  private final Path lockFile;
+  private final Path javaHome;
+  private final List<Path> inputs;
+
+  /**
+   * Creates an archive.
+   *
+   * @param archive the archive file, its fingerprint is kept in a sibling {@code .properties} file
+   * @param javaHome the JDK that launches with the archive
+   * @param inputs the jars whose classes are archived
+   */
+  ClassDataSharingArchive(Path archive, Path javaHome, List<Path> inputs) {
+    this.archive = archive.toAbsolutePath();
+    this.stampFile = this.archive.resolveSibling(this.archive.getFileName() + ".properties");
+    this.lockFile = this.archive.resolveSibling(this.archive.getFileName() + ".lock");
+    this.javaHome = javaHome;
+    this.inputs = ImmutableList.copyOf(inputs);
+  }
+
+  Path getArchive() {
+    return archive;
+  }
+
+  /**
+   * Returns the archive for the App Engine tools jar of {@code sdk} with the JDK of {@code sdk},
+   * kept in the App Engine SDK so it is dumped once per SDK version. Every JDK gets its own
+   * archive.
+   *
+   * @param name the tool whose classes are archived
+   */
+  static ClassDataSharingArchive forAppEngineTools(CloudSdk sdk, String name) {
+    Path javaHome = sdk.getJavaHomePath().toAbsolutePath();
+    String jdk =
+        Hashing.sha256()
+            .hashString(javaHome.toString(), StandardCharsets.UTF_8)
+            .toString()
+            .substring(0, 12);
+    Path archive =
+        sdk.getAppEngineSdkForJavaPath().resolve("cds").resolve(name + "-" + jdk + ".jsa");
+    return new ClassDataSharingArchive(
+        archive, javaHome, ImmutableList.of(sdk.getAppEngineToolsJar()));
+  }
+
+  /**
+   * Returns the JVM flags that use the archive if it is up to date, or that dump it when the
+   * launched JVM exits otherwise. Returns no flags if the JDK does not support dynamic archives or
+   * the archive cannot be written, since class data sharing is only an optimization. No flags are
+   * returned either while another launch is dumping the archive.
+   *
+   * <p>The archive is checked and claimed while holding a file lock next to it, so launches from
+   * other JVMs and class loaders never dump into the same archive at the same time.
+   */
+  List<String> getJvmFlags() {
+    Integer javaVersion = JdkProbe.of(javaHome).getMajorVersion();
+    if (javaVersion == null || javaVersion < MINIMUM_JAVA_VERSION) {
+      logger.fine("Class data sharing needs Java " + MINIMUM_JAVA_VERSION + " or later");
+      return ImmutableList.of();
+    }
+    synchronized (lock) {
+      try {
+        String fingerprint = fingerprint();
+        FileChannel channel;
+        try {
+          Path parent = archive.getParent();
+          if (parent != null) {
+            Files.createDirectories(parent);
+          }
+          channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        } catch (IOException ex) {
+          // a read-only archive can still be used, it is just never dumped
+          if (fingerprint.equals(readFingerprint()) && Files.isRegularFile(archive)) {
+            return ImmutableList.of("-XX:SharedArchiveFile=" + archive);
+          }
+          throw ex;
+        }
+        try (FileChannel lockChannel = channel;
+            FileLock ignored = lockChannel.lock()) {
+          return getJvmFlags(fingerprint);
+        } catch (OverlappingFileLockException ex) {
+          // another class loader of this JVM is checking the archive right now
+          logger.fine("Class data sharing archive " + archive + " is locked");
+          return ImmutableList.of();
+        }
+      } catch (IOException ex) {
+        logger.log(Level.WARNING, "Class data sharing disabled, cannot write " + archive, ex);
+        return ImmutableList.of();
+      }
+    }
+  }
+
+  private List<String> getJvmFlags(String fingerprint) throws IOException {
+    if (fingerprint.equals(readFingerprint())) {
+      if (Files.isRegularFile(archive)) {
+        return ImmutableList.of("-XX:SharedArchiveFile=" + archive);
+      }
+      // the archive is written when the dumping JVM exits
+      long claimed = Files.getLastModifiedTime(stampFile).toMillis();
+      if (System.currentTimeMillis() - claimed < DUMP_TIMEOUT.toMillis()) {
+        logger.fine("Class data sharing archive " + archive + " is being dumped");
+        return ImmutableList.of();
+      }
+    }
+    Files.deleteIfExists(archive);
+    writeFingerprint(fingerprint);
+    logger.info("Dumping class data sharing archive " + archive);
+    return ImmutableList.of("-XX:ArchiveClassesAtExit=" + archive);
+  }
+
+  @Nullable
+  private String readFingerprint() {
+    if (!Files.isRegularFile(stampFile)) {
+      return null;
+    }
+    Properties stamp = new Properties();
+    try (InputStream in = Files.newInputStream(stampFile)) {
+      stamp.load(in);
+    } catch (IOException | IllegalArgumentException ex) {
+      // unreadable stamps are treated like missing ones
+      return null;
+    }
+    return stamp.getProperty(FINGERPRINT);
+  }
+
+  private void writeFingerprint(String fingerprint) throws IOException {
+    Properties stamp = new Properties();
+    stamp.setProperty(FINGERPRINT, fingerprint);
+    try (OutputStream out = Files.newOutputStream(stampFile)) {
+      stamp.store(out, null);
+    }
+  }
+
+  /** Hashes the JDK release and the path, size and modification time of every input. */
+  private String fingerprint() throws IOException {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException(ex);
+    }
+    Path release = javaHome.resolve("release");
+    update(digest, javaHome.toAbsolutePath().toString());
+    update(digest, new String(Files.readAllBytes(release), StandardCharsets.UTF_8));
+    for (Path input : inputs) {
+      update(digest, input.toAbsolutePath().toString());
+      if (Files.isRegularFile(input)) {
+        BasicFileAttributes attributes = Files.readAttributes(input, BasicFileAttributes.class);
+        update(digest, Long.toString(attributes.size()));
+        update(digest, Long.toString(attributes.lastModifiedTime().toMillis()));
+      } else {
+        update(digest, "missing");
+      }
+    }
+    return BaseEncoding.base16().lowerCase().encode(digest.digest());
+  }
+
+  private static void update(MessageDigest digest, String value) {
+    digest.update(value.getBytes(StandardCharsets.UTF_8));
+    digest.update((byte) 0);
+  }
+}
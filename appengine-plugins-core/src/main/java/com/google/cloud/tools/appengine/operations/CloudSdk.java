@@ -138,7 +138,7 @@ public class CloudSdk {
 
   @VisibleForTesting
   Path getJavaExecutablePath() {
-    return javaHomePath.toAbsolutePath().resolve(IS_WINDOWS ? "bin/java.exe" : "bin/java");
+    return JdkProbe.of(javaHomePath).getJavaExecutable();
   }
 
   public Path getJavaHomePath() {
@@ -228,9 +228,10 @@ public class CloudSdk {
    * @see #getJavaHomePath()
    */
   public void validateJdk() throws InvalidJavaSdkException {
-    if (!Files.exists(getJavaExecutablePath())) {
+    JdkProbe probe = JdkProbe.of(javaHomePath);
+    if (!probe.isValid()) {
       throw new InvalidJavaSdkException(
-          "Invalid Java SDK. " + getJavaExecutablePath().toString() + " does not exist.");
+          "Invalid Java SDK. " + probe.getJavaExecutable().toString() + " does not exist.");
     }
   }
 
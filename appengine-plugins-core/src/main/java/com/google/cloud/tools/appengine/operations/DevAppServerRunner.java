@@ -21,6 +21,8 @@ import com.google.cloud.tools.appengine.operations.cloudsdk.InvalidJavaSdkExcept
 import com.google.cloud.tools.appengine.operations.cloudsdk.internal.process.ProcessBuilderFactory;
 import com.google.cloud.tools.appengine.operations.cloudsdk.process.ProcessHandler;
 import com.google.cloud.tools.appengine.operations.cloudsdk.process.ProcessHandlerException;
+import com.google.cloud.tools.process.ProcessCategory;
+import com.google.cloud.tools.process.ProcessMetrics;
 import com.google.common.base.Joiner;
 import com.google.common.collect.Maps;
 import java.io.IOException;
@@ -34,6 +36,8 @@ import javax.annotation.Nullable;
 public class DevAppServerRunner {
   private static final Logger logger = Logger.getLogger(DevAppServerRunner.class.getName());
 
+  static final String MAIN_CLASS = "com.google.appengine.tools.development.DevAppServerMain";
+
   private final CloudSdk sdk;
   private final ProcessBuilderFactory processBuilderFactory;
   private final ProcessHandler processHandler;
@@ -79,7 +83,7 @@ public class DevAppServerRunner {
     }
     command.add("-cp");
     command.add(sdk.getAppEngineToolsJar().toAbsolutePath().toString());
-    command.add("com.google.appengine.tools.development.DevAppServerMain");
+    command.add(MAIN_CLASS);
 
     command.addAll(args);
 
@@ -94,7 +98,8 @@ public class DevAppServerRunner {
       processBuilder.directory(workingDirectory.toFile());
     }
     processBuilder.environment().putAll(devServerEnvironment);
-    Process process = processBuilder.start();
+    Process process = ProcessMetrics.start(ProcessCategory.DEV_APPSERVER, processBuilder);
+    DevServerProcesses.track(args, process);
 
     processHandler.handleProcess(process);
   }
@@ -26,6 +26,7 @@ import com.google.cloud.tools.appengine.operations.cloudsdk.CloudSdkNotFoundExce
 import com.google.cloud.tools.appengine.operations.cloudsdk.CloudSdkOutOfDateException;
 import com.google.cloud.tools.appengine.operations.cloudsdk.internal.args.DevAppServerArgs;
 import com.google.cloud.tools.appengine.operations.cloudsdk.process.ProcessHandlerException;
+import com.google.cloud.tools.process.ChildProcesses;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Joiner;
 import com.google.common.base.Preconditions;
@@ -33,13 +34,18 @@ import com.google.common.collect.Maps;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.Socket;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
 import javax.annotation.Nullable;
 import org.xml.sax.SAXException;
 
@@ -53,6 +59,11 @@ public class DevServer {
 
   private static final String DEFAULT_HOST = "localhost";
   private static final int DEFAULT_PORT = 8080;
+  private static final int DEFAULT_STOP_TIMEOUT = 10;
+  private static final long KILL_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(5);
+  private static final long MIN_POLL_INTERVAL_MILLIS = 10;
+  private static final long MAX_POLL_INTERVAL_MILLIS = 250;
+  private static final int CONNECT_TIMEOUT_MILLIS = 200;
 
   public DevServer(CloudSdk sdk, DevAppServerRunner runner) {
     this.sdk = Preconditions.checkNotNull(sdk);
@@ -78,19 +89,30 @@ public class DevServer {
     if (Boolean.TRUE.equals(config.getAutomaticRestart())) {
       jvmArguments.add("-Dappengine.fullscan.seconds=1");
     }
+    if (Boolean.TRUE.equals(config.getFastStart())) {
+      addFastStartArguments(config, jvmArguments);
+    }
     if (config.getJvmFlags() != null) {
       jvmArguments.addAll(config.getJvmFlags());
     }
 
     // Check if the RunConfiguration has the Project JDK Version defined first
-    // The custom value takes priority over the System Property
+    // The custom value takes priority over the version of the JDK launching the server
     String jdkVersionString = config.getProjectJdkVersion();
-    if (jdkVersionString == null) {
-      jdkVersionString = JAVA_SPECIFICATION_VERSION.value();
+    Integer launchingJdkVersion =
+        jdkVersionString == null ? JdkProbe.of(sdk.getJavaHomePath()).getMajorVersion() : null;
+    int jdkVersion;
+    if (launchingJdkVersion != null) {
+      jdkVersion = launchingJdkVersion;
+      log.config("JDK Version found: " + jdkVersion);
+    } else {
+      if (jdkVersionString == null) {
+        jdkVersionString = JAVA_SPECIFICATION_VERSION.value();
+      }
+      jdkVersion = getJdkMajorVersion(jdkVersionString);
+      log.config(
+          String.format("JDK Version found: %s, Parsed to be %d", jdkVersionString, jdkVersion));
     }
-    int jdkVersion = getJdkMajorVersion(jdkVersionString);
-    log.config(
-        String.format("JDK Version found: %s, Parsed to be %d", jdkVersionString, jdkVersion));
     if (jdkVersion > 8) {
       addJpmsRestrictionArguments(jvmArguments);
     }
@@ -182,6 +204,37 @@ public class DevServer {
     }
   }
 
+  /**
+   * Adds the class data sharing archive of the tools jar and the jars of all services, kept next to
+   * the first service, and limits JIT compilation to C1 unless the user configured the compiler.
+   */
+  private void addFastStartArguments(RunConfiguration config, List<String> jvmArguments)
+      throws AppEngineException {
+    List<Path> jars = new ArrayList<>();
+    jars.add(sdk.getAppEngineToolsJar());
+    for (Path service : config.getServices()) {
+      Path lib = service.resolve("WEB-INF/lib");
+      if (!Files.isDirectory(lib)) {
+        continue;
+      }
+      try (Stream<Path> files = Files.list(lib)) {
+        files.filter(file -> file.toString().endsWith(".jar")).sorted().forEach(jars::add);
+      } catch (IOException ex) {
+        throw new AppEngineException(ex);
+      }
+    }
+    Path service = config.getServices().get(0).toAbsolutePath();
+    Path archive = service.resolveSibling(service.toFile().getName() + ".devappserver.jsa");
+    jvmArguments.addAll(
+        new ClassDataSharingArchive(archive, sdk.getJavaHomePath(), jars).getJvmFlags());
+
+    boolean compilerConfigured =
+        config.getJvmFlags().stream().anyMatch(flag -> flag.contains("Tiered"));
+    if (!compilerConfigured) {
+      jvmArguments.add("-XX:TieredStopAtLevel=1");
+    }
+  }
+
   private void addJpmsRestrictionArguments(List<String> jvmArguments) {
     // Due to JPMS restrictions, Java 9 or later need more flags:
     jvmArguments.add("--add-opens");
@@ -192,16 +245,92 @@ public class DevServer {
     jvmArguments.add("java.base/sun.net.www.protocol.https=ALL-UNNAMED");
   }
 
-  /** Stops the local development server. */
+  /**
+   * Returns the operating system id of the dev server started by this JVM on {@code port}, the
+   * default port if null, so that it can be killed from another JVM through {@link
+   * StopConfiguration#getProcessId()}. Returns null if no such server runs or the id is not known,
+   * which is always the case before Java 9.
+   */
+  @Nullable
+  public static Long getProcessId(@Nullable Integer port) {
+    Process process = DevServerProcesses.get(port != null ? port : DEFAULT_PORT);
+    return process == null ? null : ChildProcesses.pid(process);
+  }
+
+  /**
+   * Stops the local development server. The server is asked to quit, then its port is polled until
+   * it is released. A server that still holds its port after the timeout of {@code configuration}
+   * is killed, together with its child processes, if it was started by this JVM or its process id
+   * is configured.
+   *
+   * @throws AppEngineException when the server cannot be reached or did not stop in time
+   */
   public void stop(StopConfiguration configuration) throws AppEngineException {
+    stopAndMeasure(configuration);
+  }
+
+  /**
+   * Stops the local development server like {@link #stop}.
+   *
+   * @return the time it took the server to stop
+   * @throws AppEngineException when the server cannot be reached or did not stop in time
+   */
+  public Duration stopAndMeasure(StopConfiguration configuration) throws AppEngineException {
     Preconditions.checkNotNull(configuration);
-    HttpURLConnection connection = null;
+    long start = System.nanoTime();
     String host = configuration.getHost() != null ? configuration.getHost() : DEFAULT_HOST;
     int port = configuration.getPort() != null ? configuration.getPort() : DEFAULT_PORT;
+    int timeout =
+        configuration.getTimeout() != null ? configuration.getTimeout() : DEFAULT_STOP_TIMEOUT;
+    long deadline = start + TimeUnit.SECONDS.toNanos(timeout);
+
+    Process process = DevServerProcesses.get(port);
+    Long processId = process == null ? configuration.getProcessId() : null;
+    boolean killable = process != null || processId != null;
+    try {
+      requestQuit(host, port, timeout);
+    } catch (AppEngineException ex) {
+      if (!killable) {
+        throw ex;
+      }
+      log.warning(ex.getMessage() + ", killing the server");
+      deadline = System.nanoTime();
+    }
+
+    if (!waitForPortRelease(host, port, deadline)) {
+      if (!killable) {
+        throw new AppEngineException(
+            "Dev server at " + host + ":" + port + " did not stop within " + timeout + " seconds.");
+      }
+      log.warning(
+          "Dev server at " + host + ":" + port + " did not stop when asked, killing the server");
+      if (process != null) {
+        kill(process);
+      } else if (processId != null) {
+        kill(processId);
+      }
+      if (!waitForPortRelease(host, port, System.nanoTime() + KILL_TIMEOUT_NANOS)) {
+        throw new AppEngineException(
+            "Dev server at " + host + ":" + port + " still holds its port after being killed.");
+      }
+    }
+    if (process != null) {
+      DevServerProcesses.untrack(port, process);
+    }
+
+    Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+    log.info("Dev server at " + host + ":" + port + " stopped in " + elapsed.toMillis() + "ms");
+    return elapsed;
+  }
+
+  private static void requestQuit(String host, int port, int timeout) throws AppEngineException {
+    HttpURLConnection connection = null;
     URL adminServerUrl = null;
     try {
       adminServerUrl = new URL("http", host, port, "/_ah/admin/quit");
       connection = (HttpURLConnection) adminServerUrl.openConnection();
+      connection.setConnectTimeout((int) TimeUnit.SECONDS.toMillis(timeout));
+      connection.setReadTimeout((int) TimeUnit.SECONDS.toMillis(timeout));
       connection.setDoOutput(true);
       connection.setDoInput(true);
       connection.setRequestMethod("POST");
@@ -225,6 +354,64 @@ public class DevServer {
     }
   }
 
+  /**
+   * Polls {@code port} with an increasing interval until nothing accepts connections on it anymore.
+   *
+   * @return {@code false} if the port was still in use at {@code deadline}
+   */
+  private static boolean waitForPortRelease(String host, int port, long deadline)
+      throws AppEngineException {
+    long interval = MIN_POLL_INTERVAL_MILLIS;
+    while (isPortInUse(host, port)) {
+      long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+      if (remaining <= 0) {
+        return false;
+      }
+      try {
+        Thread.sleep(Math.min(interval, remaining));
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new AppEngineException("Interrupted while waiting for the dev server to stop", ex);
+      }
+      interval = Math.min(interval * 2, MAX_POLL_INTERVAL_MILLIS);
+    }
+    return true;
+  }
+
+  private static boolean isPortInUse(String host, int port) {
+    try (Socket socket = new Socket()) {
+      socket.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT_MILLIS);
+      return true;
+    } catch (IOException ex) {
+      return false;
+    }
+  }
+
+  private static void kill(Process process) throws AppEngineException {
+    ChildProcesses.destroyTree(process);
+    try {
+      if (!process.waitFor(KILL_TIMEOUT_NANOS, TimeUnit.NANOSECONDS)) {
+        process.destroyForcibly();
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new AppEngineException("Interrupted while waiting for the dev server to exit", ex);
+    }
+  }
+
+  private static void kill(long processId) throws AppEngineException {
+    try {
+      if (!ChildProcesses.destroyTree(
+          processId, DevAppServerRunner.MAIN_CLASS, Duration.ofNanos(KILL_TIMEOUT_NANOS))) {
+        throw new AppEngineException(
+            "Dev server process " + processId + " is not running or cannot be killed.");
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new AppEngineException("Interrupted while waiting for the dev server to exit", ex);
+    }
+  }
+
   @VisibleForTesting
   void checkAndWarnIgnored(@Nullable Object propertyToIgnore, String propertyName) {
     if (propertyToIgnore != null) {
@@ -0,0 +1,298 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.appengine.operations;
+
+import com.google.cloud.tools.appengine.AppEngineDescriptor;
+import com.google.cloud.tools.appengine.AppEngineException;
+import com.google.cloud.tools.appengine.configuration.RunConfiguration;
+import com.google.cloud.tools.appengine.configuration.StopConfiguration;
+import com.google.cloud.tools.appengine.operations.cloudsdk.process.ProcessHandler;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+import org.xml.sax.SAXException;
+
+/**
+ * Runs every service of a {@link RunConfiguration} in its own dev server process instead of one
+ * process for all of them. The services are started at the same time on ports allocated from the
+ * configured port upwards, and each one gets its own process handler, so readiness and output are
+ * tracked per service. A service can then be restarted without restarting the others.
+ *
+ * <p>Every dev server keeps its own local datastore, in its service's {@code
+ * WEB-INF/appengine-generated} directory, so a service does not see entities written by another.
+ * The servers are deliberately not pointed at one {@code datastore.backing_store}: a dev server
+ * only reads that file on startup and overwrites it when it saves, so sharing it would lose writes
+ * instead of sharing them.
+ */
+public class DevServerOrchestrator {
+
+  private static final Logger logger = Logger.getLogger(DevServerOrchestrator.class.getName());
+
+  private static final int DEFAULT_PORT = 8080;
+  private static final int MAX_PORT_ATTEMPTS = 100;
+
+  /** Creates the process handler of the dev server of one service. */
+  public interface ProcessHandlerFactory {
+
+    /**
+     * Returns a new process handler.
+     *
+     * @param service the service id, {@code default} for the default service
+     * @param port the port the service's dev server listens on
+     */
+    ProcessHandler newProcessHandler(String service, int port);
+  }
+
+  /** A service running in its own dev server. */
+  public static class ServiceInstance {
+    private final String service;
+    private final Path directory;
+    private final int port;
+
+    ServiceInstance(String service, Path directory, int port) {
+      this.service = service;
+      this.directory = directory;
+      this.port = port;
+    }
+
+    /** Returns the service id, {@code default} for the default service. */
+    public String getService() {
+      return service;
+    }
+
+    public Path getDirectory() {
+      return directory;
+    }
+
+    public int getPort() {
+      return port;
+    }
+  }
+
+  private final Function<ProcessHandler, DevServer> devServers;
+  private final ProcessHandlerFactory processHandlers;
+  private volatile ImmutableMap<ServiceInstance, DevServer> running = ImmutableMap.of();
+  @Nullable private volatile String host;
+
+  DevServerOrchestrator(
+      Function<ProcessHandler, DevServer> devServers, ProcessHandlerFactory processHandlers) {
+    this.devServers = devServers;
+    this.processHandlers = processHandlers;
+  }
+
+  /**
+   * Starts a dev server for every service of {@code config} and waits until the process handlers
+   * return, which is when the servers are ready for asynchronous handlers and when they exited for
+   * synchronous ones. If any server fails, all others are stopped.
+   *
+   * @return the started services, in the order of {@link RunConfiguration#getServices()}
+   * @throws AppEngineException when any service failed to start or run
+   */
+  public List<ServiceInstance> run(RunConfiguration config) throws AppEngineException {
+    Preconditions.checkArgument(config.getServices().size() > 0);
+    Preconditions.checkState(running.isEmpty(), "Dev servers are already running");
+    List<ServiceInstance> allocated = allocate(config);
+    host = config.getHost();
+    ImmutableMap.Builder<ServiceInstance, DevServer> builder = ImmutableMap.builder();
+    for (ServiceInstance instance : allocated) {
+      builder.put(
+          instance,
+          devServers.apply(
+              processHandlers.newProcessHandler(instance.getService(), instance.getPort())));
+    }
+    ImmutableMap<ServiceInstance, DevServer> servers = builder.build();
+    running = servers;
+
+    ExecutorService executor = Executors.newFixedThreadPool(allocated.size());
+    try {
+      CompletionService<ServiceInstance> completion = new ExecutorCompletionService<>(executor);
+      for (Map.Entry<ServiceInstance, DevServer> server : servers.entrySet()) {
+        ServiceInstance instance = server.getKey();
+        DevServer devServer = server.getValue();
+        RunConfiguration serviceConfig =
+            config
+                .toBuilder()
+                .services(ImmutableList.of(instance.getDirectory()))
+                .port(instance.getPort())
+                .build();
+        completion.submit(
+            () -> {
+              try {
+                devServer.run(serviceConfig);
+                return instance;
+              } catch (AppEngineException | RuntimeException ex) {
+                throw new AppEngineException("Failed to run service " + instance.getService(), ex);
+              }
+            });
+      }
+
+      List<AppEngineException> failures = new ArrayList<>();
+      for (int i = 0; i < allocated.size(); i++) {
+        Future<ServiceInstance> done = completion.take();
+        try {
+          done.get();
+        } catch (ExecutionException ex) {
+          Throwable cause = ex.getCause() == null ? ex : ex.getCause();
+          if (failures.isEmpty()) {
+            // stop the other services, which also unblocks handlers that wait for them to exit
+            stopQuietly();
+          }
+          failures.add(
+              cause instanceof AppEngineException
+                  ? (AppEngineException) cause
+                  : new AppEngineException(cause));
+        }
+      }
+      if (!failures.isEmpty()) {
+        running = ImmutableMap.of();
+        AppEngineException exception =
+            new AppEngineException(
+                "Failed to run " + failures.size() + " of " + allocated.size() + " services",
+                failures.get(0));
+        for (AppEngineException failure : failures.subList(1, failures.size())) {
+          exception.addSuppressed(failure);
+        }
+        throw exception;
+      }
+      return allocated;
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      stopQuietly();
+      running = ImmutableMap.of();
+      throw new AppEngineException("Interrupted while starting the dev servers", ex);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /** Returns the services started by {@link #run} that were not stopped yet. */
+  public List<ServiceInstance> getServiceInstances() {
+    return ImmutableList.copyOf(running.keySet());
+  }
+
+  /**
+   * Stops the dev servers of all services started by {@link #run}, each through {@link
+   * DevServer#stop}.
+   *
+   * @throws AppEngineException when any dev server could not be stopped, after trying all others
+   */
+  public void stop() throws AppEngineException {
+    List<AppEngineException> failures = new ArrayList<>();
+    for (Map.Entry<ServiceInstance, DevServer> entry : running.entrySet()) {
+      try {
+        stop(entry.getKey(), entry.getValue());
+      } catch (AppEngineException ex) {
+        failures.add(ex);
+      }
+    }
+    running = ImmutableMap.of();
+    if (!failures.isEmpty()) {
+      AppEngineException exception = failures.get(0);
+      for (AppEngineException failure : failures.subList(1, failures.size())) {
+        exception.addSuppressed(failure);
+      }
+      throw exception;
+    }
+  }
+
+  private void stop(ServiceInstance instance, DevServer devServer) throws AppEngineException {
+    devServer.stop(StopConfiguration.builder().host(host).port(instance.getPort()).build());
+  }
+
+  private void stopQuietly() {
+    for (Map.Entry<ServiceInstance, DevServer> entry : running.entrySet()) {
+      try {
+        stop(entry.getKey(), entry.getValue());
+      } catch (AppEngineException ex) {
+        // the service did not start or is already gone
+        logger.log(Level.FINE, "Failed to stop service " + entry.getKey().getService(), ex);
+      }
+    }
+  }
+
+  /** Reads the service ids and allocates a port for every service. */
+  private static List<ServiceInstance> allocate(RunConfiguration config) throws AppEngineException {
+    Integer configuredPort = config.getPort();
+    int port = configuredPort == null ? DEFAULT_PORT : configuredPort;
+    Set<String> services = new HashSet<>();
+    List<ServiceInstance> allocated = new ArrayList<>();
+    for (Path directory : config.getServices()) {
+      String service = readServiceId(directory);
+      Preconditions.checkArgument(
+          services.add(service), "Service %s is defined more than once", service);
+      if (port == 0) {
+        allocated.add(new ServiceInstance(service, directory, findFreePort(0)));
+      } else {
+        int servicePort = findFreePort(port);
+        allocated.add(new ServiceInstance(service, directory, servicePort));
+        port = servicePort + 1;
+      }
+    }
+    return allocated;
+  }
+
+  private static String readServiceId(Path directory) throws AppEngineException {
+    Path appengineWebXml = directory.resolve("WEB-INF/appengine-web.xml");
+    try (InputStream in = Files.newInputStream(appengineWebXml)) {
+      String service = AppEngineDescriptor.parse(in).getServiceId();
+      return service == null ? "default" : service;
+    } catch (IOException | SAXException ex) {
+      throw new AppEngineException(ex);
+    }
+  }
+
+  /**
+   * Returns the first port from {@code from} upwards that can be bound, or any free port if {@code
+   * from} is 0. The port is released again, so another process may take it before the dev server
+   * binds it, in which case that dev server fails to start.
+   */
+  @VisibleForTesting
+  static int findFreePort(int from) throws AppEngineException {
+    for (int port = from; port < from + MAX_PORT_ATTEMPTS && port <= 65535; port++) {
+      try (ServerSocket socket = new ServerSocket()) {
+        socket.setReuseAddress(false);
+        socket.bind(new InetSocketAddress(port));
+        return socket.getLocalPort();
+      } catch (IOException ex) {
+        // in use, try the next one
+      }
+    }
+    throw new AppEngineException("No free port found from " + from);
+  }
+}
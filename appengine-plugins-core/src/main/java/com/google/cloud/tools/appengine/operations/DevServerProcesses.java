@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.appengine.operations;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.Nullable;
+
+/**
+ * Dev server processes started by this JVM, by the port they listen on, so that a server that does
+ * not stop when asked can be killed.
+ */
+final class DevServerProcesses {
+
+  private static final String PORT_ARGUMENT = "--port=";
+  private static final int DEFAULT_PORT = 8080;
+
+  private static final ConcurrentMap<Integer, Process> processes = new ConcurrentHashMap<>();
+
+  private DevServerProcesses() {}
+
+  /**
+   * Records {@code process}, started with the dev server {@code arguments}. Servers on an ephemeral
+   * port are not recorded since their port is not known.
+   */
+  static void track(List<String> arguments, Process process) {
+    int port = DEFAULT_PORT;
+    for (String argument : arguments) {
+      if (argument.startsWith(PORT_ARGUMENT)) {
+        try {
+          port = Integer.parseInt(argument.substring(PORT_ARGUMENT.length()));
+        } catch (NumberFormatException ex) {
+          return;
+        }
+      }
+    }
+    processes.values().removeIf(tracked -> !tracked.isAlive());
+    if (port != 0) {
+      processes.put(port, process);
+    }
+  }
+
+  /** Returns the running process listening on {@code port}, if it was started by this JVM. */
+  @Nullable
+  static Process get(int port) {
+    Process process = processes.get(port);
+    if (process != null && !process.isAlive()) {
+      processes.remove(port, process);
+      return null;
+    }
+    return process;
+  }
+
+  static void untrack(int port, Process process) {
+    processes.remove(port, process);
+  }
+}
@@ -33,6 +33,15 @@ public class DevServers {
     return new DevServer(sdk, getRunner(processHandler));
   }
 
+  /**
+   * Returns an orchestrator that runs every service in its own dev server, each with a new process
+   * handler from {@code processHandlers}.
+   */
+  public DevServerOrchestrator newOrchestrator(
+      DevServerOrchestrator.ProcessHandlerFactory processHandlers) {
+    return new DevServerOrchestrator(this::newDevAppServer, processHandlers);
+  }
+
   @VisibleForTesting
   DevAppServerRunner getRunner(ProcessHandler processHandler) {
     return devAppServerRunnerFactory.newRunner(sdk, processHandler);
@@ -23,6 +23,8 @@ import com.google.cloud.tools.appengine.operations.cloudsdk.internal.args.Gcloud
 import com.google.cloud.tools.appengine.operations.cloudsdk.internal.process.ProcessBuilderFactory;
 import com.google.cloud.tools.appengine.operations.cloudsdk.process.ProcessHandler;
 import com.google.cloud.tools.appengine.operations.cloudsdk.process.ProcessHandlerException;
+import com.google.cloud.tools.process.ProcessCategory;
+import com.google.cloud.tools.process.ProcessMetrics;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Joiner;
 import com.google.common.collect.Maps;
@@ -113,7 +115,7 @@ public class GcloudRunner {
       processBuilder.directory(workingDirectory.toFile());
     }
     processBuilder.environment().putAll(getGcloudCommandEnvironment());
-    Process process = processBuilder.start();
+    Process process = ProcessMetrics.start(ProcessCategory.GCLOUD, processBuilder);
     processHandler.handleProcess(process);
   }
 
@@ -20,14 +20,38 @@ import com.google.cloud.tools.appengine.AppEngineException;
 import com.google.cloud.tools.appengine.configuration.GenRepoInfoFileConfiguration;
 import com.google.cloud.tools.appengine.operations.cloudsdk.internal.args.GcloudArgs;
 import com.google.cloud.tools.appengine.operations.cloudsdk.process.ProcessHandlerException;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.gson.JsonObject;
 import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.annotation.Nullable;
 
-/** Generate source context files using gcloud, needed by the Cloud Debugger. */
+/**
+ * Generate source context files, needed by the Cloud Debugger. The file is written directly from
+ * the git repository of the source directory when possible, and by gcloud otherwise.
+ */
 public class GenRepoInfoFile {
 
+  private static final Logger logger = Logger.getLogger(GenRepoInfoFile.class.getName());
+
+  static final String SOURCE_CONTEXT_FILE = "source-context.json";
+
+  private static final Pattern CLOUD_REPO_URL =
+      Pattern.compile(
+          "^https://source\\.developers\\.google\\.com/p/([^/?#]+)(?:/r/([^/?#]+))?/?(?:[?#].*)?$");
+  private static final Pattern USER_INFO = Pattern.compile("^([a-zA-Z][a-zA-Z0-9+.-]*://)[^/@]*@");
+
   private final GcloudRunner runner;
 
   GenRepoInfoFile(GcloudRunner runner) {
@@ -35,7 +59,8 @@ public class GenRepoInfoFile {
   }
 
   /**
-   * Generates source context files.
+   * Generates source context files. When the source directory is in a git repository with a commit
+   * checked out and a remote, the file is written without running gcloud.
    *
    * <p>It is possible for the process to return an error code. In that case, no exception is
    * thrown, but the code must be caught with a {@link
@@ -46,6 +71,25 @@ public class GenRepoInfoFile {
    * @throws AppEngineException when there is an issue running the gcloud process
    */
   public void generate(GenRepoInfoFileConfiguration configuration) throws AppEngineException {
+    Path outputDirectory = configuration.getOutputDirectory();
+    Path sourceDirectory = configuration.getSourceDirectory();
+    if (outputDirectory != null && sourceDirectory != null) {
+      try {
+        JsonObject sourceContext = readSourceContext(sourceDirectory);
+        if (sourceContext != null) {
+          Files.createDirectories(outputDirectory);
+          try (Writer writer =
+              Files.newBufferedWriter(
+                  outputDirectory.resolve(SOURCE_CONTEXT_FILE), StandardCharsets.UTF_8)) {
+            writer.write(sourceContext.toString());
+          }
+          return;
+        }
+      } catch (IOException ex) {
+        logger.fine("Failed to read the git repository, falling back to gcloud: " + ex);
+      }
+    }
+
     List<String> arguments = new ArrayList<>();
 
     arguments.add("beta");
@@ -61,4 +105,68 @@ public class GenRepoInfoFile {
       throw new AppEngineException(ex);
     }
   }
+
+  /**
+   * Reads the source context of the git repository {@code sourceDirectory} belongs to.
+   *
+   * @return the source context, or null when the directory is not in a repository, no commit is
+   *     checked out or no remote is configured
+   */
+  @VisibleForTesting
+  @Nullable
+  static JsonObject readSourceContext(Path sourceDirectory) throws IOException {
+    GitRepository repository = GitRepository.find(sourceDirectory);
+    if (repository == null) {
+      return null;
+    }
+    String revision = repository.resolveHead();
+    String url = selectRemoteUrl(repository.getRemoteUrls());
+    if (revision == null || url == null) {
+      return null;
+    }
+    return toSourceContext(url, revision);
+  }
+
+  /**
+   * Picks the remote identifying the repository: a Cloud Source Repository first, then {@code
+   * origin}, then the first remote by name.
+   */
+  @Nullable
+  private static String selectRemoteUrl(Map<String, String> remoteUrls) {
+    for (String url : remoteUrls.values()) {
+      if (CLOUD_REPO_URL.matcher(url).matches()) {
+        return url;
+      }
+    }
+    if (remoteUrls.containsKey("origin")) {
+      return remoteUrls.get("origin");
+    }
+    Map<String, String> byName = new TreeMap<>(remoteUrls);
+    return byName.isEmpty() ? null : byName.values().iterator().next();
+  }
+
+  @VisibleForTesting
+  static JsonObject toSourceContext(String url, String revision) {
+    JsonObject sourceContext = new JsonObject();
+    Matcher cloudRepo = CLOUD_REPO_URL.matcher(url);
+    if (cloudRepo.matches()) {
+      JsonObject projectRepoId = new JsonObject();
+      projectRepoId.addProperty("projectId", cloudRepo.group(1));
+      projectRepoId.addProperty(
+          "repoName", cloudRepo.group(2) == null ? "default" : cloudRepo.group(2));
+      JsonObject repoId = new JsonObject();
+      repoId.add("projectRepoId", projectRepoId);
+      JsonObject context = new JsonObject();
+      context.add("repoId", repoId);
+      context.addProperty("revisionId", revision);
+      sourceContext.add("cloudRepo", context);
+    } else {
+      JsonObject context = new JsonObject();
+      // never publish credentials embedded in the remote url
+      context.addProperty("url", USER_INFO.matcher(url).replaceFirst("$1"));
+      context.addProperty("revisionId", revision);
+      sourceContext.add("git", context);
+    }
+    return sourceContext;
+  }
 }
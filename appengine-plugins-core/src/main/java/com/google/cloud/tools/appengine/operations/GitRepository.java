@@ -0,0 +1,241 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.appengine.operations;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.annotation.Nullable;
+
+/**
+ * Reads the state of a git repository directly from its {@code .git} directory: the commit HEAD
+ * points to and the remote URLs. Supports loose and packed refs, and linked worktrees and
+ * submodules whose {@code .git} is a file pointing to the actual git directory.
+ */
+public final class GitRepository {
+
+  private static final String HEAD = "HEAD";
+  private static final String PACKED_REFS = "packed-refs";
+  private static final String CONFIG = "config";
+  private static final int MAX_SYMBOLIC_REF_DEPTH = 5;
+
+  private static final Pattern OBJECT_ID = Pattern.compile("[0-9a-f]{40}([0-9a-f]{24})?");
+  private static final Pattern SECTION =
+      Pattern.compile("\\[\\s*([^\\s\\]\"]+)(?:\\s+\"((?:[^\"\\\\]|\\\\.)*)\")?\\s*\\]");
+
+  private final Path gitDirectory;
+  private final Path commonDirectory;
+
+  @VisibleForTesting
+  GitRepository(Path gitDirectory, Path commonDirectory) {
+    this.gitDirectory = gitDirectory;
+    this.commonDirectory = commonDirectory;
+  }
+
+  /**
+   * Finds the repository {@code directory} belongs to.
+   *
+   * @param directory an existing directory inside the working tree of a repository
+   * @return the repository, or null when {@code directory} is not inside a repository
+   * @throws IOException when a {@code .git} file cannot be read
+   */
+  @Nullable
+  public static GitRepository find(Path directory) throws IOException {
+    if (!Files.isDirectory(directory)) {
+      return null;
+    }
+    for (Path current = directory.toAbsolutePath().normalize();
+        current != null;
+        current = current.getParent()) {
+      Path dotGit = current.resolve(".git");
+      if (Files.isDirectory(dotGit)) {
+        return open(dotGit);
+      }
+      if (Files.isRegularFile(dotGit)) {
+        // "gitdir: <path>" in linked worktrees and submodules
+        String content = readFirstLine(dotGit);
+        if (content != null && content.startsWith("gitdir:")) {
+          Path gitDirectory = current.resolve(content.substring("gitdir:".length()).trim());
+          if (Files.isDirectory(gitDirectory)) {
+            return open(gitDirectory.normalize());
+          }
+        }
+        return null;
+      }
+    }
+    return null;
+  }
+
+  private static GitRepository open(Path gitDirectory) throws IOException {
+    // linked worktrees share refs and config with the main repository through "commondir"
+    Path commonDirectory = gitDirectory;
+    Path commonDirFile = gitDirectory.resolve("commondir");
+    if (Files.isRegularFile(commonDirFile)) {
+      String content = readFirstLine(commonDirFile);
+      if (content != null && !content.isEmpty()) {
+        commonDirectory = gitDirectory.resolve(content.trim()).normalize();
+      }
+    }
+    return new GitRepository(gitDirectory, commonDirectory);
+  }
+
+  public Path getGitDirectory() {
+    return gitDirectory;
+  }
+
+  /** Returns the directory holding the refs and config shared by all worktrees. */
+  public Path getCommonDirectory() {
+    return commonDirectory;
+  }
+
+  /**
+   * Returns the commit HEAD points to.
+   *
+   * @return the commit id, or null when HEAD points to a branch without commits
+   * @throws IOException when HEAD or a ref cannot be read
+   */
+  @Nullable
+  public String resolveHead() throws IOException {
+    String value = readFirstLine(gitDirectory.resolve(HEAD));
+    for (int depth = 0; value != null && depth < MAX_SYMBOLIC_REF_DEPTH; depth++) {
+      if (!value.startsWith("ref:")) {
+        return OBJECT_ID.matcher(value).matches() ? value : null;
+      }
+      value = readRef(value.substring("ref:".length()).trim());
+    }
+    return null;
+  }
+
+  /**
+   * Returns the files that determine the commit HEAD points to and the remotes, whether they exist
+   * or not: any of them changing may change the result of {@link #resolveHead()} or {@link
+   * #getRemoteUrls()}.
+   */
+  public List<Path> getStateFiles() throws IOException {
+    List<Path> files = new ArrayList<>();
+    files.add(gitDirectory.resolve(HEAD));
+    String value = readFirstLine(gitDirectory.resolve(HEAD));
+    for (int depth = 0;
+        value != null && value.startsWith("ref:") && depth < MAX_SYMBOLIC_REF_DEPTH;
+        depth++) {
+      String ref = value.substring("ref:".length()).trim();
+      Path refFile = refFile(ref);
+      files.add(refFile);
+      value = Files.isRegularFile(refFile) ? readFirstLine(refFile) : null;
+    }
+    files.add(commonDirectory.resolve(PACKED_REFS));
+    files.add(commonDirectory.resolve(CONFIG));
+    return ImmutableList.copyOf(files);
+  }
+
+  /** Returns the URLs of the remotes configured for the repository, by remote name. */
+  public Map<String, String> getRemoteUrls() throws IOException {
+    Map<String, String> remotes = new LinkedHashMap<>();
+    Path config = commonDirectory.resolve(CONFIG);
+    if (!Files.isRegularFile(config)) {
+      return remotes;
+    }
+    String remote = null;
+    try (BufferedReader reader = Files.newBufferedReader(config, StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        line = line.trim();
+        if (line.startsWith("[")) {
+          Matcher section = SECTION.matcher(line);
+          remote =
+              section.lookingAt()
+                      && "remote".equalsIgnoreCase(section.group(1))
+                      && section.group(2) != null
+                  ? section.group(2)
+                  : null;
+          continue;
+        }
+        int equals = line.indexOf('=');
+        if (remote != null && equals > 0) {
+          String key = line.substring(0, equals).trim();
+          if ("url".equalsIgnoreCase(key) && !remotes.containsKey(remote)) {
+            remotes.put(remote, unquote(line.substring(equals + 1).trim()));
+          }
+        }
+      }
+    }
+    return remotes;
+  }
+
+  @Nullable
+  private String readRef(String ref) throws IOException {
+    Path refFile = refFile(ref);
+    if (Files.isRegularFile(refFile)) {
+      return readFirstLine(refFile);
+    }
+    Path packedRefs = commonDirectory.resolve(PACKED_REFS);
+    if (Files.isRegularFile(packedRefs)) {
+      try (BufferedReader reader = Files.newBufferedReader(packedRefs, StandardCharsets.UTF_8)) {
+        String line;
+        while ((line = reader.readLine()) != null) {
+          // "<object id> <ref>", with "#" comments and "^<object id>" peeled tags
+          if (line.startsWith("#") || line.startsWith("^")) {
+            continue;
+          }
+          int space = line.indexOf(' ');
+          if (space > 0 && line.substring(space + 1).equals(ref)) {
+            return line.substring(0, space);
+          }
+        }
+      }
+    }
+    return null;
+  }
+
+  // HEAD and refs/bisect, refs/worktree... belong to the worktree, everything else is shared
+  private Path refFile(String ref) {
+    Path worktreeRef = gitDirectory.resolve(ref);
+    if (gitDirectory.equals(commonDirectory)
+        || !ref.startsWith("refs/")
+        || ref.startsWith("refs/bisect/")
+        || ref.startsWith("refs/worktree/")
+        || ref.startsWith("refs/rewritten/")) {
+      return worktreeRef;
+    }
+    return commonDirectory.resolve(ref);
+  }
+
+  private static String unquote(String value) {
+    if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+      return value.substring(1, value.length() - 1);
+    }
+    return value;
+  }
+
+  @Nullable
+  private static String readFirstLine(Path file) throws IOException {
+    try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      String line = reader.readLine();
+      return line == null ? null : line.trim();
+    }
+  }
+}
@@ -0,0 +1,327 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.appengine.operations;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
+
+/**
+ * Keeps the exploded app run by a dev server up to date without the dev server scanning it. Changes
+ * in the app directory and in build output directories are reported by a {@link WatchService}, so
+ * nothing runs while no file changes. Changes arriving in quick succession are collected into one
+ * batch, the changed files of the build output directories are copied into the app, and the dev
+ * server is asked to reload the app by touching its {@code appengine-web.xml}, which it always
+ * watches.
+ */
+public class HotReloader implements Closeable {
+
+  private static final Logger log = Logger.getLogger(HotReloader.class.getName());
+
+  @VisibleForTesting static final String RELOAD_TRIGGER = "WEB-INF/appengine-web.xml";
+
+  private static final long QUIET_PERIOD_MILLIS = 200;
+  private static final long MAX_DELAY_NANOS = TimeUnit.SECONDS.toNanos(2);
+
+  private final Path appDirectory;
+  private final ImmutableMap<Path, Path> syncedDirectories;
+
+  private final Map<WatchKey, Path> watchedDirectories = new ConcurrentHashMap<>();
+  // files this reloader wrote or deleted, so that the events they cause do not trigger a reload
+  private final Map<Path, FileTime> written = new HashMap<>();
+  private final Set<Path> deleted = new HashSet<>();
+
+  @Nullable private WatchService watchService;
+  @Nullable private Thread thread;
+
+  /**
+   * Creates a reloader for an exploded app.
+   *
+   * @param appDirectory the exploded app run by the dev server
+   * @param syncedDirectories directories whose files are copied into the app, mapped to the
+   *     directory they are copied to, such as the compiler output directory mapped to {@code
+   *     WEB-INF/classes} of the app
+   */
+  public HotReloader(Path appDirectory, Map<Path, Path> syncedDirectories) {
+    this.appDirectory = appDirectory.toAbsolutePath();
+    this.syncedDirectories =
+        syncedDirectories.entrySet().stream()
+            .collect(
+                ImmutableMap.toImmutableMap(
+                    entry -> entry.getKey().toAbsolutePath(),
+                    entry -> entry.getValue().toAbsolutePath()));
+  }
+
+  /**
+   * Starts watching the app and the synced directories on a daemon thread.
+   *
+   * @throws IOException when the directories cannot be watched
+   */
+  public synchronized void start() throws IOException {
+    Preconditions.checkState(watchService == null, "Hot reloading was already started");
+    watchService = appDirectory.getFileSystem().newWatchService();
+    registerTree(appDirectory);
+    for (Path source : syncedDirectories.keySet()) {
+      if (Files.isDirectory(source)) {
+        registerTree(source);
+      }
+    }
+    thread = new Thread(this::watch, "hot-reload-" + appDirectory.getFileName());
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /** Stops watching. */
+  @Override
+  public synchronized void close() {
+    if (watchService != null) {
+      try {
+        watchService.close();
+      } catch (IOException ex) {
+        log.log(Level.FINE, "Failed to close the watch service", ex);
+      }
+    }
+    if (thread != null) {
+      thread.interrupt();
+    }
+  }
+
+  private void watch() {
+    WatchService watcher = Preconditions.checkNotNull(watchService);
+    try {
+      while (true) {
+        // blocks without using any CPU until a file changes
+        WatchKey key = watcher.take();
+        long batchStart = System.nanoTime();
+        Set<Path> changes = new LinkedHashSet<>();
+        collect(key, changes);
+        while (System.nanoTime() - batchStart < MAX_DELAY_NANOS) {
+          WatchKey next = watcher.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+          if (next == null) {
+            break;
+          }
+          collect(next, changes);
+        }
+        apply(changes);
+      }
+    } catch (InterruptedException | ClosedWatchServiceException ex) {
+      // closed
+    }
+  }
+
+  private void collect(WatchKey key, Set<Path> changes) {
+    Path directory = watchedDirectories.get(key);
+    for (WatchEvent<?> event : key.pollEvents()) {
+      if (directory == null) {
+        continue;
+      }
+      if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+        // events were lost, so treat the whole watched tree as changed
+        changes.add(rootOf(directory));
+        continue;
+      }
+      Path changed = directory.resolve((Path) event.context());
+      if (Files.isDirectory(changed)) {
+        if (event.kind() != StandardWatchEventKinds.ENTRY_CREATE) {
+          // only the files in a directory matter, and they report their own changes
+          continue;
+        }
+        try {
+          registerTree(changed);
+        } catch (IOException ex) {
+          log.log(Level.WARNING, "Failed to watch " + changed, ex);
+        }
+      }
+      changes.add(changed);
+    }
+    if (!key.reset()) {
+      watchedDirectories.remove(key);
+    }
+  }
+
+  @VisibleForTesting
+  void apply(Set<Path> changes) {
+    int synced = 0;
+    boolean reload = false;
+    boolean triggerChanged = false;
+    for (Path changed : changes) {
+      Path target = targetOf(changed);
+      if (target != null) {
+        synced += sync(changed, target);
+        reload = true;
+      } else if (!isOwnChange(changed)) {
+        reload = true;
+        triggerChanged |= changed.equals(appDirectory.resolve(RELOAD_TRIGGER));
+      }
+    }
+    if (!reload) {
+      return;
+    }
+    if (!triggerChanged) {
+      touch(appDirectory.resolve(RELOAD_TRIGGER));
+    }
+    log.info(
+        "Reloading "
+            + appDirectory
+            + " after "
+            + changes.size()
+            + " change(s), "
+            + synced
+            + " file(s) copied");
+  }
+
+  /** Copies {@code source} to {@code target}, or deletes {@code target} if it no longer exists. */
+  private int sync(Path source, Path target) {
+    try {
+      if (Files.isDirectory(source)) {
+        int copied = 0;
+        try (Stream<Path> files = Files.walk(source)) {
+          for (Path file : files.filter(Files::isRegularFile).collect(Collectors.toList())) {
+            copied += sync(file, target.resolve(source.relativize(file).toString()));
+          }
+        }
+        return copied;
+      }
+      if (Files.isRegularFile(source)) {
+        Path parent = target.getParent();
+        if (parent != null) {
+          Files.createDirectories(parent);
+        }
+        Files.copy(
+            source,
+            target,
+            StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.COPY_ATTRIBUTES);
+        written.put(target, Files.getLastModifiedTime(target));
+        deleted.remove(target);
+        return 1;
+      }
+      if (Files.exists(target)) {
+        try (Stream<Path> files = Files.walk(target)) {
+          for (Path file :
+              files
+                  .sorted(Comparator.comparingInt(Path::getNameCount).reversed())
+                  .collect(Collectors.toList())) {
+            Files.delete(file);
+            written.remove(file);
+            deleted.add(file);
+          }
+        }
+      }
+    } catch (IOException ex) {
+      log.log(Level.WARNING, "Failed to copy " + source + " to " + target, ex);
+    }
+    return 0;
+  }
+
+  /**
+   * Returns whether a change in the app directory was made by this reloader. A new directory is
+   * only a change of its own if it contains no file that was written by someone else.
+   */
+  private boolean isOwnChange(Path changed) {
+    if (!Files.exists(changed)) {
+      return deleted.contains(changed);
+    }
+    try {
+      if (Files.isDirectory(changed)) {
+        try (Stream<Path> files = Files.walk(changed)) {
+          return files.filter(Files::isRegularFile).allMatch(this::isOwnChange);
+        }
+      }
+      return Files.getLastModifiedTime(changed).equals(written.get(changed));
+    } catch (IOException | UncheckedIOException ex) {
+      return false;
+    }
+  }
+
+  private void touch(Path trigger) {
+    try {
+      FileTime now = FileTime.fromMillis(System.currentTimeMillis());
+      Files.setLastModifiedTime(trigger, now);
+      written.put(trigger, Files.getLastModifiedTime(trigger));
+    } catch (IOException ex) {
+      log.log(Level.WARNING, "Failed to touch " + trigger + ", the app is not reloaded", ex);
+    }
+  }
+
+  @Nullable
+  private Path targetOf(Path changed) {
+    for (Map.Entry<Path, Path> entry : syncedDirectories.entrySet()) {
+      if (changed.startsWith(entry.getKey())) {
+        return entry.getValue().resolve(entry.getKey().relativize(changed).toString());
+      }
+    }
+    return null;
+  }
+
+  private Path rootOf(Path directory) {
+    for (Path source : syncedDirectories.keySet()) {
+      if (directory.startsWith(source)) {
+        return source;
+      }
+    }
+    return appDirectory;
+  }
+
+  private void registerTree(Path root) throws IOException {
+    WatchService watcher = Preconditions.checkNotNull(watchService);
+    Files.walkFileTree(
+        root,
+        new SimpleFileVisitor<Path>() {
+          @Override
+          public FileVisitResult preVisitDirectory(Path directory, BasicFileAttributes attributes)
+              throws IOException {
+            WatchKey key =
+                directory.register(
+                    watcher,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_DELETE);
+            watchedDirectories.put(key, directory);
+            return FileVisitResult.CONTINUE;
+          }
+        });
+  }
+}
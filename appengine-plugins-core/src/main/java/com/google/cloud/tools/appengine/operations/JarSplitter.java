@@ -0,0 +1,161 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.appengine.operations;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import javax.annotation.Nullable;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+
+/**
+ * Splits a jar into several smaller jars so that no staged file exceeds the App Engine file size
+ * limit. Output jars are named {@code <name>-0000.jar}, {@code <name>-0001.jar}, ...
+ *
+ * <p>Entries are streamed in the order they are stored and copied raw, without inflating and
+ * deflating them again, so splitting costs about as much as copying the jar. A splitter holds no
+ * per-jar state and can split several jars concurrently.
+ */
+class JarSplitter {
+
+  /** Size above which appcfg splits jars, kept for identical staging output. */
+  static final long DEFAULT_MAX_JAR_SIZE = 10L * 1024 * 1024;
+
+  // room for the local header and central directory record of each entry, on top of the two
+  // copies of its name and extra fields
+  private static final int ENTRY_OVERHEAD = 128;
+
+  // end of central directory record
+  private static final int END_OVERHEAD = 22;
+
+  private final long maxJarSize;
+  private final ImmutableList<String> excludes;
+
+  /**
+   * Creates a splitter.
+   *
+   * @param maxJarSize the size no output jar should exceed
+   * @param excludes comma separated suffixes of entry names to drop from the output jars, may be
+   *     null
+   */
+  JarSplitter(long maxJarSize, @Nullable String excludes) {
+    Preconditions.checkArgument(maxJarSize > 0, "maxJarSize must be positive");
+    this.maxJarSize = maxJarSize;
+    this.excludes =
+        excludes == null
+            ? ImmutableList.of()
+            : ImmutableList.copyOf(
+                Splitter.on(',').trimResults().omitEmptyStrings().split(excludes));
+  }
+
+  /** Returns true if {@code jar} is larger than the configured limit. */
+  boolean needsSplitting(Path jar) throws IOException {
+    return Files.size(jar) > maxJarSize;
+  }
+
+  @VisibleForTesting
+  boolean isExcluded(String entryName) {
+    for (String suffix : excludes) {
+      if (entryName.endsWith(suffix)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Splits {@code jar} into {@code outputDirectory}. An entry larger than the limit on its own is
+   * written to a jar of its own.
+   *
+   * @return the jars written, in order
+   */
+  List<Path> split(Path jar, Path outputDirectory) throws IOException {
+    String fileName = jar.getFileName().toString();
+    String baseName =
+        fileName.endsWith(".jar") ? fileName.substring(0, fileName.length() - 4) : fileName;
+
+    List<Path> outputs = new ArrayList<>();
+    try (ZipFile zipFile = new ZipFile(jar.toFile())) {
+      Part part = null;
+      try {
+        Enumeration<ZipArchiveEntry> entries = zipFile.getEntriesInPhysicalOrder();
+        while (entries.hasMoreElements()) {
+          ZipArchiveEntry entry = entries.nextElement();
+          if (isExcluded(entry.getName())) {
+            continue;
+          }
+          long entrySize =
+              Math.max(entry.getCompressedSize(), 0)
+                  + 2L * (entry.getRawName().length + entry.getExtra().length)
+                  + ENTRY_OVERHEAD;
+          if (part == null || part.isFull(entrySize)) {
+            if (part != null) {
+              part.close();
+            }
+            Path path =
+                outputDirectory.resolve(String.format("%s-%04d.jar", baseName, outputs.size()));
+            outputs.add(path);
+            part = new Part(path);
+          }
+          part.copy(zipFile, entry, entrySize);
+        }
+      } finally {
+        if (part != null) {
+          part.close();
+        }
+      }
+    }
+    return outputs;
+  }
+
+  /** One output jar being written. */
+  private class Part {
+    private final ZipArchiveOutputStream output;
+    private long size = END_OVERHEAD;
+    private int entries;
+
+    Part(Path path) throws IOException {
+      output = new ZipArchiveOutputStream(path);
+    }
+
+    boolean isFull(long entrySize) {
+      return entries > 0 && size + entrySize > maxJarSize;
+    }
+
+    void copy(ZipFile zipFile, ZipArchiveEntry entry, long entrySize) throws IOException {
+      try (InputStream rawInput = zipFile.getRawInputStream(entry)) {
+        output.addRawArchiveEntry(entry, rawInput);
+      }
+      size += entrySize;
+      entries++;
+    }
+
+    void close() throws IOException {
+      output.close();
+    }
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.appengine.operations;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.Nullable;
+
+/**
+ * What is known about a Java installation, read from its files instead of running it. Probes are
+ * cached for the whole JVM by Java home, so that the tools launched over and over in a daemon do
+ * not repeat them. A cached probe is only reused while the modification times of the java
+ * executable and the {@code release} file are unchanged.
+ */
+final class JdkProbe {
+
+  private static final boolean IS_WINDOWS = System.getProperty("os.name").contains("Windows");
+
+  private static final ConcurrentMap<Path, JdkProbe> cache = new ConcurrentHashMap<>();
+
+  private final Path javaExecutable;
+  private final boolean valid;
+  @Nullable private final Integer majorVersion;
+  @Nullable private final FileTime executableModified;
+  @Nullable private final FileTime releaseModified;
+
+  private JdkProbe(
+      Path javaExecutable,
+      boolean valid,
+      @Nullable Integer majorVersion,
+      @Nullable FileTime executableModified,
+      @Nullable FileTime releaseModified) {
+    this.javaExecutable = javaExecutable;
+    this.valid = valid;
+    this.majorVersion = majorVersion;
+    this.executableModified = executableModified;
+    this.releaseModified = releaseModified;
+  }
+
+  /** Returns the probe of the Java installation in {@code javaHome}. */
+  static JdkProbe of(Path javaHome) {
+    Path home = javaHome.toAbsolutePath();
+    Path javaExecutable = home.resolve(IS_WINDOWS ? "bin/java.exe" : "bin/java");
+    Path release = home.resolve("release");
+    FileTime executableModified = lastModified(javaExecutable);
+    FileTime releaseModified = lastModified(release);
+
+    JdkProbe cached = cache.get(home);
+    if (cached != null
+        && Objects.equals(cached.executableModified, executableModified)
+        && Objects.equals(cached.releaseModified, releaseModified)) {
+      return cached;
+    }
+    JdkProbe probe =
+        new JdkProbe(
+            javaExecutable,
+            executableModified != null,
+            releaseModified != null ? readMajorVersion(release) : null,
+            executableModified,
+            releaseModified);
+    cache.put(home, probe);
+    return probe;
+  }
+
+  /** Returns the java executable of the installation, which might not exist. */
+  Path getJavaExecutable() {
+    return javaExecutable;
+  }
+
+  /** Returns whether the installation has a java executable. */
+  boolean isValid() {
+    return valid;
+  }
+
+  /** Returns the major Java version of the installation, or null if it is not known. */
+  @Nullable
+  Integer getMajorVersion() {
+    return majorVersion;
+  }
+
+  @VisibleForTesting
+  static void clearCache() {
+    cache.clear();
+  }
+
+  @Nullable
+  private static FileTime lastModified(Path file) {
+    try {
+      return Files.getLastModifiedTime(file);
+    } catch (IOException ex) {
+      return null;
+    }
+  }
+
+  /** Reads the major version from a JDK {@code release} file, or null if it cannot be parsed. */
+  @Nullable
+  private static Integer readMajorVersion(Path release) {
+    Properties properties = new Properties();
+    try (InputStream in = Files.newInputStream(release)) {
+      properties.load(in);
+    } catch (IOException | IllegalArgumentException ex) {
+      return null;
+    }
+    String version = properties.getProperty("JAVA_VERSION");
+    if (version == null) {
+      return null;
+    }
+    // JAVA_VERSION="1.8.0_292" or JAVA_VERSION="17.0.2"
+    version = version.replace("\"", "").trim();
+    if (version.startsWith("1.")) {
+      version = version.substring(2);
+    }
+    int end = 0;
+    while (end < version.length() && Character.isDigit(version.charAt(end))) {
+      end++;
+    }
+    try {
+      return Integer.parseInt(version.substring(0, end));
+    } catch (NumberFormatException ex) {
+      return null;
+    }
+  }
+}
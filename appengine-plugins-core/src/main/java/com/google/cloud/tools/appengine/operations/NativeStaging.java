@@ -0,0 +1,435 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.appengine.operations;
+
+import com.google.cloud.tools.appengine.AppEngineDescriptor;
+import com.google.cloud.tools.appengine.AppEngineException;
+import com.google.cloud.tools.appengine.configuration.AppEngineWebXmlProjectStageConfiguration;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import org.w3c.dom.Document;
+import org.xml.sax.SAXException;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.Yaml;
+
+/**
+ * In-process staging of appengine-web.xml based applications. Handles the common case of a
+ * precompiled Java 8 application without launching appcfg: the exploded app is copied on a pool of
+ * I/O threads, oversized jars are split and app.yaml is generated from appengine-web.xml.
+ * Applications that need anything else (JSP compilation, quickstart, xml to yaml conversion of
+ * cron/queue/dispatch files, web.xml security constraints or welcome files, static files copied to
+ * __static__, warmup requests, flexible environment) must be staged by appcfg, see {@link
+ * #findUnsupportedFeature}.
+ */
+class NativeStaging {
+
+  private static final Logger log = Logger.getLogger(NativeStaging.class.getName());
+
+  private static final String WEB_INF = "WEB-INF";
+  private static final String APPENGINE_WEB_XML = "appengine-web.xml";
+  private static final String WEB_XML = "web.xml";
+  private static final String LOAD_EXTERNAL_DTD =
+      "http://apache.org/xml/features/nonvalidating/load-external-dtd";
+
+  /** appengine-web.xml elements that can be translated to app.yaml without appcfg. */
+  @VisibleForTesting
+  static final ImmutableSet<String> SUPPORTED_ELEMENTS =
+      ImmutableSet.of(
+          "application",
+          "version",
+          "runtime",
+          "service",
+          "module",
+          "threadsafe",
+          "instance-class",
+          "env-variables",
+          "warmup-requests-enabled");
+
+  /** WEB-INF configuration files that appcfg converts to yaml during staging. */
+  @VisibleForTesting
+  static final ImmutableList<String> CONVERTED_XMLS =
+      ImmutableList.of("cron.xml", "dispatch.xml", "dos.xml", "queue.xml", "datastore-indexes.xml");
+
+  /**
+   * web.xml elements that appcfg translates to app.yaml handlers (login, secure and welcome files).
+   * The single catch-all handler written by native staging would silently drop them.
+   */
+  @VisibleForTesting
+  static final ImmutableList<String> HANDLER_ELEMENTS =
+      ImmutableList.of("security-constraint", "welcome-file-list");
+
+  private static final ImmutableList<String> JSP_EXTENSIONS =
+      ImmutableList.of(".jsp", ".jspx", ".tag", ".tagx");
+
+  private final int threads;
+  private final long maxJarSize;
+
+  NativeStaging() {
+    this(Runtime.getRuntime().availableProcessors(), JarSplitter.DEFAULT_MAX_JAR_SIZE);
+  }
+
+  @VisibleForTesting
+  NativeStaging(int threads, long maxJarSize) {
+    Preconditions.checkArgument(threads > 0, "threads must be positive");
+    this.threads = threads;
+    this.maxJarSize = maxJarSize;
+  }
+
+  /**
+   * Checks whether {@code config} can be staged in-process.
+   *
+   * @return a description of the first feature that requires appcfg, or null if the application can
+   *     be staged natively
+   */
+  @Nullable
+  String findUnsupportedFeature(AppEngineWebXmlProjectStageConfiguration config)
+      throws IOException, AppEngineException {
+    if (Boolean.TRUE.equals(config.getEnableQuickstart())) {
+      return "enableQuickstart";
+    }
+    if (Boolean.TRUE.equals(config.getEnableJarClasses())) {
+      return "enableJarClasses";
+    }
+    if (config.getRuntime() != null) {
+      return "runtime override '" + config.getRuntime() + "'";
+    }
+    if (config.getDockerfile() != null) {
+      return "dockerfile";
+    }
+
+    Path webInf = config.getSourceDirectory().resolve(WEB_INF);
+    Path appEngineWebXml = webInf.resolve(APPENGINE_WEB_XML);
+    if (!Files.isRegularFile(appEngineWebXml)) {
+      return "missing " + APPENGINE_WEB_XML;
+    }
+    AppEngineDescriptor descriptor;
+    try {
+      descriptor = readDescriptor(appEngineWebXml);
+    } catch (SAXException ex) {
+      return "unparseable " + APPENGINE_WEB_XML;
+    }
+    if (!"java8".equals(descriptor.getRuntime())) {
+      return "runtime '" + descriptor.getRuntime() + "'";
+    }
+    for (String element : descriptor.getTopLevelElementNames()) {
+      if (!SUPPORTED_ELEMENTS.contains(element)) {
+        return "<" + element + "> in " + APPENGINE_WEB_XML;
+      }
+    }
+    // appcfg adds the warmup inbound service, which is enabled unless explicitly turned off
+    if (descriptor.isWarmupRequestsEnabled()) {
+      return "warmup requests";
+    }
+    for (String xml : CONVERTED_XMLS) {
+      if (Files.exists(webInf.resolve(xml))) {
+        return xml;
+      }
+    }
+    Path webXml = webInf.resolve(WEB_XML);
+    if (Files.isRegularFile(webXml)) {
+      String handlerElement;
+      try {
+        handlerElement = findHandlerElement(webXml);
+      } catch (SAXException ex) {
+        return "unparseable " + WEB_XML;
+      }
+      if (handlerElement != null) {
+        return "<" + handlerElement + "> in " + WEB_XML;
+      }
+    }
+    try (Stream<Path> files = Files.walk(config.getSourceDirectory())) {
+      // deleteJsps only matters after appcfg compiled the JSPs, so any JSP needs appcfg
+      if (files.anyMatch(NativeStaging::isJsp)) {
+        return "JSP compilation";
+      }
+    }
+    // appcfg copies static files to __static__ and writes a handler for each of them
+    if (hasStaticFiles(config.getSourceDirectory(), config.getStagingDirectory())) {
+      return "static files";
+    }
+    return null;
+  }
+
+  /**
+   * Stages {@code config}. Callers must check {@link #findUnsupportedFeature} first.
+   *
+   * @throws IOException when copying or writing the staged application fails
+   * @throws AppEngineException when appengine-web.xml cannot be read
+   */
+  void stage(AppEngineWebXmlProjectStageConfiguration config)
+      throws IOException, AppEngineException {
+    Path sourceDirectory = config.getSourceDirectory();
+    Path stagingDirectory = config.getStagingDirectory();
+    Path appEngineWebXml = sourceDirectory.resolve(WEB_INF).resolve(APPENGINE_WEB_XML);
+
+    AppEngineDescriptor descriptor;
+    try {
+      descriptor = readDescriptor(appEngineWebXml);
+    } catch (SAXException ex) {
+      throw new AppEngineException("Failed to parse " + appEngineWebXml, ex);
+    }
+    JarSplitter jarSplitter =
+        Boolean.TRUE.equals(config.getEnableJarSplitting())
+            ? new JarSplitter(maxJarSize, config.getJarSplittingExcludes())
+            : null;
+
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<?>> tasks = new ArrayList<>();
+      Files.walkFileTree(
+          sourceDirectory,
+          new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs)
+                throws IOException {
+              if (dir.equals(stagingDirectory)) {
+                return FileVisitResult.SKIP_SUBTREE;
+              }
+              Files.createDirectories(resolveTarget(dir));
+              return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
+                throws IOException {
+              Path target = resolveTarget(file);
+              if (jarSplitter != null && isLibJar(file) && jarSplitter.needsSplitting(file)) {
+                JarSplitter splitter = jarSplitter;
+                Path libDirectory = stagingDirectory.resolve(WEB_INF).resolve("lib");
+                tasks.add(submit(executor, () -> splitter.split(file, libDirectory)));
+              } else {
+                tasks.add(
+                    submit(
+                        executor,
+                        () ->
+                            Files.copy(
+                                file,
+                                target,
+                                StandardCopyOption.REPLACE_EXISTING,
+                                StandardCopyOption.COPY_ATTRIBUTES)));
+              }
+              return FileVisitResult.CONTINUE;
+            }
+
+            private Path resolveTarget(Path source) {
+              return stagingDirectory.resolve(sourceDirectory.relativize(source).toString());
+            }
+
+            private boolean isLibJar(Path file) {
+              Path parent = file.getParent();
+              return file.getFileName().toString().endsWith(".jar")
+                  && parent != null
+                  && parent.equals(sourceDirectory.resolve(WEB_INF).resolve("lib"));
+            }
+          });
+      awaitAll(tasks);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    writeAppYaml(descriptor, stagingDirectory.resolve("app.yaml"));
+    log.fine("Staged " + sourceDirectory + " in-process to " + stagingDirectory);
+  }
+
+  /**
+   * Splits the oversized jars in the staged WEB-INF/lib directory in parallel, replacing each of
+   * them with its parts. Used after appcfg staged the application without splitting jars itself.
+   */
+  void splitStagedJars(AppEngineWebXmlProjectStageConfiguration config)
+      throws IOException, AppEngineException {
+    Path libDirectory = config.getStagingDirectory().resolve(WEB_INF).resolve("lib");
+    if (!Files.isDirectory(libDirectory)) {
+      return;
+    }
+    JarSplitter jarSplitter = new JarSplitter(maxJarSize, config.getJarSplittingExcludes());
+    List<Path> jars = new ArrayList<>();
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(libDirectory, "*.jar")) {
+      for (Path jar : files) {
+        if (jarSplitter.needsSplitting(jar)) {
+          jars.add(jar);
+        }
+      }
+    }
+    if (jars.isEmpty()) {
+      return;
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, jars.size()));
+    try {
+      List<Future<?>> tasks = new ArrayList<>();
+      for (Path jar : jars) {
+        tasks.add(
+            submit(
+                executor,
+                () -> {
+                  jarSplitter.split(jar, libDirectory);
+                  Files.delete(jar);
+                }));
+      }
+      awaitAll(tasks);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @VisibleForTesting
+  static void writeAppYaml(AppEngineDescriptor descriptor, Path appYaml)
+      throws IOException, AppEngineException {
+    Map<String, Object> yaml = new LinkedHashMap<>();
+    yaml.put("runtime", descriptor.getRuntime());
+    String service = descriptor.getServiceId();
+    if (service != null) {
+      yaml.put("service", service.trim());
+    }
+    String instanceClass = descriptor.getInstanceClass();
+    if (instanceClass != null) {
+      yaml.put("instance_class", instanceClass.trim());
+    }
+    yaml.put("threadsafe", descriptor.isThreadsafe());
+    yaml.put("api_version", "user_defined");
+    // <precompilation-enabled> is not supported, so precompilation is always at its default (on)
+    yaml.put("derived_file_type", ImmutableList.of("java_precompiled"));
+    Map<String, String> environment = descriptor.getEnvironment();
+    if (!environment.isEmpty()) {
+      yaml.put("env_variables", environment);
+    }
+    yaml.put(
+        "handlers",
+        ImmutableList.of(
+            ImmutableMap.of(
+                "url", "/.*", "script", "unused", "login", "optional", "secure", "optional")));
+
+    DumperOptions options = new DumperOptions();
+    options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+    try (Writer writer = Files.newBufferedWriter(appYaml, StandardCharsets.UTF_8)) {
+      new Yaml(options).dump(yaml, writer);
+    }
+  }
+
+  private static AppEngineDescriptor readDescriptor(Path appEngineWebXml)
+      throws IOException, SAXException {
+    try (InputStream input = Files.newInputStream(appEngineWebXml)) {
+      return AppEngineDescriptor.parse(input);
+    }
+  }
+
+  /** Returns the first of {@link #HANDLER_ELEMENTS} used in {@code webXml}, or null. */
+  @Nullable
+  private static String findHandlerElement(Path webXml) throws IOException, SAXException {
+    Document document;
+    try (InputStream input = Files.newInputStream(webXml)) {
+      DocumentBuilderFactory documentBuilderFactory = DocumentBuilderFactory.newInstance();
+      documentBuilderFactory.setNamespaceAware(true);
+      documentBuilderFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+      // servlet 2.3 descriptors declare a DTD, never fetch it
+      documentBuilderFactory.setFeature(LOAD_EXTERNAL_DTD, false);
+      documentBuilderFactory.setExpandEntityReferences(false);
+      document = documentBuilderFactory.newDocumentBuilder().parse(input);
+    } catch (ParserConfigurationException ex) {
+      throw new SAXException("Cannot parse " + WEB_XML, ex);
+    }
+    for (String element : HANDLER_ELEMENTS) {
+      if (document.getElementsByTagNameNS("*", element).getLength() > 0) {
+        return element;
+      }
+    }
+    return null;
+  }
+
+  /** Returns true if {@code sourceDirectory} has any file outside WEB-INF. */
+  private static boolean hasStaticFiles(Path sourceDirectory, Path stagingDirectory)
+      throws IOException {
+    Path webInf = sourceDirectory.resolve(WEB_INF);
+    try (Stream<Path> files = Files.walk(sourceDirectory)) {
+      return files.anyMatch(
+          file ->
+              !file.startsWith(webInf)
+                  && !file.startsWith(stagingDirectory)
+                  && Files.isRegularFile(file));
+    }
+  }
+
+  private static boolean isJsp(Path file) {
+    String name = file.getFileName().toString();
+    for (String extension : JSP_EXTENSIONS) {
+      if (name.endsWith(extension)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static Future<?> submit(ExecutorService executor, IoTask task) {
+    return executor.submit(
+        (Callable<Void>)
+            () -> {
+              task.run();
+              return null;
+            });
+  }
+
+  private static void awaitAll(List<Future<?>> tasks) throws IOException, AppEngineException {
+    try {
+      for (Future<?> task : tasks) {
+        task.get();
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new AppEngineException("Interrupted while staging", ex);
+    } catch (ExecutionException ex) {
+      Throwable cause = ex.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      throw new AppEngineException("Staging failed", cause == null ? ex : cause);
+    }
+  }
+
+  /** A unit of staging I/O. */
+  private interface IoTask {
+    void run() throws IOException;
+  }
+}
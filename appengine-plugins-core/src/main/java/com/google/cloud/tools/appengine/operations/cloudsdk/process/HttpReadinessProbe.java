@@ -0,0 +1,176 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.appengine.operations.cloudsdk.process;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+
+/**
+ * Provides a mechanism to wait for a successful start of a server process by polling its HTTP port,
+ * with exponential backoff between attempts. The server is ready as soon as the port accepts
+ * connections or, if a health path is configured, when the path responds with a 2xx or 3xx status.
+ * Because another process holding the port would look exactly like a ready server, the port is
+ * checked before the server is launched and the wait fails if it was already in use.
+ */
+public class HttpReadinessProbe implements ProcessExitListener {
+
+  // same defaults as the dev appserver
+  private static final String DEFAULT_HOST = "localhost";
+  private static final int DEFAULT_PORT = 8080;
+
+  private static final long INITIAL_BACKOFF_MILLIS = 25;
+  private static final long MAX_BACKOFF_MILLIS = 1000;
+  private static final int CONNECT_TIMEOUT_MILLIS = 1000;
+
+  private final String host;
+  private final int port;
+  @Nullable private final String healthPath;
+  private final int timeoutSeconds;
+  private volatile boolean exited;
+  private boolean portInUseBeforeLaunch;
+
+  /**
+   * Creates a probe for a server listening on {@code host} and {@code port}.
+   *
+   * @param host the host the server listens on, or null for localhost
+   * @param port the port the server listens on, or null for 8080
+   * @param healthPath optional path, starting with '/', that must respond successfully before the
+   *     server is considered ready
+   * @param timeoutSeconds the maximum number of seconds to wait for the server until giving up. If
+   *     set to 0, will skip waiting.
+   */
+  public HttpReadinessProbe(
+      @Nullable String host,
+      @Nullable Integer port,
+      @Nullable String healthPath,
+      int timeoutSeconds) {
+    Preconditions.checkArgument(
+        healthPath == null || healthPath.startsWith("/"), "healthPath must start with '/'");
+    this.host = connectableHost(host);
+    this.port = port == null ? DEFAULT_PORT : port;
+    this.healthPath = healthPath;
+    this.timeoutSeconds = timeoutSeconds;
+  }
+
+  /**
+   * Records whether something already accepts connections on the port. Must be called before the
+   * server process is launched, so that {@link #await} does not mistake a stale server for the new
+   * one.
+   */
+  void checkPortBeforeLaunch() {
+    portInUseBeforeLaunch = isAcceptingConnections();
+  }
+
+  /**
+   * Blocks the executing thread until the server is ready. If it is not ready within the specified
+   * timeout, or the process exits first, {@link ProcessHandlerException} will be thrown.
+   */
+  public void await() throws ProcessHandlerException {
+    if (portInUseBeforeLaunch) {
+      throw new ProcessHandlerException(
+          "Port " + port + " on " + host + " was already in use before the server was started");
+    }
+    if (timeoutSeconds == 0) {
+      return;
+    }
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+    long backoff = INITIAL_BACKOFF_MILLIS;
+    try {
+      while (true) {
+        if (exited) {
+          throw new ProcessHandlerException("Process exited before the server was ready");
+        }
+        if (isReady()) {
+          // the port may have been taken by another process after launch, while ours failed
+          if (exited) {
+            throw new ProcessHandlerException("Process exited before the server was ready");
+          }
+          return;
+        }
+        long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+        if (remaining <= 0) {
+          throw new ProcessHandlerException(
+              "Timed out waiting for the server to be ready at " + describeTarget());
+        }
+        Thread.sleep(Math.min(backoff, remaining));
+        backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new ProcessHandlerException(ex);
+    }
+  }
+
+  @Override
+  public void onExit(int exitCode) {
+    exited = true;
+  }
+
+  @VisibleForTesting
+  boolean isReady() {
+    if (healthPath == null) {
+      return isAcceptingConnections();
+    }
+    return isHealthy(healthPath);
+  }
+
+  private boolean isAcceptingConnections() {
+    try (Socket socket = new Socket()) {
+      socket.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT_MILLIS);
+      return true;
+    } catch (IOException ex) {
+      return false;
+    }
+  }
+
+  private boolean isHealthy(String path) {
+    HttpURLConnection connection = null;
+    try {
+      connection = (HttpURLConnection) new URL("http", host, port, path).openConnection();
+      connection.setConnectTimeout(CONNECT_TIMEOUT_MILLIS);
+      connection.setReadTimeout(CONNECT_TIMEOUT_MILLIS);
+      connection.setInstanceFollowRedirects(false);
+      int responseCode = connection.getResponseCode();
+      return responseCode >= 200 && responseCode < 400;
+    } catch (IOException ex) {
+      return false;
+    } finally {
+      if (connection != null) {
+        connection.disconnect();
+      }
+    }
+  }
+
+  private String describeTarget() {
+    return healthPath == null ? host + ":" + port : "http://" + host + ":" + port + healthPath;
+  }
+
+  // a server bound to the wildcard address is reached through the loopback interface
+  private static String connectableHost(@Nullable String host) {
+    if (host == null || host.isEmpty() || "0.0.0.0".equals(host) || "::".equals(host)) {
+      return DEFAULT_HOST;
+    }
+    return host;
+  }
+}
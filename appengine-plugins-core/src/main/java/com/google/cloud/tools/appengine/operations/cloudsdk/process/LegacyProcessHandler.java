@@ -18,6 +18,7 @@ package com.google.cloud.tools.appengine.operations.cloudsdk.process;
 
 import com.google.cloud.tools.appengine.AppEngineException;
 import com.google.cloud.tools.appengine.operations.cloudsdk.internal.process.WaitingProcessOutputLineListener;
+import com.google.cloud.tools.process.ChildProcesses;
 import com.google.common.annotations.VisibleForTesting;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
@@ -34,6 +35,7 @@ public class LegacyProcessHandler implements ProcessHandler {
   private final List<ProcessExitListener> exitListeners;
   private final List<ProcessStartListener> startListeners;
   @Nullable private final WaitingProcessOutputLineListener waitingProcessOutputLineListener;
+  @Nullable private final HttpReadinessProbe httpReadinessProbe;
   private final boolean async;
 
   // TODO: historically it looks like this code hasn't been testable, we need to pass an
@@ -49,13 +51,15 @@ public class LegacyProcessHandler implements ProcessHandler {
       List<ProcessOutputLineListener> stdErrLineListeners,
       List<ProcessStartListener> processStartListeners,
       List<ProcessExitListener> processExitListeners,
-      @Nullable WaitingProcessOutputLineListener waitingProcessOutputLineListener) {
+      @Nullable WaitingProcessOutputLineListener waitingProcessOutputLineListener,
+      @Nullable HttpReadinessProbe httpReadinessProbe) {
     this.async = async;
     this.stdOutLineListeners = stdOutLineListeners;
     this.stdErrLineListeners = stdErrLineListeners;
     this.exitListeners = processExitListeners;
     this.startListeners = processStartListeners;
     this.waitingProcessOutputLineListener = waitingProcessOutputLineListener;
+    this.httpReadinessProbe = httpReadinessProbe;
   }
 
   @Override
@@ -79,8 +83,12 @@ public class LegacyProcessHandler implements ProcessHandler {
       if (async) {
         asyncRun(process, stdOutHandler, stdErrHandler);
       } else {
-        shutdownProcessHook(process);
-        syncRun(process, stdOutHandler, stdErrHandler);
+        ChildProcesses.register(process);
+        try {
+          syncRun(process, stdOutHandler, stdErrHandler);
+        } finally {
+          ChildProcesses.unregister(process);
+        }
       }
 
     } catch (InterruptedException | AppEngineException ex) {
@@ -172,22 +180,12 @@ public class LegacyProcessHandler implements ProcessHandler {
       if (waitingProcessOutputLineListener != null) {
         waitingProcessOutputLineListener.await();
       }
+      if (httpReadinessProbe != null) {
+        httpReadinessProbe.await();
+      }
     }
   }
 
-  private static void shutdownProcessHook(final Process process) {
-    Runtime.getRuntime()
-        .addShutdownHook(
-            new Thread("destroy-process") {
-              @Override
-              public void run() {
-                if (process != null) {
-                  process.destroy();
-                }
-              }
-            });
-  }
-
   public static Builder builder() {
     return new Builder();
   }
@@ -241,6 +239,15 @@ public class LegacyProcessHandler implements ProcessHandler {
       return this;
     }
 
+    /**
+     * Add an exit listener that is notified ahead of the listeners set by {@link #setExitListener},
+     * which may throw on a failed exit.
+     */
+    public Builder addExitListener(ProcessExitListener listener) {
+      exitListeners.add(0, listener);
+      return this;
+    }
+
     /** Set/override start listener configuration. */
     public Builder setStartListener(ProcessStartListener listener) {
       startListeners.clear();
@@ -253,9 +260,16 @@ public class LegacyProcessHandler implements ProcessHandler {
       return this;
     }
 
+    /** Build the handler with the configured listeners. */
     public LegacyProcessHandler build() {
       return new LegacyProcessHandler(
-          async, stdOutLineListeners, stdErrLineListeners, startListeners, exitListeners, null);
+          async,
+          stdOutLineListeners,
+          stdErrLineListeners,
+          startListeners,
+          exitListeners,
+          null,
+          null);
     }
 
     /**
@@ -274,7 +288,26 @@ public class LegacyProcessHandler implements ProcessHandler {
           stdErrLineListeners,
           startListeners,
           exitListeners,
-          devAppServerOutputListener);
+          devAppServerOutputListener,
+          null);
+    }
+
+    /**
+     * Use the build for the devappserver async mode when readiness should be determined by polling
+     * the server instead of watching its output. Must be called before the server is launched.
+     */
+    public LegacyProcessHandler buildDevAppServerAsync(HttpReadinessProbe readinessProbe) {
+      readinessProbe.checkPortBeforeLaunch();
+      // ahead of listeners that throw on a failed exit, so the probe stops waiting
+      exitListeners.add(0, readinessProbe);
+      return new LegacyProcessHandler(
+          true,
+          stdOutLineListeners,
+          stdErrLineListeners,
+          startListeners,
+          exitListeners,
+          null,
+          readinessProbe);
     }
 
     static class DevAppServerAsyncOutputWatcherFactory {
@@ -0,0 +1,252 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.appengine.operations.cloudsdk.process;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes process output to a log file without blocking the threads reading the process output.
+ * Lines are queued and written in batches by a single writer thread, so a slow disk never stalls
+ * the process. When the log file exceeds its maximum size or age it is compressed to {@code <log
+ * file>.1.gz}, older archives are shifted to {@code .2.gz} and so on, and a new log file is
+ * started. The file is closed when the process exits or {@link #close()} is called.
+ */
+public class RollingFileOutputLineListener
+    implements ProcessOutputLineListener, ProcessExitListener, Closeable {
+
+  public static final long DEFAULT_MAX_FILE_SIZE = 10 * 1024 * 1024;
+  public static final Duration DEFAULT_MAX_FILE_AGE = Duration.ofDays(1);
+  public static final int DEFAULT_MAX_ARCHIVES = 5;
+
+  private static final Logger logger =
+      Logger.getLogger(RollingFileOutputLineListener.class.getName());
+
+  @VisibleForTesting static final int MAX_PENDING_LINES = 100_000;
+  private static final long FLUSH_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+  private static final long CLOSE_TIMEOUT_MILLIS = 10_000;
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final int MAX_BATCH_LINES = 1000;
+
+  private final Path logFile;
+  private final long maxFileSize;
+  private final long maxFileAgeNanos;
+  private final int maxArchives;
+
+  private final Queue<String> lines = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger pendingLines = new AtomicInteger();
+  private final AtomicInteger droppedLines = new AtomicInteger();
+  private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+  private final Thread writer;
+  private volatile boolean closed;
+
+  // only accessed by the writer thread after construction
+  private FileChannel channel;
+  private long fileOpenedNanos;
+  private boolean failed;
+
+  /** Creates a listener writing to {@code logFile} with the default rotation settings. */
+  public RollingFileOutputLineListener(Path logFile) throws IOException {
+    this(logFile, DEFAULT_MAX_FILE_SIZE, DEFAULT_MAX_FILE_AGE, DEFAULT_MAX_ARCHIVES);
+  }
+
+  /**
+   * Creates a listener writing to {@code logFile}, replacing any existing file.
+   *
+   * @param maxFileSize the size in bytes after which the log file is rotated
+   * @param maxFileAge the time after which the log file is rotated, or zero to only rotate by size
+   * @param maxArchives the number of compressed log files to keep, older ones are deleted
+   * @throws IOException if the log file cannot be created
+   */
+  public RollingFileOutputLineListener(
+      Path logFile, long maxFileSize, Duration maxFileAge, int maxArchives) throws IOException {
+    Preconditions.checkArgument(maxFileSize > 0, "maxFileSize must be positive");
+    Preconditions.checkArgument(!maxFileAge.isNegative(), "maxFileAge must not be negative");
+    Preconditions.checkArgument(maxArchives >= 0, "maxArchives must not be negative");
+    this.logFile = logFile;
+    this.maxFileSize = maxFileSize;
+    this.maxFileAgeNanos = maxFileAge.toNanos();
+    this.maxArchives = maxArchives;
+    this.channel = openLogFile();
+    this.writer = new Thread(this::writeLoop, "log-writer-" + logFile.getFileName());
+    writer.setDaemon(true);
+    writer.start();
+  }
+
+  /** Queues {@code line} for writing. Lines are dropped while too many are waiting. */
+  @Override
+  public void onOutputLine(String line) {
+    if (closed) {
+      return;
+    }
+    if (pendingLines.incrementAndGet() > MAX_PENDING_LINES) {
+      pendingLines.decrementAndGet();
+      droppedLines.incrementAndGet();
+      return;
+    }
+    lines.add(line);
+  }
+
+  @Override
+  public void onExit(int exitCode) {
+    close();
+  }
+
+  /** Writes the queued lines and closes the log file, waiting a limited time for a slow disk. */
+  @Override
+  public void close() {
+    closed = true;
+    LockSupport.unpark(writer);
+    try {
+      writer.join(CLOSE_TIMEOUT_MILLIS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void writeLoop() {
+    while (true) {
+      // read before draining, so the lines queued before close() are always written
+      boolean closing = closed;
+      boolean wroteLines = writeQueuedLines();
+      if (!wroteLines) {
+        if (closing) {
+          break;
+        }
+        LockSupport.parkNanos(this, FLUSH_INTERVAL_NANOS);
+      }
+    }
+    try {
+      channel.close();
+    } catch (IOException ex) {
+      logger.log(Level.WARNING, "Failed to close " + logFile, ex);
+    }
+  }
+
+  private boolean writeQueuedLines() {
+    int written = 0;
+    String line;
+    while (written < MAX_BATCH_LINES && (line = lines.poll()) != null) {
+      int dropped = droppedLines.getAndSet(0);
+      if (dropped > 0) {
+        write("[" + dropped + " lines dropped, the log file could not be written fast enough]");
+      }
+      write(line);
+      written++;
+    }
+    flush();
+    pendingLines.addAndGet(-written);
+    return written > 0;
+  }
+
+  @VisibleForTesting
+  boolean hasPendingLines() {
+    return pendingLines.get() > 0;
+  }
+
+  private void write(String line) {
+    byte[] bytes = (line + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+    if (bytes.length > buffer.remaining()) {
+      flush();
+    }
+    if (bytes.length > buffer.capacity()) {
+      writeToFile(ByteBuffer.wrap(bytes));
+    } else {
+      buffer.put(bytes);
+    }
+  }
+
+  private void flush() {
+    if (buffer.position() > 0) {
+      buffer.flip();
+      writeToFile(buffer);
+      buffer.clear();
+    }
+  }
+
+  private void writeToFile(ByteBuffer bytes) {
+    if (failed) {
+      return;
+    }
+    try {
+      long fileSize = channel.size();
+      if (fileSize > 0
+          && (fileSize + bytes.remaining() > maxFileSize
+              || (maxFileAgeNanos > 0 && System.nanoTime() - fileOpenedNanos > maxFileAgeNanos))) {
+        rotate();
+      }
+      while (bytes.hasRemaining()) {
+        channel.write(bytes);
+      }
+    } catch (IOException ex) {
+      // keep draining the queue so the process output is never blocked
+      failed = true;
+      logger.log(Level.WARNING, "Failed to write " + logFile + ", further output is discarded", ex);
+    }
+  }
+
+  private void rotate() throws IOException {
+    channel.close();
+    if (maxArchives > 0) {
+      Files.deleteIfExists(archive(maxArchives));
+      for (int i = maxArchives - 1; i >= 1; i--) {
+        if (Files.exists(archive(i))) {
+          Files.move(archive(i), archive(i + 1), StandardCopyOption.REPLACE_EXISTING);
+        }
+      }
+      Path compressing = logFile.resolveSibling(logFile.getFileName() + ".gz.tmp");
+      try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(compressing))) {
+        Files.copy(logFile, out);
+      }
+      Files.move(compressing, archive(1), StandardCopyOption.REPLACE_EXISTING);
+    }
+    channel = openLogFile();
+  }
+
+  private FileChannel openLogFile() throws IOException {
+    fileOpenedNanos = System.nanoTime();
+    return FileChannel.open(
+        logFile,
+        StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING);
+  }
+
+  @VisibleForTesting
+  Path archive(int index) {
+    return logFile.resolveSibling(logFile.getFileName() + "." + index + ".gz");
+  }
+}
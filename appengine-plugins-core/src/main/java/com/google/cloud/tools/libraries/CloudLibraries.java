@@ -19,15 +19,21 @@ package com.google.cloud.tools.libraries;
 import com.google.cloud.tools.libraries.json.CloudLibrary;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
 import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.List;
 import java.util.MissingResourceException;
+import javax.annotation.Nullable;
 
 /** Returns helpful metadata for supported Google Cloud libraries. */
 public final class CloudLibraries {
@@ -43,11 +49,16 @@ public final class CloudLibraries {
 
   /**
    * Returns the list of {@link CloudLibrary} objects deserialized from the {@code libraries.json}
-   * file.
+   * file. The list is read once and shared, so it cannot be modified; see {@link
+   * CloudLibraryCatalog} for lookups by ID, Maven coordinates and language.
    *
    * @throws IOException if there was a problem reading the {@code libraries.json} file
    */
   public static List<CloudLibrary> getCloudLibraries() throws IOException {
+    return CloudLibraryCatalog.getCatalog().getLibraries();
+  }
+
+  static List<CloudLibrary> readLibraries() throws IOException {
     return new CloudLibraries(LIBRARIES_JSON).getLibraries();
   }
 
@@ -62,7 +73,38 @@ public final class CloudLibraries {
       InputStreamReader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8);
       JsonReader jsonReader = new JsonReader(reader);
       Type listType = new TypeToken<List<CloudLibrary>>() {}.getType();
-      return new Gson().fromJson(jsonReader, listType);
+      Gson gson =
+          new GsonBuilder()
+              .registerTypeAdapterFactory(new UnmodifiableListAdapterFactory())
+              .create();
+      return gson.fromJson(jsonReader, listType);
+    }
+  }
+
+  /** Deserializes lists as unmodifiable lists, since the parsed libraries are shared. */
+  private static class UnmodifiableListAdapterFactory implements TypeAdapterFactory {
+
+    @Override
+    @Nullable
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+      if (type.getRawType() != List.class) {
+        return null;
+      }
+      TypeAdapter<T> delegate = gson.getDelegateAdapter(this, type);
+      return new TypeAdapter<T>() {
+        @Override
+        public void write(JsonWriter out, T value) throws IOException {
+          delegate.write(out, value);
+        }
+
+        @Override
+        @Nullable
+        @SuppressWarnings("unchecked") // T is a List
+        public T read(JsonReader in) throws IOException {
+          T list = delegate.read(in);
+          return list == null ? null : (T) Collections.unmodifiableList((List<?>) list);
+        }
+      };
     }
   }
 }
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.libraries;
+
+import com.google.cloud.tools.libraries.json.CloudLibrary;
+import com.google.cloud.tools.libraries.json.CloudLibraryClient;
+import com.google.cloud.tools.libraries.json.CloudLibraryClientMavenCoordinates;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+/**
+ * The supported Google Cloud libraries, indexed for lookups. The catalog is read once per class
+ * loader and shared, so its lists are unmodifiable.
+ */
+public final class CloudLibraryCatalog {
+
+  @Nullable private static volatile CloudLibraryCatalog catalog;
+
+  private final ImmutableList<CloudLibrary> libraries;
+  private final ImmutableMap<String, CloudLibrary> librariesById;
+  private final ImmutableMap<String, CloudLibrary> librariesByCoordinates;
+  private final ImmutableListMultimap<String, CloudLibrary> librariesByLanguage;
+
+  /**
+   * Returns the catalog of the libraries in the {@code libraries.json} file, reading it on first
+   * use.
+   *
+   * @throws IOException if there was a problem reading the {@code libraries.json} file
+   */
+  public static CloudLibraryCatalog getCatalog() throws IOException {
+    CloudLibraryCatalog result = catalog;
+    if (result == null) {
+      synchronized (CloudLibraryCatalog.class) {
+        result = catalog;
+        if (result == null) {
+          result = new CloudLibraryCatalog(CloudLibraries.readLibraries());
+          catalog = result;
+        }
+      }
+    }
+    return result;
+  }
+
+  @VisibleForTesting
+  CloudLibraryCatalog(List<CloudLibrary> libraries) {
+    this.libraries = ImmutableList.copyOf(libraries);
+
+    Map<String, CloudLibrary> byId = new LinkedHashMap<>();
+    Map<String, CloudLibrary> byCoordinates = new LinkedHashMap<>();
+    ImmutableListMultimap.Builder<String, CloudLibrary> byLanguage =
+        ImmutableListMultimap.builder();
+    for (CloudLibrary library : this.libraries) {
+      String id = library.getId();
+      if (id != null) {
+        byId.putIfAbsent(id, library);
+      }
+      List<CloudLibraryClient> clients = library.getClients();
+      if (clients == null) {
+        continue;
+      }
+      Set<String> languages = new HashSet<>();
+      for (CloudLibraryClient client : clients) {
+        String language = client.getLanguage();
+        if (language != null && languages.add(normalize(language))) {
+          byLanguage.put(normalize(language), library);
+        }
+        CloudLibraryClientMavenCoordinates coordinates = client.getMavenCoordinates();
+        if (coordinates != null
+            && coordinates.getGroupId() != null
+            && coordinates.getArtifactId() != null) {
+          byCoordinates.putIfAbsent(
+              coordinates.getGroupId() + ":" + coordinates.getArtifactId(), library);
+        }
+      }
+    }
+    librariesById = ImmutableMap.copyOf(byId);
+    librariesByCoordinates = ImmutableMap.copyOf(byCoordinates);
+    librariesByLanguage = byLanguage.build();
+  }
+
+  /** Returns all libraries, in the order of the {@code libraries.json} file. */
+  public List<CloudLibrary> getLibraries() {
+    return libraries;
+  }
+
+  /** Returns the library with the ID {@code id}, or null if there is none. */
+  @Nullable
+  public CloudLibrary getLibrary(String id) {
+    return librariesById.get(id);
+  }
+
+  /**
+   * Returns the library with a client published as the Maven artifact {@code groupId:artifactId},
+   * or null if there is none.
+   */
+  @Nullable
+  public CloudLibrary getLibraryByMavenCoordinates(String groupId, String artifactId) {
+    return librariesByCoordinates.get(groupId + ":" + artifactId);
+  }
+
+  /** Returns the libraries with a client for {@code language} (e.g. java), ignoring case. */
+  public List<CloudLibrary> getLibrariesByLanguage(String language) {
+    return librariesByLanguage.get(normalize(language));
+  }
+
+  private static String normalize(String language) {
+    return language.toLowerCase(Locale.ROOT);
+  }
+}
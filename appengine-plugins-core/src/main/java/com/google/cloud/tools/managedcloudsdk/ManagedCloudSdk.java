@@ -26,15 +26,22 @@ import com.google.cloud.tools.managedcloudsdk.command.CommandExitException;
 import com.google.cloud.tools.managedcloudsdk.components.SdkComponent;
 import com.google.cloud.tools.managedcloudsdk.components.SdkComponentInstaller;
 import com.google.cloud.tools.managedcloudsdk.components.SdkUpdater;
+import com.google.cloud.tools.managedcloudsdk.install.InstallLock;
 import com.google.cloud.tools.managedcloudsdk.install.SdkInstaller;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -48,9 +55,15 @@ public class ManagedCloudSdk {
 
   private static final Logger logger = Logger.getLogger(ManagedCloudSdk.class.getName());
 
+  private static final String SNAPSHOT_SUFFIX = ".snapshot.json";
+
+  /** How long a successful {@link #isUpToDate()} check is trusted by default. */
+  public static final Duration DEFAULT_UP_TO_DATE_CHECK_TTL = Duration.ofDays(1);
+
   private final Version version;
   private final Path managedSdkDirectory;
   private final OsInfo osInfo;
+  private Duration upToDateCheckTtl = DEFAULT_UP_TO_DATE_CHECK_TTL;
 
   /** Instantiated with {@link ManagedCloudSdk#newManagedSdk}. */
   ManagedCloudSdk(Version version, Path managedSdkDirectory, OsInfo osInfo) {
@@ -104,37 +117,104 @@ public class ManagedCloudSdk {
   }
 
   /**
-   * Query gcloud to see if component is installed. Uses gcloud's '--local-state-only' to avoid
-   * network accesses.
+   * Check if a component is installed, without network access. See {@link
+   * #getMissingComponents(Collection)}.
    */
   public boolean hasComponent(SdkComponent component) throws ManagedSdkVerificationException {
+    return getMissingComponents(Collections.singletonList(component)).isEmpty();
+  }
+
+  /**
+   * Returns the components that are not installed, in the order of {@code components}. The local
+   * component state is read from the installation snapshots the SDK keeps on disk. When those are
+   * not available, gcloud is queried once for all components with '--only-local-state' to avoid
+   * network accesses.
+   *
+   * @param components the components to check
+   * @return the components of {@code components} that are not installed
+   */
+  public List<SdkComponent> getMissingComponents(Collection<SdkComponent> components)
+      throws ManagedSdkVerificationException {
+    if (components.isEmpty()) {
+      return Collections.emptyList();
+    }
     if (!Files.isRegularFile(getGcloudPath())) {
-      return false;
+      return new ArrayList<>(components);
+    }
+
+    Set<String> installed = readInstalledComponentIds();
+    if (installed == null) {
+      installed = listInstalledComponentIds();
+    }
+    List<SdkComponent> missing = new ArrayList<>();
+    for (SdkComponent component : components) {
+      if (!installed.contains(component.toString())) {
+        missing.add(component);
+      }
+    }
+    return missing;
+  }
+
+  /**
+   * Reads the ids of the installed components from the "{id}.snapshot.json" files the SDK writes to
+   * its ".install" directory, or returns null when the directory does not have that layout.
+   */
+  @Nullable
+  private Set<String> readInstalledComponentIds() throws ManagedSdkVerificationException {
+    Path installState = getSdkHome().resolve(".install");
+    if (!Files.isRegularFile(installState.resolve("core" + SNAPSHOT_SUFFIX))) {
+      return null;
+    }
+    Set<String> installed = new HashSet<>();
+    try (DirectoryStream<Path> snapshots =
+        Files.newDirectoryStream(installState, "*" + SNAPSHOT_SUFFIX)) {
+      for (Path snapshot : snapshots) {
+        String fileName = snapshot.getFileName().toString();
+        installed.add(fileName.substring(0, fileName.length() - SNAPSHOT_SUFFIX.length()));
+      }
+    } catch (IOException ex) {
+      throw new ManagedSdkVerificationException(ex);
     }
+    return installed;
+  }
 
+  private Set<String> listInstalledComponentIds() throws ManagedSdkVerificationException {
     List<String> listComponentCommand =
         Arrays.asList(
             getGcloudPath().toString(),
             "components",
             "list",
             "--only-local-state",
-            "--format=json",
-            "--filter=id:" + component);
+            "--format=json");
 
     try {
       String result = CommandCaller.newCaller().call(listComponentCommand, null, null);
-      List<CloudSdkComponent> components = CloudSdkComponent.fromJsonList(result);
-      if (components.size() > 1) {
-        // not a unique component id
-        throw new ManagedSdkVerificationException("Invalid component " + component);
+      Set<String> installed = new HashSet<>();
+      for (CloudSdkComponent component : CloudSdkComponent.fromJsonList(result)) {
+        if (component.getId() != null) {
+          installed.add(component.getId());
+        }
       }
-      return !components.isEmpty();
+      return installed;
     } catch (CommandExecutionException | InterruptedException | CommandExitException ex) {
       throw new ManagedSdkVerificationException(ex);
     }
   }
 
-  /** Query gcloud to see if SDK is up to date. Gcloud makes a call to the server to check this. */
+  /**
+   * Sets how long a successful {@link #isUpToDate()} check is trusted before gcloud is asked again.
+   * {@link Duration#ZERO} checks every time.
+   */
+  public void setUpToDateCheckTtl(Duration upToDateCheckTtl) {
+    Preconditions.checkArgument(!upToDateCheckTtl.isNegative(), "negative ttl");
+    this.upToDateCheckTtl = upToDateCheckTtl;
+  }
+
+  /**
+   * Query gcloud to see if SDK is up to date. Gcloud makes a call to the server to check this, so a
+   * positive answer is remembered for the up to date check ttl, as long as the installed VERSION
+   * and component manifests do not change.
+   */
   public boolean isUpToDate() throws ManagedSdkVerificationException {
     if (!Files.isRegularFile(getGcloudPath())) {
       return false;
@@ -144,6 +224,26 @@ public class ManagedCloudSdk {
       return true;
     }
 
+    UpToDateCheckCache cache = newUpToDateCheckCache();
+    if (cache.isFresh(upToDateCheckTtl, System.currentTimeMillis())) {
+      return true;
+    }
+    if (queryUpToDate()) {
+      cache.record(System.currentTimeMillis());
+      return true;
+    }
+    return false;
+  }
+
+  // next to the version directory, which is deleted and recreated by installs
+  @VisibleForTesting
+  UpToDateCheckCache newUpToDateCheckCache() {
+    return new UpToDateCheckCache(
+        managedSdkDirectory.resolve(version.getVersion() + ".up-to-date"), getSdkHome());
+  }
+
+  private boolean queryUpToDate() throws ManagedSdkVerificationException {
+
     List<String> updateAvailableCommand =
         Arrays.asList(
             getGcloudPath().toString(),
@@ -168,6 +268,15 @@ public class ManagedCloudSdk {
     }
   }
 
+  /**
+   * Blocks until the lock on the installation of this Cloud SDK is acquired. Hold it while
+   * installing, adding components or updating to serialize those with other threads, builds and
+   * processes; {@link SdkInstaller#installAtomically} takes the same lock.
+   */
+  public InstallLock lockInstallation() throws IOException, InterruptedException {
+    return InstallLock.acquire(managedSdkDirectory.resolve(version.getVersion()));
+  }
+
   // TODO : fix passthrough for useragent and client side usage reporting
   public SdkInstaller newInstaller() {
     return SdkInstaller.newInstaller(
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.managedcloudsdk;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Remembers when a managed Cloud SDK was last found to be up to date, so the check, which needs
+ * network access, runs at most once per time to live. A record only applies while the SDK's VERSION
+ * file and component manifests are unchanged, so installs and updates invalidate it.
+ */
+final class UpToDateCheckCache {
+
+  private static final Logger logger = Logger.getLogger(UpToDateCheckCache.class.getName());
+
+  private static final String CHECKED_AT = "checkedAt";
+  private static final String FINGERPRINT = "fingerprint";
+
+  private final Path recordFile;
+  private final Path sdkHome;
+
+  /**
+   * Creates a cache for the SDK in {@code sdkHome}, recorded in {@code recordFile}.
+   *
+   * @param recordFile where the last successful check is recorded, outside of {@code sdkHome}
+   * @param sdkHome the home directory of the SDK
+   */
+  UpToDateCheckCache(Path recordFile, Path sdkHome) {
+    this.recordFile = recordFile;
+    this.sdkHome = sdkHome;
+  }
+
+  /** Returns true if the SDK was found up to date less than {@code ttl} before {@code now}. */
+  boolean isFresh(Duration ttl, long now) {
+    if (ttl.isZero() || ttl.isNegative() || !Files.isRegularFile(recordFile)) {
+      return false;
+    }
+    Properties record = new Properties();
+    try (InputStream in = Files.newInputStream(recordFile)) {
+      record.load(in);
+      long checkedAt = Long.parseLong(record.getProperty(CHECKED_AT, "-1"));
+      if (checkedAt < 0 || checkedAt > now || now - checkedAt >= ttl.toMillis()) {
+        return false;
+      }
+      return fingerprint().equals(record.getProperty(FINGERPRINT));
+    } catch (IOException | NumberFormatException ex) {
+      logger.log(Level.FINE, "Ignoring unreadable up to date record " + recordFile, ex);
+      return false;
+    }
+  }
+
+  /** Records that the SDK was found up to date at {@code now}. */
+  void record(long now) {
+    Properties record = new Properties();
+    try {
+      record.setProperty(CHECKED_AT, Long.toString(now));
+      record.setProperty(FINGERPRINT, fingerprint());
+      Files.createDirectories(recordFile.getParent());
+      try (OutputStream out = Files.newOutputStream(recordFile)) {
+        record.store(out, null);
+      }
+    } catch (IOException ex) {
+      // only costs another check next time
+      logger.log(Level.FINE, "Failed to write up to date record " + recordFile, ex);
+    }
+  }
+
+  /** Hashes the VERSION file and the names, sizes and modification times of the manifests. */
+  @VisibleForTesting
+  String fingerprint() throws IOException {
+    Hasher hasher = Hashing.sha256().newHasher();
+    Path versionFile = sdkHome.resolve("VERSION");
+    if (Files.isRegularFile(versionFile)) {
+      hasher.putBytes(Files.readAllBytes(versionFile));
+    }
+    Path installState = sdkHome.resolve(".install");
+    if (Files.isDirectory(installState)) {
+      List<Path> manifests = new ArrayList<>();
+      try (DirectoryStream<Path> stream = Files.newDirectoryStream(installState, "*.manifest")) {
+        stream.forEach(manifests::add);
+      }
+      Collections.sort(manifests);
+      for (Path manifest : manifests) {
+        hasher
+            .putString(manifest.getFileName().toString(), StandardCharsets.UTF_8)
+            .putLong(Files.size(manifest))
+            .putLong(Files.getLastModifiedTime(manifest).toMillis());
+      }
+    }
+    return hasher.hash().toString();
+  }
+}
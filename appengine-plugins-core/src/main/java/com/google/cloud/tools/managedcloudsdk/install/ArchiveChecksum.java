@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.managedcloudsdk.install;
+
+import com.google.common.base.Splitter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import javax.annotation.Nullable;
+
+/**
+ * The SHA-256 checksum of a downloaded archive, recorded next to it as "{archive}.sha256" together
+ * with the size and modification time the archive had when it was hashed. A recorded checksum is
+ * trusted as long as those still match, so the archive is not read again to verify it.
+ */
+final class ArchiveChecksum {
+
+  private ArchiveChecksum() {}
+
+  static Path recordFile(Path archive) {
+    return archive.resolveSibling(archive.getFileName() + ".sha256");
+  }
+
+  /** Records {@code sha256} as the verified checksum of {@code archive}. */
+  static void write(Path archive, String sha256) throws IOException {
+    String record =
+        sha256.toLowerCase(Locale.ROOT)
+            + " "
+            + Files.size(archive)
+            + " "
+            + Files.getLastModifiedTime(archive).toMillis()
+            + "\n";
+    Files.write(recordFile(archive), record.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Returns the recorded checksum of {@code archive}, or null if there is none or the archive
+   * changed since it was recorded.
+   */
+  @Nullable
+  static String read(Path archive) throws IOException {
+    Path recordFile = recordFile(archive);
+    if (!Files.isRegularFile(archive) || !Files.isRegularFile(recordFile)) {
+      return null;
+    }
+    List<String> fields =
+        Splitter.on(' ')
+            .trimResults()
+            .omitEmptyStrings()
+            .splitToList(new String(Files.readAllBytes(recordFile), StandardCharsets.UTF_8));
+    if (fields.size() != 3
+        || !fields.get(1).equals(Long.toString(Files.size(archive)))
+        || !fields.get(2).equals(Long.toString(Files.getLastModifiedTime(archive).toMillis()))) {
+      return null;
+    }
+    return fields.get(0);
+  }
+}
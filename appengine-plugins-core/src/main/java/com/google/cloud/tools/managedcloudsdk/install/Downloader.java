@@ -17,6 +17,7 @@
 package com.google.cloud.tools.managedcloudsdk.install;
 
 import com.google.cloud.tools.managedcloudsdk.ProgressListener;
+import com.google.common.io.BaseEncoding;
 import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -26,8 +27,11 @@ import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Locale;
 import java.util.logging.Logger;
+import javax.annotation.Nullable;
 
 /** Downloader for downloading a single Cloud SDK archive. */
 final class Downloader {
@@ -37,19 +41,35 @@ final class Downloader {
   static final int BUFFER_SIZE = 8 * 1024;
   private final URL address;
   private final Path destinationFile;
+  @Nullable private final String expectedSha256;
   private final String userAgentString;
   private final ProgressListener progressListener;
 
   /** Use {@link DownloaderFactory} to instantiate. */
   Downloader(
       URL source, Path destinationFile, String userAgentString, ProgressListener progressListener) {
+    this(source, destinationFile, null, userAgentString, progressListener);
+  }
+
+  /** Use {@link DownloaderFactory} to instantiate. */
+  Downloader(
+      URL source,
+      Path destinationFile,
+      @Nullable String expectedSha256,
+      String userAgentString,
+      ProgressListener progressListener) {
     this.address = source;
     this.destinationFile = destinationFile;
+    this.expectedSha256 = expectedSha256;
     this.userAgentString = userAgentString;
     this.progressListener = progressListener;
   }
 
-  /** Download an archive, this will NOT overwrite a previously existing file. */
+  /**
+   * Download an archive, this will NOT overwrite a previously existing file. If a checksum is
+   * expected, the SHA-256 checksum is computed while downloading, compared to it and, when they
+   * match, recorded as verified with {@link ArchiveChecksum}.
+   */
   public void download() throws IOException, InterruptedException {
     if (!Files.exists(destinationFile.getParent())) {
       Files.createDirectories(destinationFile.getParent());
@@ -61,6 +81,7 @@ final class Downloader {
     URLConnection connection = address.openConnection();
     connection.setRequestProperty("User-Agent", userAgentString);
 
+    MessageDigest digest = newSha256Digest();
     try (InputStream in = connection.getInputStream()) {
       // note : contentLength can potentially be -1 if it is unknown.
       long contentLength = connection.getContentLengthLong();
@@ -85,13 +106,39 @@ final class Downloader {
           }
 
           out.write(buffer, 0, bytesRead);
+          digest.update(buffer, 0, bytesRead);
           progressListener.update(bytesRead);
         }
       }
     }
+
+    String sha256 = BaseEncoding.base16().lowerCase().encode(digest.digest());
+    if (expectedSha256 != null && !expectedSha256.equalsIgnoreCase(sha256)) {
+      cleanUp();
+      throw new IOException(
+          "SHA-256 checksum of "
+              + address
+              + " is "
+              + sha256
+              + " but "
+              + expectedSha256
+              + " was expected");
+    }
+    if (expectedSha256 != null) {
+      ArchiveChecksum.write(destinationFile, sha256);
+    }
     progressListener.done();
   }
 
+  private static MessageDigest newSha256Digest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException ex) {
+      // every Java platform supports SHA-256
+      throw new IllegalStateException(ex);
+    }
+  }
+
   private void cleanUp() throws IOException {
     Files.deleteIfExists(destinationFile);
   }
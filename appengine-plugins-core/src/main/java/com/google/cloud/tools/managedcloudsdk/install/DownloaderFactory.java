@@ -46,4 +46,18 @@ final class DownloaderFactory {
   public Downloader newDownloader(URL source, Path destination, ProgressListener progressListener) {
     return new Downloader(source, destination, userAgentString, progressListener);
   }
+
+  /**
+   * Returns a new {@link Downloader} implementation that verifies the downloaded file.
+   *
+   * @param source URL of file to download (remote)
+   * @param destination Path on local file system to save the file
+   * @param expectedSha256 hex encoded SHA-256 checksum the file must have
+   * @param progressListener Progress feedback handler
+   * @return a {@link Downloader} instance
+   */
+  public Downloader newDownloader(
+      URL source, Path destination, String expectedSha256, ProgressListener progressListener) {
+    return new Downloader(source, destination, expectedSha256, userAgentString, progressListener);
+  }
 }
@@ -58,4 +58,10 @@ class FileResourceProvider {
   public Path getExtractedGcloud() {
     return getExtractedSdkHome().resolve("bin").resolve(gcloudExecutableName);
   }
+
+  /** Returns a provider for the same archive, extracted into {@code extractionDestination}. */
+  FileResourceProvider withArchiveExtractionDestination(Path extractionDestination) {
+    return new FileResourceProvider(
+        archiveSource, archiveDestination, extractionDestination, gcloudExecutableName);
+  }
 }
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.managedcloudsdk.install;
+
+import com.google.common.base.Preconditions;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * An exclusive lock on the installation of a Cloud SDK, shared by all threads and processes
+ * installing, updating or adding components to the same installation directory. The lock is
+ * reentrant for the thread holding it, so a caller holding it can use the installers that take it.
+ */
+public final class InstallLock implements AutoCloseable {
+
+  private static final Logger logger = Logger.getLogger(InstallLock.class.getName());
+
+  private static final long POLL_MILLIS = 200;
+
+  // the locks held by threads of this class loader, keyed by lock file
+  private static final Map<Path, Held> held = new HashMap<>();
+
+  private final Held lock;
+  private final boolean waited;
+  private boolean closed;
+
+  private InstallLock(Held lock, boolean waited) {
+    this.lock = lock;
+    this.waited = waited;
+  }
+
+  /**
+   * Blocks until the lock on {@code installDirectory} is acquired. The lock file is a sibling of
+   * the directory, because installers delete and recreate the directory itself. The lock is polled
+   * instead of waited for, because another thread of this process holding it makes {@link
+   * FileChannel#lock()} fail.
+   *
+   * @param installDirectory the directory a Cloud SDK is installed into
+   */
+  public static InstallLock acquire(Path installDirectory)
+      throws IOException, InterruptedException {
+    Path directory = installDirectory.toAbsolutePath().normalize();
+    Path parent = Preconditions.checkNotNull(directory.getParent());
+    Path lockFile = parent.resolve(directory.getFileName() + ".lock");
+
+    synchronized (held) {
+      Held current = held.get(lockFile);
+      if (current != null && current.owner == Thread.currentThread()) {
+        current.holds++;
+        return new InstallLock(current, false);
+      }
+    }
+
+    Files.createDirectories(parent);
+    FileChannel channel =
+        FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    try {
+      boolean waited = false;
+      while (true) {
+        try {
+          FileLock fileLock = channel.tryLock();
+          if (fileLock != null) {
+            Held acquired = new Held(lockFile, channel, fileLock);
+            synchronized (held) {
+              held.put(lockFile, acquired);
+            }
+            return new InstallLock(acquired, waited);
+          }
+        } catch (OverlappingFileLockException ex) {
+          // held by another thread of this process
+        }
+        if (!waited) {
+          logger.info("Waiting for another process to finish installing the Cloud SDK");
+          waited = true;
+        }
+        Thread.sleep(POLL_MILLIS);
+      }
+    } catch (IOException | InterruptedException | RuntimeException ex) {
+      channel.close();
+      throw ex;
+    }
+  }
+
+  /** Returns true if another thread or process held the lock when it was requested. */
+  public boolean waited() {
+    return waited;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    synchronized (held) {
+      if (--lock.holds > 0) {
+        return;
+      }
+      held.remove(lock.lockFile);
+    }
+    try {
+      lock.fileLock.release();
+    } finally {
+      lock.channel.close();
+    }
+  }
+
+  /** A file lock held by a thread, and how many times the thread acquired it. */
+  private static class Held {
+    private final Path lockFile;
+    private final FileChannel channel;
+    private final FileLock fileLock;
+    private final Thread owner = Thread.currentThread();
+    private int holds = 1;
+
+    private Held(Path lockFile, FileChannel channel, FileLock fileLock) {
+      this.lockFile = lockFile;
+      this.channel = channel;
+      this.fileLock = fileLock;
+    }
+  }
+}
@@ -23,11 +23,15 @@ import com.google.cloud.tools.managedcloudsdk.Version;
 import com.google.cloud.tools.managedcloudsdk.command.CommandExecutionException;
 import com.google.cloud.tools.managedcloudsdk.command.CommandExitException;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
 import com.google.common.io.MoreFiles;
 import com.google.common.io.RecursiveDeleteOption;
 import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
@@ -39,11 +43,15 @@ public class SdkInstaller {
 
   private static final Logger logger = Logger.getLogger(SdkInstaller.class.getName());
 
+  private static final String STAGING_INFIX = ".staging-";
+  private static final String REPLACED_INFIX = ".replaced-";
+
   private final FileResourceProviderFactory fileResourceProviderFactory;
   private final ExtractorFactory extractorFactory;
   private final DownloaderFactory downloaderFactory;
   @Nullable private final InstallerFactory installerFactory;
   private final Map<String, String> environmentVariables;
+  @Nullable private final String archiveSha256;
 
   /** Use {@link #newInstaller} to instantiate. */
   SdkInstaller(
@@ -67,11 +75,48 @@ public class SdkInstaller {
       ExtractorFactory extractorFactory,
       @Nullable InstallerFactory installerFactory,
       Map<String, String> environmentVariables) {
+    this(
+        fileResourceProviderFactory,
+        downloaderFactory,
+        extractorFactory,
+        installerFactory,
+        environmentVariables,
+        null);
+  }
+
+  private SdkInstaller(
+      FileResourceProviderFactory fileResourceProviderFactory,
+      DownloaderFactory downloaderFactory,
+      ExtractorFactory extractorFactory,
+      @Nullable InstallerFactory installerFactory,
+      Map<String, String> environmentVariables,
+      @Nullable String archiveSha256) {
     this.fileResourceProviderFactory = fileResourceProviderFactory;
     this.downloaderFactory = downloaderFactory;
     this.extractorFactory = extractorFactory;
     this.installerFactory = installerFactory;
     this.environmentVariables = environmentVariables;
+    this.archiveSha256 = archiveSha256;
+  }
+
+  /**
+   * Returns an installer that only accepts a downloaded Cloud SDK archive with the given checksum.
+   * An archive verified by an earlier install is then reused instead of downloaded again.
+   *
+   * @param archiveSha256 the hex encoded SHA-256 checksum of the archive, as published with the
+   *     Cloud SDK release
+   * @return a new installer
+   */
+  public SdkInstaller withArchiveSha256(String archiveSha256) {
+    Preconditions.checkArgument(
+        archiveSha256.matches("[0-9a-fA-F]{64}"), "Invalid SHA-256 checksum: %s", archiveSha256);
+    return new SdkInstaller(
+        fileResourceProviderFactory,
+        downloaderFactory,
+        extractorFactory,
+        installerFactory,
+        environmentVariables,
+        archiveSha256);
   }
 
   /** Download and install a new Cloud SDK. */
@@ -83,12 +128,6 @@ public class SdkInstaller {
     FileResourceProvider fileResourceProvider =
         fileResourceProviderFactory.newFileResourceProvider();
 
-    // Cleanup, remove old downloaded archive if exists
-    if (Files.isRegularFile(fileResourceProvider.getArchiveDestination())) {
-      logger.info("Removing stale archive: " + fileResourceProvider.getArchiveDestination());
-      Files.delete(fileResourceProvider.getArchiveDestination());
-    }
-
     // Cleanup, remove old SDK directory if exists
     if (Files.exists(fileResourceProvider.getArchiveExtractionDestination())) {
       logger.info(
@@ -99,19 +138,101 @@ public class SdkInstaller {
           RecursiveDeleteOption.ALLOW_INSECURE);
     }
 
+    return downloadAndInstall(fileResourceProvider, progressListener, consoleListener);
+  }
+
+  /**
+   * Download and install a new Cloud SDK without exposing a partial installation. Only one process
+   * installs a version at a time: the SDK is extracted and installed into a temporary sibling of
+   * the installation directory while holding a file lock, verified there and then renamed into
+   * place. A caller that had to wait for another process to install the SDK uses that installation
+   * instead of installing it again.
+   *
+   * @return the home directory of the installed Cloud SDK
+   */
+  public Path installAtomically(
+      final ProgressListener progressListener, final ConsoleListener consoleListener)
+      throws IOException, InterruptedException, SdkInstallerException, CommandExecutionException,
+          CommandExitException {
+
+    FileResourceProvider fileResourceProvider =
+        fileResourceProviderFactory.newFileResourceProvider();
+    Path destination = fileResourceProvider.getArchiveExtractionDestination().toAbsolutePath();
+    Path parent = Preconditions.checkNotNull(destination.getParent());
+    String name = destination.getFileName().toString();
+    Files.createDirectories(parent);
+
+    try (InstallLock lock = InstallLock.acquire(destination)) {
+      if (lock.waited() && Files.isRegularFile(fileResourceProvider.getExtractedGcloud())) {
+        logger.info("Using Cloud SDK installed by another process");
+        return fileResourceProvider.getExtractedSdkHome();
+      }
+
+      // left behind by a crashed install, nobody else can be using them while we hold the lock
+      deleteSiblings(parent, name + STAGING_INFIX + "*");
+      deleteSiblings(parent, name + REPLACED_INFIX + "*");
+
+      Path staging = Files.createTempDirectory(parent, name + STAGING_INFIX);
+      try {
+        downloadAndInstall(
+            fileResourceProvider.withArchiveExtractionDestination(staging),
+            progressListener,
+            consoleListener);
+
+        Path replaced = null;
+        if (Files.exists(destination)) {
+          replaced = parent.resolve(name + REPLACED_INFIX + System.nanoTime());
+          moveAtomically(destination, replaced);
+        }
+        moveAtomically(staging, destination);
+        if (replaced != null) {
+          MoreFiles.deleteRecursively(replaced, RecursiveDeleteOption.ALLOW_INSECURE);
+        }
+      } finally {
+        if (Files.exists(staging)) {
+          MoreFiles.deleteRecursively(staging, RecursiveDeleteOption.ALLOW_INSECURE);
+        }
+      }
+    }
+    return fileResourceProvider.getExtractedSdkHome();
+  }
+
+  private Path downloadAndInstall(
+      FileResourceProvider fileResourceProvider,
+      ProgressListener progressListener,
+      ConsoleListener consoleListener)
+      throws IOException, InterruptedException, SdkInstallerException, CommandExecutionException,
+          CommandExitException {
+
     progressListener.start("Installing Cloud SDK", installerFactory != null ? 300 : 200);
 
-    // download and verify
-    Downloader downloader =
-        downloaderFactory.newDownloader(
-            fileResourceProvider.getArchiveSource(),
-            fileResourceProvider.getArchiveDestination(),
-            progressListener.newChild(100));
-    downloader.download();
-    if (!Files.isRegularFile(fileResourceProvider.getArchiveDestination())) {
-      throw new SdkInstallerException(
-          "Download succeeded but valid archive not found at "
-              + fileResourceProvider.getArchiveDestination());
+    Path archive = fileResourceProvider.getArchiveDestination();
+    if (archiveSha256 != null && archiveSha256.equalsIgnoreCase(ArchiveChecksum.read(archive))) {
+      logger.info("Using verified archive: " + archive);
+      progressListener.newChild(100).done();
+    } else {
+      // Cleanup, remove old downloaded archive if exists
+      if (Files.isRegularFile(archive)) {
+        logger.info("Removing stale archive: " + archive);
+        Files.delete(archive);
+      }
+      Files.deleteIfExists(ArchiveChecksum.recordFile(archive));
+
+      // download and verify
+      Downloader downloader =
+          archiveSha256 == null
+              ? downloaderFactory.newDownloader(
+                  fileResourceProvider.getArchiveSource(), archive, progressListener.newChild(100))
+              : downloaderFactory.newDownloader(
+                  fileResourceProvider.getArchiveSource(),
+                  archive,
+                  archiveSha256,
+                  progressListener.newChild(100));
+      downloader.download();
+      if (!Files.isRegularFile(archive)) {
+        throw new SdkInstallerException(
+            "Download succeeded but valid archive not found at " + archive);
+      }
     }
 
     try {
@@ -155,6 +276,23 @@ public class SdkInstaller {
     return fileResourceProvider.getExtractedSdkHome();
   }
 
+  private static void moveAtomically(Path source, Path target) throws IOException {
+    try {
+      Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+    } catch (AtomicMoveNotSupportedException ex) {
+      Files.move(source, target);
+    }
+  }
+
+  private static void deleteSiblings(Path parent, String glob) throws IOException {
+    try (DirectoryStream<Path> stale = Files.newDirectoryStream(parent, glob)) {
+      for (Path path : stale) {
+        logger.info("Removing stale install: " + path);
+        MoreFiles.deleteRecursively(path, RecursiveDeleteOption.ALLOW_INSECURE);
+      }
+    }
+  }
+
   /**
    * Configure and create a new Installer instance.
    *
@@ -16,6 +16,8 @@
 
 package com.google.cloud.tools.managedcloudsdk.process;
 
+import com.google.cloud.tools.process.ProcessCategory;
+import com.google.cloud.tools.process.ProcessMetrics;
 import com.google.common.annotations.VisibleForTesting;
 import java.io.IOException;
 import java.nio.file.Path;
@@ -79,7 +81,7 @@ public class ProcessExecutor {
     if (environment != null) {
       processBuilder.environment().putAll(environment);
     }
-    Process process = processBuilder.start();
+    Process process = ProcessMetrics.start(ProcessCategory.MANAGED_CLOUD_SDK, processBuilder);
 
     stdout.handleStream(process.getInputStream());
     stderr.handleStream(process.getErrorStream());
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.process;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.Nullable;
+
+/**
+ * Registry of the child processes that must not outlive the JVM. A single shutdown hook destroys
+ * the processes still registered when the JVM exits, together with their descendants. Processes are
+ * removed when they are unregistered and, in case that was missed, once they exited.
+ */
+public final class ChildProcesses {
+
+  private static final Set<Process> processes = ConcurrentHashMap.newKeySet();
+  private static final AtomicBoolean shutdownHookAdded = new AtomicBoolean();
+
+  private ChildProcesses() {}
+
+  /** Registers {@code process} to be destroyed when the JVM exits, until it is unregistered. */
+  public static void register(Process process) {
+    processes.removeIf(registered -> !registered.isAlive());
+    processes.add(process);
+    if (shutdownHookAdded.compareAndSet(false, true)) {
+      Runtime.getRuntime()
+          .addShutdownHook(new Thread(ChildProcesses::destroyAll, "destroy-child-processes"));
+    }
+  }
+
+  /** Removes {@code process} from the registry, to be called once it exited. */
+  public static void unregister(Process process) {
+    processes.remove(process);
+  }
+
+  /** Returns the registered processes that are still running. */
+  public static List<Process> getLiveProcesses() {
+    List<Process> live = new ArrayList<>();
+    for (Process process : processes) {
+      if (process.isAlive()) {
+        live.add(process);
+      } else {
+        processes.remove(process);
+      }
+    }
+    return live;
+  }
+
+  /**
+   * Destroys {@code process} and the processes it started. The descendants are only found on Java 9
+   * and later, on Java 8 only {@code process} is destroyed.
+   */
+  public static void destroyTree(Process process) {
+    Process unwrapped =
+        process instanceof InstrumentedProcess
+            ? ((InstrumentedProcess) process).getProcess()
+            : process;
+    ProcessInfo.destroyDescendants(unwrapped);
+    process.destroy();
+  }
+
+  /**
+   * Destroys the running process with the operating system id {@code pid}, which may have been
+   * started by another JVM, and the processes it started. Processes still running after {@code
+   * timeout} are destroyed forcibly. A process whose command line does not contain {@code command}
+   * is not destroyed, in case the id was reused. Needs Java 9 or later.
+   *
+   * @return {@code false} if no matching process runs or processes cannot be found by id on this
+   *     JVM
+   */
+  public static boolean destroyTree(long pid, String command, Duration timeout)
+      throws InterruptedException {
+    return ProcessInfo.destroyTree(pid, command, timeout);
+  }
+
+  /** Returns the operating system id of {@code process}, or null before Java 9. */
+  @Nullable
+  public static Long pid(Process process) {
+    return ProcessInfo.pid(process);
+  }
+
+  /** Destroys all registered processes that are still running, and their descendants. */
+  public static void destroyAll() {
+    for (Process process : getLiveProcesses()) {
+      destroyTree(process);
+      processes.remove(process);
+    }
+  }
+}
@@ -0,0 +1,323 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.process;
+
+import com.google.common.collect.ImmutableList;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+
+/**
+ * Process wrapper that measures the wrapped process. Output is counted as it is read by the caller,
+ * and CPU time and memory are sampled while the process runs, because the operating system discards
+ * them once it exits. The measurements are published when the process exited and every output
+ * stream that was being read reached its end.
+ */
+final class InstrumentedProcess extends Process {
+
+  private static final long SAMPLE_INTERVAL_MILLIS = 100;
+
+  private static final ScheduledExecutorService sampler =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "process-metrics-sampler");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private final Process process;
+  private final ProcessCategory category;
+  private final List<String> command;
+  private final long startTime;
+  private final long launchNanos;
+  private final long spawnNanos;
+  @Nullable private final Long pid;
+  private final InputStream inputStream;
+  private final InputStream errorStream;
+  private final ScheduledFuture<?> sampling;
+
+  private final AtomicLong firstLineNanos = new AtomicLong(-1);
+  private final AtomicLong stdoutBytes = new AtomicLong();
+  private final AtomicLong stderrBytes = new AtomicLong();
+  private final AtomicLong cpuNanos = new AtomicLong(-1);
+  private final AtomicLong peakRssBytes = new AtomicLong(-1);
+  private final AtomicInteger streamsBeingRead = new AtomicInteger();
+  private final AtomicBoolean exited = new AtomicBoolean();
+  private final AtomicBoolean published = new AtomicBoolean();
+  private volatile long wallNanos;
+  private volatile int exitCode;
+
+  InstrumentedProcess(
+      ProcessCategory category,
+      List<String> command,
+      long startTime,
+      long launchNanos,
+      Process process) {
+    this.spawnNanos = System.nanoTime() - launchNanos;
+    this.process = process;
+    this.category = category;
+    this.command = ImmutableList.copyOf(command);
+    this.startTime = startTime;
+    this.launchNanos = launchNanos;
+    this.pid = ProcessInfo.pid(process);
+    this.inputStream = new CountingStream(process.getInputStream(), stdoutBytes);
+    this.errorStream = new CountingStream(process.getErrorStream(), stderrBytes);
+    this.sampling =
+        sampler.scheduleWithFixedDelay(
+            this::sample, 0, SAMPLE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public OutputStream getOutputStream() {
+    return process.getOutputStream();
+  }
+
+  @Override
+  public InputStream getInputStream() {
+    return inputStream;
+  }
+
+  @Override
+  public InputStream getErrorStream() {
+    return errorStream;
+  }
+
+  @Override
+  public int waitFor() throws InterruptedException {
+    int exitValue = process.waitFor();
+    onExit(exitValue);
+    return exitValue;
+  }
+
+  @Override
+  public boolean waitFor(long timeout, TimeUnit unit) throws InterruptedException {
+    boolean hasExited = process.waitFor(timeout, unit);
+    if (hasExited) {
+      onExit(process.exitValue());
+    }
+    return hasExited;
+  }
+
+  @Override
+  public int exitValue() {
+    int exitValue = process.exitValue();
+    onExit(exitValue);
+    return exitValue;
+  }
+
+  @Override
+  public boolean isAlive() {
+    return process.isAlive();
+  }
+
+  @Override
+  public void destroy() {
+    process.destroy();
+  }
+
+  @Override
+  public Process destroyForcibly() {
+    process.destroyForcibly();
+    return this;
+  }
+
+  /** Overrides {@code Process.pid()} on Java 9+, which fails for wrappers by default. */
+  @SuppressWarnings("MissingOverride")
+  public long pid() {
+    if (pid == null) {
+      throw new UnsupportedOperationException();
+    }
+    return pid;
+  }
+
+  /** Returns the wrapped process. */
+  Process getProcess() {
+    return process;
+  }
+
+  private void sample() {
+    if (exited.get()) {
+      return;
+    }
+    Long cpu = ProcessInfo.totalCpuNanos(process);
+    if (cpu != null) {
+      cpuNanos.accumulateAndGet(cpu, Math::max);
+    }
+    if (pid != null) {
+      Long rss = ProcessInfo.peakRssBytes(pid);
+      if (rss != null) {
+        peakRssBytes.accumulateAndGet(rss, Math::max);
+      }
+    }
+  }
+
+  private void onExit(int exitValue) {
+    if (exited.compareAndSet(false, true)) {
+      wallNanos = System.nanoTime() - launchNanos;
+      exitCode = exitValue;
+      sampling.cancel(false);
+      publishIfDone();
+    }
+  }
+
+  private void publishIfDone() {
+    if (exited.get() && streamsBeingRead.get() == 0 && published.compareAndSet(false, true)) {
+      ProcessMetrics.publish(
+          new ProcessInvocation(
+              category,
+              command,
+              startTime,
+              TimeUnit.NANOSECONDS.toMillis(spawnNanos),
+              toMillis(firstLineNanos.get()),
+              TimeUnit.NANOSECONDS.toMillis(wallNanos),
+              exitCode,
+              stdoutBytes.get(),
+              stderrBytes.get(),
+              toMillis(cpuNanos.get()),
+              peakRssBytes.get() < 0 ? null : peakRssBytes.get()));
+    }
+  }
+
+  @Nullable
+  private static Long toMillis(long nanos) {
+    return nanos < 0 ? null : TimeUnit.NANOSECONDS.toMillis(nanos);
+  }
+
+  /**
+   * Counts bytes read, records when the first line was complete and tracks whether the stream was
+   * read to its end.
+   */
+  private class CountingStream extends FilterInputStream {
+    private final AtomicLong counter;
+    private boolean reading;
+    private boolean done;
+    private boolean hasOutput;
+
+    CountingStream(InputStream in, AtomicLong counter) {
+      super(in);
+      this.counter = counter;
+    }
+
+    @Override
+    public int read() throws IOException {
+      begin();
+      int value;
+      try {
+        value = super.read();
+      } catch (IOException ex) {
+        finish();
+        throw ex;
+      }
+      count(value < 0 ? -1 : 1);
+      if (value == '\n') {
+        lineEnded();
+      }
+      return value;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+      begin();
+      int read;
+      try {
+        read = super.read(buffer, offset, length);
+      } catch (IOException ex) {
+        finish();
+        throw ex;
+      }
+      count(read);
+      if (read > 0 && firstLineNanos.get() < 0) {
+        for (int i = offset; i < offset + read; i++) {
+          if (buffer[i] == '\n') {
+            lineEnded();
+            break;
+          }
+        }
+      }
+      return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      begin();
+      long skipped;
+      try {
+        skipped = super.skip(n);
+      } catch (IOException ex) {
+        finish();
+        throw ex;
+      }
+      count((int) Math.min(skipped, Integer.MAX_VALUE));
+      return skipped;
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        super.close();
+      } finally {
+        finish();
+      }
+    }
+
+    // a reader blocked on its first read must hold back publishing, so start tracking before it
+    private synchronized void begin() {
+      if (!reading && !done) {
+        reading = true;
+        streamsBeingRead.incrementAndGet();
+      }
+    }
+
+    private synchronized void count(int read) {
+      if (done) {
+        return;
+      }
+      if (read < 0) {
+        // a last line without a terminator ends with the stream
+        if (hasOutput) {
+          lineEnded();
+        }
+        finish();
+      } else if (read > 0) {
+        counter.addAndGet(read);
+        hasOutput = true;
+      }
+    }
+
+    private void lineEnded() {
+      firstLineNanos.compareAndSet(-1, System.nanoTime() - launchNanos);
+    }
+
+    private synchronized void finish() {
+      if (reading && !done) {
+        done = true;
+        streamsBeingRead.decrementAndGet();
+        publishIfDone();
+      }
+    }
+  }
+}
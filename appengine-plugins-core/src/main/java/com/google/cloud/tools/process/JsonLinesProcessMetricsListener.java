@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.process;
+
+import com.google.gson.Gson;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/** Appends every {@link ProcessInvocation} to a file as one JSON object per line. */
+public class JsonLinesProcessMetricsListener implements ProcessMetricsListener {
+
+  private static final Logger logger =
+      Logger.getLogger(JsonLinesProcessMetricsListener.class.getName());
+
+  private final Path file;
+  private final Gson gson = new Gson();
+
+  /** Creates a listener appending to {@code file}, which is created if it does not exist. */
+  public JsonLinesProcessMetricsListener(Path file) {
+    this.file = file;
+  }
+
+  @Override
+  public synchronized void processFinished(ProcessInvocation invocation) {
+    try {
+      Path parent = file.getParent();
+      if (parent != null) {
+        Files.createDirectories(parent);
+      }
+      try (Writer writer =
+          Files.newBufferedWriter(
+              file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+        writer.write(gson.toJson(invocation));
+        writer.write('\n');
+      }
+    } catch (IOException ex) {
+      logger.log(Level.WARNING, "Failed to write process metrics to " + file, ex);
+    }
+  }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.process;
+
+/** The kind of tool a child process runs. */
+public enum ProcessCategory {
+  /** gcloud commands run by the operations in {@code com.google.cloud.tools.appengine}. */
+  GCLOUD("gcloud"),
+  /** appcfg, used to stage appengine-web.xml based applications. */
+  APPCFG("appcfg"),
+  /** The Java dev appserver. */
+  DEV_APPSERVER("dev-appserver"),
+  /** Commands run while installing, updating and inspecting a managed Cloud SDK. */
+  MANAGED_CLOUD_SDK("managed-cloud-sdk");
+
+  private final String label;
+
+  ProcessCategory(String label) {
+    this.label = label;
+  }
+
+  @Override
+  public String toString() {
+    return label;
+  }
+}
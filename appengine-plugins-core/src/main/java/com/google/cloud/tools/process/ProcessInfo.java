@@ -0,0 +1,223 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.process;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Splitter;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
+
+/**
+ * Reads information about running processes. The process API of Java 9+ is used reflectively since
+ * the library targets Java 8, so all methods return null when it is not available.
+ */
+final class ProcessInfo {
+
+  @Nullable private static final Method PID = findMethod("java.lang.Process", "pid");
+  @Nullable private static final Method INFO = findMethod("java.lang.Process", "info");
+
+  @Nullable
+  private static final Method TOTAL_CPU_DURATION =
+      findMethod("java.lang.ProcessHandle$Info", "totalCpuDuration");
+
+  @Nullable
+  private static final Method DESCENDANTS = findMethod("java.lang.Process", "descendants");
+
+  @Nullable private static final Method DESTROY = findMethod("java.lang.ProcessHandle", "destroy");
+
+  @Nullable
+  private static final Method HANDLE_OF = findMethod("java.lang.ProcessHandle", "of", long.class);
+
+  @Nullable private static final Method HANDLE_INFO = findMethod("java.lang.ProcessHandle", "info");
+
+  @Nullable
+  private static final Method COMMAND_LINE =
+      findMethod("java.lang.ProcessHandle$Info", "commandLine");
+
+  @Nullable
+  private static final Method HANDLE_DESCENDANTS =
+      findMethod("java.lang.ProcessHandle", "descendants");
+
+  @Nullable
+  private static final Method DESTROY_FORCIBLY =
+      findMethod("java.lang.ProcessHandle", "destroyForcibly");
+
+  @Nullable private static final Method IS_ALIVE = findMethod("java.lang.ProcessHandle", "isAlive");
+
+  private static final long EXIT_POLL_MILLIS = 50;
+
+  private ProcessInfo() {}
+
+  /** Returns the operating system id of {@code process}. */
+  @Nullable
+  static Long pid(Process process) {
+    Object pid = invoke(PID, process);
+    return pid instanceof Long ? (Long) pid : null;
+  }
+
+  /** Returns the CPU time used so far by a running {@code process}. */
+  @Nullable
+  static Long totalCpuNanos(Process process) {
+    Object info = invoke(INFO, process);
+    if (info == null) {
+      return null;
+    }
+    Object cpu = invoke(TOTAL_CPU_DURATION, info);
+    if (cpu instanceof Optional && ((Optional<?>) cpu).isPresent()) {
+      Object duration = ((Optional<?>) cpu).get();
+      return duration instanceof Duration ? ((Duration) duration).toNanos() : null;
+    }
+    return null;
+  }
+
+  /** Returns true if the descendants of a process can be found, which requires Java 9. */
+  static boolean canFindDescendants() {
+    return DESCENDANTS != null && DESTROY != null;
+  }
+
+  /**
+   * Destroys the descendants of a running {@code process}, returning how many were found. Has to be
+   * called before {@code process} itself is destroyed, since orphaned descendants are no longer
+   * reachable through it.
+   */
+  static int destroyDescendants(Process process) {
+    Object descendants = invoke(DESCENDANTS, process);
+    if (!(descendants instanceof Stream)) {
+      return 0;
+    }
+    List<?> handles = ((Stream<?>) descendants).collect(Collectors.toList());
+    for (Object handle : handles) {
+      invoke(DESTROY, handle);
+    }
+    return handles.size();
+  }
+
+  /**
+   * Destroys the running process with the operating system id {@code pid} and its descendants, and
+   * destroys them forcibly if they are still running after {@code timeout}. The process is left
+   * alone if its command line is known and does not contain {@code command}, since the id may have
+   * been reused by an unrelated process.
+   *
+   * @return {@code false} if no such process runs or it could not be destroyed
+   */
+  static boolean destroyTree(long pid, String command, Duration timeout)
+      throws InterruptedException {
+    Object handle = unwrap(invoke(HANDLE_OF, null, pid));
+    if (handle == null || !isAlive(handle)) {
+      return false;
+    }
+    Object commandLine = unwrap(invoke(COMMAND_LINE, invoke(HANDLE_INFO, handle)));
+    if (commandLine != null && !commandLine.toString().contains(command)) {
+      return false;
+    }
+    Object descendants = invoke(HANDLE_DESCENDANTS, handle);
+    List<Object> tree = new ArrayList<>();
+    if (descendants instanceof Stream) {
+      ((Stream<?>) descendants).forEach(tree::add);
+    }
+    tree.add(handle);
+    for (Object process : tree) {
+      invoke(DESTROY, process);
+    }
+    long deadline = System.nanoTime() + timeout.toNanos();
+    while (tree.stream().anyMatch(ProcessInfo::isAlive)) {
+      if (System.nanoTime() - deadline > 0) {
+        for (Object process : tree) {
+          invoke(DESTROY_FORCIBLY, process);
+        }
+        break;
+      }
+      Thread.sleep(EXIT_POLL_MILLIS);
+    }
+    return true;
+  }
+
+  private static boolean isAlive(Object handle) {
+    return Boolean.TRUE.equals(invoke(IS_ALIVE, handle));
+  }
+
+  @Nullable
+  private static Object unwrap(@Nullable Object optional) {
+    return optional instanceof Optional ? ((Optional<?>) optional).orElse(null) : null;
+  }
+
+  /** Returns the peak resident set size of a running process, read from procfs on Linux. */
+  @Nullable
+  static Long peakRssBytes(long pid) {
+    return readPeakRss(Paths.get("/proc", Long.toString(pid), "status"));
+  }
+
+  @VisibleForTesting
+  @Nullable
+  static Long readPeakRss(Path procStatus) {
+    if (!Files.isReadable(procStatus)) {
+      return null;
+    }
+    try {
+      for (String line : Files.readAllLines(procStatus, StandardCharsets.UTF_8)) {
+        // VmHWM:     12345 kB
+        if (line.startsWith("VmHWM:")) {
+          List<String> fields =
+              Splitter.on(' ').omitEmptyStrings().splitToList(line.substring(6).trim());
+          if (!fields.isEmpty()) {
+            return Long.parseLong(fields.get(0)) * 1024;
+          }
+        }
+      }
+    } catch (IOException | NumberFormatException ex) {
+      // the process exited while reading or the format is unknown
+    }
+    return null;
+  }
+
+  @Nullable
+  private static Object invoke(
+      @Nullable Method method, @Nullable Object target, Object... arguments) {
+    if (method == null || (target == null && !Modifier.isStatic(method.getModifiers()))) {
+      return null;
+    }
+    try {
+      return method.invoke(target, arguments);
+    } catch (IllegalAccessException | InvocationTargetException | RuntimeException ex) {
+      // UnsupportedOperationException for Process implementations without a handle
+      return null;
+    }
+  }
+
+  @Nullable
+  private static Method findMethod(
+      String className, String methodName, Class<?>... parameterTypes) {
+    try {
+      return Class.forName(className).getMethod(methodName, parameterTypes);
+    } catch (ClassNotFoundException | NoSuchMethodException ex) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.process;
+
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * Measurements of one finished child process. Durations are in milliseconds, measured from just
+ * before the process was launched. Values that could not be measured are null.
+ */
+public class ProcessInvocation {
+
+  private final String category;
+  private final List<String> command;
+  private final long startTime;
+  private final long spawnMillis;
+  @Nullable private final Long firstLineMillis;
+  private final long wallMillis;
+  private final int exitCode;
+  private final long stdoutBytes;
+  private final long stderrBytes;
+  @Nullable private final Long cpuMillis;
+  @Nullable private final Long peakRssBytes;
+
+  ProcessInvocation(
+      ProcessCategory category,
+      List<String> command,
+      long startTime,
+      long spawnMillis,
+      @Nullable Long firstLineMillis,
+      long wallMillis,
+      int exitCode,
+      long stdoutBytes,
+      long stderrBytes,
+      @Nullable Long cpuMillis,
+      @Nullable Long peakRssBytes) {
+    this.category = category.toString();
+    this.command = ImmutableList.copyOf(command);
+    this.startTime = startTime;
+    this.spawnMillis = spawnMillis;
+    this.firstLineMillis = firstLineMillis;
+    this.wallMillis = wallMillis;
+    this.exitCode = exitCode;
+    this.stdoutBytes = stdoutBytes;
+    this.stderrBytes = stderrBytes;
+    this.cpuMillis = cpuMillis;
+    this.peakRssBytes = peakRssBytes;
+  }
+
+  /** The {@link ProcessCategory} label of the process. */
+  public String getCategory() {
+    return category;
+  }
+
+  public List<String> getCommand() {
+    return command;
+  }
+
+  /** Launch time in milliseconds since the epoch. */
+  public long getStartTime() {
+    return startTime;
+  }
+
+  /** Time spent in {@link ProcessBuilder#start()}. */
+  public long getSpawnMillis() {
+    return spawnMillis;
+  }
+
+  /**
+   * Time until the first complete line on stdout or stderr, null if the process printed nothing. A
+   * last line without a line terminator completes when its stream ends.
+   */
+  @Nullable
+  public Long getFirstLineMillis() {
+    return firstLineMillis;
+  }
+
+  /** Time until the process exited. */
+  public long getWallMillis() {
+    return wallMillis;
+  }
+
+  public int getExitCode() {
+    return exitCode;
+  }
+
+  /** Bytes read from the process stdout. */
+  public long getStdoutBytes() {
+    return stdoutBytes;
+  }
+
+  /** Bytes read from the process stderr. */
+  public long getStderrBytes() {
+    return stderrBytes;
+  }
+
+  /** CPU time of the process, last sampled before it exited. Only available on Java 9+. */
+  @Nullable
+  public Long getCpuMillis() {
+    return cpuMillis;
+  }
+
+  /** Peak resident set size of the process. Only available on Linux. */
+  @Nullable
+  public Long getPeakRssBytes() {
+    return peakRssBytes;
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.process;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Launches child processes and reports their measurements to the registered {@link
+ * ProcessMetricsListener}s. Processes are only instrumented while at least one listener is
+ * registered, otherwise {@link #start} is the same as {@link ProcessBuilder#start()}.
+ */
+public class ProcessMetrics {
+
+  private static final Logger logger = Logger.getLogger(ProcessMetrics.class.getName());
+
+  private static final List<ProcessMetricsListener> listeners = new CopyOnWriteArrayList<>();
+
+  private ProcessMetrics() {}
+
+  /** Registers a listener for all processes started from now on. */
+  public static void addListener(ProcessMetricsListener listener) {
+    listeners.add(Preconditions.checkNotNull(listener));
+  }
+
+  public static void removeListener(ProcessMetricsListener listener) {
+    listeners.remove(listener);
+  }
+
+  /**
+   * Starts the process described by {@code processBuilder}.
+   *
+   * @param category the kind of tool the process runs
+   * @return the started process, instrumented if any listener is registered
+   * @throws IOException when the process cannot be started
+   */
+  public static Process start(ProcessCategory category, ProcessBuilder processBuilder)
+      throws IOException {
+    if (listeners.isEmpty()) {
+      return processBuilder.start();
+    }
+    long startTime = System.currentTimeMillis();
+    long launchNanos = System.nanoTime();
+    Process process = processBuilder.start();
+    return new InstrumentedProcess(
+        category, processBuilder.command(), startTime, launchNanos, process);
+  }
+
+  static void publish(ProcessInvocation invocation) {
+    for (ProcessMetricsListener listener : listeners) {
+      try {
+        listener.processFinished(invocation);
+      } catch (RuntimeException ex) {
+        logger.log(Level.WARNING, "Process metrics listener failed", ex);
+      }
+    }
+  }
+
+  @VisibleForTesting
+  static void clearListeners() {
+    listeners.clear();
+  }
+}
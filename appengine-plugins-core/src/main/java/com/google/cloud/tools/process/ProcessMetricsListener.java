@@ -0,0 +1,27 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.process;
+
+/** Receives the measurements of child processes, register with {@link ProcessMetrics}. */
+public interface ProcessMetricsListener {
+
+  /**
+   * Called once per process after it exited and its output was consumed. May be called from any
+   * thread, concurrently for different processes.
+   */
+  void processFinished(ProcessInvocation invocation);
+}
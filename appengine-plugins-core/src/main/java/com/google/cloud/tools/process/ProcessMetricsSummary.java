@@ -0,0 +1,175 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.process;
+
+import com.google.common.base.Joiner;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/** Collects {@link ProcessInvocation}s and formats a per category summary of them. */
+public class ProcessMetricsSummary implements ProcessMetricsListener {
+
+  private static final int SLOWEST_COUNT = 3;
+  private static final int COMMAND_WORDS = 4;
+
+  private final List<ProcessInvocation> invocations = new ArrayList<>();
+
+  @Override
+  public synchronized void processFinished(ProcessInvocation invocation) {
+    invocations.add(invocation);
+  }
+
+  public synchronized List<ProcessInvocation> getInvocations() {
+    return new ArrayList<>(invocations);
+  }
+
+  /**
+   * Returns the summary lines: one line per category in order of first use, followed by the slowest
+   * processes. Empty when no process finished.
+   */
+  public synchronized List<String> format() {
+    List<String> lines = new ArrayList<>();
+    if (invocations.isEmpty()) {
+      return lines;
+    }
+
+    Map<String, List<ProcessInvocation>> byCategory = new LinkedHashMap<>();
+    for (ProcessInvocation invocation : invocations) {
+      byCategory
+          .computeIfAbsent(invocation.getCategory(), key -> new ArrayList<>())
+          .add(invocation);
+    }
+    lines.add("Child processes:");
+    for (Map.Entry<String, List<ProcessInvocation>> entry : byCategory.entrySet()) {
+      lines.add("  " + formatCategory(entry.getKey(), entry.getValue()));
+    }
+
+    List<ProcessInvocation> slowest = new ArrayList<>(invocations);
+    slowest.sort(Comparator.comparingLong(ProcessInvocation::getWallMillis).reversed());
+    lines.add("Slowest:");
+    for (ProcessInvocation invocation :
+        slowest.subList(0, Math.min(SLOWEST_COUNT, slowest.size()))) {
+      lines.add(
+          String.format(
+              Locale.ROOT,
+              "  %s  %s: %s (exit %d)",
+              formatMillis(invocation.getWallMillis()),
+              invocation.getCategory(),
+              abbreviate(invocation.getCommand()),
+              invocation.getExitCode()));
+    }
+    return lines;
+  }
+
+  private static String formatCategory(String category, List<ProcessInvocation> invocations) {
+    long wall = 0;
+    long maxWall = 0;
+    long spawn = 0;
+    long firstLine = 0;
+    int withLine = 0;
+    long cpu = 0;
+    boolean hasCpu = false;
+    long peakRss = -1;
+    for (ProcessInvocation invocation : invocations) {
+      wall += invocation.getWallMillis();
+      maxWall = Math.max(maxWall, invocation.getWallMillis());
+      spawn += invocation.getSpawnMillis();
+      Long firstLineMillis = invocation.getFirstLineMillis();
+      if (firstLineMillis != null) {
+        firstLine += firstLineMillis;
+        withLine++;
+      }
+      Long cpuMillis = invocation.getCpuMillis();
+      if (cpuMillis != null) {
+        cpu += cpuMillis;
+        hasCpu = true;
+      }
+      Long rss = invocation.getPeakRssBytes();
+      if (rss != null) {
+        peakRss = Math.max(peakRss, rss);
+      }
+    }
+
+    StringBuilder line = new StringBuilder();
+    line.append(
+        String.format(
+            Locale.ROOT,
+            "%s: %d run(s), %s total, %s max, spawn avg %s",
+            category,
+            invocations.size(),
+            formatMillis(wall),
+            formatMillis(maxWall),
+            formatMillis(spawn / invocations.size())));
+    if (withLine > 0) {
+      line.append(", first line avg ").append(formatMillis(firstLine / withLine));
+    }
+    if (hasCpu) {
+      line.append(", cpu ").append(formatMillis(cpu));
+    }
+    if (peakRss >= 0) {
+      line.append(String.format(Locale.ROOT, ", peak rss %d MB", peakRss / (1024 * 1024)));
+    }
+    return line.toString();
+  }
+
+  private static String formatMillis(long millis) {
+    if (millis < 1000) {
+      return millis + "ms";
+    }
+    return String.format(Locale.ROOT, "%.1fs", millis / 1000.0);
+  }
+
+  /**
+   * Shortens a command to the executable name and the words that identify what it does: the leading
+   * subcommands for gcloud and the main class for java.
+   */
+  private static String abbreviate(List<String> command) {
+    if (command.isEmpty()) {
+      return "";
+    }
+    String executable = command.get(0);
+    executable =
+        executable.substring(
+            Math.max(executable.lastIndexOf('/'), executable.lastIndexOf('\\')) + 1);
+    List<String> words = new ArrayList<>();
+    words.add(executable);
+    List<String> arguments = command.subList(1, command.size());
+    if (executable.equals("java") || executable.equals("java.exe")) {
+      for (int i = 0; i < arguments.size(); i++) {
+        String argument = arguments.get(i);
+        if (argument.equals("-cp") || argument.equals("-classpath")) {
+          i++;
+        } else if (!argument.startsWith("-")) {
+          words.add(argument.substring(argument.lastIndexOf('.') + 1));
+          break;
+        }
+      }
+    } else {
+      for (String argument : arguments) {
+        if (words.size() >= COMMAND_WORDS || argument.startsWith("-")) {
+          break;
+        }
+        words.add(argument);
+      }
+    }
+    return Joiner.on(' ').join(words);
+  }
+}
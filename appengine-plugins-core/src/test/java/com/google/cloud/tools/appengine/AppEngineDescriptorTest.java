@@ -24,6 +24,7 @@ import static org.junit.Assert.assertTrue;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -236,6 +237,41 @@ public class AppEngineDescriptorTest {
     assertEquals(expectedEnvironment, environment);
   }
 
+  @Test
+  public void testIsThreadsafe() throws AppEngineException, IOException, SAXException {
+    assertTrue(
+        parse(ROOT_START_TAG + "<threadsafe>true</threadsafe>" + ROOT_END_TAG).isThreadsafe());
+    assertFalse(
+        parse(ROOT_START_TAG + "<threadsafe>false</threadsafe>" + ROOT_END_TAG).isThreadsafe());
+    assertFalse(parse(XML_WITHOUT_PROJECT_ID).isThreadsafe());
+  }
+
+  @Test
+  public void testIsWarmupRequestsEnabled() throws AppEngineException, IOException, SAXException {
+    assertTrue(
+        parse(
+                ROOT_START_TAG
+                    + "<warmup-requests-enabled>true</warmup-requests-enabled>"
+                    + ROOT_END_TAG)
+            .isWarmupRequestsEnabled());
+    assertFalse(
+        parse(
+                ROOT_START_TAG
+                    + "<warmup-requests-enabled>false</warmup-requests-enabled>"
+                    + ROOT_END_TAG)
+            .isWarmupRequestsEnabled());
+    assertTrue(parse(XML_WITHOUT_PROJECT_ID).isWarmupRequestsEnabled());
+  }
+
+  @Test
+  public void testGetTopLevelElementNames() throws IOException, SAXException {
+    AppEngineDescriptor descriptor =
+        parse(ROOT_START_TAG + PROJECT_ID + COMMENT + VERSION + ENVIRONMENT + ROOT_END_TAG);
+    assertEquals(
+        ImmutableSet.of("application", "version", "env-variables"),
+        descriptor.getTopLevelElementNames());
+  }
+
   @Test
   public void testParse_documentWithEntities()
       throws IOException, SAXException, AppEngineException {
@@ -51,6 +51,7 @@ public class RunConfigurationTest {
             .jvmFlags(jvmFlags)
             .port(999)
             .projectId("projectId")
+            .fastStart(true)
             .build();
   }
 
@@ -83,5 +84,6 @@ public class RunConfigurationTest {
     Assert.assertEquals("defaultGcsBucketName", configuration.getDefaultGcsBucketName());
     Assert.assertEquals("projectId", configuration.getProjectId());
     Assert.assertEquals(Boolean.TRUE, configuration.getAutomaticRestart());
+    Assert.assertEquals(Boolean.TRUE, configuration.getFastStart());
   }
 }
@@ -25,6 +25,8 @@ import com.google.cloud.tools.appengine.operations.cloudsdk.process.ProcessHandl
 import com.google.cloud.tools.appengine.operations.cloudsdk.process.ProcessHandlerException;
 import com.google.common.collect.ImmutableList;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import org.junit.Assert;
 import org.junit.Before;
@@ -68,7 +70,7 @@ public class AppCfgRunnerTest {
       throws InvalidJavaSdkException, ProcessHandlerException,
           AppEngineJavaComponentsNotInstalledException, IOException {
     AppCfgRunner appCfgRunner =
-        new AppCfgRunner.Factory(processBuilderFactory).newRunner(sdk, processHandler);
+        new AppCfgRunner.Factory(processBuilderFactory).newRunner(sdk, processHandler, false);
 
     appCfgRunner.run(ImmutableList.of("some", "command"));
 
@@ -76,6 +78,7 @@ public class AppCfgRunnerTest {
         .command(
             ImmutableList.of(
                 javaExecutablePath.toString(),
+                "-Dappengine.sdk.root=" + appengineJavaSdkPath,
                 "-cp",
                 appengineToolsJar.toString(),
                 "com.google.appengine.tools.admin.AppCfg",
@@ -85,6 +88,34 @@ public class AppCfgRunnerTest {
     Mockito.verifyNoMoreInteractions(processBuilder);
 
     Mockito.verify(processHandler).handleProcess(process);
-    Assert.assertEquals(appengineJavaSdkPath.toString(), System.getProperty("appengine.sdk.root"));
+    Assert.assertNull(System.getProperty("appengine.sdk.root"));
+  }
+
+  @Test
+  public void testRun_classDataSharing()
+      throws InvalidJavaSdkException, ProcessHandlerException,
+          AppEngineJavaComponentsNotInstalledException, IOException {
+    Path javaHome = testFolder.newFolder("jdk").toPath();
+    Files.write(
+        javaHome.resolve("release"), "JAVA_VERSION=\"17.0.2\"\n".getBytes(StandardCharsets.UTF_8));
+    when(sdk.getJavaHomePath()).thenReturn(javaHome);
+    AppCfgRunner appCfgRunner =
+        new AppCfgRunner.Factory(processBuilderFactory).newRunner(sdk, processHandler, true);
+
+    appCfgRunner.run(ImmutableList.of("some", "command"));
+
+    Path archive = ClassDataSharingArchive.forAppEngineTools(sdk, "appcfg").getArchive();
+    Assert.assertTrue(archive.startsWith(appengineJavaSdkPath.resolve("cds")));
+    Mockito.verify(processBuilder)
+        .command(
+            ImmutableList.of(
+                javaExecutablePath.toString(),
+                "-XX:ArchiveClassesAtExit=" + archive,
+                "-Dappengine.sdk.root=" + appengineJavaSdkPath,
+                "-cp",
+                appengineToolsJar.toString(),
+                "com.google.appengine.tools.admin.AppCfg",
+                "some",
+                "command"));
   }
 }
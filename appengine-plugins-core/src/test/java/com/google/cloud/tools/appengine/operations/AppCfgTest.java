@@ -33,6 +33,15 @@ public class AppCfgTest {
   @Test
   public void testGetRunner_parametersPassedToFactory() {
     new AppCfg.Builder(sdk, appCfgRunnerFactory).build().getRunner(processHandler);
-    Mockito.verify(appCfgRunnerFactory).newRunner(sdk, processHandler);
+    Mockito.verify(appCfgRunnerFactory).newRunner(sdk, processHandler, false);
+  }
+
+  @Test
+  public void testGetRunner_classDataSharing() {
+    new AppCfg.Builder(sdk, appCfgRunnerFactory)
+        .classDataSharing(true)
+        .build()
+        .getRunner(processHandler);
+    Mockito.verify(appCfgRunnerFactory).newRunner(sdk, processHandler, true);
   }
 }
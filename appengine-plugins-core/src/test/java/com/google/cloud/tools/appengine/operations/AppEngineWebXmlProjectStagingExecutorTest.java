@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.appengine.operations;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.cloud.tools.appengine.AppEngineException;
+import com.google.cloud.tools.appengine.configuration.AppEngineWebXmlProjectStageConfiguration;
+import com.google.cloud.tools.appengine.operations.cloudsdk.process.ProcessHandler;
+import com.google.common.collect.ImmutableList;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AppEngineWebXmlProjectStagingExecutorTest {
+
+  @Mock private AppCfg appCfg;
+  @Mock private ProcessHandler processHandler;
+  @Mock private AppEngineWebXmlProjectStaging staging;
+
+  private AppEngineWebXmlProjectStagingExecutor executor;
+
+  @Before
+  public void setUp() {
+    Mockito.lenient().when(appCfg.newStaging(processHandler)).thenReturn(staging);
+    executor = new AppEngineWebXmlProjectStagingExecutor(appCfg, () -> processHandler, 2);
+  }
+
+  private static AppEngineWebXmlProjectStageConfiguration newConfig(String service) {
+    Path root = Paths.get("build", service);
+    return AppEngineWebXmlProjectStageConfiguration.builder(
+            root.resolve("exploded"), root.resolve("staged"))
+        .build();
+  }
+
+  @Test
+  public void testStageAll_concurrently() throws AppEngineException {
+    CountDownLatch bothStarted = new CountDownLatch(2);
+    Mockito.doAnswer(
+            invocation -> {
+              bothStarted.countDown();
+              assertTrue(bothStarted.await(10, TimeUnit.SECONDS));
+              return null;
+            })
+        .when(staging)
+        .stageStandard(Mockito.any());
+    AppEngineWebXmlProjectStageConfiguration first = newConfig("first");
+    AppEngineWebXmlProjectStageConfiguration second = newConfig("second");
+
+    executor.stageAll(ImmutableList.of(first, second));
+
+    Mockito.verify(appCfg, Mockito.times(2)).newStaging(processHandler);
+    Mockito.verify(staging).stageStandard(first);
+    Mockito.verify(staging).stageStandard(second);
+  }
+
+  @Test
+  public void testStageAll_failures() throws AppEngineException {
+    AppEngineWebXmlProjectStageConfiguration first = newConfig("first");
+    AppEngineWebXmlProjectStageConfiguration second = newConfig("second");
+    AppEngineWebXmlProjectStageConfiguration third = newConfig("third");
+    AppEngineException firstFailure = new AppEngineException("first failed");
+    AppEngineException thirdFailure = new AppEngineException("third failed");
+    Mockito.doThrow(firstFailure).when(staging).stageStandard(first);
+    Mockito.doThrow(thirdFailure).when(staging).stageStandard(third);
+
+    try {
+      executor.stageAll(ImmutableList.of(first, second, third));
+      fail();
+    } catch (AppEngineException ex) {
+      assertEquals("Failed to stage 2 of 3 applications", ex.getMessage());
+      Throwable cause = ex.getCause();
+      assertNotNull(cause);
+      assertSame(firstFailure, cause.getCause());
+      assertEquals(1, ex.getSuppressed().length);
+      assertSame(thirdFailure, ex.getSuppressed()[0].getCause());
+    }
+    Mockito.verify(staging).stageStandard(second);
+  }
+
+  @Test
+  public void testStageAll_sameStagingDirectory() throws AppEngineException {
+    AppEngineWebXmlProjectStageConfiguration first = newConfig("first");
+    AppEngineWebXmlProjectStageConfiguration second =
+        AppEngineWebXmlProjectStageConfiguration.builder(
+                Paths.get("build", "second", "exploded"), first.getStagingDirectory())
+            .build();
+    try {
+      executor.stageAll(ImmutableList.of(first, second));
+      fail();
+    } catch (IllegalArgumentException ex) {
+      assertEquals(
+          "Staging directory " + first.getStagingDirectory() + " is used more than once",
+          ex.getMessage());
+    }
+    Mockito.verifyNoInteractions(appCfg);
+  }
+
+  @Test
+  public void testStageAll_empty() throws AppEngineException {
+    executor.stageAll(ImmutableList.of());
+    Mockito.verifyNoInteractions(appCfg);
+  }
+}
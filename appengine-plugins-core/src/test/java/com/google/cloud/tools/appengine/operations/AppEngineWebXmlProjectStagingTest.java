@@ -27,6 +27,7 @@ import com.google.cloud.tools.appengine.operations.cloudsdk.InvalidJavaSdkExcept
 import com.google.cloud.tools.appengine.operations.cloudsdk.process.ProcessHandlerException;
 import com.google.common.collect.ImmutableList;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
@@ -165,4 +166,53 @@ public class AppEngineWebXmlProjectStagingTest {
 
     verify(appCfgRunner, times(1)).run(eq(expected));
   }
+
+  @Test
+  public void testNativeStaging() throws Exception {
+    writeAppEngineWebXml();
+
+    staging.stageStandard(builder.nativeStaging(true).build());
+
+    verify(appCfgRunner, Mockito.never()).run(Mockito.anyList());
+    Assert.assertTrue(Files.exists(destination.resolve("WEB-INF/appengine-web.xml")));
+    Assert.assertTrue(Files.exists(destination.resolve("app.yaml")));
+  }
+
+  @Test
+  public void testNativeStaging_fallsBackToAppCfg() throws Exception {
+    writeAppEngineWebXml();
+
+    staging.stageStandard(builder.nativeStaging(true).enableQuickstart(true).build());
+
+    List<String> expected =
+        ImmutableList.of("--enable_quickstart", "stage", source.toString(), destination.toString());
+    verify(appCfgRunner, times(1)).run(eq(expected));
+  }
+
+  @Test
+  public void testNativeStaging_splitsJarsAfterAppCfg() throws Exception {
+    writeAppEngineWebXml();
+
+    staging.stageStandard(
+        builder
+            .nativeStaging(true)
+            .enableQuickstart(true)
+            .enableJarSplitting(true)
+            .jarSplittingExcludes(".java")
+            .build());
+
+    List<String> expected =
+        ImmutableList.of("--enable_quickstart", "stage", source.toString(), destination.toString());
+    verify(appCfgRunner, times(1)).run(eq(expected));
+  }
+
+  private void writeAppEngineWebXml() throws IOException {
+    Files.createDirectories(source.resolve("WEB-INF"));
+    Files.write(
+        source.resolve("WEB-INF/appengine-web.xml"),
+        ("<appengine-web-app xmlns='http://appengine.google.com/ns/1.0'>"
+                + "<runtime>java8</runtime><threadsafe>true</threadsafe>"
+                + "<warmup-requests-enabled>false</warmup-requests-enabled></appengine-web-app>")
+            .getBytes(StandardCharsets.UTF_8));
+  }
 }
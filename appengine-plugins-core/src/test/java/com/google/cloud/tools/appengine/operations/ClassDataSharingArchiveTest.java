@@ -0,0 +1,168 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.appengine.operations;
+
+import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ClassDataSharingArchiveTest {
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private Path javaHome;
+  private Path jar;
+  private Path archive;
+
+  @Before
+  public void setUp() throws IOException {
+    javaHome = temporaryFolder.newFolder("jdk").toPath();
+    writeRelease("17.0.2");
+    jar = temporaryFolder.newFile("tools.jar").toPath();
+    archive = temporaryFolder.getRoot().toPath().resolve("cds/tools.jsa");
+  }
+
+  @Test
+  public void testGetJvmFlags_dumpsMissingArchive() {
+    List<String> flags = newArchive().getJvmFlags();
+
+    Assert.assertEquals(ImmutableList.of("-XX:ArchiveClassesAtExit=" + archive), flags);
+    Assert.assertTrue(Files.exists(archive.resolveSibling("tools.jsa.properties")));
+  }
+
+  @Test
+  public void testGetJvmFlags_usesFreshArchive() throws IOException {
+    newArchive().getJvmFlags();
+    Files.write(archive, new byte[] {1});
+
+    List<String> flags = newArchive().getJvmFlags();
+
+    Assert.assertEquals(ImmutableList.of("-XX:SharedArchiveFile=" + archive), flags);
+  }
+
+  @Test
+  public void testGetJvmFlags_dumpsAgainWhenJarChanges() throws IOException {
+    newArchive().getJvmFlags();
+    Files.write(archive, new byte[] {1});
+    Files.setLastModifiedTime(jar, FileTime.fromMillis(1000));
+
+    List<String> flags = newArchive().getJvmFlags();
+
+    Assert.assertEquals(ImmutableList.of("-XX:ArchiveClassesAtExit=" + archive), flags);
+    Assert.assertFalse(Files.exists(archive));
+  }
+
+  @Test
+  public void testGetJvmFlags_dumpsAgainWhenJdkChanges() throws IOException {
+    newArchive().getJvmFlags();
+    Files.write(archive, new byte[] {1});
+    writeRelease("17.0.3");
+
+    List<String> flags = newArchive().getJvmFlags();
+
+    Assert.assertEquals(ImmutableList.of("-XX:ArchiveClassesAtExit=" + archive), flags);
+  }
+
+  @Test
+  public void testGetJvmFlags_skipsArchiveBeingDumped() {
+    newArchive().getJvmFlags();
+
+    Assert.assertEquals(ImmutableList.of(), newArchive().getJvmFlags());
+  }
+
+  @Test
+  public void testGetJvmFlags_dumpsAgainWhenDumpTimedOut() throws IOException {
+    newArchive().getJvmFlags();
+    long expired =
+        System.currentTimeMillis() - ClassDataSharingArchive.DUMP_TIMEOUT.toMillis() - 1000;
+    Files.setLastModifiedTime(
+        archive.resolveSibling("tools.jsa.properties"), FileTime.fromMillis(expired));
+
+    List<String> flags = newArchive().getJvmFlags();
+
+    Assert.assertEquals(ImmutableList.of("-XX:ArchiveClassesAtExit=" + archive), flags);
+  }
+
+  @Test
+  public void testGetJvmFlags_claimedUnderFileLock() throws IOException {
+    Files.createDirectories(temporaryFolder.getRoot().toPath().resolve("cds"));
+    // a lock held through another channel, like a launch from another class loader
+    try (FileChannel channel =
+            FileChannel.open(
+                archive.resolveSibling("tools.jsa.lock"),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE);
+        FileLock ignored = channel.lock()) {
+      Assert.assertEquals(ImmutableList.of(), newArchive().getJvmFlags());
+      Assert.assertFalse(Files.exists(archive.resolveSibling("tools.jsa.properties")));
+    }
+
+    List<String> flags = newArchive().getJvmFlags();
+
+    Assert.assertEquals(ImmutableList.of("-XX:ArchiveClassesAtExit=" + archive), flags);
+  }
+
+  @Test
+  public void testGetJvmFlags_readOnlyArchive() throws IOException {
+    newArchive().getJvmFlags();
+    Files.write(archive, new byte[] {1});
+    Files.delete(archive.resolveSibling("tools.jsa.lock"));
+    Path cds = temporaryFolder.getRoot().toPath().resolve("cds");
+    Assume.assumeTrue(cds.toFile().setWritable(false));
+    try {
+      Assume.assumeFalse(Files.isWritable(cds));
+
+      List<String> flags = newArchive().getJvmFlags();
+
+      Assert.assertEquals(ImmutableList.of("-XX:SharedArchiveFile=" + archive), flags);
+    } finally {
+      cds.toFile().setWritable(true);
+    }
+  }
+
+  @Test
+  public void testGetJvmFlags_unsupportedJdk() throws IOException {
+    writeRelease("11.0.12");
+
+    Assert.assertEquals(ImmutableList.of(), newArchive().getJvmFlags());
+    Assert.assertFalse(Files.exists(archive.getParent()));
+  }
+
+  private ClassDataSharingArchive newArchive() {
+    return new ClassDataSharingArchive(archive, javaHome, ImmutableList.of(jar));
+  }
+
+  private void writeRelease(String version) throws IOException {
+    Files.write(
+        javaHome.resolve("release"),
+        ("IMPLEMENTOR=\"Test\"\nJAVA_VERSION=\"" + version + "\"\n")
+            .getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -89,6 +89,10 @@ public class DevServerJava8Test {
     fakeJavaSdkHome = temporaryFolder.newFolder("java-sdk").toPath();
 
     Mockito.when(sdk.getAppEngineSdkForJavaPath()).thenReturn(fakeJavaSdkHome);
+    // the dev server is launched with the JDK running the tests
+    Mockito.lenient()
+        .when(sdk.getJavaHomePath())
+        .thenReturn(Paths.get(System.getProperty("java.home")));
 
     testHandler = LogStoringHandler.getForLogger(DevServer.class.getName());
   }
@@ -148,6 +152,7 @@ public class DevServerJava8Test {
                 .environment(ImmutableMap.of("ENV_NAME", "ENV_VAL"))
                 .additionalArguments(Arrays.asList("--ARG1", "--ARG2"))
                 .projectJdkVersion("1.8")
+                .fastStart(false)
                 .build());
 
     SpyVerifier.newVerifier(configuration).verifyAllValuesNotNull();
@@ -33,6 +33,8 @@ import com.google.cloud.tools.test.utils.SpyVerifier;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
@@ -92,6 +94,10 @@ public class DevServerJava9OrAboveTest {
     fakeJavaSdkHome = temporaryFolder.newFolder("java-sdk").toPath();
 
     Mockito.when(sdk.getAppEngineSdkForJavaPath()).thenReturn(fakeJavaSdkHome);
+    // the dev server is launched with the JDK running the tests
+    Mockito.lenient()
+        .when(sdk.getJavaHomePath())
+        .thenReturn(Paths.get(System.getProperty("java.home")));
 
     testHandler = LogStoringHandler.getForLogger(DevServer.class.getName());
   }
@@ -151,6 +157,7 @@ public class DevServerJava9OrAboveTest {
                 .environment(ImmutableMap.of("ENV_NAME", "ENV_VAL"))
                 .additionalArguments(Arrays.asList("--ARG1", "--ARG2"))
                 .projectJdkVersion("11")
+                .fastStart(false)
                 .build());
 
     SpyVerifier.newVerifier(configuration).verifyAllValuesNotNull();
@@ -218,6 +225,7 @@ public class DevServerJava9OrAboveTest {
                 .environment(ImmutableMap.of("ENV_NAME", "ENV_VAL"))
                 .additionalArguments(Arrays.asList("--ARG1", "--ARG2"))
                 .projectJdkVersion("1.8")
+                .fastStart(false)
                 .build());
 
     SpyVerifier.newVerifier(configuration).verifyAllValuesNotNull();
@@ -841,6 +849,68 @@ public class DevServerJava9OrAboveTest {
     Assert.assertEquals(Level.WARNING, logRecord.getLevel());
   }
 
+  @Test
+  public void testPrepareCommand_fastStart()
+      throws AppEngineException, ProcessHandlerException, IOException {
+    Path service = temporaryFolder.newFolder("service").toPath();
+    Files.createDirectories(service.resolve("WEB-INF/lib"));
+    Files.copy(
+        java8Service.resolve("WEB-INF/appengine-web.xml"),
+        service.resolve("WEB-INF/appengine-web.xml"));
+    Path javaHome = temporaryFolder.newFolder("jdk").toPath();
+    Files.write(
+        javaHome.resolve("release"), "JAVA_VERSION=\"17.0.2\"\n".getBytes(StandardCharsets.UTF_8));
+    Mockito.when(sdk.getJavaHomePath()).thenReturn(javaHome);
+    Mockito.when(sdk.getAppEngineToolsJar()).thenReturn(fakeJavaSdkHome.resolve("tools.jar"));
+    RunConfiguration configuration =
+        RunConfiguration.builder(ImmutableList.of(service)).fastStart(true).build();
+
+    devServer.run(configuration);
+
+    Path archive = service.resolveSibling("service.devappserver.jsa");
+    List<String> expectedJvmArgs =
+        ImmutableList.of(
+            "-XX:ArchiveClassesAtExit=" + archive,
+            "-XX:TieredStopAtLevel=1",
+            "--add-opens",
+            "java.base/java.net=ALL-UNNAMED",
+            "--add-opens",
+            "java.base/sun.net.www.protocol.http=ALL-UNNAMED",
+            "--add-opens",
+            "java.base/sun.net.www.protocol.https=ALL-UNNAMED",
+            "-Duse_jetty9_runtime=true",
+            "-D--enable_all_permissions=true");
+    verify(devAppServerRunner).run(eq(expectedJvmArgs), any(), any(), eq(service));
+  }
+
+  @Test
+  public void testPrepareCommand_fastStartKeepsCompilerFlags()
+      throws AppEngineException, ProcessHandlerException, IOException {
+    Path javaHome = temporaryFolder.newFolder("jdk").toPath();
+    Mockito.when(sdk.getJavaHomePath()).thenReturn(javaHome);
+    Mockito.when(sdk.getAppEngineToolsJar()).thenReturn(fakeJavaSdkHome.resolve("tools.jar"));
+    RunConfiguration configuration =
+        RunConfiguration.builder(ImmutableList.of(java8Service))
+            .fastStart(true)
+            .jvmFlags(ImmutableList.of("-XX:-TieredCompilation"))
+            .build();
+
+    devServer.run(configuration);
+
+    List<String> expectedJvmArgs =
+        ImmutableList.of(
+            "-XX:-TieredCompilation",
+            "--add-opens",
+            "java.base/java.net=ALL-UNNAMED",
+            "--add-opens",
+            "java.base/sun.net.www.protocol.http=ALL-UNNAMED",
+            "--add-opens",
+            "java.base/sun.net.www.protocol.https=ALL-UNNAMED",
+            "-Duse_jetty9_runtime=true",
+            "-D--enable_all_permissions=true");
+    verify(devAppServerRunner).run(eq(expectedJvmArgs), any(), any(), eq(java8Service));
+  }
+
   @Test
   public void testWorkingDirectory_fallbackIfOneProject()
       throws ProcessHandlerException, AppEngineException, IOException {
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.appengine.operations;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.google.cloud.tools.appengine.AppEngineException;
+import com.google.cloud.tools.appengine.configuration.RunConfiguration;
+import com.google.cloud.tools.appengine.configuration.StopConfiguration;
+import com.google.cloud.tools.appengine.operations.DevServerOrchestrator.ServiceInstance;
+import com.google.cloud.tools.appengine.operations.cloudsdk.process.ProcessHandler;
+import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javax.annotation.Nullable;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+
+public class DevServerOrchestratorTest {
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final DevServer defaultServer = mock(DevServer.class);
+  private final DevServer backendServer = mock(DevServer.class);
+  private final List<String> handlers = Collections.synchronizedList(new ArrayList<>());
+  private DevServerOrchestrator orchestrator;
+  private Path frontend;
+  private Path backend;
+
+  @Before
+  public void setUp() throws IOException {
+    frontend = newService("frontend", null);
+    backend = newService("backend", "backend");
+    orchestrator =
+        new DevServerOrchestrator(
+            processHandler ->
+                processHandler.toString().equals("backend") ? backendServer : defaultServer,
+            (service, port) -> {
+              handlers.add(service + ":" + port);
+              ProcessHandler processHandler = mock(ProcessHandler.class, service);
+              return processHandler;
+            });
+  }
+
+  @Test
+  public void testRun_startsEveryServiceOnItsOwnPort() throws AppEngineException {
+    RunConfiguration config =
+        RunConfiguration.builder(ImmutableList.of(frontend, backend))
+            .port(0)
+            .host("localhost")
+            .build();
+
+    List<ServiceInstance> instances = orchestrator.run(config);
+
+    Assert.assertEquals(2, instances.size());
+    Assert.assertEquals("default", instances.get(0).getService());
+    Assert.assertEquals("backend", instances.get(1).getService());
+    Assert.assertNotEquals(instances.get(0).getPort(), instances.get(1).getPort());
+    Assert.assertEquals(instances, orchestrator.getServiceInstances());
+    Assert.assertEquals(2, handlers.size());
+
+    RunConfiguration frontendConfig = captureRun(defaultServer);
+    Assert.assertEquals(ImmutableList.of(frontend), frontendConfig.getServices());
+    Assert.assertEquals(Integer.valueOf(instances.get(0).getPort()), frontendConfig.getPort());
+    Assert.assertEquals("localhost", frontendConfig.getHost());
+    RunConfiguration backendConfig = captureRun(backendServer);
+    Assert.assertEquals(ImmutableList.of(backend), backendConfig.getServices());
+    Assert.assertEquals(Integer.valueOf(instances.get(1).getPort()), backendConfig.getPort());
+  }
+
+  @Test
+  public void testRun_failureStopsOtherServices() throws AppEngineException {
+    doThrow(new AppEngineException("boom")).when(backendServer).run(any());
+    RunConfiguration config =
+        RunConfiguration.builder(ImmutableList.of(frontend, backend)).port(0).build();
+
+    try {
+      orchestrator.run(config);
+      Assert.fail();
+    } catch (AppEngineException ex) {
+      Assert.assertEquals("Failed to run 1 of 2 services", ex.getMessage());
+    }
+    verify(defaultServer).stop(any(StopConfiguration.class));
+    Assert.assertTrue(orchestrator.getServiceInstances().isEmpty());
+  }
+
+  @Test
+  public void testRun_duplicateService() throws IOException, AppEngineException {
+    Path other = newService("other", "backend");
+    RunConfiguration config =
+        RunConfiguration.builder(ImmutableList.of(backend, other)).port(0).build();
+
+    try {
+      orchestrator.run(config);
+      Assert.fail();
+    } catch (IllegalArgumentException ex) {
+      Assert.assertEquals("Service backend is defined more than once", ex.getMessage());
+    }
+  }
+
+  @Test
+  public void testStop_stopsEveryService() throws AppEngineException {
+    List<ServiceInstance> instances =
+        orchestrator.run(
+            RunConfiguration.builder(ImmutableList.of(frontend, backend)).port(0).build());
+
+    orchestrator.stop();
+
+    ArgumentCaptor<StopConfiguration> stop = ArgumentCaptor.forClass(StopConfiguration.class);
+    verify(backendServer).stop(stop.capture());
+    Assert.assertEquals(Integer.valueOf(instances.get(1).getPort()), stop.getValue().getPort());
+    Assert.assertTrue(orchestrator.getServiceInstances().isEmpty());
+  }
+
+  @Test
+  public void testStop_notRunning() throws AppEngineException {
+    orchestrator.stop();
+
+    verify(defaultServer, never()).stop(any(StopConfiguration.class));
+  }
+
+  @Test
+  public void testFindFreePort_skipsPortsInUse() throws IOException, AppEngineException {
+    try (ServerSocket socket = new ServerSocket()) {
+      socket.setReuseAddress(false);
+      socket.bind(new InetSocketAddress(0));
+      int used = socket.getLocalPort();
+
+      Assert.assertTrue(DevServerOrchestrator.findFreePort(used) > used);
+    }
+  }
+
+  private static RunConfiguration captureRun(DevServer devServer) throws AppEngineException {
+    ArgumentCaptor<RunConfiguration> config = ArgumentCaptor.forClass(RunConfiguration.class);
+    verify(devServer).run(config.capture());
+    RunConfiguration value = config.getValue();
+    Assert.assertNotNull(value);
+    return value;
+  }
+
+  private Path newService(String directory, @Nullable String service) throws IOException {
+    Path root = temporaryFolder.newFolder(directory).toPath();
+    Path webInf = Files.createDirectory(root.resolve("WEB-INF"));
+    String serviceElement = service == null ? "" : "<service>" + service + "</service>";
+    Files.write(
+        webInf.resolve("appengine-web.xml"),
+        ("<appengine-web-app xmlns='http://appengine.google.com/ns/1.0'>"
+                + serviceElement
+                + "</appengine-web-app>")
+            .getBytes(StandardCharsets.UTF_8));
+    return root;
+  }
+}
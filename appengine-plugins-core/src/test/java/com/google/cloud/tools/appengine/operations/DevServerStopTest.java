@@ -0,0 +1,303 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.appengine.operations;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.cloud.tools.appengine.AppEngineException;
+import com.google.cloud.tools.appengine.configuration.StopConfiguration;
+import com.google.cloud.tools.process.ChildProcesses;
+import com.google.common.collect.ImmutableList;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DevServerStopTest {
+
+  @Mock private CloudSdk sdk;
+  @Mock private DevAppServerRunner devAppServerRunner;
+
+  private final List<Process> started = new ArrayList<>();
+  private DevServer devServer;
+  private HttpServer server;
+  private int port;
+
+  @Before
+  public void setUp() throws IOException {
+    devServer = new DevServer(sdk, devAppServerRunner);
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    port = server.getAddress().getPort();
+  }
+
+  @After
+  public void tearDown() {
+    server.stop(0);
+    for (Process process : started) {
+      ChildProcesses.destroyTree(process);
+    }
+  }
+
+  @Test
+  public void testStop_waitsUntilPortReleased() throws AppEngineException {
+    server.createContext(
+        "/_ah/admin/quit",
+        exchange -> {
+          exchange.sendResponseHeaders(200, -1);
+          exchange.close();
+          // release the port after the response, like the dev server does
+          new Thread(() -> server.stop(0)).start();
+        });
+    server.start();
+
+    Duration elapsed = devServer.stopAndMeasure(stopConfiguration(10));
+
+    assertFalse(isListening());
+    assertTrue(elapsed.compareTo(Duration.ofSeconds(10)) < 0);
+  }
+
+  @Test
+  public void testStop_untrackedServerKeepsPort() {
+    server.createContext(
+        "/_ah/admin/quit",
+        exchange -> {
+          exchange.sendResponseHeaders(200, -1);
+          exchange.close();
+        });
+    server.start();
+
+    try {
+      devServer.stop(stopConfiguration(1));
+      fail();
+    } catch (AppEngineException ex) {
+      assertEquals(
+          "Dev server at 127.0.0.1:" + port + " did not stop within 1 seconds.", ex.getMessage());
+    }
+  }
+
+  @Test
+  public void testStop_killsTrackedServerKeepingPort() throws AppEngineException {
+    server.createContext(
+        "/_ah/admin/quit",
+        exchange -> {
+          exchange.sendResponseHeaders(200, -1);
+          exchange.close();
+        });
+    server.start();
+    ServerProcess process = new ServerProcess();
+    DevServerProcesses.track(ImmutableList.of("--port=" + port), process);
+
+    devServer.stop(stopConfiguration(1));
+
+    assertFalse(process.isAlive());
+    assertFalse(isListening());
+    assertNull(DevServerProcesses.get(port));
+  }
+
+  @Test
+  public void testStop_killsTrackedServerFailingToQuit() throws AppEngineException {
+    server.createContext(
+        "/_ah/admin/quit",
+        exchange -> {
+          exchange.sendResponseHeaders(500, -1);
+          exchange.close();
+        });
+    server.start();
+    ServerProcess process = new ServerProcess();
+    DevServerProcesses.track(ImmutableList.of("--port=" + port), process);
+
+    devServer.stop(stopConfiguration(10));
+
+    assertFalse(process.isAlive());
+    assertFalse(isListening());
+  }
+
+  @Test
+  public void testStop_killsServerByProcessId()
+      throws AppEngineException, IOException, InterruptedException {
+    server.createContext(
+        "/_ah/admin/quit",
+        exchange -> {
+          exchange.sendResponseHeaders(200, -1);
+          exchange.close();
+        });
+    server.start();
+    // a server started by another JVM, which is not tracked
+    Process process = startProcess("sleep 60; echo " + DevAppServerRunner.MAIN_CLASS);
+    long processId = processId(process);
+    Thread releasePort =
+        new Thread(
+            () -> {
+              try {
+                process.waitFor();
+              } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+              }
+              server.stop(0);
+            });
+    releasePort.start();
+
+    devServer.stop(stopConfiguration(1, processId));
+
+    assertTrue(process.waitFor(10, TimeUnit.SECONDS));
+    releasePort.join();
+    assertFalse(isListening());
+  }
+
+  @Test
+  public void testStop_doesNotKillUnrelatedProcess() throws IOException {
+    server.createContext(
+        "/_ah/admin/quit",
+        exchange -> {
+          exchange.sendResponseHeaders(200, -1);
+          exchange.close();
+        });
+    server.start();
+    Process process = startProcess("sleep 60");
+    long processId = processId(process);
+
+    try {
+      devServer.stop(stopConfiguration(1, processId));
+      fail();
+    } catch (AppEngineException ex) {
+      assertEquals(
+          "Dev server process " + processId + " is not running or cannot be killed.",
+          ex.getMessage());
+    }
+    assertTrue(process.isAlive());
+  }
+
+  @Test
+  public void testTrack_defaultPort() {
+    ServerProcess process = new ServerProcess();
+    DevServerProcesses.track(ImmutableList.of("--address=localhost"), process);
+
+    Process tracked = DevServerProcesses.get(8080);
+    assertNotNull(tracked);
+    assertEquals(process, tracked);
+    process.destroy();
+    assertNull(DevServerProcesses.get(8080));
+  }
+
+  private Process startProcess(String script) throws IOException {
+    Process process = new ProcessBuilder("sh", "-c", script).start();
+    started.add(process);
+    return process;
+  }
+
+  // the process id is only known on Java 9 and later
+  private static long processId(Process process) {
+    Long processId = ChildProcesses.pid(process);
+    Assume.assumeNotNull(processId);
+    return processId == null ? -1 : processId;
+  }
+
+  private StopConfiguration stopConfiguration(int timeout) {
+    return StopConfiguration.builder().host("127.0.0.1").port(port).timeout(timeout).build();
+  }
+
+  private StopConfiguration stopConfiguration(int timeout, long processId) {
+    return StopConfiguration.builder()
+        .host("127.0.0.1")
+        .port(port)
+        .timeout(timeout)
+        .processId(processId)
+        .build();
+  }
+
+  private boolean isListening() {
+    try (Socket socket = new Socket()) {
+      socket.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 200);
+      return true;
+    } catch (IOException ex) {
+      return false;
+    }
+  }
+
+  /** A process standing in for a dev server, which releases the port when it is destroyed. */
+  private class ServerProcess extends Process {
+    private final CountDownLatch exited = new CountDownLatch(1);
+
+    @Override
+    public OutputStream getOutputStream() {
+      return new ByteArrayOutputStream();
+    }
+
+    @Override
+    public InputStream getInputStream() {
+      return new ByteArrayInputStream(new byte[0]);
+    }
+
+    @Override
+    public InputStream getErrorStream() {
+      return new ByteArrayInputStream(new byte[0]);
+    }
+
+    @Override
+    public int waitFor() throws InterruptedException {
+      exited.await();
+      return 143;
+    }
+
+    @Override
+    public boolean waitFor(long timeout, TimeUnit unit) throws InterruptedException {
+      return exited.await(timeout, unit);
+    }
+
+    @Override
+    public int exitValue() {
+      if (exited.getCount() > 0) {
+        throw new IllegalThreadStateException();
+      }
+      return 143;
+    }
+
+    @Override
+    public boolean isAlive() {
+      return exited.getCount() > 0;
+    }
+
+    @Override
+    public void destroy() {
+      server.stop(0);
+      exited.countDown();
+    }
+  }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.appengine.operations;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class GitRepositoryTest {
+
+  private static final String SHA = "0123456789abcdef0123456789abcdef01234567";
+  private static final String OTHER_SHA = "89abcdef0123456789abcdef0123456789abcdef";
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private Path workTree;
+  private Path gitDirectory;
+
+  @Before
+  public void setUp() throws IOException {
+    workTree = temporaryFolder.newFolder("repo").toPath();
+    gitDirectory = workTree.resolve(".git");
+    Files.createDirectories(gitDirectory.resolve("refs/heads"));
+  }
+
+  @Test
+  public void testFind_fromSubdirectory() throws IOException {
+    Path subdirectory = Files.createDirectories(workTree.resolve("src/main"));
+    GitRepository repository = GitRepository.find(subdirectory);
+    Assert.assertNotNull(repository);
+    Assert.assertEquals(gitDirectory.toAbsolutePath(), repository.getGitDirectory());
+  }
+
+  @Test
+  public void testFind_notARepository() throws IOException {
+    Path directory = temporaryFolder.newFolder("plain").toPath();
+    // the temporary folder itself could be inside a repository
+    GitRepository repository = GitRepository.find(directory);
+    if (repository != null) {
+      Assert.assertFalse(repository.getGitDirectory().startsWith(directory));
+    }
+  }
+
+  @Test
+  public void testResolveHead_looseRef() throws IOException {
+    write(gitDirectory.resolve("HEAD"), "ref: refs/heads/master\n");
+    write(gitDirectory.resolve("refs/heads/master"), SHA + "\n");
+    Assert.assertEquals(SHA, open().resolveHead());
+  }
+
+  @Test
+  public void testResolveHead_packedRef() throws IOException {
+    write(gitDirectory.resolve("HEAD"), "ref: refs/heads/master\n");
+    write(
+        gitDirectory.resolve("packed-refs"),
+        "# pack-refs with: peeled fully-peeled sorted \n"
+            + OTHER_SHA
+            + " refs/heads/feature\n"
+            + SHA
+            + " refs/heads/master\n"
+            + OTHER_SHA
+            + " refs/tags/v1\n"
+            + "^"
+            + SHA
+            + "\n");
+    Assert.assertEquals(SHA, open().resolveHead());
+  }
+
+  @Test
+  public void testResolveHead_looseRefOverridesPackedRef() throws IOException {
+    write(gitDirectory.resolve("HEAD"), "ref: refs/heads/master\n");
+    write(gitDirectory.resolve("packed-refs"), OTHER_SHA + " refs/heads/master\n");
+    write(gitDirectory.resolve("refs/heads/master"), SHA + "\n");
+    Assert.assertEquals(SHA, open().resolveHead());
+  }
+
+  @Test
+  public void testResolveHead_detached() throws IOException {
+    write(gitDirectory.resolve("HEAD"), SHA + "\n");
+    Assert.assertEquals(SHA, open().resolveHead());
+  }
+
+  @Test
+  public void testResolveHead_unbornBranch() throws IOException {
+    write(gitDirectory.resolve("HEAD"), "ref: refs/heads/master\n");
+    Assert.assertNull(open().resolveHead());
+  }
+
+  @Test
+  public void testResolveHead_linkedWorktree() throws IOException {
+    write(gitDirectory.resolve("refs/heads/feature"), OTHER_SHA + "\n");
+    write(gitDirectory.resolve("config"), "[remote \"origin\"]\n\turl = git@example.com:a.git\n");
+    Path worktreeGitDirectory = Files.createDirectories(gitDirectory.resolve("worktrees/feature"));
+    write(worktreeGitDirectory.resolve("HEAD"), "ref: refs/heads/feature\n");
+    write(worktreeGitDirectory.resolve("commondir"), "../..\n");
+    Path worktree = temporaryFolder.newFolder("feature").toPath();
+    write(worktree.resolve(".git"), "gitdir: " + worktreeGitDirectory + "\n");
+
+    GitRepository repository = GitRepository.find(worktree);
+    Assert.assertNotNull(repository);
+    Assert.assertEquals(gitDirectory.normalize(), repository.getCommonDirectory());
+    Assert.assertEquals(OTHER_SHA, repository.resolveHead());
+    Assert.assertEquals("git@example.com:a.git", repository.getRemoteUrls().get("origin"));
+    Assert.assertTrue(
+        repository.getStateFiles().contains(gitDirectory.resolve("refs/heads/feature")));
+  }
+
+  @Test
+  public void testGetRemoteUrls() throws IOException {
+    write(
+        gitDirectory.resolve("config"),
+        "[core]\n"
+            + "\tbare = false\n"
+            + "[remote \"upstream\"]\n"
+            + "\turl = https://example.com/upstream.git\n"
+            + "\tfetch = +refs/heads/*:refs/remotes/upstream/*\n"
+            + "[branch \"master\"]\n"
+            + "\tremote = upstream\n"
+            + "[remote \"origin\"]\n"
+            + "\turl = \"https://example.com/origin.git\"\n");
+    Map<String, String> remotes = open().getRemoteUrls();
+    Assert.assertEquals(2, remotes.size());
+    Assert.assertEquals("https://example.com/upstream.git", remotes.get("upstream"));
+    Assert.assertEquals("https://example.com/origin.git", remotes.get("origin"));
+  }
+
+  @Test
+  public void testGetStateFiles() throws IOException {
+    write(gitDirectory.resolve("HEAD"), "ref: refs/heads/master\n");
+    Assert.assertEquals(
+        Arrays.asList(
+            gitDirectory.resolve("HEAD"),
+            gitDirectory.resolve("refs/heads/master"),
+            gitDirectory.resolve("packed-refs"),
+            gitDirectory.resolve("config")),
+        open().getStateFiles());
+  }
+
+  private GitRepository open() throws IOException {
+    GitRepository repository = GitRepository.find(workTree);
+    Assert.assertNotNull(repository);
+    return repository;
+  }
+
+  private static void write(Path file, String content) throws IOException {
+    Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.appengine.operations;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.function.BooleanSupplier;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class HotReloaderTest {
+
+  private static final FileTime OLD = FileTime.fromMillis(1000000000L);
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private Path app;
+  private Path trigger;
+  private Path classes;
+  private HotReloader hotReloader;
+
+  @Before
+  public void setUp() throws IOException {
+    app = temporaryFolder.newFolder("app").toPath();
+    trigger = app.resolve(HotReloader.RELOAD_TRIGGER);
+    Files.createDirectories(app.resolve("WEB-INF/classes"));
+    Files.write(trigger, "<appengine-web-app/>".getBytes(StandardCharsets.UTF_8));
+    Files.setLastModifiedTime(trigger, OLD);
+    classes = temporaryFolder.newFolder("classes").toPath();
+    hotReloader = new HotReloader(app, ImmutableMap.of(classes, app.resolve("WEB-INF/classes")));
+  }
+
+  @After
+  public void tearDown() {
+    hotReloader.close();
+  }
+
+  @Test
+  public void testStart_copiesNewClassAndReloads() throws IOException, InterruptedException {
+    hotReloader.start();
+
+    Path source = classes.resolve("com/example/Servlet.class");
+    Files.createDirectories(source.getParent());
+    Files.write(source, new byte[] {1, 2, 3});
+
+    Path copy = app.resolve("WEB-INF/classes/com/example/Servlet.class");
+    waitFor(() -> Files.exists(copy) && !OLD.equals(lastModified(trigger)));
+    assertEquals(3, Files.size(copy));
+  }
+
+  @Test
+  public void testStart_removesDeletedClass() throws IOException, InterruptedException {
+    Path source = classes.resolve("Servlet.class");
+    Files.write(source, new byte[] {1});
+    Path copy = app.resolve("WEB-INF/classes/Servlet.class");
+    Files.write(copy, new byte[] {1});
+    hotReloader.start();
+
+    Files.delete(source);
+
+    waitFor(() -> !Files.exists(copy) && !OLD.equals(lastModified(trigger)));
+  }
+
+  @Test
+  public void testApply_copiesChangedFileAndTouchesTrigger() throws IOException {
+    Path source = classes.resolve("messages.properties");
+    Files.write(source, "greeting=hello".getBytes(StandardCharsets.UTF_8));
+
+    hotReloader.apply(ImmutableSet.of(source));
+
+    Path copy = app.resolve("WEB-INF/classes/messages.properties");
+    assertEquals("greeting=hello", new String(Files.readAllBytes(copy), StandardCharsets.UTF_8));
+    assertFalse(OLD.equals(lastModified(trigger)));
+  }
+
+  @Test
+  public void testApply_ownChangesDoNotReload() throws IOException {
+    Path source = classes.resolve("com/example/Servlet.class");
+    Files.createDirectories(source.getParent());
+    Files.write(source, new byte[] {1});
+    hotReloader.apply(ImmutableSet.of(source));
+    FileTime touched = lastModified(trigger);
+    Files.setLastModifiedTime(trigger, touched);
+
+    // the events caused by the copy and the touch
+    hotReloader.apply(
+        ImmutableSet.of(
+            app.resolve("WEB-INF/classes/com"),
+            app.resolve("WEB-INF/classes/com/example/Servlet.class"),
+            trigger));
+
+    assertEquals(touched, lastModified(trigger));
+  }
+
+  @Test
+  public void testApply_changeInAppReloads() throws IOException {
+    Path jsp = app.resolve("index.jsp");
+    Files.write(jsp, "<html/>".getBytes(StandardCharsets.UTF_8));
+
+    hotReloader.apply(ImmutableSet.of(jsp));
+
+    assertFalse(OLD.equals(lastModified(trigger)));
+  }
+
+  @Test
+  public void testApply_changedTriggerIsNotTouchedAgain() {
+    hotReloader.apply(ImmutableSet.of(trigger));
+
+    assertEquals(OLD, lastModified(trigger));
+  }
+
+  private static FileTime lastModified(Path file) {
+    try {
+      return Files.getLastModifiedTime(file);
+    } catch (IOException ex) {
+      throw new AssertionError(ex);
+    }
+  }
+
+  private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 10000;
+    while (!condition.getAsBoolean()) {
+      assertTrue("Timed out waiting for hot reload", System.currentTimeMillis() < deadline);
+      Thread.sleep(50);
+    }
+  }
+}
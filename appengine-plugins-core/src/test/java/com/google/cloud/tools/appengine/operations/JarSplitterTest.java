@@ -0,0 +1,129 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.appengine.operations;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class JarSplitterTest {
+
+  @Rule public TemporaryFolder tmpDir = new TemporaryFolder();
+
+  private Path output;
+
+  @Before
+  public void setUp() throws IOException {
+    output = tmpDir.newFolder("output").toPath();
+  }
+
+  @Test
+  public void testSplit() throws IOException {
+    Path jar = tmpDir.getRoot().toPath().resolve("lib.jar");
+    NativeStagingTest.writeJar(jar, 10);
+
+    JarSplitter splitter = new JarSplitter(4096, null);
+    assertTrue(splitter.needsSplitting(jar));
+    List<Path> parts = splitter.split(jar, output);
+
+    assertTrue(parts.size() >= 3);
+    assertEquals(output.resolve("lib-0000.jar"), parts.get(0));
+    Set<String> names = new HashSet<>();
+    for (Path part : parts) {
+      assertTrue(Files.size(part) <= 4096);
+      try (ZipFile zipFile = new ZipFile(part.toFile())) {
+        zipFile.stream().map(ZipEntry::getName).forEach(names::add);
+      }
+    }
+    assertEquals(10, names.size());
+  }
+
+  @Test
+  public void testSplit_copiesEntriesRaw() throws IOException {
+    Path jar = tmpDir.getRoot().toPath().resolve("lib.jar");
+    NativeStagingTest.writeJar(jar, 10);
+
+    List<Path> parts = new JarSplitter(4096, null).split(jar, output);
+
+    try (ZipFile original = new ZipFile(jar.toFile())) {
+      for (Path part : parts) {
+        try (ZipFile zipFile = new ZipFile(part.toFile())) {
+          for (ZipEntry entry : Collections.list(zipFile.entries())) {
+            ZipEntry originalEntry = original.getEntry(entry.getName());
+            assertEquals(originalEntry.getCrc(), entry.getCrc());
+            assertEquals(originalEntry.getMethod(), entry.getMethod());
+            assertEquals(originalEntry.getCompressedSize(), entry.getCompressedSize());
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testSplit_oversizedEntry() throws IOException {
+    Path jar = tmpDir.getRoot().toPath().resolve("lib.jar");
+    NativeStagingTest.writeJar(jar, 3);
+
+    List<Path> parts = new JarSplitter(512, null).split(jar, output);
+
+    assertEquals(3, parts.size());
+  }
+
+  @Test
+  public void testSplit_excludes() throws IOException {
+    Path jar = tmpDir.getRoot().toPath().resolve("lib.jar");
+    try (JarOutputStream jarOutput = new JarOutputStream(Files.newOutputStream(jar))) {
+      jarOutput.putNextEntry(new ZipEntry("com/example/A.class"));
+      jarOutput.closeEntry();
+      jarOutput.putNextEntry(new ZipEntry("com/example/A.java"));
+      jarOutput.closeEntry();
+      jarOutput.putNextEntry(new ZipEntry("README.txt"));
+      jarOutput.closeEntry();
+    }
+
+    List<Path> parts = new JarSplitter(4096, ".java, .txt").split(jar, output);
+
+    assertEquals(1, parts.size());
+    try (ZipFile zipFile = new ZipFile(parts.get(0).toFile())) {
+      assertEquals(1, zipFile.size());
+      assertTrue(zipFile.getEntry("com/example/A.class") != null);
+    }
+  }
+
+  @Test
+  public void testIsExcluded() {
+    JarSplitter splitter = new JarSplitter(4096, ".java,,.txt");
+    assertTrue(splitter.isExcluded("a/B.java"));
+    assertTrue(splitter.isExcluded("README.txt"));
+    assertFalse(splitter.isExcluded("a/B.class"));
+  }
+}
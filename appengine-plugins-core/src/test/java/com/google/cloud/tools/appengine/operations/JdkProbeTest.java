@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.appengine.operations;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class JdkProbeTest {
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private Path javaHome;
+  private Path javaExecutable;
+  private long modified = 1000000000L;
+
+  @Before
+  public void setUp() throws IOException {
+    javaHome = temporaryFolder.newFolder("jdk").toPath();
+    javaExecutable =
+        javaHome.resolve(
+            System.getProperty("os.name").contains("Windows") ? "bin/java.exe" : "bin/java");
+    Files.createDirectories(javaHome.resolve("bin"));
+    Files.createFile(javaExecutable);
+    writeRelease("17.0.2");
+  }
+
+  @After
+  public void tearDown() {
+    JdkProbe.clearCache();
+  }
+
+  @Test
+  public void testOf() {
+    JdkProbe probe = JdkProbe.of(javaHome);
+
+    assertTrue(probe.isValid());
+    assertEquals(javaExecutable, probe.getJavaExecutable());
+    assertEquals(Integer.valueOf(17), probe.getMajorVersion());
+  }
+
+  @Test
+  public void testOf_cached() {
+    assertSame(JdkProbe.of(javaHome), JdkProbe.of(javaHome));
+  }
+
+  @Test
+  public void testOf_releaseChanged() throws IOException {
+    JdkProbe.of(javaHome);
+    writeRelease("21");
+
+    assertEquals(Integer.valueOf(21), JdkProbe.of(javaHome).getMajorVersion());
+  }
+
+  @Test
+  public void testOf_executableRemoved() throws IOException {
+    assertTrue(JdkProbe.of(javaHome).isValid());
+    Files.delete(javaExecutable);
+
+    assertFalse(JdkProbe.of(javaHome).isValid());
+  }
+
+  @Test
+  public void testOf_versions() throws IOException {
+    writeRelease("1.8.0_292");
+    assertEquals(Integer.valueOf(8), JdkProbe.of(javaHome).getMajorVersion());
+    writeRelease("21");
+    assertEquals(Integer.valueOf(21), JdkProbe.of(javaHome).getMajorVersion());
+    writeRelease("17.0.2+8");
+    assertEquals(Integer.valueOf(17), JdkProbe.of(javaHome).getMajorVersion());
+  }
+
+  @Test
+  public void testOf_noRelease() throws IOException {
+    Files.delete(javaHome.resolve("release"));
+
+    JdkProbe probe = JdkProbe.of(javaHome);
+    assertTrue(probe.isValid());
+    assertNull(probe.getMajorVersion());
+  }
+
+  private void writeRelease(String version) throws IOException {
+    Path release = javaHome.resolve("release");
+    Files.write(release, ("JAVA_VERSION=\"" + version + "\"\n").getBytes(StandardCharsets.UTF_8));
+    // distinct modification times, independent of the file system's timestamp granularity
+    modified += 1000;
+    Files.setLastModifiedTime(release, FileTime.fromMillis(modified));
+  }
+}
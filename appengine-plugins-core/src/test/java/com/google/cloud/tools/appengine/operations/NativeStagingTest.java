@@ -0,0 +1,274 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.appengine.operations;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.cloud.tools.appengine.configuration.AppEngineWebXmlProjectStageConfiguration;
+import com.google.cloud.tools.project.AppYaml;
+import com.google.common.collect.ImmutableMap;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class NativeStagingTest {
+
+  private static final String APPENGINE_WEB_XML =
+      "<appengine-web-app xmlns='http://appengine.google.com/ns/1.0'>"
+          + "<runtime>java8</runtime>"
+          + "<service>backend</service>"
+          + "<threadsafe>true</threadsafe>"
+          + "<env-variables><env-var name='KEY' value='value' /></env-variables>"
+          + "<warmup-requests-enabled>false</warmup-requests-enabled>"
+          + "</appengine-web-app>";
+
+  @Rule public TemporaryFolder tmpDir = new TemporaryFolder();
+
+  private Path source;
+  private Path destination;
+  private AppEngineWebXmlProjectStageConfiguration.Builder builder;
+  private final NativeStaging nativeStaging = new NativeStaging(2, 4096);
+
+  @Before
+  public void setUp() throws IOException {
+    source = tmpDir.newFolder("source").toPath();
+    destination = tmpDir.newFolder("destination").toPath();
+    builder =
+        AppEngineWebXmlProjectStageConfiguration.builder()
+            .sourceDirectory(source)
+            .stagingDirectory(destination);
+    write("WEB-INF/appengine-web.xml", APPENGINE_WEB_XML);
+    write("WEB-INF/classes/com/example/Servlet.class", "class");
+  }
+
+  @Test
+  public void testFindUnsupportedFeature_supported() throws Exception {
+    assertNull(nativeStaging.findUnsupportedFeature(builder.deleteJsps(true).build()));
+  }
+
+  @Test
+  public void testFindUnsupportedFeature_quickstart() throws Exception {
+    assertEquals(
+        "enableQuickstart",
+        nativeStaging.findUnsupportedFeature(builder.enableQuickstart(true).build()));
+  }
+
+  @Test
+  public void testFindUnsupportedFeature_runtimeOverride() throws Exception {
+    assertEquals(
+        "runtime override 'java'",
+        nativeStaging.findUnsupportedFeature(builder.runtime("java").build()));
+  }
+
+  @Test
+  public void testFindUnsupportedFeature_java7() throws Exception {
+    write(
+        "WEB-INF/appengine-web.xml",
+        "<appengine-web-app xmlns='http://appengine.google.com/ns/1.0'/>");
+    assertEquals("runtime 'java7'", nativeStaging.findUnsupportedFeature(builder.build()));
+  }
+
+  @Test
+  public void testFindUnsupportedFeature_unsupportedElement() throws Exception {
+    write(
+        "WEB-INF/appengine-web.xml",
+        "<appengine-web-app xmlns='http://appengine.google.com/ns/1.0'>"
+            + "<runtime>java8</runtime><static-files/></appengine-web-app>");
+    assertEquals(
+        "<static-files> in appengine-web.xml",
+        nativeStaging.findUnsupportedFeature(builder.build()));
+  }
+
+  @Test
+  public void testFindUnsupportedFeature_warmupByDefault() throws Exception {
+    write(
+        "WEB-INF/appengine-web.xml",
+        "<appengine-web-app xmlns='http://appengine.google.com/ns/1.0'>"
+            + "<runtime>java8</runtime></appengine-web-app>");
+    assertEquals("warmup requests", nativeStaging.findUnsupportedFeature(builder.build()));
+  }
+
+  @Test
+  public void testFindUnsupportedFeature_warmupEnabled() throws Exception {
+    write(
+        "WEB-INF/appengine-web.xml",
+        "<appengine-web-app xmlns='http://appengine.google.com/ns/1.0'>"
+            + "<runtime>java8</runtime>"
+            + "<warmup-requests-enabled>true</warmup-requests-enabled></appengine-web-app>");
+    assertEquals("warmup requests", nativeStaging.findUnsupportedFeature(builder.build()));
+  }
+
+  @Test
+  public void testFindUnsupportedFeature_staticFiles() throws Exception {
+    write("css/style.css", "body {}");
+    assertEquals("static files", nativeStaging.findUnsupportedFeature(builder.build()));
+  }
+
+  @Test
+  public void testFindUnsupportedFeature_cronXml() throws Exception {
+    write("WEB-INF/cron.xml", "<cronentries/>");
+    assertEquals("cron.xml", nativeStaging.findUnsupportedFeature(builder.build()));
+  }
+
+  @Test
+  public void testFindUnsupportedFeature_plainWebXml() throws Exception {
+    write(
+        "WEB-INF/web.xml",
+        "<web-app xmlns='http://xmlns.jcp.org/xml/ns/javaee' version='3.1'>"
+            + "<servlet><servlet-name>main</servlet-name>"
+            + "<servlet-class>com.example.Servlet</servlet-class></servlet>"
+            + "<servlet-mapping><servlet-name>main</servlet-name>"
+            + "<url-pattern>/*</url-pattern></servlet-mapping>"
+            + "</web-app>");
+    assertNull(nativeStaging.findUnsupportedFeature(builder.build()));
+  }
+
+  @Test
+  public void testFindUnsupportedFeature_adminOnlySecurityConstraint() throws Exception {
+    write(
+        "WEB-INF/web.xml",
+        "<web-app xmlns='http://xmlns.jcp.org/xml/ns/javaee' version='3.1'>"
+            + "<security-constraint>"
+            + "<web-resource-collection><web-resource-name>admin</web-resource-name>"
+            + "<url-pattern>/admin/*</url-pattern></web-resource-collection>"
+            + "<auth-constraint><role-name>admin</role-name></auth-constraint>"
+            + "</security-constraint>"
+            + "</web-app>");
+    assertEquals(
+        "<security-constraint> in web.xml", nativeStaging.findUnsupportedFeature(builder.build()));
+  }
+
+  @Test
+  public void testFindUnsupportedFeature_welcomeFiles() throws Exception {
+    write(
+        "WEB-INF/web.xml",
+        "<!DOCTYPE web-app PUBLIC \"-//Sun Microsystems, Inc.//DTD Web Application 2.3//EN\" "
+            + "\"http://java.sun.com/dtd/web-app_2_3.dtd\">"
+            + "<web-app><welcome-file-list><welcome-file>index.html</welcome-file>"
+            + "</welcome-file-list></web-app>");
+    assertEquals(
+        "<welcome-file-list> in web.xml", nativeStaging.findUnsupportedFeature(builder.build()));
+  }
+
+  @Test
+  public void testFindUnsupportedFeature_unparseableWebXml() throws Exception {
+    write("WEB-INF/web.xml", "<web-app>");
+    assertEquals("unparseable web.xml", nativeStaging.findUnsupportedFeature(builder.build()));
+  }
+
+  @Test
+  public void testFindUnsupportedFeature_jsp() throws Exception {
+    write("pages/index.jsp", "<%= 1 %>");
+    assertEquals("JSP compilation", nativeStaging.findUnsupportedFeature(builder.build()));
+  }
+
+  @Test
+  public void testStage() throws Exception {
+    nativeStaging.stage(builder.build());
+
+    assertTrue(Files.exists(destination.resolve("WEB-INF/classes/com/example/Servlet.class")));
+    assertTrue(Files.exists(destination.resolve("WEB-INF/appengine-web.xml")));
+    assertTrue(
+        new String(Files.readAllBytes(destination.resolve("app.yaml")), StandardCharsets.UTF_8)
+            .contains("derived_file_type:\n- java_precompiled\n"));
+    try (InputStream input = Files.newInputStream(destination.resolve("app.yaml"))) {
+      AppYaml appYaml = AppYaml.parse(input);
+      assertEquals("java8", appYaml.getRuntime());
+      assertEquals("backend", appYaml.getServiceId());
+      assertEquals("user_defined", appYaml.getApiVersion());
+      assertEquals(ImmutableMap.of("KEY", "value"), appYaml.getEnvironmentVariables());
+    }
+  }
+
+  @Test
+  public void testStage_splitsLargeJars() throws Exception {
+    Path lib = source.resolve("WEB-INF/lib");
+    Files.createDirectories(lib);
+    writeJar(lib.resolve("small.jar"), 1);
+    writeJar(lib.resolve("large.jar"), 8);
+
+    nativeStaging.stage(builder.enableJarSplitting(true).build());
+
+    Path stagedLib = destination.resolve("WEB-INF/lib");
+    assertTrue(Files.exists(stagedLib.resolve("small.jar")));
+    assertFalse(Files.exists(stagedLib.resolve("large.jar")));
+    assertTrue(Files.exists(stagedLib.resolve("large-0000.jar")));
+    assertTrue(Files.exists(stagedLib.resolve("large-0001.jar")));
+  }
+
+  @Test
+  public void testStage_noSplittingByDefault() throws Exception {
+    Path lib = source.resolve("WEB-INF/lib");
+    Files.createDirectories(lib);
+    writeJar(lib.resolve("large.jar"), 8);
+
+    nativeStaging.stage(builder.build());
+
+    assertTrue(Files.exists(destination.resolve("WEB-INF/lib/large.jar")));
+  }
+
+  @Test
+  public void testSplitStagedJars() throws Exception {
+    Path stagedLib = destination.resolve("WEB-INF/lib");
+    Files.createDirectories(stagedLib);
+    writeJar(stagedLib.resolve("small.jar"), 1);
+    writeJar(stagedLib.resolve("large1.jar"), 8);
+    writeJar(stagedLib.resolve("large2.jar"), 8);
+
+    nativeStaging.splitStagedJars(builder.enableJarSplitting(true).build());
+
+    assertTrue(Files.exists(stagedLib.resolve("small.jar")));
+    assertFalse(Files.exists(stagedLib.resolve("large1.jar")));
+    assertFalse(Files.exists(stagedLib.resolve("large2.jar")));
+    assertTrue(Files.exists(stagedLib.resolve("large1-0001.jar")));
+    assertTrue(Files.exists(stagedLib.resolve("large2-0001.jar")));
+  }
+
+  private void write(String relativePath, String content) throws IOException {
+    Path file = source.resolve(relativePath);
+    Files.createDirectories(file.getParent());
+    Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /** Writes a jar of {@code entries} incompressible 1KiB entries. */
+  static void writeJar(Path jar, int entries) throws IOException {
+    Random random = new Random(entries);
+    try (JarOutputStream output = new JarOutputStream(Files.newOutputStream(jar))) {
+      for (int i = 0; i < entries; i++) {
+        byte[] content = new byte[1024];
+        random.nextBytes(content);
+        ZipEntry entry = new JarEntry("com/example/Entry" + i + ".class");
+        output.putNextEntry(entry);
+        output.write(content);
+        output.closeEntry();
+      }
+    }
+  }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.appengine.operations.cloudsdk.process;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import javax.annotation.Nullable;
+import org.junit.After;
+import org.junit.Test;
+
+public class HttpReadinessProbeTest {
+
+  @Nullable private HttpServer server;
+
+  @After
+  public void tearDown() {
+    if (server != null) {
+      server.stop(0);
+    }
+  }
+
+  @Test
+  public void testIsReady_portAcceptingConnections() throws IOException {
+    try (ServerSocket serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+      HttpReadinessProbe probe =
+          new HttpReadinessProbe("localhost", serverSocket.getLocalPort(), null, 1);
+      assertTrue(probe.isReady());
+    }
+  }
+
+  @Test
+  public void testIsReady_portClosed() throws IOException {
+    HttpReadinessProbe probe = new HttpReadinessProbe("localhost", freePort(), null, 1);
+    assertFalse(probe.isReady());
+  }
+
+  @Test
+  public void testIsReady_wildcardHost() throws IOException {
+    try (ServerSocket serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+      HttpReadinessProbe probe =
+          new HttpReadinessProbe("0.0.0.0", serverSocket.getLocalPort(), null, 1);
+      assertTrue(probe.isReady());
+    }
+  }
+
+  @Test
+  public void testIsReady_healthPath() throws IOException {
+    int port = startServer();
+
+    assertTrue(new HttpReadinessProbe("localhost", port, "/healthy", 1).isReady());
+    assertFalse(new HttpReadinessProbe("localhost", port, "/unhealthy", 1).isReady());
+  }
+
+  @Test
+  public void testAwait_ready() throws IOException, ProcessHandlerException {
+    int port = startServer();
+    new HttpReadinessProbe("localhost", port, "/healthy", 5).await();
+  }
+
+  @Test
+  public void testAwait_timeout() throws IOException {
+    int port = freePort();
+    HttpReadinessProbe probe = new HttpReadinessProbe("localhost", port, null, 1);
+    try {
+      probe.await();
+      fail();
+    } catch (ProcessHandlerException ex) {
+      assertEquals(
+          "Timed out waiting for the server to be ready at localhost:" + port, ex.getMessage());
+    }
+  }
+
+  @Test
+  public void testAwait_processExited() throws IOException {
+    HttpReadinessProbe probe = new HttpReadinessProbe("localhost", freePort(), null, 30);
+    probe.onExit(1);
+    try {
+      probe.await();
+      fail();
+    } catch (ProcessHandlerException ex) {
+      assertEquals("Process exited before the server was ready", ex.getMessage());
+    }
+  }
+
+  @Test
+  public void testAwait_processExitedWhilePortAcceptsConnections() throws IOException {
+    try (ServerSocket serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+      HttpReadinessProbe probe =
+          new HttpReadinessProbe("localhost", serverSocket.getLocalPort(), null, 30);
+      probe.onExit(1);
+      try {
+        probe.await();
+        fail();
+      } catch (ProcessHandlerException ex) {
+        assertEquals("Process exited before the server was ready", ex.getMessage());
+      }
+    }
+  }
+
+  @Test
+  public void testAwait_portInUseBeforeLaunch() throws IOException {
+    try (ServerSocket serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+      int port = serverSocket.getLocalPort();
+      HttpReadinessProbe probe = new HttpReadinessProbe("localhost", port, null, 30);
+      probe.checkPortBeforeLaunch();
+      try {
+        probe.await();
+        fail();
+      } catch (ProcessHandlerException ex) {
+        assertEquals(
+            "Port " + port + " on localhost was already in use before the server was started",
+            ex.getMessage());
+      }
+    }
+  }
+
+  @Test
+  public void testAwait_portFreeBeforeLaunch() throws IOException, ProcessHandlerException {
+    int port = freePort();
+    HttpReadinessProbe probe = new HttpReadinessProbe("localhost", port, null, 5);
+    probe.checkPortBeforeLaunch();
+    try (ServerSocket serverSocket = new ServerSocket(port, 1, InetAddress.getLoopbackAddress())) {
+      probe.await();
+    }
+  }
+
+  @Test
+  public void testAwait_noTimeoutSkipsWaiting() throws IOException, ProcessHandlerException {
+    new HttpReadinessProbe("localhost", freePort(), null, 0).await();
+  }
+
+  @Test
+  public void testConstructor_relativeHealthPath() {
+    try {
+      new HttpReadinessProbe(null, null, "healthy", 1);
+      fail();
+    } catch (IllegalArgumentException ex) {
+      assertEquals("healthPath must start with '/'", ex.getMessage());
+    }
+  }
+
+  private int startServer() throws IOException {
+    HttpServer server =
+        HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    this.server = server;
+    server.createContext(
+        "/healthy",
+        exchange -> {
+          exchange.sendResponseHeaders(200, -1);
+          exchange.close();
+        });
+    server.createContext(
+        "/unhealthy",
+        exchange -> {
+          exchange.sendResponseHeaders(503, -1);
+          exchange.close();
+        });
+    server.start();
+    return server.getAddress().getPort();
+  }
+
+  private static int freePort() throws IOException {
+    try (ServerSocket serverSocket = new ServerSocket(0)) {
+      return serverSocket.getLocalPort();
+    }
+  }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.appengine.operations.cloudsdk.process;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.ByteStreams;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class RollingFileOutputLineListenerTest {
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private Path logFile;
+
+  @Before
+  public void setUp() {
+    logFile = temporaryFolder.getRoot().toPath().resolve("dev_appserver.out");
+  }
+
+  @Test
+  public void testWritesLines() throws IOException {
+    RollingFileOutputLineListener listener = new RollingFileOutputLineListener(logFile);
+    listener.onOutputLine("line 1");
+    listener.onOutputLine("line 2");
+    listener.close();
+
+    assertEquals(ImmutableList.of("line 1", "line 2"), Files.readAllLines(logFile));
+  }
+
+  @Test
+  public void testReplacesExistingFile() throws IOException {
+    Files.write(logFile, ImmutableList.of("old output"));
+    RollingFileOutputLineListener listener = new RollingFileOutputLineListener(logFile);
+    listener.onOutputLine("new output");
+    listener.close();
+
+    assertEquals(ImmutableList.of("new output"), Files.readAllLines(logFile));
+  }
+
+  @Test
+  public void testOnExit_closes() throws IOException {
+    RollingFileOutputLineListener listener = new RollingFileOutputLineListener(logFile);
+    listener.onOutputLine("before exit");
+    listener.onExit(0);
+    listener.onOutputLine("after exit");
+
+    assertEquals(ImmutableList.of("before exit"), Files.readAllLines(logFile));
+  }
+
+  @Test
+  public void testWritesLinesFromManyThreads() throws IOException, InterruptedException {
+    RollingFileOutputLineListener listener = new RollingFileOutputLineListener(logFile);
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      String prefix = "thread " + i + " line ";
+      threads.add(
+          new Thread(
+              () -> {
+                for (int j = 0; j < 1000; j++) {
+                  listener.onOutputLine(prefix + j);
+                }
+              }));
+    }
+    threads.forEach(Thread::start);
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    listener.close();
+
+    List<String> lines = Files.readAllLines(logFile);
+    assertEquals(4000, lines.size());
+    assertTrue(lines.contains("thread 3 line 999"));
+  }
+
+  @Test
+  public void testRotatesBySize() throws IOException {
+    // each line exceeds the maximum size, so every write after the first one rotates
+    RollingFileOutputLineListener listener =
+        new RollingFileOutputLineListener(logFile, 10, Duration.ZERO, 2);
+    listener.onOutputLine("first line");
+    waitForWrite(listener);
+    listener.onOutputLine("second line");
+    waitForWrite(listener);
+    listener.onOutputLine("third line");
+    waitForWrite(listener);
+    listener.onOutputLine("fourth line");
+    listener.close();
+
+    assertEquals(ImmutableList.of("fourth line"), Files.readAllLines(logFile));
+    assertEquals(ImmutableList.of("third line"), readArchive(listener.archive(1)));
+    assertEquals(ImmutableList.of("second line"), readArchive(listener.archive(2)));
+    assertFalse(Files.exists(listener.archive(3)));
+  }
+
+  @Test
+  public void testRotatesByAge() throws IOException, InterruptedException {
+    RollingFileOutputLineListener listener =
+        new RollingFileOutputLineListener(logFile, 1024, Duration.ofMillis(1), 5);
+    listener.onOutputLine("first line");
+    waitForWrite(listener);
+    Thread.sleep(10);
+    listener.onOutputLine("second line");
+    listener.close();
+
+    assertEquals(ImmutableList.of("second line"), Files.readAllLines(logFile));
+    assertEquals(ImmutableList.of("first line"), readArchive(listener.archive(1)));
+  }
+
+  @Test
+  public void testRotatesWithoutArchives() throws IOException {
+    RollingFileOutputLineListener listener =
+        new RollingFileOutputLineListener(logFile, 10, Duration.ZERO, 0);
+    listener.onOutputLine("first line");
+    waitForWrite(listener);
+    listener.onOutputLine("second line");
+    listener.close();
+
+    assertEquals(ImmutableList.of("second line"), Files.readAllLines(logFile));
+    assertFalse(Files.exists(listener.archive(1)));
+  }
+
+  private void waitForWrite(RollingFileOutputLineListener listener) {
+    long deadline = System.currentTimeMillis() + 10_000;
+    while (listener.hasPendingLines() && System.currentTimeMillis() < deadline) {
+      Thread.yield();
+    }
+  }
+
+  private static List<String> readArchive(Path archive) throws IOException {
+    try (InputStream in = new GZIPInputStream(Files.newInputStream(archive))) {
+      String content = new String(ByteStreams.toByteArray(in), StandardCharsets.UTF_8);
+      return ImmutableList.copyOf(content.split(System.lineSeparator()));
+    }
+  }
+}
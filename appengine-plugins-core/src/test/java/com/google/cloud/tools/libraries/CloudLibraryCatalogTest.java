@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.libraries;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.cloud.tools.libraries.json.CloudLibrary;
+import com.google.cloud.tools.libraries.json.CloudLibraryClient;
+import java.io.IOException;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/** Unit tests for {@link CloudLibraryCatalog}. */
+public final class CloudLibraryCatalogTest {
+
+  private CloudLibraryCatalog catalog;
+
+  @Before
+  public void setUp() throws IOException {
+    catalog = CloudLibraryCatalog.getCatalog();
+  }
+
+  @Test
+  public void getCatalog_isShared() throws IOException {
+    assertSame(catalog, CloudLibraryCatalog.getCatalog());
+    assertSame(catalog.getLibraries(), CloudLibraries.getCloudLibraries());
+  }
+
+  @Test
+  public void getLibraries_isUnmodifiable() {
+    List<CloudLibrary> libraries = catalog.getLibraries();
+    assertFalse(libraries.isEmpty());
+    try {
+      libraries.clear();
+      fail("Expected UnsupportedOperationException to be thrown.");
+    } catch (UnsupportedOperationException ex) {
+      // expected
+    }
+  }
+
+  @Test
+  public void getLibraries_clientsAreUnmodifiable() {
+    List<CloudLibraryClient> clients = catalog.getLibraries().get(0).getClients();
+    assertNotNull(clients);
+    try {
+      clients.clear();
+      fail("Expected UnsupportedOperationException to be thrown.");
+    } catch (UnsupportedOperationException ex) {
+      // expected
+    }
+  }
+
+  @Test
+  public void getLibrary() {
+    CloudLibrary library = catalog.getLibrary("googlebiqqueryapi");
+    assertNotNull(library);
+    assertEquals("BigQuery API", library.getName());
+    assertNull(catalog.getLibrary("unknown"));
+  }
+
+  @Test
+  public void getLibraryByMavenCoordinates() {
+    assertSame(
+        catalog.getLibrary("googlebiqqueryapi"),
+        catalog.getLibraryByMavenCoordinates("com.google.cloud", "google-cloud-bigquery"));
+    assertNull(catalog.getLibraryByMavenCoordinates("com.google.cloud", "unknown"));
+  }
+
+  @Test
+  public void getLibrariesByLanguage() {
+    assertEquals(catalog.getLibraries(), catalog.getLibrariesByLanguage("java"));
+    assertEquals(catalog.getLibraries(), catalog.getLibrariesByLanguage("Java"));
+    assertTrue(catalog.getLibrariesByLanguage("cobol").isEmpty());
+  }
+}
@@ -234,6 +234,62 @@ public class ManagedCloudSdkTest {
     Assert.assertEquals(expectedPath, macPath);
   }
 
+  @Test
+  public void testGetMissingComponents_fromInstallSnapshots()
+      throws IOException, ManagedSdkVerificationException {
+    ManagedCloudSdk testSdk = newFakeSdk("core", "app-engine-java");
+
+    Assert.assertEquals(
+        Collections.singletonList(SdkComponent.BETA),
+        testSdk.getMissingComponents(
+            Arrays.asList(SdkComponent.APP_ENGINE_JAVA, SdkComponent.BETA)));
+    Assert.assertTrue(testSdk.hasComponent(SdkComponent.APP_ENGINE_JAVA));
+    Assert.assertFalse(testSdk.hasComponent(SdkComponent.BETA));
+  }
+
+  @Test
+  public void testGetMissingComponents_noComponents()
+      throws IOException, ManagedSdkVerificationException {
+    ManagedCloudSdk testSdk = newFakeSdk("core");
+
+    Assert.assertTrue(testSdk.getMissingComponents(Collections.emptyList()).isEmpty());
+  }
+
+  @Test
+  public void testGetMissingComponents_notInstalled() throws ManagedSdkVerificationException {
+    ManagedCloudSdk testSdk =
+        new ManagedCloudSdk(
+            Version.LATEST, userHome, new OsInfo(OsInfo.Name.LINUX, OsInfo.Architecture.X86_64));
+
+    Assert.assertEquals(
+        Arrays.asList(SdkComponent.APP_ENGINE_JAVA, SdkComponent.BETA),
+        testSdk.getMissingComponents(
+            Arrays.asList(SdkComponent.APP_ENGINE_JAVA, SdkComponent.BETA)));
+  }
+
+  @Test
+  public void testIsUpToDate_recentCheckSkipsGcloud()
+      throws IOException, ManagedSdkVerificationException {
+    // the fake gcloud cannot run, so only a cached answer can succeed
+    ManagedCloudSdk testSdk = newFakeSdk("core");
+    testSdk.newUpToDateCheckCache().record(System.currentTimeMillis());
+
+    Assert.assertTrue(testSdk.isUpToDate());
+  }
+
+  private ManagedCloudSdk newFakeSdk(String... installedComponents) throws IOException {
+    ManagedCloudSdk testSdk =
+        new ManagedCloudSdk(
+            Version.LATEST, userHome, new OsInfo(OsInfo.Name.LINUX, OsInfo.Architecture.X86_64));
+    Files.createDirectories(testSdk.getGcloudPath().getParent());
+    Files.createFile(testSdk.getGcloudPath());
+    Path installState = Files.createDirectories(testSdk.getSdkHome().resolve(".install"));
+    for (String component : installedComponents) {
+      Files.createFile(installState.resolve(component + ".snapshot.json"));
+    }
+    return testSdk;
+  }
+
   private void downgradeCloudSdk(ManagedCloudSdk testSdk)
       throws InterruptedException, CommandExitException, CommandExecutionException,
           UnsupportedOsException {
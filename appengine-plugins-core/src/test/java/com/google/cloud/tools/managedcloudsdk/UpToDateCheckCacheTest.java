@@ -0,0 +1,115 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.managedcloudsdk;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class UpToDateCheckCacheTest {
+
+  private static final Duration TTL = Duration.ofHours(1);
+  private static final long NOW = 1_000_000_000L;
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private Path sdkHome;
+  private Path recordFile;
+  private UpToDateCheckCache cache;
+
+  @Before
+  public void setUp() throws IOException {
+    Path managedSdkDirectory = temporaryFolder.getRoot().toPath();
+    sdkHome = managedSdkDirectory.resolve("LATEST").resolve("google-cloud-sdk");
+    Files.createDirectories(sdkHome.resolve(".install"));
+    Files.write(sdkHome.resolve("VERSION"), "300.0.0".getBytes(StandardCharsets.UTF_8));
+    Files.write(
+        sdkHome.resolve(".install").resolve("core.manifest"),
+        "bin/gcloud".getBytes(StandardCharsets.UTF_8));
+    recordFile = managedSdkDirectory.resolve("LATEST.up-to-date");
+    cache = new UpToDateCheckCache(recordFile, sdkHome);
+  }
+
+  @Test
+  public void testIsFresh_noRecord() {
+    Assert.assertFalse(cache.isFresh(TTL, NOW));
+  }
+
+  @Test
+  public void testIsFresh_withinTtl() {
+    cache.record(NOW);
+    Assert.assertTrue(Files.exists(recordFile));
+    Assert.assertTrue(cache.isFresh(TTL, NOW + TTL.toMillis() - 1));
+  }
+
+  @Test
+  public void testIsFresh_expired() {
+    cache.record(NOW);
+    Assert.assertFalse(cache.isFresh(TTL, NOW + TTL.toMillis()));
+  }
+
+  @Test
+  public void testIsFresh_zeroTtl() {
+    cache.record(NOW);
+    Assert.assertFalse(cache.isFresh(Duration.ZERO, NOW));
+  }
+
+  @Test
+  public void testIsFresh_recordedInTheFuture() {
+    cache.record(NOW);
+    Assert.assertFalse(cache.isFresh(TTL, NOW - 1));
+  }
+
+  @Test
+  public void testIsFresh_versionChanged() throws IOException {
+    cache.record(NOW);
+    Files.write(sdkHome.resolve("VERSION"), "301.0.0".getBytes(StandardCharsets.UTF_8));
+    Assert.assertFalse(cache.isFresh(TTL, NOW));
+  }
+
+  @Test
+  public void testIsFresh_manifestChanged() throws IOException {
+    cache.record(NOW);
+    Path manifest = sdkHome.resolve(".install").resolve("core.manifest");
+    Files.setLastModifiedTime(
+        manifest, FileTime.fromMillis(Files.getLastModifiedTime(manifest).toMillis() + 10_000));
+    Assert.assertFalse(cache.isFresh(TTL, NOW));
+  }
+
+  @Test
+  public void testIsFresh_componentInstalled() throws IOException {
+    cache.record(NOW);
+    Files.write(
+        sdkHome.resolve(".install").resolve("beta.manifest"),
+        "lib/beta".getBytes(StandardCharsets.UTF_8));
+    Assert.assertFalse(cache.isFresh(TTL, NOW));
+  }
+
+  @Test
+  public void testIsFresh_corruptRecord() throws IOException {
+    Files.write(recordFile, "checkedAt=soon".getBytes(StandardCharsets.UTF_8));
+    Assert.assertFalse(cache.isFresh(TTL, NOW));
+  }
+}
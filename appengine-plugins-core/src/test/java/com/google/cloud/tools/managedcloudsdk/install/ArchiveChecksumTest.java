@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.managedcloudsdk.install;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Locale;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ArchiveChecksumTest {
+
+  private static final String SHA256 =
+      "9834876dcfb05cb167a5c24953eba58c4ac89b1adf57f28f2f9d09af107ee8f0";
+
+  @Rule public TemporaryFolder tmp = new TemporaryFolder();
+
+  private Path archive;
+
+  @Before
+  public void setUp() throws IOException {
+    archive = tmp.getRoot().toPath().resolve("archive.tar.gz");
+    Files.write(archive, "aaa".getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testRead_noRecord() throws IOException {
+    Assert.assertNull(ArchiveChecksum.read(archive));
+  }
+
+  @Test
+  public void testRead() throws IOException {
+    ArchiveChecksum.write(archive, SHA256.toUpperCase(Locale.ROOT));
+    Assert.assertEquals(
+        tmp.getRoot().toPath().resolve("archive.tar.gz.sha256"),
+        ArchiveChecksum.recordFile(archive));
+    Assert.assertEquals(SHA256, ArchiveChecksum.read(archive));
+  }
+
+  @Test
+  public void testRead_archiveModified() throws IOException {
+    ArchiveChecksum.write(archive, SHA256);
+    Files.setLastModifiedTime(
+        archive, FileTime.fromMillis(Files.getLastModifiedTime(archive).toMillis() + 10_000));
+    Assert.assertNull(ArchiveChecksum.read(archive));
+  }
+
+  @Test
+  public void testRead_archiveResized() throws IOException {
+    ArchiveChecksum.write(archive, SHA256);
+    FileTime modified = Files.getLastModifiedTime(archive);
+    Files.write(archive, "aaaa".getBytes(StandardCharsets.UTF_8));
+    Files.setLastModifiedTime(archive, modified);
+    Assert.assertNull(ArchiveChecksum.read(archive));
+  }
+
+  @Test
+  public void testRead_archiveDeleted() throws IOException {
+    ArchiveChecksum.write(archive, SHA256);
+    Files.delete(archive);
+    Assert.assertNull(ArchiveChecksum.read(archive));
+  }
+}
@@ -43,6 +43,10 @@ import org.mockito.junit.MockitoJUnitRunner;
 @RunWith(MockitoJUnitRunner.class)
 public class DownloaderTest {
 
+  // sha256 of "aaa"
+  private static final String AAA_SHA256 =
+      "9834876dcfb05cb167a5c24953eba58c4ac89b1adf57f28f2f9d09af107ee8f0";
+
   @Rule public TemporaryFolder tmp = new TemporaryFolder();
   @Mock private ProgressListener mockProgressListener;
 
@@ -188,4 +192,61 @@ public class DownloaderTest {
     Assert.assertFalse(Files.exists(destination));
     Mockito.verify(mockProgressListener, Mockito.never()).update(100);
   }
+
+  @Test
+  public void testDownload_unverifiedChecksumNotRecorded()
+      throws IOException, InterruptedException {
+    Path destination = tmp.getRoot().toPath().resolve("destination-file");
+    URL fakeRemoteResource = createTestRemoteResource(3).toUri().toURL();
+
+    Downloader downloader =
+        new Downloader(fakeRemoteResource, destination, "user agent", mockProgressListener);
+
+    downloader.download();
+    Assert.assertTrue(Files.exists(destination));
+    Assert.assertFalse(Files.exists(ArchiveChecksum.recordFile(destination)));
+  }
+
+  @Test
+  public void testDownload_expectedChecksum() throws IOException, InterruptedException {
+    Path destination = tmp.getRoot().toPath().resolve("destination-file");
+    URL fakeRemoteResource = createTestRemoteResource(3).toUri().toURL();
+
+    Downloader downloader =
+        new Downloader(
+            fakeRemoteResource,
+            destination,
+            AAA_SHA256.toUpperCase(Locale.ROOT),
+            "user agent",
+            mockProgressListener);
+
+    downloader.download();
+    Assert.assertTrue(Files.exists(destination));
+    Assert.assertEquals(AAA_SHA256, ArchiveChecksum.read(destination));
+  }
+
+  @Test
+  public void testDownload_checksumMismatch() throws IOException, InterruptedException {
+    Path destination = tmp.getRoot().toPath().resolve("destination-file");
+    URL fakeRemoteResource = createTestRemoteResource(4).toUri().toURL();
+
+    Downloader downloader =
+        new Downloader(
+            fakeRemoteResource, destination, AAA_SHA256, "user agent", mockProgressListener);
+
+    try {
+      downloader.download();
+      Assert.fail("IOException expected but not thrown.");
+    } catch (IOException ex) {
+      Assert.assertEquals(
+          "SHA-256 checksum of "
+              + fakeRemoteResource
+              + " is 61be55a8e2f6b4e172338bddf184d6dbee29c98853e0a0485ecee7f27b9af0b4 but "
+              + AAA_SHA256
+              + " was expected",
+          ex.getMessage());
+    }
+    Assert.assertFalse(Files.exists(destination));
+    Assert.assertFalse(Files.exists(ArchiveChecksum.recordFile(destination)));
+  }
 }
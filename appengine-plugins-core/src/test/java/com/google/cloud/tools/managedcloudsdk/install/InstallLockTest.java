@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.managedcloudsdk.install;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class InstallLockTest {
+
+  @Rule public TemporaryFolder tmp = new TemporaryFolder();
+
+  private final ExecutorService executor = Executors.newSingleThreadExecutor();
+  private Path installDirectory;
+
+  @Before
+  public void setUp() {
+    installDirectory = tmp.getRoot().toPath().resolve("LATEST");
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testAcquire_lockFileNextToDirectory() throws IOException, InterruptedException {
+    try (InstallLock lock = InstallLock.acquire(installDirectory)) {
+      Assert.assertFalse(lock.waited());
+      Assert.assertTrue(Files.isRegularFile(tmp.getRoot().toPath().resolve("LATEST.lock")));
+      Assert.assertFalse(Files.exists(installDirectory));
+    }
+  }
+
+  @Test
+  public void testAcquire_reentrant()
+      throws IOException, InterruptedException, ExecutionException, TimeoutException {
+    try (InstallLock outer = InstallLock.acquire(installDirectory)) {
+      try (InstallLock inner = InstallLock.acquire(installDirectory)) {
+        Assert.assertFalse(inner.waited());
+      }
+      // still held by the outer lock
+      Future<Boolean> other = executor.submit(() -> tryAcquire());
+      try {
+        other.get(1, TimeUnit.SECONDS);
+        Assert.fail();
+      } catch (TimeoutException ex) {
+        // expected
+      }
+      outer.close();
+      Assert.assertTrue(other.get(10, TimeUnit.SECONDS));
+    }
+  }
+
+  @Test
+  public void testAcquire_otherThreadWaits()
+      throws IOException, InterruptedException, ExecutionException, TimeoutException {
+    Future<Boolean> other;
+    try (InstallLock lock = InstallLock.acquire(installDirectory)) {
+      other = executor.submit(() -> tryAcquire());
+      Thread.sleep(500);
+      Assert.assertFalse(other.isDone());
+    }
+    Assert.assertTrue(other.get(10, TimeUnit.SECONDS));
+  }
+
+  // returns whether the lock had to be waited for
+  private boolean tryAcquire() throws IOException, InterruptedException {
+    try (InstallLock lock = InstallLock.acquire(installDirectory)) {
+      return lock.waited();
+    }
+  }
+}
@@ -22,9 +22,21 @@ import com.google.cloud.tools.managedcloudsdk.command.CommandExecutionException;
 import com.google.cloud.tools.managedcloudsdk.command.CommandExitException;
 import java.io.IOException;
 import java.net.URL;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Rule;
@@ -41,6 +53,11 @@ import org.mockito.stubbing.Answer;
 @RunWith(MockitoJUnitRunner.class)
 public class SdkInstallerTest {
 
+  private static final String FAKE_SHA256 =
+      "9834876dcfb05cb167a5c24953eba58c4ac89b1adf57f28f2f9d09af107ee8f0";
+  private static final String OTHER_SHA256 =
+      "61be55a8e2f6b4e172338bddf184d6dbee29c98853e0a0485ecee7f27b9af0b4";
+
   @Rule public TemporaryFolder testDir = new TemporaryFolder();
 
   @Mock private FileResourceProviderFactory fileResourceProviderFactory;
@@ -245,4 +262,179 @@ public class SdkInstallerTest {
           ex.getMessage());
     }
   }
+
+  @Test
+  public void testInstallAtomically_successRun()
+      throws CommandExecutionException, InterruptedException, IOException, CommandExitException,
+          SdkInstallerException, UnknownArchiveTypeException {
+    SdkInstaller testInstaller =
+        new SdkInstaller(
+            fileResourceProviderFactory,
+            successfulDownloaderFactory,
+            newStagingExtractorFactory(true),
+            null);
+    Path result = testInstaller.installAtomically(progressListener, consoleListener);
+
+    Assert.assertEquals(fakeSdkHome, result);
+    Assert.assertTrue(Files.isRegularFile(fakeGcloud));
+    Assert.assertEquals(Arrays.asList("test-version", "test-version.lock"), listManagedSdkRoot());
+  }
+
+  @Test
+  public void testInstallAtomically_replacesExistingInstall()
+      throws CommandExecutionException, InterruptedException, IOException, CommandExitException,
+          SdkInstallerException, UnknownArchiveTypeException {
+    Path staleFile = fakeSdkHome.resolve("stale");
+    Files.createDirectories(fakeSdkHome);
+    Files.createFile(staleFile);
+    Files.createDirectories(
+        fakeArchiveExtractionDestination.resolveSibling("test-version.staging-1"));
+
+    SdkInstaller testInstaller =
+        new SdkInstaller(
+            fileResourceProviderFactory,
+            successfulDownloaderFactory,
+            newStagingExtractorFactory(true),
+            null);
+    testInstaller.installAtomically(progressListener, consoleListener);
+
+    Assert.assertTrue(Files.isRegularFile(fakeGcloud));
+    Assert.assertFalse(Files.exists(staleFile));
+    Assert.assertEquals(Arrays.asList("test-version", "test-version.lock"), listManagedSdkRoot());
+  }
+
+  @Test
+  public void testInstallAtomically_failedExtractionKeepsExistingInstall()
+      throws InterruptedException, IOException, CommandExitException, CommandExecutionException,
+          UnknownArchiveTypeException {
+    Files.createDirectories(fakeGcloud.getParent());
+    Files.createFile(fakeGcloud);
+
+    SdkInstaller testInstaller =
+        new SdkInstaller(
+            fileResourceProviderFactory,
+            successfulDownloaderFactory,
+            newStagingExtractorFactory(false),
+            null);
+    try {
+      testInstaller.installAtomically(progressListener, consoleListener);
+      Assert.fail("SdKInstallerException expected but not thrown");
+    } catch (SdkInstallerException ex) {
+      Assert.assertTrue(
+          String.valueOf(ex.getMessage()).startsWith("Installation succeeded but gcloud"));
+    }
+
+    Assert.assertTrue(Files.isRegularFile(fakeGcloud));
+    Assert.assertEquals(Arrays.asList("test-version", "test-version.lock"), listManagedSdkRoot());
+  }
+
+  @Test
+  public void testInstallAtomically_reusesInstallOfLockHolder()
+      throws CommandExecutionException, InterruptedException, IOException, CommandExitException,
+          SdkInstallerException, ExecutionException {
+    SdkInstaller testInstaller =
+        new SdkInstaller(
+            fileResourceProviderFactory, failureDownloaderFactory, failureExtractorFactory, null);
+
+    Path lockFile = fakeArchiveExtractionDestination.resolveSibling("test-version.lock");
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try (FileChannel channel =
+        FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+      Future<Path> result;
+      try (FileLock ignored = channel.lock()) {
+        result =
+            executor.submit(
+                () -> testInstaller.installAtomically(progressListener, consoleListener));
+        Thread.sleep(300);
+        Assert.assertFalse(result.isDone());
+        Files.createDirectories(fakeGcloud.getParent());
+        Files.createFile(fakeGcloud);
+      }
+      Assert.assertEquals(fakeSdkHome, result.get());
+    } finally {
+      executor.shutdownNow();
+    }
+    Mockito.verify(failureDownloaderFactory, Mockito.never())
+        .newDownloader(Mockito.any(), Mockito.any(), Mockito.any());
+  }
+
+  @Test
+  public void testDownloadSdk_reusesVerifiedArchive()
+      throws CommandExecutionException, InterruptedException, IOException, CommandExitException,
+          SdkInstallerException {
+    Files.createDirectories(fakeArchiveDestination.getParent());
+    Files.createFile(fakeArchiveDestination);
+    ArchiveChecksum.write(fakeArchiveDestination, FAKE_SHA256);
+
+    SdkInstaller testInstaller =
+        new SdkInstaller(
+                fileResourceProviderFactory,
+                failureDownloaderFactory,
+                successfulVersionedExtractorFactory,
+                null)
+            .withArchiveSha256(FAKE_SHA256.toUpperCase(Locale.ROOT));
+    Path result = testInstaller.install(progressListener, consoleListener);
+
+    Assert.assertEquals(fakeSdkHome, result);
+    Mockito.verifyNoInteractions(failureDownloaderFactory);
+  }
+
+  @Test
+  public void testDownloadSdk_downloadsUnverifiedArchive()
+      throws CommandExecutionException, InterruptedException, IOException, CommandExitException,
+          SdkInstallerException {
+    Files.createDirectories(fakeArchiveDestination.getParent());
+    Files.createFile(fakeArchiveDestination);
+    ArchiveChecksum.write(fakeArchiveDestination, OTHER_SHA256);
+    Mockito.doReturn(successfulDownloader)
+        .when(successfulDownloaderFactory)
+        .newDownloader(fakeArchiveSource, fakeArchiveDestination, FAKE_SHA256, progressListener);
+
+    SdkInstaller testInstaller =
+        new SdkInstaller(
+                fileResourceProviderFactory,
+                successfulDownloaderFactory,
+                successfulVersionedExtractorFactory,
+                null)
+            .withArchiveSha256(FAKE_SHA256);
+    Path result = testInstaller.install(progressListener, consoleListener);
+
+    Assert.assertEquals(fakeSdkHome, result);
+    Mockito.verify(successfulDownloader).download();
+  }
+
+  /** Returns a factory for extractors creating gcloud in whatever directory they extract to. */
+  private ExtractorFactory newStagingExtractorFactory(boolean createsGcloud)
+      throws UnknownArchiveTypeException {
+    ExtractorFactory extractorFactory = Mockito.mock(ExtractorFactory.class);
+    Mockito.doAnswer(
+            invocation -> {
+              Path destination = invocation.getArgument(1);
+              Assert.assertNotEquals(fakeArchiveExtractionDestination, destination);
+              Extractor extractor = Mockito.mock(Extractor.class);
+              Path sdkHome = destination.resolve("google-cloud-sdk");
+              Mockito.doAnswer(
+                      createPathAnswer(
+                          createsGcloud
+                              ? sdkHome.resolve("bin").resolve(fakeGcloudExecutable)
+                              : sdkHome,
+                          !createsGcloud))
+                  .when(extractor)
+                  .extract();
+              return extractor;
+            })
+        .when(extractorFactory)
+        .newExtractor(Mockito.eq(fakeArchiveDestination), Mockito.any(), Mockito.any());
+    return extractorFactory;
+  }
+
+  private List<String> listManagedSdkRoot() throws IOException {
+    try (Stream<Path> files = Files.list(fakeArchiveExtractionDestination.getParent())) {
+      return files
+          .map(path -> path.getFileName().toString())
+          .filter(name -> !name.equals("test-downloads"))
+          .sorted()
+          .collect(Collectors.toList());
+    }
+  }
 }
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.process;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ChildProcessesTest {
+
+  private final List<Process> started = new ArrayList<>();
+
+  @Before
+  public void setUp() {
+    // the tests start shell scripts and check for running processes in procfs
+    Assume.assumeTrue(Files.isDirectory(Paths.get("/proc/self")));
+  }
+
+  @After
+  public void tearDown() {
+    for (Process process : started) {
+      ChildProcesses.destroyTree(process);
+      ChildProcesses.unregister(process);
+    }
+  }
+
+  private Process start(String script) throws IOException {
+    Process process = new ProcessBuilder("sh", "-c", script).start();
+    started.add(process);
+    return process;
+  }
+
+  @Test
+  public void testGetLiveProcesses() throws IOException, InterruptedException {
+    Process running = start("sleep 60");
+    Process exiting = start("exit 0");
+    ChildProcesses.register(running);
+    ChildProcesses.register(exiting);
+    exiting.waitFor();
+
+    List<Process> live = ChildProcesses.getLiveProcesses();
+    assertTrue(live.contains(running));
+    assertFalse(live.contains(exiting));
+
+    ChildProcesses.unregister(running);
+    assertFalse(ChildProcesses.getLiveProcesses().contains(running));
+  }
+
+  @Test
+  public void testDestroyTree_withoutDescendants() throws IOException, InterruptedException {
+    // also runs on Java 8, where only the process itself is destroyed
+    Process process = start("exec sleep 60");
+
+    ChildProcesses.destroyTree(process);
+
+    assertTrue(process.waitFor(10, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void testDestroyTree() throws IOException, InterruptedException {
+    assumeDescendantsFound();
+    Process process = start("sleep 60 & echo $!; wait");
+    long childPid = readPid(process);
+    assertTrue(isRunning(childPid));
+
+    ChildProcesses.destroyTree(process);
+
+    assertTrue(process.waitFor(10, TimeUnit.SECONDS));
+    assertTrue(waitForExit(childPid));
+  }
+
+  @Test
+  public void testDestroyAll() throws IOException, InterruptedException {
+    assumeDescendantsFound();
+    Process process = start("sleep 60 & echo $!; wait");
+    long childPid = readPid(process);
+    ChildProcesses.register(process);
+
+    ChildProcesses.destroyAll();
+
+    assertTrue(process.waitFor(10, TimeUnit.SECONDS));
+    assertTrue(waitForExit(childPid));
+    assertFalse(ChildProcesses.getLiveProcesses().contains(process));
+  }
+
+  @Test
+  public void testDestroyTree_instrumentedProcess() throws IOException, InterruptedException {
+    assumeDescendantsFound();
+    ProcessMetricsListener listener = invocation -> {};
+    ProcessMetrics.addListener(listener);
+    Process process;
+    try {
+      process =
+          ProcessMetrics.start(
+              ProcessCategory.GCLOUD, new ProcessBuilder("sh", "-c", "sleep 60 & echo $!; wait"));
+    } finally {
+      ProcessMetrics.removeListener(listener);
+    }
+    started.add(process);
+    assertTrue(process instanceof InstrumentedProcess);
+    long childPid = readPid(process);
+
+    ChildProcesses.destroyTree(process);
+
+    // the shell exits on its own once its only child was killed, or is killed itself
+    assertTrue(process.waitFor(10, TimeUnit.SECONDS));
+    assertTrue(waitForExit(childPid));
+  }
+
+  @Test
+  public void testDestroyTree_byPid() throws IOException, InterruptedException {
+    assumeDescendantsFound();
+    Process process = start("sleep 60 & echo $!; wait");
+    long childPid = readPid(process);
+    Long pid = ChildProcesses.pid(process);
+    assertNotNull(pid);
+
+    assertTrue(ChildProcesses.destroyTree(pid, "sleep 60", Duration.ofSeconds(5)));
+
+    assertTrue(process.waitFor(10, TimeUnit.SECONDS));
+    assertTrue(waitForExit(childPid));
+    assertFalse(ChildProcesses.destroyTree(pid, "sleep 60", Duration.ofSeconds(5)));
+  }
+
+  @Test
+  public void testDestroyTree_byPidOtherCommand() throws IOException, InterruptedException {
+    assumeDescendantsFound();
+    Process process = start("exec sleep 60");
+    Long pid = ChildProcesses.pid(process);
+    assertNotNull(pid);
+
+    assertFalse(ChildProcesses.destroyTree(pid, "DevAppServerMain", Duration.ofSeconds(5)));
+
+    assertTrue(process.isAlive());
+  }
+
+  // the descendants of a process are only found with the process API of Java 9 and later
+  private static void assumeDescendantsFound() {
+    Assume.assumeTrue(ProcessInfo.canFindDescendants());
+  }
+
+  private static long readPid(Process process) throws IOException {
+    BufferedReader reader =
+        new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+    return Long.parseLong(String.valueOf(reader.readLine()).trim());
+  }
+
+  private static boolean waitForExit(long pid) throws IOException, InterruptedException {
+    long deadline = System.currentTimeMillis() + 10_000;
+    while (isRunning(pid)) {
+      if (System.currentTimeMillis() > deadline) {
+        return false;
+      }
+      Thread.sleep(20);
+    }
+    return true;
+  }
+
+  private static boolean isRunning(long pid) throws IOException {
+    Path stat = Paths.get("/proc", Long.toString(pid), "stat");
+    if (!Files.exists(stat)) {
+      return false;
+    }
+    try {
+      // pid (comm) state ..., a killed process that was not reaped yet is a zombie
+      String content = new String(Files.readAllBytes(stat), StandardCharsets.UTF_8);
+      return content.charAt(content.lastIndexOf(')') + 2) != 'Z';
+    } catch (IOException ex) {
+      return false;
+    }
+  }
+}
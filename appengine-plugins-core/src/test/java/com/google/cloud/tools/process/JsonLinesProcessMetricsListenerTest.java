@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.process;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.collect.ImmutableList;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class JsonLinesProcessMetricsListenerTest {
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void testProcessFinished_appendsLines() throws IOException {
+    Path file = temporaryFolder.getRoot().toPath().resolve("metrics").resolve("processes.jsonl");
+    JsonLinesProcessMetricsListener listener = new JsonLinesProcessMetricsListener(file);
+
+    listener.processFinished(
+        new ProcessInvocation(
+            ProcessCategory.GCLOUD,
+            ImmutableList.of("gcloud", "app", "deploy"),
+            1000,
+            5,
+            20L,
+            300,
+            0,
+            42,
+            7,
+            null,
+            null));
+    listener.processFinished(
+        new ProcessInvocation(
+            ProcessCategory.DEV_APPSERVER,
+            ImmutableList.of("java"),
+            2000,
+            6,
+            null,
+            400,
+            1,
+            0,
+            0,
+            100L,
+            2048L));
+
+    List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+    assertEquals(2, lines.size());
+    JsonObject first = new Gson().fromJson(lines.get(0), JsonObject.class);
+    assertEquals("gcloud", first.get("category").getAsString());
+    assertEquals(3, first.get("command").getAsJsonArray().size());
+    assertEquals(300, first.get("wallMillis").getAsLong());
+    assertEquals(42, first.get("stdoutBytes").getAsLong());
+    JsonObject second = new Gson().fromJson(lines.get(1), JsonObject.class);
+    assertEquals("dev-appserver", second.get("category").getAsString());
+    assertEquals(1, second.get("exitCode").getAsInt());
+    assertEquals(2048, second.get("peakRssBytes").getAsLong());
+  }
+}
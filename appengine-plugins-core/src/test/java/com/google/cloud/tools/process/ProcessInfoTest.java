@@ -0,0 +1,57 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.process;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ProcessInfoTest {
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void testReadPeakRss() throws IOException {
+    Path status = temporaryFolder.newFile("status").toPath();
+    Files.write(
+        status,
+        "Name:\tjava\nVmPeak:\t 4000 kB\nVmHWM:\t    2048 kB\nVmRSS:\t 1024 kB\n"
+            .getBytes(StandardCharsets.UTF_8));
+
+    assertEquals(Long.valueOf(2048 * 1024), ProcessInfo.readPeakRss(status));
+  }
+
+  @Test
+  public void testReadPeakRss_missingField() throws IOException {
+    Path status = temporaryFolder.newFile("status").toPath();
+    Files.write(status, "Name:\tjava\n".getBytes(StandardCharsets.UTF_8));
+
+    assertNull(ProcessInfo.readPeakRss(status));
+  }
+
+  @Test
+  public void testReadPeakRss_missingFile() {
+    assertNull(ProcessInfo.readPeakRss(temporaryFolder.getRoot().toPath().resolve("status")));
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.process;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import java.util.Arrays;
+import java.util.List;
+import javax.annotation.Nullable;
+import org.junit.Test;
+
+public class ProcessMetricsSummaryTest {
+
+  private final ProcessMetricsSummary summary = new ProcessMetricsSummary();
+
+  @Test
+  public void testFormat_empty() {
+    assertTrue(summary.format().isEmpty());
+  }
+
+  @Test
+  public void testFormat() {
+    summary.processFinished(
+        invocation(
+            ProcessCategory.GCLOUD,
+            ImmutableList.of("/sdk/bin/gcloud", "app", "deploy", "app.yaml", "--quiet"),
+            2500L,
+            800L,
+            null));
+    summary.processFinished(
+        invocation(
+            ProcessCategory.APPCFG,
+            ImmutableList.of(
+                "/jdk/bin/java",
+                "-Xmx1g",
+                "-cp",
+                "/sdk/appengine-tools-api.jar",
+                "com.google.appengine.tools.admin.AppCfg",
+                "stage"),
+            1500L,
+            null,
+            64L * 1024 * 1024));
+    summary.processFinished(
+        invocation(
+            ProcessCategory.GCLOUD,
+            ImmutableList.of("gcloud", "components", "list", "--format=json"),
+            500L,
+            200L,
+            null));
+
+    List<String> expected =
+        Arrays.asList(
+            "Child processes:",
+            "  gcloud: 2 run(s), 3.0s total, 2.5s max, spawn avg 10ms, first line avg 50ms,"
+                + " cpu 1.0s",
+            "  appcfg: 1 run(s), 1.5s total, 1.5s max, spawn avg 10ms, first line avg 50ms,"
+                + " peak rss 64 MB",
+            "Slowest:",
+            "  2.5s  gcloud: gcloud app deploy app.yaml (exit 0)",
+            "  1.5s  appcfg: java AppCfg (exit 0)",
+            "  500ms  gcloud: gcloud components list (exit 0)");
+    assertEquals(expected, summary.format());
+  }
+
+  private static ProcessInvocation invocation(
+      ProcessCategory category,
+      List<String> command,
+      long wallMillis,
+      @Nullable Long cpuMillis,
+      @Nullable Long peakRssBytes) {
+    return new ProcessInvocation(
+        category, command, 0, 10, 50L, wallMillis, 0, 100, 0, cpuMillis, peakRssBytes);
+  }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2026 Google LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.tools.process;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.io.ByteStreams;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ProcessMetricsTest {
+
+  private final ProcessMetricsSummary summary = new ProcessMetricsSummary();
+
+  private final ProcessBuilder javaVersion =
+      new ProcessBuilder(
+          Arrays.asList(
+              Paths.get(System.getProperty("java.home"), "bin", "java").toString(), "-version"));
+
+  @Before
+  public void setUp() {
+    ProcessMetrics.clearListeners();
+  }
+
+  @After
+  public void tearDown() {
+    ProcessMetrics.clearListeners();
+  }
+
+  @Test
+  public void testStart_noListeners() throws IOException, InterruptedException {
+    Process process = ProcessMetrics.start(ProcessCategory.GCLOUD, javaVersion);
+    assertFalse(process instanceof InstrumentedProcess);
+    process.waitFor();
+  }
+
+  @Test
+  public void testStart_publishesAfterExitAndOutput() throws IOException, InterruptedException {
+    ProcessMetrics.addListener(summary);
+
+    Process process = ProcessMetrics.start(ProcessCategory.APPCFG, javaVersion);
+    assertTrue(process instanceof InstrumentedProcess);
+    long stderr = drain(process.getErrorStream());
+    drain(process.getInputStream());
+    assertEquals(0, process.waitFor());
+
+    List<ProcessInvocation> invocations = summary.getInvocations();
+    assertEquals(1, invocations.size());
+    ProcessInvocation invocation = invocations.get(0);
+    assertEquals("appcfg", invocation.getCategory());
+    assertEquals(javaVersion.command(), invocation.getCommand());
+    assertEquals(0, invocation.getExitCode());
+    assertEquals(stderr, invocation.getStderrBytes());
+    assertTrue(stderr > 0);
+    assertNotNull(invocation.getFirstLineMillis());
+    assertTrue(invocation.getWallMillis() >= invocation.getSpawnMillis());
+  }
+
+  @Test
+  public void testStart_firstLineWaitsForLineTerminator() throws IOException, InterruptedException {
+    Assume.assumeTrue(Files.isExecutable(Paths.get("/bin/sh")));
+    ProcessMetrics.addListener(summary);
+
+    Process process =
+        ProcessMetrics.start(
+            ProcessCategory.GCLOUD,
+            new ProcessBuilder("/bin/sh", "-c", "printf partial; sleep 1; echo ' line'"));
+    drain(process.getInputStream());
+    process.waitFor();
+
+    Long firstLineMillis = summary.getInvocations().get(0).getFirstLineMillis();
+    assertNotNull(firstLineMillis);
+    assertTrue(firstLineMillis >= 900);
+  }
+
+  @Test
+  public void testStart_unterminatedLastLine() throws IOException, InterruptedException {
+    Assume.assumeTrue(Files.isExecutable(Paths.get("/bin/sh")));
+    ProcessMetrics.addListener(summary);
+
+    Process process =
+        ProcessMetrics.start(
+            ProcessCategory.GCLOUD, new ProcessBuilder("/bin/sh", "-c", "printf x"));
+    drain(process.getInputStream());
+    process.waitFor();
+
+    assertNotNull(summary.getInvocations().get(0).getFirstLineMillis());
+  }
+
+  @Test
+  public void testStart_waitsForStreamsBeingRead() throws IOException, InterruptedException {
+    ProcessMetrics.addListener(summary);
+
+    Process process = ProcessMetrics.start(ProcessCategory.GCLOUD, javaVersion);
+    InputStream errorStream = process.getErrorStream();
+    assertTrue(errorStream.read() >= 0);
+    process.waitFor();
+    assertTrue(summary.getInvocations().isEmpty());
+
+    drain(errorStream);
+    assertEquals(1, summary.getInvocations().size());
+  }
+
+  @Test
+  public void testStart_unreadStreamsDoNotHoldBackPublishing()
+      throws IOException, InterruptedException {
+    ProcessMetrics.addListener(summary);
+
+    Process process = ProcessMetrics.start(ProcessCategory.GCLOUD, javaVersion);
+    process.waitFor();
+    assertEquals(1, summary.getInvocations().size());
+  }
+
+  @Test
+  public void testPublish_listenerFailureIsIsolated() throws IOException, InterruptedException {
+    ProcessMetrics.addListener(
+        invocation -> {
+          throw new IllegalStateException("failed");
+        });
+    ProcessMetrics.addListener(summary);
+
+    ProcessMetrics.start(ProcessCategory.GCLOUD, javaVersion).waitFor();
+    assertEquals(1, summary.getInvocations().size());
+  }
+
+  @Test
+  public void testRemoveListener() throws IOException, InterruptedException {
+    ProcessMetrics.addListener(summary);
+    ProcessMetrics.removeListener(summary);
+
+    Process process = ProcessMetrics.start(ProcessCategory.GCLOUD, javaVersion);
+    process.waitFor();
+    assertFalse(process instanceof InstrumentedProcess);
+    assertTrue(summary.getInvocations().isEmpty());
+  }
+
+  private static long drain(InputStream inputStream) throws IOException {
+    return ByteStreams.exhaust(inputStream);
+  }
+}